@@ -1,5 +1,9 @@
+import com.android.build.api.artifact.SingleArtifact
+import com.example.mathgame.build.ApkSizeReportTask
+
 plugins {
     alias(libs.plugins.android.application)
+    alias(libs.plugins.baselineprofile)
 }
 
 android {
@@ -18,7 +22,9 @@ android {
 
     buildTypes {
         release {
-            isMinifyEnabled = false
+            // R8: shrink, optimise and obfuscate code, then drop unused resources
+            isMinifyEnabled = true
+            isShrinkResources = true
             proguardFiles(
                 getDefaultProguardFile("proguard-android-optimize.txt"),
                 "proguard-rules.pro"
@@ -33,11 +39,40 @@ android {
 
 dependencies {
 
+    implementation(project(":core"))
     implementation(libs.appcompat)
     implementation(libs.material)
     implementation(libs.activity)
     implementation(libs.constraintlayout)
+    implementation(libs.profileinstaller) // installs the baseline profile on sideloaded / pre-Play builds
+    baselineProfile(project(":macrobenchmark"))
     testImplementation(libs.junit)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
-}
\ No newline at end of file
+}
+
+// Size report + budget of the release APK: ./gradlew :app:apkSizeReportRelease (part of check)
+// Report in build/reports/apk-size/; fails when the APK or its method references grow
+// more than mathgame.apkSizeTolerancePercent past apk-size-baseline.properties (only a
+// warning while that file is missing). Record it or accept a deliberate increase with -PupdateApkBaseline.
+androidComponents {
+    onVariants(selector().withBuildType("release")) { variant ->
+        val variantName = variant.name.replaceFirstChar { it.uppercase() }
+        val sizeReport = tasks.register<ApkSizeReportTask>("apkSizeReport$variantName") {
+            group = "verification"
+            description = "Reports size and dex method count of the ${variant.name} APK and checks them against the baseline."
+            apkDirectory.set(variant.artifacts.get(SingleArtifact.APK))
+            baseline.set(layout.projectDirectory.file("apk-size-baseline.properties"))
+            tolerancePercent.set(providers.gradleProperty("mathgame.apkSizeTolerancePercent").map { it.toInt() }.orElse(5))
+            updateBaseline.set(providers.gradleProperty("updateApkBaseline").map { true }.orElse(false))
+            report.set(layout.buildDirectory.file("reports/apk-size/${variant.name}.txt"))
+        }
+        tasks.named("check") { dependsOn(sizeReport) }
+    }
+}
+
+// Regenerate the profiles with: ./gradlew :app:generateBaselineProfile
+// (needs a device or emulator with API 28+; writes src/release/generated/baselineProfiles)
+baselineProfile {
+    dexLayoutOptimization = true // startup profile: startup classes go into the primary dex
+}
@@ -1,21 +1,21 @@
-# Add project specific ProGuard rules here.
-# You can control the set of applied configuration files using the
-# proguardFiles setting in build.gradle.
-#
-# For more details, see
-#   http://developer.android.com/guide/developing/tools/proguard.html
+# R8 rules of the release build (isMinifyEnabled + isShrinkResources).
+# AndroidX libraries bring their own consumer rules; aapt keeps the
+# Application, the Activity and every view class named in a layout.
+# What is left is what this app looks up by name itself.
 
-# If your project uses WebView with JS, uncomment the following
-# and specify the fully qualified class name to the JavaScript interface
-# class:
-#-keepclassmembers class fqcn.of.javascript.interface.for.webview {
-#   public *;
-#}
+# Screens are created by class name (MainActivity.showScreen) and
+# restored by the FragmentManager: keep their no-arg constructors.
+# Names may still be obfuscated, both sides use Class.getName().
+-keepclassmembers public class * extends com.example.mathgame.Screen {
+    public <init>();
+}
 
-# Uncomment this to preserve the line number information for
-# debugging stack traces.
-#-keepattributes SourceFile,LineNumberTable
+# Entry points named in the manifest, kept explicitly so a renamed class
+# fails the build instead of the launch.
+-keep public class com.example.mathgame.MainActivity
+-keep public class com.example.mathgame.MathGameApp
 
-# If you keep the line number information, uncomment this to
-# hide the original source file name.
-#-renamesourcefileattribute SourceFile
\ No newline at end of file
+# Readable stack traces from release crash reports
+# (map them back with build/outputs/mapping/release/mapping.txt).
+-keepattributes SourceFile,LineNumberTable
+-renamesourcefileattribute SourceFile
@@ -0,0 +1,98 @@
+package com.example.mathgame;
+
+import android.app.Instrumentation;
+import android.os.SystemClock;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Plays many short rounds and destroys the Activity in the middle of
+ * each one: a question timer is ticking, the exit animation's delayed
+ * screen switch is pending and the Home bounce is scheduled.
+ * Afterwards no finished MainActivity may still be reachable.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ActivityLeakTest {
+
+    private static final int ROUNDS = 15;
+    private static final long GC_TIMEOUT_MILLIS = 10_000;
+
+    private final Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+
+    @Test
+    public void finishedActivitiesAreCollected() {
+        List<WeakReference<MainActivity>> finished = new ArrayList<>();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            playAndDestroy(finished);
+        }
+        instrumentation.waitForIdleSync();
+
+        int reachable = reachableAfterGc(finished);
+        assertEquals(reachable + " of " + ROUNDS + " finished activities are still reachable", 0, reachable);
+    }
+
+    @Test
+    public void schedulerDropsCallbacksOnDestroy() {
+        boolean[] ran = {false};
+        LifecycleScheduler[] scheduler = new LifecycleScheduler[1];
+
+        ActivityScenario<MainActivity> scenario = ActivityScenario.launch(MainActivity.class);
+        scenario.onActivity(activity -> {
+            scheduler[0] = LifecycleScheduler.of(activity);
+            assertTrue(scheduler[0].postDelayed(() -> ran[0] = true, 200));
+        });
+        scenario.close();
+
+        SystemClock.sleep(400);
+        instrumentation.waitForIdleSync();
+        assertFalse("callback ran after onDestroy", ran[0]);
+        assertTrue(scheduler[0].isDestroyed());
+        instrumentation.runOnMainSync(() -> assertFalse(scheduler[0].post(() -> ran[0] = true)));
+    }
+
+    // Own method, so no local of the test keeps the last scenario alive
+    private void playAndDestroy(List<WeakReference<MainActivity>> finished) {
+        ActivityScenario<MainActivity> scenario = ActivityScenario.launch(MainActivity.class);
+        scenario.onActivity(activity -> {
+            finished.add(new WeakReference<>(activity));
+            activity.showScreen(GameScreen.class, null); // first mode, first question: timer ticking
+        });
+        instrumentation.waitForIdleSync();
+        scenario.onActivity(activity -> activity.leaveTo(Result.class, null)); // delayed switch pending
+        scenario.close(); // destroyed with everything above still scheduled
+    }
+
+    // Collect until every reference is cleared or the timeout passes
+    private static int reachableAfterGc(List<WeakReference<MainActivity>> references) {
+        long deadline = SystemClock.uptimeMillis() + GC_TIMEOUT_MILLIS;
+        int reachable;
+        do {
+            Runtime.getRuntime().gc();
+            System.runFinalization();
+            reachable = 0;
+            for (WeakReference<MainActivity> reference : references) {
+                if (reference.get() != null) {
+                    reachable++;
+                }
+            }
+            if (reachable > 0) {
+                SystemClock.sleep(100);
+            }
+        } while (reachable > 0 && SystemClock.uptimeMillis() < deadline);
+        return reachable;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.mathgame;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Before/after numbers for the background bitmaps:
+ * the old path (plain decode of drawable/bg_x.png, density-scaled ARGB_8888)
+ * against BackgroundCache (screen size, RGB_565, decoded once).
+ * Results are logged under the "BackgroundMemory" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BackgroundMemoryTest {
+
+    private static final String TAG = "BackgroundMemory";
+
+    private final Resources resources =
+            InstrumentationRegistry.getInstrumentation().getTargetContext().getResources();
+
+    @Test
+    public void cachedBackgroundsUseLessMemoryThanPlainDecode() {
+        BackgroundCache cache = new BackgroundCache(resources);
+
+        for (int res : new int[]{R.drawable.bg_1, R.drawable.bg_2}) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            Bitmap plain = BitmapFactory.decodeResource(resources, res);
+            long plainNanos = SystemClock.elapsedRealtimeNanos() - start;
+            int plainBytes = plain.getAllocationByteCount();
+            plain.recycle();
+
+            start = SystemClock.elapsedRealtimeNanos();
+            Bitmap cached = cache.bitmap(res);
+            long cachedNanos = SystemClock.elapsedRealtimeNanos() - start;
+            int cachedBytes = cached.getAllocationByteCount();
+
+            Log.i(TAG, resources.getResourceEntryName(res)
+                    + " before=" + plainBytes / 1024 + "KB in " + plainNanos / 1000 + "us"
+                    + ", after=" + cachedBytes / 1024 + "KB (" + cached.getWidth() + "x" + cached.getHeight()
+                    + ") in " + cachedNanos / 1000 + "us");
+
+            assertTrue(cachedBytes < plainBytes);
+            assertSame("second screen must reuse the decoded bitmap", cached, cache.bitmap(res));
+        }
+
+        Log.i(TAG, "cache holds " + cache.sizeInBytes() / 1024 + "KB");
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.mathgame;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.DisplayMetrics;
+import android.util.Log;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Flat fragment_game vs the nested layout it replaced
+ * (legacy_game_nested, debug builds only).
+ * Inflates each one repeatedly, then runs a first measure + layout
+ * at screen size. Medians are logged under "GameLayout".
+ * Only the structure (view count, depth) is asserted: timings from a
+ * shared emulator are too noisy to fail a build on.
+ */
+@RunWith(AndroidJUnit4.class)
+public class GameLayoutBenchmark {
+
+    private static final String TAG = "GameLayout";
+    private static final int WARMUP = 10;
+    private static final int RUNS = 50;
+
+    private final Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+
+    /** Result of one layout: view count, depth, median inflate and layout nanos. */
+    private static final class Result {
+        int views, depth;
+        long inflateNanos, layoutNanos;
+    }
+
+    @Test
+    public void flatLayoutHasFewerViewsAndLevels() {
+        Result[] results = new Result[2];
+        instrumentation.runOnMainSync(() -> {
+            results[0] = measure(R.layout.legacy_game_nested);
+            results[1] = measure(R.layout.fragment_game);
+        });
+        Result nested = results[0];
+        Result flat = results[1];
+
+        Log.i(TAG, "nested: views=" + nested.views + " depth=" + nested.depth
+                + " inflate=" + nested.inflateNanos / 1000 + "us layout=" + nested.layoutNanos / 1000 + "us");
+        Log.i(TAG, "flat:   views=" + flat.views + " depth=" + flat.depth
+                + " inflate=" + flat.inflateNanos / 1000 + "us layout=" + flat.layoutNanos / 1000 + "us");
+
+        assertTrue(flat.views < nested.views);
+        assertTrue(flat.depth < nested.depth);
+    }
+
+    private Result measure(int layout) {
+        Context context = new ContextThemeWrapper(instrumentation.getTargetContext(), R.style.AppTheme);
+        LayoutInflater inflater = LayoutInflater.from(context);
+        FrameLayout parent = new FrameLayout(context);
+
+        DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        int widthSpec = View.MeasureSpec.makeMeasureSpec(metrics.widthPixels, View.MeasureSpec.EXACTLY);
+        int heightSpec = View.MeasureSpec.makeMeasureSpec(metrics.heightPixels, View.MeasureSpec.EXACTLY);
+
+        long[] inflate = new long[RUNS];
+        long[] layoutPass = new long[RUNS];
+        View root = null;
+        for (int i = -WARMUP; i < RUNS; i++) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            root = inflater.inflate(layout, parent, false);
+            long inflated = SystemClock.elapsedRealtimeNanos();
+            root.measure(widthSpec, heightSpec);
+            root.layout(0, 0, root.getMeasuredWidth(), root.getMeasuredHeight());
+            long laidOut = SystemClock.elapsedRealtimeNanos();
+
+            if (i >= 0) {
+                inflate[i] = inflated - start;
+                layoutPass[i] = laidOut - inflated;
+            }
+        }
+
+        Result result = new Result();
+        result.views = countViews(root);
+        result.depth = depthOf(root);
+        result.inflateNanos = median(inflate);
+        result.layoutNanos = median(layoutPass);
+        return result;
+    }
+
+    private static int countViews(View view) {
+        int count = 1;
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                count += countViews(group.getChildAt(i));
+            }
+        }
+        return count;
+    }
+
+    private static int depthOf(View view) {
+        int deepest = 0;
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                deepest = Math.max(deepest, depthOf(group.getChildAt(i)));
+            }
+        }
+        return deepest + 1;
+    }
+
+    private static long median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.mathgame;
+
+import android.os.SystemClock;
+
+import androidx.lifecycle.Lifecycle;
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Home's endless pulse/bounce must stop producing frames while the
+ * Activity is stopped and continue once it is started again.
+ */
+@RunWith(AndroidJUnit4.class)
+public class LoopAnimationsTest {
+
+    private static final long SETTLE_MILLIS = 1000;
+
+    @Test
+    public void loopsPauseWhileStoppedAndResumeWhenStarted() {
+        Assume.assumeTrue("animations are disabled on this device",
+                LoopAnimations.animationsAllowed(
+                        InstrumentationRegistry.getInstrumentation().getTargetContext()));
+
+        try (ActivityScenario<MainActivity> scenario = ActivityScenario.launch(MainActivity.class)) {
+            SystemClock.sleep(SETTLE_MILLIS);
+            long runningUpdates = updates(scenario);
+            assertTrue("loops should animate on screen", runningUpdates > 0);
+            assertTrue(playing(scenario) > 0);
+
+            scenario.moveToState(Lifecycle.State.CREATED); // onStop
+            long stoppedFrames = frames(scenario);
+            long stoppedUpdates = updates(scenario);
+            SystemClock.sleep(SETTLE_MILLIS);
+
+            assertEquals(0, playing(scenario));
+            assertEquals(stoppedFrames, frames(scenario));
+            assertEquals(stoppedUpdates, updates(scenario));
+
+            scenario.moveToState(Lifecycle.State.RESUMED); // onStart
+            SystemClock.sleep(SETTLE_MILLIS);
+            assertTrue(playing(scenario) > 0);
+            assertTrue(updates(scenario) > stoppedUpdates);
+        }
+    }
+
+    private static long frames(ActivityScenario<MainActivity> scenario) {
+        AtomicLong value = new AtomicLong();
+        scenario.onActivity(activity -> value.set(activity.getAnimations().getFrameCount()));
+        return value.get();
+    }
+
+    private static long updates(ActivityScenario<MainActivity> scenario) {
+        AtomicLong value = new AtomicLong();
+        scenario.onActivity(activity -> value.set(activity.getAnimations().getAnimatorUpdateCount()));
+        return value.get();
+    }
+
+    private static long playing(ActivityScenario<MainActivity> scenario) {
+        AtomicLong value = new AtomicLong();
+        scenario.onActivity(activity -> value.set(activity.getAnimations().playingCount()));
+        return value.get();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.mathgame;
+
+import android.app.Instrumentation;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertSame;
+
+/**
+ * Times a screen switch inside MainActivity (cached Fragment, hide/show)
+ * and, for reference, a launch of MainActivity (which shows Home too, so
+ * it is not the bare per-screen Activity the switch replaced).
+ * Both are timed until the main thread is idle again; medians are logged
+ * under "ScreenTransition". Only the reuse of the cached screens is
+ * asserted: timings from a shared emulator are too noisy to fail a build on.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ScreenTransitionTest {
+
+    private static final String TAG = "ScreenTransition";
+    private static final int LAUNCHES = 5;
+    private static final int SWITCHES = 20;
+
+    private final Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+
+    @Test
+    public void cachedScreensAreReusedAcrossSwitches() {
+        long[] launches = new long[LAUNCHES];
+        for (int i = 0; i < LAUNCHES; i++) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            ActivityScenario<MainActivity> scenario = ActivityScenario.launch(MainActivity.class);
+            instrumentation.waitForIdleSync();
+            launches[i] = SystemClock.elapsedRealtimeNanos() - start;
+            scenario.close();
+        }
+
+        long[] switches = new long[SWITCHES];
+        Object[] firstVisit = new Object[2];
+        Object[] lastVisit = new Object[2];
+        try (ActivityScenario<MainActivity> scenario = ActivityScenario.launch(MainActivity.class)) {
+            // First visits inflate the screens; only the cached path is measured
+            scenario.onActivity(activity -> activity.showScreen(Menu.class, null));
+            scenario.onActivity(activity -> activity.showScreen(GameScreen.class, null));
+            instrumentation.waitForIdleSync();
+            scenario.onActivity(activity -> {
+                firstVisit[0] = screen(activity, Menu.class);
+                firstVisit[1] = screen(activity, GameScreen.class);
+            });
+
+            for (int i = 0; i < SWITCHES; i++) {
+                Class<? extends Screen> target = i % 2 == 0 ? Menu.class : GameScreen.class;
+                long start = SystemClock.elapsedRealtimeNanos();
+                scenario.onActivity(activity -> activity.showScreen(target, null));
+                instrumentation.waitForIdleSync();
+                switches[i] = SystemClock.elapsedRealtimeNanos() - start;
+            }
+            scenario.onActivity(activity -> {
+                lastVisit[0] = screen(activity, Menu.class);
+                lastVisit[1] = screen(activity, GameScreen.class);
+            });
+        }
+
+        long launchMedian = median(launches);
+        long switchMedian = median(switches);
+        Log.i(TAG, "MainActivity launch p50=" + launchMedian / 1000 + "us, screen switch p50="
+                + switchMedian / 1000 + "us");
+
+        assertSame(firstVisit[0], lastVisit[0]);
+        assertSame(firstVisit[1], lastVisit[1]);
+    }
+
+    private static Object screen(MainActivity activity, Class<? extends Screen> screenClass) {
+        return activity.getSupportFragmentManager().findFragmentByTag(screenClass.getName());
+    }
+
+    private static long median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.mathgame;
+
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.util.Log;
+import android.util.TypedValue;
+import android.view.Choreographer;
+import android.view.Gravity;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.core.graphics.Insets;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowInsetsCompat;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.example.mathgame.stats.FrameStats;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JankMonitor (debug builds only)
+ * --------------------------------------------------
+ * - Posts a Choreographer frame callback on every vsync while the
+ *   Activity is started and records the time between frames
+ * - Keeps FrameStats per screen visit (entry animation, play, exit
+ *   animation) and totals per screen
+ * - Shows the current visit in a small overlay (R.bool.jank_overlay),
+ *   refreshed 4x per second so the overlay itself stays cheap
+ * - Appends one line per finished visit, and the totals on every
+ *   onStop, to jank.log in the app's external files dir
+ *   (adb pull /sdcard/Android/data/com.example.mathgame/files/jank.log)
+ */
+final class JankMonitor implements Choreographer.FrameCallback, DefaultLifecycleObserver {
+
+    private static final String TAG = "JankMonitor";
+    private static final long OVERLAY_REFRESH_NANOS = 250_000_000L;
+
+    private final MainActivity activity;
+    private final Choreographer choreographer = Choreographer.getInstance();
+    private final long frameIntervalNanos;
+    private final Map<String, FrameStats> totals = new LinkedHashMap<>();
+    private final File logFile;
+
+    private FrameStats visit;           // screen on display
+    private long lastFrameNanos;        // 0 = no previous frame to measure against
+    private long lastOverlayNanos;
+    private boolean running;
+
+    private TextView overlay;
+    private final StringBuilder overlayText = new StringBuilder();
+
+    private JankMonitor(MainActivity activity) {
+        this.activity = activity;
+
+        float refreshRate = activity.getWindowManager().getDefaultDisplay().getRefreshRate();
+        frameIntervalNanos = (long) (1_000_000_000L / (refreshRate > 0 ? refreshRate : 60f));
+
+        File dir = activity.getExternalFilesDir(null);
+        logFile = new File(dir != null ? dir : activity.getFilesDir(), "jank.log");
+    }
+
+    static JankMonitor install(MainActivity activity) {
+        JankMonitor monitor = new JankMonitor(activity);
+        if (activity.getResources().getBoolean(R.bool.jank_overlay)) {
+            monitor.addOverlay();
+        }
+        activity.getLifecycle().addObserver(monitor);
+        return monitor;
+    }
+
+    // =========================
+    // A new screen is on display: close the previous visit
+    // =========================
+    void onScreenShown(String screen) {
+        finishVisit();
+        visit = new FrameStats(screen, frameIntervalNanos);
+    }
+
+    private void finishVisit() {
+        if (visit == null || visit.getFrames() == 0) {
+            return;
+        }
+        FrameStats total = totals.get(visit.getScreen());
+        if (total == null) {
+            total = new FrameStats(visit.getScreen(), frameIntervalNanos);
+            totals.put(visit.getScreen(), total);
+        }
+        total.add(visit);
+        log("visit ", visit);
+    }
+
+    // =========================
+    // Lifecycle: measure only while started
+    // =========================
+    @Override
+    public void onStart(@NonNull LifecycleOwner owner) {
+        running = true;
+        lastFrameNanos = 0; // the time spent stopped is not a frame
+        choreographer.postFrameCallback(this);
+    }
+
+    @Override
+    public void onStop(@NonNull LifecycleOwner owner) {
+        running = false;
+        choreographer.removeFrameCallback(this);
+
+        if (visit != null && visit.getFrames() > 0) {
+            log("partial ", visit);
+        }
+        for (FrameStats total : totals.values()) {
+            log("total ", total);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running) {
+            return;
+        }
+        if (lastFrameNanos != 0 && visit != null) {
+            visit.record(frameTimeNanos - lastFrameNanos);
+        }
+        lastFrameNanos = frameTimeNanos;
+
+        if (overlay != null && visit != null && frameTimeNanos - lastOverlayNanos >= OVERLAY_REFRESH_NANOS) {
+            lastOverlayNanos = frameTimeNanos;
+            overlayText.setLength(0);
+            try {
+                visit.writeLine(overlayText);
+            } catch (IOException impossible) {
+                throw new AssertionError(impossible); // StringBuilder does not throw
+            }
+            overlay.setText(overlayText);
+        }
+
+        choreographer.postFrameCallback(this);
+    }
+
+    // =========================
+    // Log file (written on the disk thread)
+    // =========================
+    private void log(String kind, FrameStats stats) {
+        StringBuilder line = new StringBuilder(96);
+        line.append(System.currentTimeMillis()).append(' ').append(kind);
+        try {
+            stats.writeLine(line);
+        } catch (IOException impossible) {
+            throw new AssertionError(impossible);
+        }
+        String text = line.toString();
+        Log.i(TAG, text);
+
+        MathGameApp.from(activity).getDiskExecutor().execute(() -> {
+            try (Writer out = new FileWriter(logFile, true)) {
+                out.write(text);
+                out.write('\n');
+            } catch (IOException e) {
+                Log.w(TAG, "Could not write " + logFile, e);
+            }
+        });
+    }
+
+    // =========================
+    // Overlay (not clickable, touches go to the screen below)
+    // =========================
+    private void addOverlay() {
+        overlay = new TextView(activity);
+        overlay.setTextColor(Color.WHITE);
+        overlay.setBackgroundColor(0x99000000);
+        overlay.setTypeface(Typeface.MONOSPACE);
+        overlay.setTextSize(TypedValue.COMPLEX_UNIT_SP, 10);
+        overlay.setPadding(8, 4, 8, 4);
+
+        FrameLayout.LayoutParams params = new FrameLayout.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT,
+                Gravity.BOTTOM | Gravity.START);
+        ((ViewGroup) activity.getWindow().getDecorView()).addView(overlay, params);
+
+        // Stay above the navigation bar (the app draws edge-to-edge)
+        ViewCompat.setOnApplyWindowInsetsListener(overlay, (v, insets) -> {
+            Insets bars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
+            FrameLayout.LayoutParams lp = (FrameLayout.LayoutParams) v.getLayoutParams();
+            lp.leftMargin = bars.left;
+            lp.bottomMargin = bars.bottom;
+            v.setLayoutParams(lp);
+            return insets;
+        });
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.mathgame;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.DisplayMetrics;
+import android.util.LruCache;
+
+import androidx.annotation.DrawableRes;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * BackgroundCache (full-screen background bitmaps and the logo)
+ * --------------------------------------------------
+ * - bg_1/bg_2 are 1080x1920 PNGs in density-less drawable/, which Android
+ *   treats as mdpi: a plain decode on a 3x phone upscales them to
+ *   3240x5760 ARGB_8888 (~75 MB each)
+ * - Here they are decoded once at screen size (inSampleSize, no density
+ *   scaling) as RGB_565 – the backgrounds are fully opaque
+ * - The logo (mathgame.png, same size, translucent) has the same problem
+ *   and is decoded the same way, as ARGB_8888 ({@link #getImage})
+ * - Decoded bitmaps are shared by every screen through an LRU cache
+ *   bounded in bytes
+ * - prefetch() decodes on a background thread while the Activity is
+ *   still being created; a get() that comes first takes the work over
+ *   (or waits for it) instead of decoding twice
+ */
+public class BackgroundCache {
+
+    private final Resources resources;
+    private final int targetWidth;
+    private final int targetHeight;
+    private final LruCache<Integer, Bitmap> bitmaps;
+    private final Map<Integer, FutureTask<Bitmap>> pending = new ConcurrentHashMap<>();
+
+    public BackgroundCache(Resources resources) {
+        this.resources = resources;
+
+        DisplayMetrics metrics = resources.getDisplayMetrics();
+        targetWidth = metrics.widthPixels;
+        targetHeight = metrics.heightPixels;
+
+        // 1/8 of the heap: room for both backgrounds at screen size
+        int maxBytes = (int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 8);
+        bitmaps = new LruCache<Integer, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(Integer key, Bitmap bitmap) {
+                return bitmap.getAllocationByteCount();
+            }
+        };
+    }
+
+    /** A drawable of the cached bitmap (decoded on first use). */
+    public Drawable get(@DrawableRes int res) {
+        return new BitmapDrawable(resources, bitmap(res));
+    }
+
+    /** Like {@link #get}, for images with transparency (the logo). */
+    public Drawable getImage(@DrawableRes int res) {
+        return new BitmapDrawable(resources, bitmap(res, Bitmap.Config.ARGB_8888));
+    }
+
+    public Bitmap bitmap(@DrawableRes int res) {
+        return bitmap(res, Bitmap.Config.RGB_565);
+    }
+
+    private Bitmap bitmap(@DrawableRes int res, Bitmap.Config config) {
+        Bitmap bitmap = bitmaps.get(res);
+        if (bitmap != null) {
+            return bitmap;
+        }
+        FutureTask<Bitmap> prefetched = pending.remove(res);
+        if (prefetched != null) {
+            prefetched.run(); // not started yet: decode here; running: no-op, get() waits
+            try {
+                return prefetched.get();
+            } catch (ExecutionException | InterruptedException e) {
+                // decode it here instead
+            }
+        }
+        bitmap = decode(res, config);
+        bitmaps.put(res, bitmap);
+        return bitmap;
+    }
+
+    // =========================
+    // Decode in the background before the first get() (cold start)
+    // =========================
+    public void prefetch(Executor executor, @DrawableRes int res, boolean opaque) {
+        if (bitmaps.get(res) != null || pending.containsKey(res)) {
+            return;
+        }
+        Bitmap.Config config = opaque ? Bitmap.Config.RGB_565 : Bitmap.Config.ARGB_8888;
+        FutureTask<Bitmap> task = new FutureTask<>(() -> {
+            Bitmap bitmap = decode(res, config);
+            bitmaps.put(res, bitmap);
+            pending.remove(res);
+            return bitmap;
+        });
+        if (pending.putIfAbsent(res, task) == null) {
+            executor.execute(task);
+        }
+    }
+
+    /** Bytes held by the cache right now. */
+    public int sizeInBytes() {
+        return bitmaps.size();
+    }
+
+    /** Drops every cached bitmap (views keep the ones they display). */
+    public void clear() {
+        bitmaps.evictAll();
+    }
+
+    private Bitmap decode(@DrawableRes int res, Bitmap.Config config) {
+        // Pass 1: real pixel size, no density scaling, no pixels allocated
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        options.inScaled = false;
+        BitmapFactory.decodeResource(resources, res, options);
+
+        // Pass 2: the smallest power-of-two subsample that still covers the screen
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSizeFor(options.outWidth, options.outHeight, targetWidth, targetHeight);
+        options.inPreferredConfig = config;
+        Bitmap bitmap = BitmapFactory.decodeResource(resources, res, options);
+        bitmap.setDensity(resources.getDisplayMetrics().densityDpi); // 1 pixel = 1 screen pixel
+        return bitmap;
+    }
+
+    /**
+     * --------------------
+     * sampleSizeFor()
+     * --------------------
+     * - Largest power of two that keeps the decoded image at least
+     *   as big as the target in both directions
+     * - 1 when the image is already smaller than the target
+     */
+    static int sampleSizeFor(int width, int height, int targetWidth, int targetHeight) {
+        int sampleSize = 1;
+        if (targetWidth <= 0 || targetHeight <= 0) {
+            return sampleSize;
+        }
+        while (width / (sampleSize * 2) >= targetWidth && height / (sampleSize * 2) >= targetHeight) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.mathgame;
+
+import android.content.Context;
+import android.net.wifi.WifiManager;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+import android.view.animation.Animation;
+import android.view.animation.AnimationUtils;
+import android.widget.Button;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.constraintlayout.widget.ConstraintLayout;
+
+import com.example.mathgame.duel.DuelBeacon;
+import com.example.mathgame.duel.DuelProtocol;
+import com.example.mathgame.duel.DuelSession;
+import com.example.mathgame.duel.DuelSetup;
+import com.example.mathgame.engine.Operator;
+import com.example.mathgame.engine.OperatorRegistry;
+import com.example.mathgame.engine.QuestionEngine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * DuelLobby (pair two devices on the same Wi-Fi for a duel)
+ * --------------------------------------------------
+ * - HOST: listens on DuelProtocol.PORT and broadcasts a DuelBeacon
+ *   every half second until a guest connects (HOST_TIMEOUT_MILLIS);
+ *   the duel plays the mode passed in ARG_MODE (MIXED if missing) at
+ *   the host's current operand range
+ * - JOIN: listens for a beacon (holding a Wi-Fi multicast lock, some
+ *   devices drop broadcasts without it) and connects to its sender
+ * - Sockets block, so each attempt runs on its own thread; the result
+ *   comes back through the main Looper. Leaving the screen closes the
+ *   sockets of an attempt still running (the link's channel too, during
+ *   the handshake) and drops its result
+ * - A connected DuelSession is handed to MathGameApp and the
+ *   GameScreen opens with ARG_DUEL
+ */
+public class DuelLobby extends Screen {
+
+    public static final String ARG_MODE = "mode"; // OperatorRegistry id the host offers
+
+    static final long HOST_TIMEOUT_MILLIS = 60_000;
+    static final int LISTEN_TIMEOUT_MILLIS = 30_000;
+
+    /** Blocking half of an attempt (connect thread); link gets the duel's channel. */
+    private interface Connector {
+        DuelSession connect(DuelSession.ChannelWatcher link) throws IOException;
+    }
+
+    // UI elements
+    TextView status;
+    Button hostButton, joinButton, back;
+    ConstraintLayout outside;
+    LinearLayout innerside;
+    Animation quickFadeRise;
+
+    String mode;                                         // mode a hosted duel plays
+    private int attempt;                                 // main thread; older results are dropped
+    private final List<Closeable> sockets = new ArrayList<>(); // open while a connect thread uses them, guarded by itself
+    private final Handler main = new Handler(Looper.getMainLooper());
+
+    @Override
+    protected int getLayoutRes() {
+        return R.layout.fragment_duel;
+    }
+
+    @Override
+    protected int getBackgroundRes() {
+        return R.drawable.bg_1;
+    }
+
+    @Override
+    protected void onScreenCreated(@NonNull View view) {
+        status = view.findViewById(R.id.textViewStatus);
+        hostButton = view.findViewById(R.id.buttonHost);
+        joinButton = view.findViewById(R.id.buttonJoin);
+        back = view.findViewById(R.id.buttonBack);
+        outside = view.findViewById(R.id.outerBox);
+        innerside = view.findViewById(R.id.innerBox);
+        quickFadeRise = AnimationUtils.loadAnimation(requireContext(), R.anim.fast_fade_rise);
+
+        hostButton.setOnClickListener(v -> startHosting());
+        joinButton.setOnClickListener(v -> startJoining());
+        back.setOnClickListener(v -> {
+            back.setEnabled(false);
+            host().leaveTo(Menu.class, null);
+        });
+    }
+
+    @Override
+    protected void onEnter(@Nullable Bundle args) {
+        OperatorRegistry modes = MathGameApp.from(requireContext()).getModes();
+        String id = args != null ? args.getString(ARG_MODE) : null;
+        mode = id != null && modes.contains(id) ? id
+                : modes.contains(OperatorRegistry.MIXED) ? OperatorRegistry.MIXED : modes.ids().get(0);
+
+        status.setText("Both phones on the same Wi-Fi: one hosts, the other joins. Mode: " + modes.label(mode));
+        setButtonsEnabled(true);
+        back.setEnabled(true);
+
+        outside.startAnimation(quickFadeRise);
+        innerside.startAnimation(quickFadeRise);
+    }
+
+    @Override
+    protected void onLeave() {
+        attempt++; // a result still on its way is closed, not used
+        closeSockets();
+    }
+
+    // =========================
+    // HOST: wait for a guest, announcing ourselves meanwhile
+    // =========================
+    private void startHosting() {
+        MathGameApp app = MathGameApp.from(requireContext());
+        Operator operator = app.getModes().operator(mode);
+        int bound = app.getDifficulty(mode, operator).getOperandBound();
+        DuelSetup setup = new DuelSetup(mode, new Random().nextLong(), bound,
+                (int) QuestionEngine.QUESTION_TIME_MILLIS);
+        ExecutorService writer = app.getDuelWriter();
+
+        connect("Waiting for a guest…", link -> {
+            ServerSocketChannel server = track(ServerSocketChannel.open());
+            DatagramSocket beacons = track(new DatagramSocket());
+            try {
+                server.socket().setReuseAddress(true); // a duel that just ended may linger in TIME_WAIT
+                server.socket().bind(new InetSocketAddress(DuelProtocol.PORT));
+                beacons.setBroadcast(true);
+                InetSocketAddress everyone = new InetSocketAddress(
+                        InetAddress.getByName("255.255.255.255"), DuelProtocol.DISCOVERY_PORT);
+                return DuelSession.host(server, setup, operator,
+                        () -> DuelBeacon.announce(beacons, everyone, DuelProtocol.PORT),
+                        HOST_TIMEOUT_MILLIS, writer, link);
+            } finally {
+                release(server); // the accepted connection stays open
+                release(beacons);
+            }
+        });
+    }
+
+    // =========================
+    // JOIN: first beacon heard wins
+    // =========================
+    private void startJoining() {
+        MathGameApp app = MathGameApp.from(requireContext());
+        OperatorRegistry modes = app.getModes();
+        ExecutorService writer = app.getDuelWriter();
+        WifiManager wifi = (WifiManager) app.getSystemService(Context.WIFI_SERVICE);
+
+        connect("Looking for a host…", link -> {
+            WifiManager.MulticastLock lock = wifi != null ? wifi.createMulticastLock("mathgame-duel") : null;
+            InetSocketAddress found;
+            DatagramSocket listener = track(new DatagramSocket(null));
+            try {
+                if (lock != null) {
+                    lock.acquire();
+                }
+                listener.setReuseAddress(true);
+                listener.bind(new InetSocketAddress(DuelProtocol.DISCOVERY_PORT));
+                found = DuelBeacon.listen(listener, LISTEN_TIMEOUT_MILLIS);
+            } finally {
+                release(listener);
+                if (lock != null && lock.isHeld()) {
+                    lock.release();
+                }
+            }
+            if (found == null) {
+                throw new SocketTimeoutException("No host found");
+            }
+            return DuelSession.join(found, modes, writer, link);
+        });
+    }
+
+    // =========================
+    // One attempt at a time, on its own thread
+    // =========================
+    private void connect(String waiting, Connector connector) {
+        setButtonsEnabled(false);
+        status.setText(waiting);
+        int mine = ++attempt;
+        new Thread(() -> {
+            List<SocketChannel> links = new ArrayList<>(1);
+            DuelSession session = null;
+            IOException error = null;
+            try {
+                session = connector.connect(channel -> links.add(track(channel)));
+            } catch (IOException e) {
+                error = e;
+            } finally {
+                for (SocketChannel channel : links) {
+                    forget(channel); // the session owns it now, or it is closed already
+                }
+            }
+            DuelSession result = session;
+            IOException failure = error;
+            main.post(() -> connected(mine, result, failure));
+        }, "mathgame-duel-connect").start();
+    }
+
+    private void connected(int mine, @Nullable DuelSession session, @Nullable IOException error) {
+        if (mine != attempt || getView() == null) {
+            if (session != null) {
+                session.close(); // screen was left meanwhile
+            }
+            return;
+        }
+        if (session == null) {
+            status.setText(error instanceof SocketTimeoutException ? error.getMessage()
+                    : "Could not connect: " + (error != null ? error.getMessage() : "unknown error"));
+            setButtonsEnabled(true);
+            return;
+        }
+
+        MathGameApp.from(requireContext()).startDuel(session);
+        back.setEnabled(false);
+        status.setText("Connected: " + session.getSetup());
+        Bundle args = new Bundle();
+        args.putBoolean(GameScreen.ARG_DUEL, true);
+        host().leaveTo(GameScreen.class, args);
+    }
+
+    // Closing a socket wakes the connect thread blocked on it
+    private <T extends Closeable> T track(T socket) {
+        synchronized (sockets) {
+            sockets.add(socket);
+        }
+        return socket;
+    }
+
+    private void release(Closeable socket) {
+        forget(socket);
+        closeQuietly(socket);
+    }
+
+    private void forget(Closeable socket) {
+        synchronized (sockets) {
+            sockets.remove(socket);
+        }
+    }
+
+    private void closeSockets() {
+        synchronized (sockets) {
+            for (Closeable socket : sockets) {
+                closeQuietly(socket);
+            }
+            sockets.clear();
+        }
+    }
+
+    private static void closeQuietly(Closeable socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // nothing left to release
+        }
+    }
+
+    private void setButtonsEnabled(boolean enabled) {
+        hostButton.setEnabled(enabled);
+        joinButton.setEnabled(enabled);
+    }
+}
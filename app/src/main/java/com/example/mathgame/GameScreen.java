@@ -0,0 +1,496 @@
+package com.example.mathgame;
+
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.animation.Animation;
+import android.view.animation.AnimationUtils;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.mathgame.duel.DuelSession;
+import com.example.mathgame.engine.AnswerInput;
+import com.example.mathgame.engine.GameClock;
+import com.example.mathgame.engine.Operator;
+import com.example.mathgame.engine.Question;
+import com.example.mathgame.engine.QuestionEngine;
+import com.example.mathgame.engine.QuestionSupply;
+import com.example.mathgame.engine.ReviewQueue;
+import com.example.mathgame.replay.SessionRecorder;
+import com.example.mathgame.store.MasteryMatrix;
+import com.example.mathgame.store.SessionLog;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * GameScreen (the one game screen of every mode)
+ * --------------------------------------------------
+ * - Shows a question, takes the answer (OK) and moves on (NEXT)
+ * - The mode comes with every visit (ARG_MODE, an OperatorRegistry id);
+ *   one cached screen serves them all and only swaps its game objects
+ *   when the mode changes
+ * - Answers are typed on the built-in NumericKeypadView (no soft
+ *   keyboard); it submits by itself once the answer's digit count is reached
+ * - All game rules come from the QuestionEngine of the mode's operator
+ * - Operand range and time per question follow the mode's adaptive
+ *   Difficulty, which is saved whenever the screen is left or stopped
+ * - Questions (text included) are pre-generated in the background by a
+ *   QuestionSupply (one per mode, kept while the screen is cached);
+ *   NEXT only dequeues one and sets the text
+ * - Missed questions (wrong or timed out) go into the mode's
+ *   ReviewQueue; due re-asks are interleaved with fresh questions
+ * - Every answer and timeout is counted per fact in the MasteryMatrix
+ * - Every game is recorded (seed + input events) and saved for
+ *   headless replay with SessionReplay
+ * - One game per visit: entering the screen starts a fresh game,
+ *   losing the last life opens the Result screen
+ * - LAN duel (ARG_DUEL): the game runs on MathGameApp's DuelSession
+ *   instead: its engine, its shared question stream, every answer sent
+ *   to the opponent, whose score shows above the cards. No reviews, no
+ *   adaptive difficulty, not recorded and not a solo best score
+ */
+public class GameScreen extends Screen {
+
+    public static final String ARG_MODE = "mode"; // OperatorRegistry id, first mode if missing
+    public static final String ARG_DUEL = "duel"; // true: play MathGameApp's DuelSession
+
+    // UI elements
+    TextView score, time, life, question;
+    TextView answer;               // typed answer, filled by the keypad
+    TextView opponent;             // duel only
+    NumericKeypadView keypad;
+    Button ok, next;
+    View content;                  // root of the flat layout (entry animation)
+    Animation quickFadeRise;
+
+    // Game state (questions, score, lives) lives in the current mode's engine
+    String mode;                   // set by onEnter, see selectMode()
+    Operator operator;
+    QuestionEngine engine;
+    QuestionSupply questions;      // ready-made questions, refilled off the UI thread
+    ReviewQueue reviews;           // missed facts of this mode, re-asked spaced out
+    DuelSession duel;              // this visit's duel, null in a solo game
+    Question current;              // question on display (graded into reviews)
+    SessionLog sessionLog;         // answer times for the saved session
+    final SessionRecorder recorder; // seed + input events, for replay
+    ResponseProbe responseProbe;   // answer-time + UI reaction instrumentation
+    private final Map<String, QuestionSupply> supplies = new HashMap<>(); // per mode, main thread only
+    int useranswer;                // player’s answer
+    private final Runnable opponentObserver = this::showOpponent;
+
+    // Timer variables
+    MainLooperClock timer;         // one clock per session, reused for every question
+    TimerDisplay timerDisplay;
+
+    public GameScreen() {
+        recorder = new SessionRecorder(SystemClock::uptimeMillis);
+    }
+
+    // =========================
+    // Swap the game objects over to another mode
+    // =========================
+    private void selectMode(String id) {
+        if (id.equals(mode)) {
+            return; // same mode again: keep engine, supply and probe
+        }
+        MathGameApp app = MathGameApp.from(requireContext());
+        if (mode != null) {
+            app.saveDifficulty(mode);
+        }
+        mode = id;
+        operator = app.getModes().operator(id);
+        engine = new QuestionEngine(operator, new Random(), app.getDifficulty(id, operator));
+        questions = supplies.get(id);
+        if (questions == null) {
+            questions = new QuestionSupply(operator, new Random().nextLong(), app.getQuestionExecutor());
+            questions.prefill(engine.getDifficulty().getOperandBound()); // ready before the first NEXT
+            supplies.put(id, questions);
+        }
+        reviews = app.getReviews(id);
+        sessionLog = new SessionLog(id);
+        responseProbe = new ResponseProbe(app.getResponseTimer(id));
+    }
+
+    // =========================
+    // Play a duel: its engine and questions, this screen's probes
+    // =========================
+    private void selectDuel(DuelSession session) {
+        MathGameApp app = MathGameApp.from(requireContext());
+        if (mode != null) {
+            app.saveDifficulty(mode);
+        }
+        mode = null; // the next solo visit selects its mode again
+        String id = session.getSetup().getMode();
+        operator = app.getModes().operator(id);
+        engine = session.getEngine();
+        sessionLog = new SessionLog(id);
+        responseProbe = new ResponseProbe(app.getResponseTimer(id));
+    }
+
+    // One flat layout for every operator
+    @Override
+    protected int getLayoutRes() {
+        return R.layout.fragment_game;
+    }
+
+    @Override
+    protected int getBackgroundRes() {
+        return R.drawable.bg_2;
+    }
+
+    @Override
+    protected void onScreenCreated(@NonNull View view) {
+        // ✅ Linking UI with XML
+        score = view.findViewById(R.id.textViewScore);
+        time = view.findViewById(R.id.textViewTime);
+        life = view.findViewById(R.id.textViewLife);
+        question = view.findViewById(R.id.textviewQuestion);
+        answer = view.findViewById(R.id.textViewAnswer);
+        opponent = view.findViewById(R.id.textViewOpponent);
+        keypad = view.findViewById(R.id.keypad);
+        ok = view.findViewById(R.id.buttonplayagain);
+        next = view.findViewById(R.id.buttonExit);
+        content = view;
+        timerDisplay = new TimerDisplay(time);
+        timer = new MainLooperClock(LifecycleScheduler.of(getViewLifecycleOwner()), // no ticks after onDestroyView
+                QuestionEngine.QUESTION_TIME_MILLIS, timerListener); // each question sets its own budget
+        keypad.setAnswerView(answer);
+        keypad.setListener(keypadListener);
+
+        // ✅ Entry animation for UI
+        quickFadeRise = AnimationUtils.loadAnimation(requireContext(), R.anim.fast_fade_rise);
+
+        // ✅ Apply ripple + scale animation when pressing buttons
+        setupButtonAnimation(ok);
+        setupButtonAnimation(next);
+        keypad.setOnTouchListener((v, event) -> {
+            if (event.getAction() == MotionEvent.ACTION_UP) {
+                responseProbe.touchUp(event.getEventTime()); // auto-submit reacts to a key
+            }
+            return false; // the keypad handles the touch itself
+        });
+
+        // =========================
+        // "OK" Button (Submit Answer)
+        // =========================
+        ok.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                submitAnswer(true);
+            }
+        });
+
+        // =========================
+        // "NEXT" Button (Go to next question OR End game)
+        // =========================
+        next.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+
+                // Prevent skipping without answering
+                if (!engine.isAnswered()) {
+                    Toast.makeText(requireContext(), "Answer the question or wait for the timer!", Toast.LENGTH_SHORT).show();
+                    return;
+                }
+
+                // Reset input
+                keypad.clear();
+                resetTimer();
+
+                // If no lives left → go to Result screen
+                if(engine.isGameOver()){
+
+                    next.setEnabled(false);
+
+                    // Save the session (cache update now, disk write in the background)
+                    MathGameApp app = MathGameApp.from(requireContext());
+                    if (duel == null) {
+                        app.getScoreStore().record(sessionLog.finish(engine, System.currentTimeMillis()));
+                        recorder.next(engine);
+                        app.saveRecording(recorder.finish());
+                    }
+                    app.saveMastery();
+
+                    // Animate screen transition, then show the final score
+                    Bundle result = new Bundle();
+                    result.putInt(Result.ARG_SCORE, engine.getScore());
+                    result.putString(Result.ARG_MODE, duel != null ? duel.getSetup().getMode() : mode); // best score, answer times
+                    result.putBoolean(Result.ARG_DUEL, duel != null);
+                    result.putChar(Result.ARG_SYMBOL, current.getOperator().symbol()); // heat map of the last operator
+                    host().leaveTo(Result.class, result);
+                }
+                else{
+                    // Continue with new math problem (resets the answered state)
+                    if (duel == null) {
+                        recorder.next(engine);
+                    }
+                    gameContinue();
+                }
+            }
+        });
+    }
+
+    // =========================
+    // Every visit starts a fresh game
+    // =========================
+    @Override
+    protected void onEnter(@Nullable Bundle args) {
+        MathGameApp app = MathGameApp.from(requireContext());
+        duel = args != null && args.getBoolean(ARG_DUEL) ? app.getDuel() : null;
+        if (duel != null) {
+            selectDuel(duel);
+        } else {
+            String id = args != null ? args.getString(ARG_MODE) : null;
+            selectMode(id != null ? id : app.getModes().ids().get(0));
+        }
+
+        engine.reset();
+        sessionLog.clear();
+        if (duel != null) {
+            opponent.setVisibility(View.VISIBLE);
+            app.setDuelObserver(opponentObserver);
+            showOpponent();
+        } else {
+            opponent.setVisibility(View.GONE);
+            recorder.start(mode, questions.getSeed(), questions.nextIndex(),
+                    engine.getDifficulty().toBits());
+        }
+        score.setText("" + engine.getScore());
+        life.setText("" + engine.getLives());
+        keypad.clear();
+        next.setEnabled(true);
+
+        content.startAnimation(quickFadeRise); // boxes and their contents rise together
+
+        // ✅ Start first question
+        gameContinue();
+    }
+
+    @Override
+    protected void onLeave() {
+        resetTimer(); // no ticks while hidden
+        MathGameApp app = MathGameApp.from(requireContext());
+        if (mode != null) {
+            app.saveDifficulty(mode);
+        }
+        app.removeDuelObserver(opponentObserver);
+    }
+
+    @Override
+    public void onStop() {
+        super.onStop();
+        if (mode != null) {
+            MathGameApp.from(requireContext()).saveDifficulty(mode); // app may be killed in the background
+        }
+    }
+
+    // =========================
+    // Keypad: every key is a keystroke, auto-submit grades right away
+    // =========================
+    private final NumericKeypadView.Listener keypadListener = new NumericKeypadView.Listener() {
+        @Override
+        public void onKey(AnswerInput input) {
+            responseProbe.keystroke();
+        }
+
+        @Override
+        public void onSubmit(AnswerInput input) {
+            if (!engine.isAnswered()) {
+                submitAnswer(false); // auto-submit / ENTER: no toasts
+            }
+        }
+    };
+
+    // =========================
+    // Grade the typed answer (OK button or keypad)
+    // =========================
+    private void submitAnswer(boolean fromOk) {
+
+        // Prevent answering the same question twice
+        if (engine.isAnswered()) {
+            Toast.makeText(requireContext(), "You already answered this question!", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        // Validate input
+        AnswerInput input = keypad.getInput();
+        if (!input.hasValue()) {
+            if (fromOk) {
+                Toast.makeText(requireContext(), "Please enter your answer", Toast.LENGTH_SHORT).show();
+            }
+            return;
+        }
+
+        // The keypad already holds the number, nothing to parse
+        useranswer = input.getValue();
+
+        // Stop timer when answer is submitted
+        pauseTimer();
+        keypad.setEnabled(false);
+        long latency = responseProbe.submitted(); // shown → submit time
+        sessionLog.addLatency(latency);
+
+        // Check correctness (engine marks the question as answered
+        // and adjusts the difficulty)
+        boolean correct = engine.submit(useranswer, latency) == QuestionEngine.Verdict.CORRECT;
+        if (duel != null) {
+            duel.answered(latency, correct); // opponent sees it right away
+        } else {
+            reviews.record(current, correct); // misses come back later
+        }
+        recordMastery(correct, latency);
+        if(correct){
+            score.setText("" + engine.getScore()); // +10 points
+            question.setText("Correct answer");
+        }
+        else{
+            life.setText("" + engine.getLives()); // lost one life
+            question.setText("Wrong answer");
+        }
+        if (duel == null) {
+            recorder.answered(useranswer, latency, engine);
+        }
+
+        responseProbe.verdictShown(); // measure until the verdict is drawn
+    }
+
+    // =========================
+    // Apply scaling animation when button pressed
+    // =========================
+    private void setupButtonAnimation(View button) {
+        Animation scaleAnimation = AnimationUtils.loadAnimation(requireContext(), R.anim.scale_click);
+
+        button.setOnTouchListener((v, event) -> {
+            if (event.getAction() == MotionEvent.ACTION_DOWN) {
+                v.startAnimation(scaleAnimation);
+            } else if (event.getAction() == MotionEvent.ACTION_UP) {
+                responseProbe.touchUp(event.getEventTime()); // start of UI reaction time
+            }
+            return false; // Let ripple & click work normally
+        });
+    }
+
+    // =========================
+    // Generate a new math problem
+    // =========================
+    public void gameContinue(){
+        // A due review, or two numbers in the current difficulty range (answer and text already built)
+        int bound = engine.getDifficulty().getOperandBound();
+        Question upcoming;
+        if (duel != null) {
+            upcoming = duel.nextQuestion(); // same stream on both devices, already in the engine
+        } else {
+            upcoming = reviews.nextDue(bound);
+            if (upcoming != null) {
+                engine.nextQuestion(upcoming);
+                recorder.reviewShown(upcoming, engine);
+            } else {
+                upcoming = questions.take(bound);
+                engine.nextQuestion(upcoming);
+                recorder.questionShown(upcoming, engine);
+            }
+        }
+        current = upcoming;
+        timer.getClock().setDurationMillis(engine.getTimeLimitMillis()); // budget may have changed
+
+        question.setText(upcoming.getText());
+        keypad.setExpectedDigits(AnswerInput.digitCount(upcoming.getAnswer()));
+        keypad.setEnabled(true);
+        responseProbe.questionShown();
+
+        startTimer();
+    }
+
+    // =========================
+    // Countdown callbacks (one clock reused for every question)
+    // =========================
+    private final GameClock.Listener timerListener = new GameClock.Listener() {
+        @Override
+        public void onTick(long timeLeftInMillis) {
+            timerDisplay.show(timeLeftInMillis); // update UI each second
+        }
+
+        @Override
+        public void onTimeout() {
+            // Timer finished
+            sessionLog.addLatency(engine.getTimeLimitMillis()); // whole time budget used
+            responseProbe.timedOut();
+            resetTimer();
+
+            // Lose one life and mark state as answered (so NEXT can be pressed)
+            engine.timeOut();
+            recordMastery(false, engine.getTimeLimitMillis());
+            if (duel != null) {
+                duel.answered(engine.getTimeLimitMillis(), false);
+            } else {
+                reviews.record(current, false);
+                recorder.timedOut(engine);
+            }
+            keypad.setEnabled(false);
+            life.setText("" + engine.getLives());
+            question.setText("Sorry! Time is up!");
+        }
+    };
+
+    // =========================
+    // Duel: the opponent's progress (observer of MathGameApp, main thread)
+    // =========================
+    private void showOpponent() {
+        if (duel == null) {
+            return;
+        }
+        if (duel.isOpponentFinished()) {
+            opponent.setText("Opponent finished: " + duel.getOpponentScore());
+        } else if (!duel.isConnected()) {
+            opponent.setText("Opponent left at " + duel.getOpponentScore());
+        } else {
+            opponent.setText("Opponent: " + duel.getOpponentScore() + " · lives " + duel.getOpponentLives());
+        }
+    }
+
+    // =========================
+    // Per-fact statistics (skipped while the app is still mapping the file)
+    // =========================
+    private void recordMastery(boolean correct, long latency) {
+        MasteryMatrix mastery = MathGameApp.from(requireContext()).getMastery();
+        if (mastery != null) {
+            mastery.record(current, correct, latency);
+        }
+    }
+
+    // =========================
+    // Start countdown timer
+    // =========================
+    public void startTimer(){
+        timer.start();
+    }
+
+    // =========================
+    // Update timer text display
+    // =========================
+    public void updateText(){
+        timerDisplay.show(timer.timeLeftInMillis()); // no-op if the second did not change
+    }
+
+    // =========================
+    // Pause the timer
+    // =========================
+    public void pauseTimer(){
+        timer.pause();
+    }
+
+    // =========================
+    // Reset timer back to the full budget
+    // =========================
+    public void resetTimer(){
+        timer.reset();
+        updateText();
+    }
+}
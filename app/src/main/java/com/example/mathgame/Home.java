@@ -0,0 +1,198 @@
+package com.example.mathgame;
+
+import android.animation.AnimatorSet;
+import android.animation.ObjectAnimator;
+import android.animation.ValueAnimator;
+import android.annotation.SuppressLint;
+import android.os.Bundle;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.animation.Animation;
+import android.view.animation.AnimationUtils;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.OvershootInterpolator;
+import android.widget.Button;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.constraintlayout.widget.ConstraintLayout;
+
+/**
+ * Home (Landing Screen of the Math Game)
+ * --------------------------------------------------
+ * - Shows the game logo/image with a pulsing animation
+ * - Fades and bounces the "Start" button to make it interactive
+ * - Handles button touch effects (bounce-in & bounce-out)
+ * - Opens the Menu screen with a slide-up transition
+ * - Both endless loops are owned by the host's LoopAnimations; on a
+ *   cold start they are built and started only after the first frame
+ * - The logo comes decoded from the app's BackgroundCache
+ */
+public class Home extends Screen {
+
+    // UI elements
+    Button start;            // Start button for beginning the game
+    ImageView imageView;     // Logo / Game image
+
+    ConstraintLayout outside; // Outer container (background layout)
+    LinearLayout innerside;   // Inner container (foreground box)
+
+    Animation quickFadeRise;  // entry animation
+    LoopAnimations.Loop bounceLoop;  // Start button loop
+    LoopAnimations.Loop pulseLoop;   // logo pulse
+
+    LifecycleScheduler scheduler;    // cleared with this screen's view
+
+    // After fade-rise ends, start bouncing animation
+    private final Runnable startBounce = () -> host().getAnimations().start(bounceLoop);
+
+    // First frame is on screen → pulse now, bounce once the fade-rise is over
+    private final Runnable startLoops = () -> {
+        if (pulseLoop == null) {
+            addLoops();
+        }
+        host().getAnimations().start(pulseLoop);
+        scheduler.postDelayed(startBounce, quickFadeRise.getDuration() + 100); // small buffer after fade
+    };
+
+    @Override
+    protected int getLayoutRes() {
+        return R.layout.fragment_home;
+    }
+
+    @Override
+    protected int getBackgroundRes() {
+        return R.drawable.bg_1;
+    }
+
+    @SuppressLint("ClickableViewAccessibility")
+    @Override
+    protected void onScreenCreated(@NonNull View view) {
+        // Initialize UI references
+        outside = view.findViewById(R.id.outerBox);
+        innerside = view.findViewById(R.id.innerBox);
+        imageView = view.findViewById(R.id.imageMathgame);
+        start = view.findViewById(R.id.Start);
+        scheduler = LifecycleScheduler.of(getViewLifecycleOwner());
+        imageView.setImageDrawable(MathGameApp.from(requireContext()).getBackgrounds().getImage(R.drawable.mathgame));
+
+        // Load "fade-rise" animation (used on entry)
+        quickFadeRise = AnimationUtils.loadAnimation(requireContext(), R.anim.fast_fade_rise);
+
+        /**
+         * --------------------
+         * Start Button Click
+         * --------------------
+         * - Disables multiple taps
+         * - Plays "slide-up & fade" animation on screen
+         * - Switches to the Menu screen after animation ends
+         */
+        start.setOnClickListener(v -> {
+            start.setEnabled(false); // prevent double tap
+            host().leaveTo(Menu.class, null);
+        });
+
+        /**
+         * --------------------
+         * Button Touch Effect
+         * --------------------
+         * - ACTION_DOWN: Scales button up (bounce)
+         * - ACTION_UP / CANCEL: Restores to normal size
+         * - Improves "press feedback" for better UX
+         */
+        start.setOnTouchListener((v, event) -> {
+            switch (event.getAction()) {
+                case MotionEvent.ACTION_DOWN:
+                    v.animate()
+                            .scaleX(1.1f)   // grow slightly
+                            .scaleY(1.1f)
+                            .translationZ(12f) // lift shadow
+                            .setDuration(150)
+                            .setInterpolator(new OvershootInterpolator()) // smooth bounce
+                            .start();
+                    break;
+
+                case MotionEvent.ACTION_UP:
+                case MotionEvent.ACTION_CANCEL:
+                    v.animate()
+                            .scaleX(1f)    // restore
+                            .scaleY(1f)
+                            .translationZ(0f)
+                            .setDuration(150)
+                            .setInterpolator(new DecelerateInterpolator()) // natural return
+                            .start();
+                    break;
+            }
+            return false; // return false so normal click still works
+        });
+    }
+
+    // =========================
+    // Pulse + bounce loops (first use, after the first frame)
+    // =========================
+    private void addLoops() {
+        Animation bounce = AnimationUtils.loadAnimation(requireContext(), R.anim.bounce_loop);
+
+        /**
+         * --------------------
+         * ImageView Animation
+         * --------------------
+         * Creates a slow, continuous "pulse" effect by scaling
+         * the image slightly up & down repeatedly.
+         */
+        ObjectAnimator scaleX = ObjectAnimator.ofFloat(imageView, "scaleX", 1f, 1.06f);
+        ObjectAnimator scaleY = ObjectAnimator.ofFloat(imageView, "scaleY", 1f, 1.06f);
+
+        scaleX.setDuration(2000); // 2 seconds
+        scaleY.setDuration(2000);
+
+        // Loop forever in reverse (grow → shrink → grow)
+        scaleX.setRepeatCount(ValueAnimator.INFINITE);
+        scaleX.setRepeatMode(ValueAnimator.REVERSE);
+        scaleY.setRepeatCount(ValueAnimator.INFINITE);
+        scaleY.setRepeatMode(ValueAnimator.REVERSE);
+
+        // Play both animations together (X and Y)
+        AnimatorSet slowPulse = new AnimatorSet();
+        slowPulse.playTogether(scaleX, scaleY);
+
+        LoopAnimations animations = host().getAnimations();
+        pulseLoop = animations.add(slowPulse, () -> {
+            imageView.setScaleX(1f);
+            imageView.setScaleY(1f);
+        });
+        bounceLoop = animations.add(start, bounce);
+    }
+
+    @Override
+    protected void onEnter(@Nullable Bundle args) {
+        start.setEnabled(true);
+
+        // Run entry animation on both containers
+        outside.startAnimation(quickFadeRise);
+        innerside.startAnimation(quickFadeRise);
+
+        /**
+         * --------------------
+         * Start Button Animation
+         * --------------------
+         * 1. First, fade-rise animation (entry effect)
+         * 2. Then, switch to continuous bounce-loop after delay
+         */
+        start.startAnimation(quickFadeRise);
+
+        host().runAfterFirstFrame(startLoops); // pulse + bounce never delay the first frame
+    }
+
+    @Override
+    protected void onLeave() {
+        host().cancelAfterFirstFrame(startLoops);
+        scheduler.cancel(startBounce);
+        if (pulseLoop != null) {
+            host().getAnimations().stop(pulseLoop);
+            host().getAnimations().stop(bounceLoop); // also clears the fade-rise
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.mathgame;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+/**
+ * LifecycleScheduler (main-thread callbacks that die with their owner)
+ * --------------------------------------------------
+ * - post / postDelayed / cancel, like a Handler on the main Looper
+ * - Bound to one LifecycleOwner (the Activity, or a Fragment's view):
+ *   on ON_DESTROY every pending callback is removed and later posts are
+ *   ignored, so a delayed lambda or a timer tick can never reach a
+ *   finished Activity or a destroyed view
+ * - Pending callbacks are the only references the main Looper keeps;
+ *   once they are removed, nothing holds the owner any more
+ *
+ * Main thread only.
+ */
+final class LifecycleScheduler implements DefaultLifecycleObserver {
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private boolean destroyed;
+
+    private LifecycleScheduler() {
+    }
+
+    /** Scheduler cleared when owner is destroyed (already-destroyed owners get a dead one). */
+    static LifecycleScheduler of(@NonNull LifecycleOwner owner) {
+        LifecycleScheduler scheduler = new LifecycleScheduler();
+        if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            scheduler.destroyed = true;
+        } else {
+            owner.getLifecycle().addObserver(scheduler);
+        }
+        return scheduler;
+    }
+
+    /** @return false when the owner is already destroyed (nothing was scheduled) */
+    boolean post(@NonNull Runnable task) {
+        return !destroyed && handler.post(task);
+    }
+
+    /** @return false when the owner is already destroyed (nothing was scheduled) */
+    boolean postDelayed(@NonNull Runnable task, long delayMillis) {
+        return !destroyed && handler.postDelayed(task, delayMillis);
+    }
+
+    void cancel(@NonNull Runnable task) {
+        handler.removeCallbacks(task);
+    }
+
+    boolean isDestroyed() {
+        return destroyed;
+    }
+
+    @Override
+    public void onDestroy(@NonNull LifecycleOwner owner) {
+        destroyed = true;
+        handler.removeCallbacksAndMessages(null);
+        owner.getLifecycle().removeObserver(this);
+    }
+}
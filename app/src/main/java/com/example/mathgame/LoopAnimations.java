@@ -0,0 +1,267 @@
+package com.example.mathgame;
+
+import android.animation.Animator;
+import android.animation.AnimatorSet;
+import android.animation.ValueAnimator;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.Build;
+import android.os.PowerManager;
+import android.provider.Settings;
+import android.view.Choreographer;
+import android.view.View;
+import android.view.animation.Animation;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LoopAnimations (owner of every endless animation)
+ * --------------------------------------------------
+ * - Screens register their looping animators / view animations once
+ *   and then only say start(loop) / stop(loop)
+ * - Follows the Activity lifecycle: loops pause in onStop and resume
+ *   in onStart, so nothing animates while the app is in the background
+ * - Honours the system "remove animations" setting and battery saver:
+ *   loops are not played at all while either is on
+ * - Counts frames and animator updates while loops play (for tests)
+ *
+ * Main thread only.
+ */
+final class LoopAnimations implements DefaultLifecycleObserver, Choreographer.FrameCallback {
+
+    /** Handle of one registered loop. */
+    static final class Loop {
+        private final Animator animator;     // either an Animator ...
+        private final View view;             // ... or a view Animation
+        private final Animation animation;
+        private final Runnable atRest;       // puts the view back to its still state
+        boolean wanted;                      // the screen asked for it
+        boolean playing;                     // actually running right now
+
+        private Loop(Animator animator, View view, Animation animation, Runnable atRest) {
+            this.animator = animator;
+            this.view = view;
+            this.animation = animation;
+            this.atRest = atRest;
+        }
+    }
+
+    private final Context context;
+    private final List<Loop> loops = new ArrayList<>();
+    private final Choreographer choreographer = Choreographer.getInstance();
+    private final ValueAnimator.AnimatorUpdateListener updateCounter = animation -> animatorUpdates++;
+
+    private boolean started;            // Activity is between onStart and onStop
+    private boolean allowed = true;     // system lets us animate
+    private boolean receiverRegistered;
+    private boolean frameCallbackPosted;
+
+    // Metrics
+    private long frames;                // frames drawn while at least one loop played
+    private long animatorUpdates;       // ValueAnimator updates of registered loops
+
+    private final BroadcastReceiver powerSaveReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            refresh();
+        }
+    };
+
+    LoopAnimations(Context context) {
+        this.context = context;
+    }
+
+    // =========================
+    // Registration (once per view)
+    // =========================
+    Loop add(Animator animator, @Nullable Runnable atRest) {
+        countUpdates(animator);
+        Loop loop = new Loop(animator, null, null, atRest);
+        loops.add(loop);
+        return loop;
+    }
+
+    Loop add(View view, Animation animation) {
+        Loop loop = new Loop(null, view, animation, null);
+        loops.add(loop);
+        return loop;
+    }
+
+    private void countUpdates(Animator animator) {
+        if (animator instanceof ValueAnimator) {
+            ((ValueAnimator) animator).addUpdateListener(updateCounter);
+        } else if (animator instanceof AnimatorSet) {
+            for (Animator child : ((AnimatorSet) animator).getChildAnimations()) {
+                countUpdates(child);
+            }
+        }
+    }
+
+    // =========================
+    // Screens start/stop their loops
+    // =========================
+    void start(Loop loop) {
+        loop.wanted = true;
+        if (started && allowed) {
+            play(loop);
+        }
+    }
+
+    void stop(Loop loop) {
+        loop.wanted = false;
+        halt(loop);
+    }
+
+    private void play(Loop loop) {
+        if (loop.playing) {
+            return;
+        }
+        loop.playing = true;
+        if (loop.animator != null) {
+            if (loop.animator.isPaused()) {
+                loop.animator.resume();
+            } else {
+                loop.animator.start();
+            }
+        } else {
+            loop.view.startAnimation(loop.animation);
+        }
+        postFrameCallback();
+    }
+
+    // Keeps the animator's position so onStart continues where onStop left off
+    private void pause(Loop loop) {
+        if (!loop.playing) {
+            return;
+        }
+        loop.playing = false;
+        if (loop.animator != null) {
+            loop.animator.pause();
+        } else {
+            loop.view.clearAnimation();
+        }
+    }
+
+    private void halt(Loop loop) {
+        loop.playing = false;
+        if (loop.animator != null) {
+            loop.animator.cancel();
+        } else {
+            loop.view.clearAnimation();
+        }
+        if (loop.atRest != null) {
+            loop.atRest.run();
+        }
+    }
+
+    // =========================
+    // Lifecycle
+    // =========================
+    @Override
+    public void onStart(@NonNull LifecycleOwner owner) {
+        started = true;
+        if (!receiverRegistered) {
+            ContextCompat.registerReceiver(context, powerSaveReceiver,
+                    new IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED),
+                    ContextCompat.RECEIVER_NOT_EXPORTED);
+            receiverRegistered = true;
+        }
+        refresh();
+    }
+
+    @Override
+    public void onStop(@NonNull LifecycleOwner owner) {
+        started = false;
+        if (receiverRegistered) {
+            context.unregisterReceiver(powerSaveReceiver);
+            receiverRegistered = false;
+        }
+        for (Loop loop : loops) {
+            pause(loop);
+        }
+    }
+
+    @Override
+    public void onDestroy(@NonNull LifecycleOwner owner) {
+        for (Loop loop : loops) {
+            loop.wanted = false;
+            halt(loop);
+        }
+        loops.clear();
+        choreographer.removeFrameCallback(this);
+        frameCallbackPosted = false;
+    }
+
+    // Re-reads the system settings and plays / halts the wanted loops
+    private void refresh() {
+        allowed = animationsAllowed(context);
+        for (Loop loop : loops) {
+            if (!loop.wanted) {
+                continue;
+            }
+            if (allowed) {
+                play(loop);
+            } else {
+                halt(loop);
+            }
+        }
+    }
+
+    static boolean animationsAllowed(Context context) {
+        PowerManager power = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        if (power != null && power.isPowerSaveMode()) {
+            return false;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            return ValueAnimator.areAnimatorsEnabled();
+        }
+        return Settings.Global.getFloat(context.getContentResolver(),
+                Settings.Global.ANIMATOR_DURATION_SCALE, 1f) != 0f;
+    }
+
+    // =========================
+    // Frame metrics
+    // =========================
+    private void postFrameCallback() {
+        if (!frameCallbackPosted) {
+            frameCallbackPosted = true;
+            choreographer.postFrameCallback(this);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        frameCallbackPosted = false;
+        if (playingCount() > 0) {
+            frames++;
+            postFrameCallback();
+        }
+    }
+
+    int playingCount() {
+        int count = 0;
+        for (Loop loop : loops) {
+            if (loop.playing) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    long getFrameCount() {
+        return frames;
+    }
+
+    long getAnimatorUpdateCount() {
+        return animatorUpdates;
+    }
+}
@@ -1,169 +1,198 @@
 package com.example.mathgame;
 
-import android.animation.AnimatorSet;
-import android.animation.ObjectAnimator;
-import android.animation.ValueAnimator;
-import android.annotation.SuppressLint;
-import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.view.MotionEvent;
 import android.view.View;
+import android.view.ViewTreeObserver;
 import android.view.animation.Animation;
 import android.view.animation.AnimationUtils;
-import android.view.animation.DecelerateInterpolator;
-import android.view.animation.OvershootInterpolator;
-import android.widget.Button;
-import android.widget.ImageView;
-import android.widget.LinearLayout;
 
 import androidx.activity.EdgeToEdge;
+import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
-import androidx.constraintlayout.widget.ConstraintLayout;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
+import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentManager;
+import androidx.fragment.app.FragmentTransaction;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * MainActivity (Landing Screen of the Math Game)
+ * MainActivity (the only Activity of the Math Game)
  * --------------------------------------------------
- * - Shows the game logo/image with a pulsing animation
- * - Fades and bounces the "Start" button to make it interactive
- * - Handles button touch effects (bounce-in & bounce-out)
- * - Starts the Menu activity with a slide-up transition
+ * - Hosts every page (Home, Menu, games, Result) as a {@link Screen}
+ * - Each Screen is created once and then hidden/shown, so going
+ *   Menu → Game → Result → Menu never re-inflates layouts or restarts
+ *   an Activity
+ * - Draws the background itself from the app's BackgroundCache
+ *   (screen-size RGB_565 bitmaps), so switching screens never decodes
+ *   bg_1/bg_2 again
+ * - Owns LoopAnimations, so every endless animation follows this
+ *   Activity's lifecycle
+ * - Delayed work goes through a LifecycleScheduler, which drops it
+ *   when the Activity is destroyed
+ * - Cold start does only what the first frame needs: work that can
+ *   wait (loop animations, ...) goes through runAfterFirstFrame(), and
+ *   reportFullyDrawn() follows once that work has run, so
+ *   time-to-initial-display and time-to-full-display can be measured
+ *   (see the :macrobenchmark module)
+ * - Debug builds: JankMonitor records frame timing per screen
  */
 public class MainActivity extends AppCompatActivity {
 
-    // UI elements
-    Button start;            // Start button for beginning the game
-    ImageView imageView;     // Logo / Game image
+    private static final long EXIT_ANIMATION_MILLIS = 250; // slide-up plays this long before the swap
+
+    private final LifecycleScheduler scheduler = LifecycleScheduler.of(this);
+    private BackgroundCache backgrounds;    // shared with every screen
+    private LoopAnimations animations;      // created on first use
+    private JankMonitor jankMonitor;        // no-op in release builds
+
+    View root;               // container + background for every screen
+    Screen current;          // screen on display
+    Animation slideUp;       // exit animation, loaded on the first transition
 
-    ConstraintLayout outside; // Outer container (background layout)
-    LinearLayout innerside;   // Inner container (foreground box)
+    private boolean firstFrameDrawn;
+    private final List<Runnable> afterFirstFrame = new ArrayList<>();
 
-    @SuppressLint("ClickableViewAccessibility")
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         EdgeToEdge.enable(this); // Enables fullscreen immersive UI
         setContentView(R.layout.activity_main);
 
-        // Handle safe-area padding for status/navigation bars
-        ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.main), (v, insets) -> {
+        // Handle safe-area padding for status/navigation bars (once for all screens)
+        root = findViewById(R.id.main);
+        ViewCompat.setOnApplyWindowInsetsListener(root, (v, insets) -> {
             Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
             v.setPadding(systemBars.left, systemBars.top, systemBars.right, systemBars.bottom);
             return insets;
         });
 
-        // Initialize UI references
-        outside = findViewById(R.id.outerBox);
-        innerside = findViewById(R.id.innerBox);
-        imageView = findViewById(R.id.imageMathgame);
-        start = findViewById(R.id.Start);
-
-        // Load "fade-rise" animation (used on entry)
-        Animation quickFadeRise = AnimationUtils.loadAnimation(this, R.anim.fast_fade_rise);
-
-        // Run entry animation on both containers
-        outside.startAnimation(quickFadeRise);
-        innerside.startAnimation(quickFadeRise);
-
-        /**
-         * --------------------
-         * ImageView Animation
-         * --------------------
-         * Creates a slow, continuous "pulse" effect by scaling
-         * the image slightly up & down repeatedly.
-         */
-        ObjectAnimator scaleX = ObjectAnimator.ofFloat(imageView, "scaleX", 1f, 1.06f);
-        ObjectAnimator scaleY = ObjectAnimator.ofFloat(imageView, "scaleY", 1f, 1.06f);
-
-        scaleX.setDuration(2000); // 2 seconds
-        scaleY.setDuration(2000);
-
-        // Loop forever in reverse (grow → shrink → grow)
-        scaleX.setRepeatCount(ValueAnimator.INFINITE);
-        scaleX.setRepeatMode(ValueAnimator.REVERSE);
-        scaleY.setRepeatCount(ValueAnimator.INFINITE);
-        scaleY.setRepeatMode(ValueAnimator.REVERSE);
-
-        // Play both animations together (X and Y)
-        AnimatorSet slowPulse = new AnimatorSet();
-        slowPulse.playTogether(scaleX, scaleY);
-        slowPulse.start();
-
-        /**
-         * --------------------
-         * Start Button Animation
-         * --------------------
-         * 1. First, fade-rise animation (entry effect)
-         * 2. Then, switch to continuous bounce-loop after delay
-         */
-        start.startAnimation(quickFadeRise);
-
-        // After fade-rise ends, start bouncing animation
-        new Handler().postDelayed(() -> {
-            Animation bounce = AnimationUtils.loadAnimation(this, R.anim.bounce_loop);
-            start.startAnimation(bounce);
-        }, quickFadeRise.getDuration() + 100); // small buffer after fade
-
-        /**
-         * --------------------
-         * Start Button Click
-         * --------------------
-         * - Disables multiple taps
-         * - Plays "slide-up & fade" animation on screen
-         * - Switches to Menu activity after animation ends
-         */
-        start.setOnClickListener(v -> {
-            start.setEnabled(false); // prevent double tap
-
-            // Animate screen upwards
-            View rootView = findViewById(android.R.id.content);
-            Animation slideUp = AnimationUtils.loadAnimation(MainActivity.this, R.anim.slide_up_and_fade);
-            rootView.startAnimation(slideUp);
-
-            // Switch activity after animation delay
-            new Handler().postDelayed(() -> {
-                Intent intent = new Intent(MainActivity.this, Menu.class);
-                startActivity(intent);
-                overridePendingTransition(0, 0); // no default Android transition
-                finish(); // close this activity
-            }, 250); // match animation duration
-        });
+        backgrounds = MathGameApp.from(this).getBackgrounds();
+        jankMonitor = JankMonitor.install(this);
+        getFullyDrawnReporter().addReporter(); // removed once the deferred work has run
+        root.getViewTreeObserver().addOnDrawListener(firstDraw);
+
+        if (savedInstanceState == null) {
+            showScreen(Home.class, null);
+        } else {
+            // Recreated: fragments are restored by the FragmentManager
+            for (Fragment fragment : getSupportFragmentManager().getFragments()) {
+                if (fragment instanceof Screen && !fragment.isHidden()) {
+                    current = (Screen) fragment;
+                    jankMonitor.onScreenShown(current.getClass().getSimpleName());
+                    root.setBackground(backgrounds.get(current.getBackgroundRes()));
+                }
+            }
+        }
+    }
+
+    /**
+     * --------------------
+     * showScreen()
+     * --------------------
+     * - Hides the current screen and shows the requested one
+     * - Creates the screen only on its first visit
+     * - Hands it the arguments of this visit (score, mode, ...)
+     */
+    public void showScreen(Class<? extends Screen> screenClass, @Nullable Bundle args) {
+        FragmentManager fragments = getSupportFragmentManager();
+        String tag = screenClass.getName();
+        Screen next = (Screen) fragments.findFragmentByTag(tag);
+
+        FragmentTransaction transaction = fragments.beginTransaction().setReorderingAllowed(true);
+        if (current != null && current != next) {
+            current.leave();
+            transaction.hide(current);
+        }
+        if (next == null) {
+            next = (Screen) fragments.getFragmentFactory().instantiate(getClassLoader(), tag);
+            transaction.add(R.id.main, next, tag);
+        } else {
+            transaction.show(next);
+        }
+        transaction.commitNowAllowingStateLoss(); // may run from leaveTo() after onStop()
+
+        current = next;
+        jankMonitor.onScreenShown(screenClass.getSimpleName());
+        root.setBackground(backgrounds.get(next.getBackgroundRes()));
+        next.enter(args);
+    }
 
-        /**
-         * --------------------
-         * Button Touch Effect
-         * --------------------
-         * - ACTION_DOWN: Scales button up (bounce)
-         * - ACTION_UP / CANCEL: Restores to normal size
-         * - Improves "press feedback" for better UX
-         */
-        start.setOnTouchListener((v, event) -> {
-            switch (event.getAction()) {
-                case MotionEvent.ACTION_DOWN:
-                    v.animate()
-                            .scaleX(1.1f)   // grow slightly
-                            .scaleY(1.1f)
-                            .translationZ(12f) // lift shadow
-                            .setDuration(150)
-                            .setInterpolator(new OvershootInterpolator()) // smooth bounce
-                            .start();
-                    break;
-
-                case MotionEvent.ACTION_UP:
-                case MotionEvent.ACTION_CANCEL:
-                    v.animate()
-                            .scaleX(1f)    // restore
-                            .scaleY(1f)
-                            .translationZ(0f)
-                            .setDuration(150)
-                            .setInterpolator(new DecelerateInterpolator()) // natural return
-                            .start();
-                    break;
+    /**
+     * --------------------
+     * leaveTo()
+     * --------------------
+     * - Plays the "slide-up & fade" animation on the current screen
+     * - Switches screens once the visible part of it has played
+     */
+    public void leaveTo(Class<? extends Screen> screenClass, @Nullable Bundle args) {
+        View view = current != null ? current.getView() : null;
+        if (view != null) {
+            if (slideUp == null) {
+                slideUp = AnimationUtils.loadAnimation(this, R.anim.slide_up_and_fade);
             }
-            return false; // return false so normal click still works
-        });
+            view.startAnimation(slideUp);
+        }
+        scheduler.postDelayed(() -> {
+            if (!isFinishing()) {
+                showScreen(screenClass, args);
+            }
+        }, EXIT_ANIMATION_MILLIS);
+    }
+
+    /**
+     * --------------------
+     * runAfterFirstFrame()
+     * --------------------
+     * - Runs task once the first frame is on screen (right away later on)
+     * - For work the first frame does not need: it then never delays it
+     */
+    void runAfterFirstFrame(Runnable task) {
+        if (firstFrameDrawn) {
+            task.run();
+        } else {
+            afterFirstFrame.add(task);
+        }
+    }
+
+    /** Drops a task that has not run yet (its screen was left). */
+    void cancelAfterFirstFrame(Runnable task) {
+        afterFirstFrame.remove(task);
+    }
+
+    // onDraw runs before the frame is drawn; the posted task after it
+    private final ViewTreeObserver.OnDrawListener firstDraw = new ViewTreeObserver.OnDrawListener() {
+        private boolean posted;
+
+        @Override
+        public void onDraw() {
+            if (!posted) {
+                posted = true;
+                scheduler.post(MainActivity.this::onFirstFrame);
+            }
+        }
+    };
+
+    private void onFirstFrame() {
+        root.getViewTreeObserver().removeOnDrawListener(firstDraw); // not allowed inside onDraw
+        firstFrameDrawn = true;
+        List<Runnable> tasks = new ArrayList<>(afterFirstFrame); // a task may call back into the list
+        afterFirstFrame.clear();
+        for (Runnable task : tasks) {
+            task.run();
+        }
+        getFullyDrawnReporter().removeReporter(); // → reportFullyDrawn()
+    }
+
+    // Lazy: restored screens may ask before onCreate() has finished
+    LoopAnimations getAnimations() {
+        if (animations == null) {
+            animations = new LoopAnimations(this);
+            getLifecycle().addObserver(animations);
+        }
+        return animations;
     }
 }
@@ -0,0 +1,69 @@
+package com.example.mathgame;
+
+import android.os.SystemClock;
+
+import com.example.mathgame.engine.GameClock;
+
+/**
+ * MainLooperClock
+ * --------------------------------------------------
+ * - Drives one {@link GameClock} for a whole game session
+ * - Uses a single reused Runnable on the main Looper
+ *   (no new CountDownTimer per question)
+ * - Posts through a LifecycleScheduler, so no tick is delivered once
+ *   the owner (the game screen's view) is destroyed
+ * - Wakes up only when the shown second changes or the deadline is hit
+ */
+final class MainLooperClock implements Runnable {
+
+    private final LifecycleScheduler scheduler;
+    private final GameClock clock;
+    private final GameClock.Listener listener;
+
+    MainLooperClock(LifecycleScheduler scheduler, long durationMillis, GameClock.Listener listener) {
+        this.scheduler = scheduler;
+        this.clock = new GameClock(SystemClock::uptimeMillis, durationMillis);
+        this.listener = listener;
+    }
+
+    void start() {
+        clock.start();
+        reschedule();
+    }
+
+    void pause() {
+        clock.pause();
+        scheduler.cancel(this);
+    }
+
+    void resume() {
+        clock.resume();
+        reschedule();
+    }
+
+    void reset() {
+        clock.reset();
+        scheduler.cancel(this);
+    }
+
+    long timeLeftInMillis() {
+        return clock.timeLeftInMillis();
+    }
+
+    GameClock getClock() {
+        return clock;
+    }
+
+    private void reschedule() {
+        scheduler.cancel(this);
+        scheduler.post(this);
+    }
+
+    @Override
+    public void run() {
+        long delay = clock.tick(listener);
+        if (delay >= 0) {
+            scheduler.postDelayed(this, delay);
+        }
+    }
+}
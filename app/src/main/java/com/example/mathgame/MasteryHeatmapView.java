@@ -0,0 +1,92 @@
+package com.example.mathgame;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.util.AttributeSet;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * MasteryHeatmapView (weak facts of one operator at a glance)
+ * --------------------------------------------------
+ * - One cell per fact: row = left operand, column = right operand
+ *   (see MasteryMatrix), green = solid, red = often missed or slow,
+ *   faint = never asked
+ * - The cells are written into a side x side Bitmap once per
+ *   {@link #setWeakness} and drawn scaled without filtering, so a
+ *   100 x 100 table costs one drawBitmap per frame
+ */
+public class MasteryHeatmapView extends View {
+
+    private static final int UNSEEN_COLOR = 0x33794713;
+    private static final int STRONG_COLOR = 0xFF43A047, MIDDLE_COLOR = 0xFFFDD835, WEAK_COLOR = 0xFFE53935;
+
+    private final Paint paint = new Paint(); // no FILTER_BITMAP_FLAG: crisp cells
+    private final Rect target = new Rect();
+    private int[] pixels = new int[0];
+    private Bitmap cells;
+    private int side;
+
+    public MasteryHeatmapView(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    /** weakness: the first side x side values of MasteryMatrix.fillWeakness (per mille, -1 = never asked). */
+    public void setWeakness(@NonNull int[] weakness, int side) {
+        if (cells == null || this.side != side) {
+            cells = Bitmap.createBitmap(side, side, Bitmap.Config.ARGB_8888);
+            pixels = new int[side * side];
+            this.side = side;
+        }
+        int weak = 0;
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = colorOf(weakness[i]);
+            if (weakness[i] >= 500) {
+                weak++;
+            }
+        }
+        cells.setPixels(pixels, 0, side, 0, 0, side, side);
+        setContentDescription(weak == 0 ? "No weak facts" : weak + " weak facts");
+        invalidate();
+    }
+
+    @Override
+    protected void onDraw(@NonNull Canvas canvas) {
+        if (cells == null) {
+            return;
+        }
+        // Largest square that fits, centred
+        int width = getWidth() - getPaddingLeft() - getPaddingRight();
+        int height = getHeight() - getPaddingTop() - getPaddingBottom();
+        int size = Math.min(width, height);
+        int left = getPaddingLeft() + (width - size) / 2, top = getPaddingTop() + (height - size) / 2;
+        target.set(left, top, left + size, top + size);
+        canvas.drawBitmap(cells, null, target, paint);
+    }
+
+    // green → yellow → red over 0–1000 per mille
+    private static int colorOf(int weakness) {
+        if (weakness < 0) {
+            return UNSEEN_COLOR;
+        }
+        return weakness < 500
+                ? blend(STRONG_COLOR, MIDDLE_COLOR, weakness * 2)
+                : blend(MIDDLE_COLOR, WEAK_COLOR, Math.min(weakness - 500, 500) * 2);
+    }
+
+    private static int blend(int from, int to, int perMille) {
+        int r = mix(from >> 16 & 0xFF, to >> 16 & 0xFF, perMille);
+        int g = mix(from >> 8 & 0xFF, to >> 8 & 0xFF, perMille);
+        int b = mix(from & 0xFF, to & 0xFF, perMille);
+        return 0xFF000000 | r << 16 | g << 8 | b;
+    }
+
+    private static int mix(int from, int to, int perMille) {
+        return from + (to - from) * perMille / 1000;
+    }
+}
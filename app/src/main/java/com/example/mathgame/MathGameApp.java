@@ -0,0 +1,321 @@
+package com.example.mathgame;
+
+import android.app.Application;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.mathgame.duel.DuelSession;
+import com.example.mathgame.engine.Difficulty;
+import com.example.mathgame.engine.Operator;
+import com.example.mathgame.engine.OperatorRegistry;
+import com.example.mathgame.engine.ReviewQueue;
+import com.example.mathgame.replay.EventLog;
+import com.example.mathgame.replay.SessionRecording;
+import com.example.mathgame.stats.LatencyReport;
+import com.example.mathgame.stats.ResponseTimer;
+import com.example.mathgame.store.MasteryMatrix;
+import com.example.mathgame.store.ScoreStore;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * MathGameApp (process-wide state)
+ * --------------------------------------------------
+ * - Owns the single background thread used for disk work
+ * - Owns the background thread that pre-generates questions (started
+ *   with the first game, not at process start)
+ * - Owns the ScoreStore and warms its cache at startup,
+ *   so the Result screen never reads from disk
+ * - Owns one ResponseTimer per game mode (answer-time histograms)
+ * - Owns the screen-size background bitmaps shared by all screens and
+ *   starts decoding the Home screen's ones before the Activity exists
+ * - Owns the OperatorRegistry: the game modes the Menu offers
+ * - Owns one ReviewQueue per game mode (missed facts, kept while the
+ *   process lives)
+ * - Owns the MasteryMatrix (per-fact statistics in files/mastery.bin),
+ *   mapped and loaded into memory on the disk thread at startup (so no
+ *   page faults to disk on the main thread) and handed to the main thread
+ *   when ready; until then getMastery() is null and answers go uncounted
+ * - Owns one adaptive Difficulty per game mode, saved as a single
+ *   long per mode in SharedPreferences
+ * - Appends every finished game's SessionRecording to the EventLog
+ *   files/replays-<mode>.log (rotated at MAX_RECORDING_BYTES)
+ * - Holds the running LAN DuelSession between DuelLobby, GameScreen and
+ *   Result, and the thread that writes its messages; opponent updates
+ *   reach the screen on display through one main-thread observer
+ */
+public class MathGameApp extends Application {
+
+    private static final String TAG = "MathGameApp";
+    private static final String DIFFICULTY_PREFS = "difficulty";
+    private static final long MAX_RECORDING_BYTES = 512 * 1024;
+    private static final String MASTERY_FILE = "mastery.bin";
+
+    private ExecutorService diskExecutor;
+    private ExecutorService questionExecutor;
+    private ExecutorService duelWriter;
+    private DuelSession duel;                // main thread only
+    private Runnable duelObserver;           // main thread only
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private ScoreStore scoreStore;
+    private BackgroundCache backgrounds;
+    private MasteryMatrix mastery;           // main thread only, null until mapped
+    private final OperatorRegistry modes = OperatorRegistry.standard();
+    private final Map<String, ResponseTimer> responseTimers = new HashMap<>(); // main thread only
+    private final Map<String, Difficulty> difficulties = new HashMap<>();      // main thread only
+    private final Map<String, ReviewQueue> reviews = new HashMap<>();          // main thread only
+    private final Map<String, EventLog> eventLogs = new HashMap<>();           // main thread only
+
+    public static MathGameApp from(Context context) {
+        return (MathGameApp) context.getApplicationContext();
+    }
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        diskExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "mathgame-disk"));
+        scoreStore = new ScoreStore(new File(getFilesDir(), "sessions.dat"), diskExecutor);
+        scoreStore.setWriteErrorListener((error, lost) ->
+                Log.w(TAG, "Could not save " + lost + " finished game(s)", error));
+        backgrounds = new BackgroundCache(getResources());
+
+        // Home's first frame needs these; decode them while MainActivity inflates
+        backgrounds.prefetch(diskExecutor, R.drawable.bg_1, true);
+        backgrounds.prefetch(diskExecutor, R.drawable.mathgame, false);
+
+        // Map the fact statistics before the first game needs them
+        diskExecutor.execute(() -> {
+            MasteryMatrix opened = openMastery();
+            mainHandler.post(() -> mastery = opened);
+        });
+
+        // Warm the high-score cache off the main thread
+        diskExecutor.execute(() -> {
+            try {
+                scoreStore.load();
+            } catch (IOException e) {
+                Log.w(TAG, "Could not read saved sessions", e);
+            }
+        });
+    }
+
+    public ExecutorService getDiskExecutor() {
+        return diskExecutor;
+    }
+
+    // Lazy: no game screen during a cold start (main thread only)
+    public ExecutorService getQuestionExecutor() {
+        if (questionExecutor == null) {
+            questionExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "mathgame-questions"));
+        }
+        return questionExecutor;
+    }
+
+    // Lazy like the question thread: most sessions never duel
+    public ExecutorService getDuelWriter() {
+        if (duelWriter == null) {
+            duelWriter = Executors.newSingleThreadExecutor(r -> new Thread(r, "mathgame-duel-send"));
+        }
+        return duelWriter;
+    }
+
+    public ScoreStore getScoreStore() {
+        return scoreStore;
+    }
+
+    public OperatorRegistry getModes() {
+        return modes;
+    }
+
+    // Null while the disk thread is still mapping it: never block the main thread for it
+    @Nullable
+    public MasteryMatrix getMastery() {
+        return mastery;
+    }
+
+    // Dirty pages reach the file without this too; called after each game
+    public void saveMastery() {
+        MasteryMatrix matrix = mastery;
+        if (matrix != null) {
+            diskExecutor.execute(matrix::force);
+        }
+    }
+
+    private MasteryMatrix openMastery() {
+        try {
+            return MasteryMatrix.open(new File(getFilesDir(), MASTERY_FILE));
+        } catch (IOException e) {
+            Log.w(TAG, "Could not map " + MASTERY_FILE + ", statistics are not saved", e);
+            return MasteryMatrix.inMemory();
+        }
+    }
+
+    public BackgroundCache getBackgrounds() {
+        return backgrounds;
+    }
+
+    // Backgrounds are cheap to decode again; give the memory back when asked
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (level >= TRIM_MEMORY_BACKGROUND) {
+            backgrounds.clear();
+        }
+    }
+
+    public ResponseTimer getResponseTimer(String mode) {
+        ResponseTimer timer = responseTimers.get(mode);
+        if (timer == null) {
+            timer = new ResponseTimer(SystemClock::uptimeMillis);
+            responseTimers.put(mode, timer);
+        }
+        return timer;
+    }
+
+    public ReviewQueue getReviews(String mode) {
+        ReviewQueue queue = reviews.get(mode);
+        if (queue == null) {
+            queue = new ReviewQueue();
+            reviews.put(mode, queue);
+        }
+        return queue;
+    }
+
+    public Difficulty getDifficulty(String mode, Operator operator) {
+        Difficulty difficulty = difficulties.get(mode);
+        if (difficulty == null) {
+            difficulty = Difficulty.adaptiveFor(operator);
+            long bits = difficultyPrefs().getLong(mode, 0L);
+            if (bits != 0L && !difficulty.restore(bits)) {
+                Log.w(TAG, "Ignoring saved difficulty of " + mode);
+            }
+            difficulties.put(mode, difficulty);
+        }
+        return difficulty;
+    }
+
+    // One long per mode; apply() writes in the background
+    public void saveDifficulty(String mode) {
+        Difficulty difficulty = difficulties.get(mode);
+        if (difficulty != null) {
+            difficultyPrefs().edit().putLong(mode, difficulty.toBits()).apply();
+        }
+    }
+
+    private SharedPreferences difficultyPrefs() {
+        return getSharedPreferences(DIFFICULTY_PREFS, MODE_PRIVATE);
+    }
+
+    // =========================
+    // LAN duel: one at a time; the reader thread's news is posted to
+    // the main thread and handed to the current observer
+    // =========================
+    public void startDuel(DuelSession session) {
+        endDuel();
+        duel = session;
+        session.start(new DuelSession.Listener() {
+            @Override
+            public void onOpponentChanged(DuelSession changed) {
+                mainHandler.post(() -> duelChanged(changed));
+            }
+
+            @Override
+            public void onRoundTrip(long nanos) {
+                Log.d(TAG, "Duel round trip " + nanos / 1000 + " µs");
+            }
+
+            @Override
+            public void onClosed(DuelSession closed, IOException error) {
+                if (error != null) {
+                    Log.w(TAG, "Duel connection lost", error);
+                }
+                mainHandler.post(() -> duelChanged(closed));
+            }
+        });
+        session.ping(); // logs the link's round trip once
+    }
+
+    @Nullable
+    public DuelSession getDuel() {
+        return duel;
+    }
+
+    public void setDuelObserver(@Nullable Runnable observer) {
+        duelObserver = observer;
+    }
+
+    // Only if it is still observer's turn: screens leave and enter in either order
+    public void removeDuelObserver(Runnable observer) {
+        if (duelObserver == observer) {
+            duelObserver = null;
+        }
+    }
+
+    // Closes after the queued messages (e.g. the BYE) went out
+    public void endDuel() {
+        if (duel != null) {
+            duel.close();
+            duel = null;
+        }
+    }
+
+    private void duelChanged(DuelSession session) {
+        if (session == duel && duelObserver != null) {
+            duelObserver.run();
+        }
+    }
+
+    // =========================
+    // Write the answer-time histograms to files/latency.csv, when asked
+    // (snapshot on the main thread, write in the background)
+    // =========================
+    public File exportResponseTimes() {
+        List<LatencyReport> reports = new ArrayList<>(responseTimers.size());
+        for (Map.Entry<String, ResponseTimer> entry : responseTimers.entrySet()) {
+            reports.add(LatencyReport.snapshotOf(entry.getKey(), entry.getValue()));
+        }
+
+        File file = new File(getFilesDir(), "latency.csv");
+        diskExecutor.execute(() -> {
+            try (Writer out = new BufferedWriter(new FileWriter(file))) {
+                LatencyReport.writeCsv(out, reports);
+            } catch (IOException e) {
+                Log.w(TAG, "Could not export response times", e);
+            }
+        });
+        return file;
+    }
+
+    // =========================
+    // Append a finished game for replay (queued here, encoded and
+    // written on the disk thread); a full log is kept once as .old
+    // =========================
+    public void saveRecording(SessionRecording recording) {
+        EventLog log = eventLogs.get(recording.getMode());
+        if (log == null) {
+            File file = new File(getFilesDir(), "replays-" + recording.getMode() + ".log");
+            log = new EventLog(file, MAX_RECORDING_BYTES, diskExecutor);
+            log.setWriteErrorListener((error, lost) ->
+                    Log.w(TAG, "Could not save " + lost + " game recording(s)", error));
+            eventLogs.put(recording.getMode(), log);
+        }
+        log.append(recording);
+    }
+}
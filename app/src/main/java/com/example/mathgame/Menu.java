@@ -3,9 +3,8 @@ package com.example.mathgame;
 import android.animation.AnimatorSet;
 import android.animation.ObjectAnimator;
 import android.animation.ValueAnimator;
-import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
+import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.animation.Animation;
@@ -14,32 +13,38 @@ import android.widget.Button;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
 
-import androidx.activity.EdgeToEdge;
-import androidx.appcompat.app.AppCompatActivity;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.constraintlayout.widget.ConstraintLayout;
-import androidx.core.graphics.Insets;
-import androidx.core.view.ViewCompat;
-import androidx.core.view.WindowInsetsCompat;
+
+import com.example.mathgame.engine.OperatorRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * Menu Activity (Main Menu Screen of the Math Game)
+ * Menu (Main Menu Screen of the Math Game)
  * -------------------------------------------------
- * - Shows 3 buttons: Addition, Subtraction, Multiplication
- * - Each button opens its respective game activity
+ * - Shows one button per game mode of the app's OperatorRegistry
+ *   (inflated from item_mode_button, in registry order)
+ * - Each button opens the GameScreen with its mode id
+ * - A last DUEL button opens the DuelLobby (LAN duel)
  * - Adds button press effects (scaling + wobble animation)
  * - Adds hover effect (extra wobble for supported devices)
  * - The logo (imageView) pulses continuously
+ * - Pulse and wobbles are owned by the host's LoopAnimations
  */
-public class Menu extends AppCompatActivity {
+public class Menu extends Screen {
 
     // UI elements
-    Button addition;
-    Button subtraction;
-    Button multiplication;
+    final List<Button> modeButtons = new ArrayList<>();
     ImageView imageView;
     ConstraintLayout outside;
     LinearLayout innerside;
 
+    Animation quickFadeRise; // entry animation
+    LoopAnimations.Loop pulseLoop; // logo pulse
+
     /**
      * --------------------
      * startWobble(View v)
@@ -49,11 +54,11 @@ public class Menu extends AppCompatActivity {
      * - Loops infinitely until stopped
      */
     private void startWobble(View v) {
-        // Retrieve existing animator (if already assigned to this view)
-        ValueAnimator wobbleAnimator = (ValueAnimator) v.getTag(R.id.wobble_animator_tag);
+        // Retrieve existing loop (if already assigned to this view)
+        LoopAnimations.Loop wobble = (LoopAnimations.Loop) v.getTag(R.id.wobble_animator_tag);
 
-        if (wobbleAnimator == null) {
-            wobbleAnimator = ValueAnimator.ofFloat(-5f, 5f); // small rotation range
+        if (wobble == null) {
+            ValueAnimator wobbleAnimator = ValueAnimator.ofFloat(-5f, 5f); // small rotation range
             wobbleAnimator.setDuration(100); // quick wobble speed
             wobbleAnimator.setRepeatCount(ValueAnimator.INFINITE);
             wobbleAnimator.setRepeatMode(ValueAnimator.REVERSE);
@@ -64,13 +69,12 @@ public class Menu extends AppCompatActivity {
                 v.setRotation(rotation);
             });
 
-            // Save animator to view tag (reuse later)
-            v.setTag(R.id.wobble_animator_tag, wobbleAnimator);
+            // Save loop to view tag (reuse later); rotation goes back to 0 when stopped
+            wobble = host().getAnimations().add(wobbleAnimator, () -> v.setRotation(0f));
+            v.setTag(R.id.wobble_animator_tag, wobble);
         }
 
-        if (!wobbleAnimator.isRunning()) {
-            wobbleAnimator.start();
-        }
+        host().getAnimations().start(wobble);
     }
 
     /**
@@ -81,86 +85,64 @@ public class Menu extends AppCompatActivity {
      * - Resets rotation to 0 (normal state)
      */
     private void stopWobble(View v) {
-        ValueAnimator wobbleAnimator = (ValueAnimator) v.getTag(R.id.wobble_animator_tag);
-        if (wobbleAnimator != null && wobbleAnimator.isRunning()) {
-            wobbleAnimator.cancel();
-            v.setRotation(0f);
+        LoopAnimations.Loop wobble = (LoopAnimations.Loop) v.getTag(R.id.wobble_animator_tag);
+        if (wobble != null && wobble.wanted) {
+            host().getAnimations().stop(wobble);
         }
     }
 
     @Override
-    protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        EdgeToEdge.enable(this);
-        setContentView(R.layout.activity_menu);
-
-        // Apply safe-area padding for system bars
-        ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.main), (v, insets) -> {
-            Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
-            v.setPadding(systemBars.left, systemBars.top, systemBars.right, systemBars.bottom);
-            return insets;
-        });
+    protected int getLayoutRes() {
+        return R.layout.fragment_menu;
+    }
 
+    @Override
+    protected int getBackgroundRes() {
+        return R.drawable.bg_1;
+    }
+
+    @Override
+    protected void onScreenCreated(@NonNull View view) {
         // Initialize UI elements
-        addition = findViewById(R.id.buttonAdd);
-        subtraction = findViewById(R.id.buttonSub);
-        multiplication = findViewById(R.id.buttonMulti);
-        outside = findViewById(R.id.outerBox);
-        innerside = findViewById(R.id.innerBox);
-        imageView = findViewById(R.id.imageMathgame);
+        outside = view.findViewById(R.id.outerBox);
+        innerside = view.findViewById(R.id.innerBox);
+        imageView = view.findViewById(R.id.imageMathgame);
+        imageView.setImageDrawable(MathGameApp.from(requireContext()).getBackgrounds().getImage(R.drawable.mathgame)); // shared with Home
 
         // Entry animation for layouts (fade + rise effect)
-        Animation quickFadeRise = AnimationUtils.loadAnimation(this, R.anim.fast_fade_rise);
-        outside.startAnimation(quickFadeRise);
-        innerside.startAnimation(quickFadeRise);
-
-        /**
-         * --------------------
-         * Addition Button Click
-         * --------------------
-         * - Disables button to prevent double tap
-         * - Plays slide-up animation for smooth transition
-         * - Opens AddGame activity after short delay
-         */
-        addition.setOnClickListener(v -> {
-            addition.setEnabled(false); // disable multiple taps
-
-            // Animate screen upwards before switching
-            View rootView = findViewById(android.R.id.content);
-            Animation slideUp = AnimationUtils.loadAnimation(Menu.this, R.anim.slide_up_and_fade);
-            rootView.startAnimation(slideUp);
-
-            new Handler().postDelayed(() -> {
-                Intent intent = new Intent(Menu.this, AddGame.class);
-                startActivity(intent);
-                overridePendingTransition(0, 0); // remove default transition
-                finish(); // close menu
-            }, 250); // delay matches animation duration
-        });
+        quickFadeRise = AnimationUtils.loadAnimation(requireContext(), R.anim.fast_fade_rise);
 
         /**
          * --------------------
-         * Subtraction Button Click
+         * Mode Buttons
          * --------------------
-         * - Directly opens Subpage activity
+         * - One button per registered mode, labelled by the registry
+         * - Click disables every button (no double tap) and leaves
+         *   to the GameScreen with the mode id
          */
-        subtraction.setOnClickListener(v -> {
-            Intent intent = new Intent(Menu.this, Subpage.class);
-            startActivity(intent);
-            finish();
-        });
-
-        /**
-         * --------------------
-         * Multiplication Button Click
-         * --------------------
-         * - Directly opens Multipage activity
-         */
-        multiplication.setOnClickListener(v -> {
-            Intent intent = new Intent(Menu.this, Multipage.class);
-            startActivity(intent);
-            finish();
+        OperatorRegistry modes = MathGameApp.from(requireContext()).getModes();
+        LayoutInflater inflater = LayoutInflater.from(requireContext());
+        modeButtons.clear();
+        for (String id : modes.ids()) {
+            Button button = (Button) inflater.inflate(R.layout.item_mode_button, innerside, false);
+            button.setText(modes.label(id));
+            button.setOnClickListener(v -> {
+                setModeButtonsEnabled(false);
+                Bundle args = new Bundle();
+                args.putString(GameScreen.ARG_MODE, id);
+                host().leaveTo(GameScreen.class, args);
+            });
+            innerside.addView(button);
+            modeButtons.add(button);
+        }
+        Button duel = (Button) inflater.inflate(R.layout.item_mode_button, innerside, false);
+        duel.setText("DUEL");
+        duel.setOnClickListener(v -> {
+            setModeButtonsEnabled(false);
+            host().leaveTo(DuelLobby.class, null); // lobby picks MIXED
         });
+        innerside.addView(duel);
+        modeButtons.add(duel);
 
         /**
          * --------------------
@@ -172,9 +154,7 @@ public class Menu extends AppCompatActivity {
          * - HOVER_EXIT → wobble stops
          * (Hover works only on devices with pointer support e.g., Chromebooks)
          */
-        View[] buttons = {addition, subtraction, multiplication};
-
-        for (View btn : buttons) {
+        for (View btn : modeButtons) {
             // Touch effect (press feedback)
             btn.setOnTouchListener((v, event) -> {
                 switch (event.getAction()) {
@@ -224,6 +204,32 @@ public class Menu extends AppCompatActivity {
         AnimatorSet pulseSet = new AnimatorSet();
         pulseSet.setDuration(800); // each pulse lasts 0.8 sec
         pulseSet.playTogether(scaleX, scaleY);
-        pulseSet.start();
+        pulseLoop = host().getAnimations().add(pulseSet, () -> {
+            imageView.setScaleX(1f);
+            imageView.setScaleY(1f);
+        });
+    }
+
+    @Override
+    protected void onEnter(@Nullable Bundle args) {
+        setModeButtonsEnabled(true);
+
+        outside.startAnimation(quickFadeRise);
+        innerside.startAnimation(quickFadeRise);
+        host().getAnimations().start(pulseLoop);
+    }
+
+    @Override
+    protected void onLeave() {
+        host().getAnimations().stop(pulseLoop);
+        for (Button button : modeButtons) {
+            stopWobble(button);
+        }
+    }
+
+    private void setModeButtonsEnabled(boolean enabled) {
+        for (Button button : modeButtons) {
+            button.setEnabled(enabled);
+        }
     }
 }
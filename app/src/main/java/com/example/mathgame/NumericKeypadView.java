@@ -0,0 +1,320 @@
+package com.example.mathgame;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.os.Bundle;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import androidx.customview.widget.ExploreByTouchHelper;
+
+import com.example.mathgame.engine.AnswerInput;
+
+import java.util.List;
+
+/**
+ * NumericKeypadView (answer input without EditText / soft keyboard)
+ * --------------------------------------------------
+ * - One view draws the 4x3 keypad: 1–9, ±, 0, ← (backspace)
+ * - Keys go straight into an {@link AnswerInput} (primitive int),
+ *   shown in a TextView through a reused char[] – no Strings, no IME,
+ *   no Integer.parseInt
+ * - app:autoSubmit="true": submits by itself once as many digits were
+ *   typed as the expected answer has (put the sign first for negatives)
+ * - Hardware keys work too: digits, minus, DEL, ENTER
+ * - Every key is exposed to TalkBack as a virtual button
+ */
+public class NumericKeypadView extends View {
+
+    /** Callbacks on the UI thread. */
+    public interface Listener {
+        /** The typed answer changed (digit, sign or backspace). */
+        void onKey(AnswerInput input);
+
+        /** ENTER, or auto-submit when the expected digit count was reached. */
+        void onSubmit(AnswerInput input);
+    }
+
+    private static final int COLUMNS = 3, ROWS = 4;
+    private static final int KEY_SIGN = 10, KEY_BACK = 11;
+    // Key at each grid cell, row by row
+    private static final int[] LAYOUT = {1, 2, 3, 4, 5, 6, 7, 8, 9, KEY_SIGN, 0, KEY_BACK};
+    private static final String[] LABELS = {"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "±", "←"};
+    private static final String[] SPOKEN = {"0", "1", "2", "3", "4", "5", "6", "7", "8", "9",
+            "Change sign", "Delete"};
+
+    private final AnswerInput input = new AnswerInput();
+    private final char[] display = new char[AnswerInput.MAX_DIGITS + 1];
+    private final RectF[] keys = new RectF[LAYOUT.length];
+    private final Paint keyPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint pressedPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final float gap, radius;
+    private final KeyAccess access;
+
+    private boolean autoSubmit;
+    private int expectedDigits;          // 0 = no auto-submit
+    private int pressedCell = -1;
+    private TextView answerView;
+    private Listener listener;
+
+    public NumericKeypadView(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+
+        TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.NumericKeypadView);
+        autoSubmit = a.getBoolean(R.styleable.NumericKeypadView_autoSubmit, false);
+        keyPaint.setColor(a.getColor(R.styleable.NumericKeypadView_keyColor, 0xFF794713));
+        pressedPaint.setColor(a.getColor(R.styleable.NumericKeypadView_keyPressedColor, 0xFFF09D46));
+        textPaint.setColor(a.getColor(R.styleable.NumericKeypadView_keyTextColor, 0xFFFFD740));
+        a.recycle();
+
+        gap = dp(6);
+        radius = dp(12);
+        textPaint.setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, 24,
+                getResources().getDisplayMetrics()));
+        textPaint.setTextAlign(Paint.Align.CENTER);
+        textPaint.setFakeBoldText(true);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new RectF();
+        }
+
+        setFocusable(true);
+        setFocusableInTouchMode(true); // receives hardware keys without stealing taps
+        access = new KeyAccess(this);
+        ViewCompat.setAccessibilityDelegate(this, access);
+    }
+
+    private float dp(float value) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, value, getResources().getDisplayMetrics());
+    }
+
+    // =========================
+    // API for the game screen
+    // =========================
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /** TextView that mirrors the typed answer (its hint shows while empty). */
+    public void setAnswerView(TextView answerView) {
+        this.answerView = answerView;
+        showAnswer();
+    }
+
+    public void setAutoSubmit(boolean autoSubmit) {
+        this.autoSubmit = autoSubmit;
+    }
+
+    /** Digits of the correct answer; auto-submit fires when the player reaches it. */
+    public void setExpectedDigits(int expectedDigits) {
+        this.expectedDigits = expectedDigits;
+    }
+
+    public AnswerInput getInput() {
+        return input;
+    }
+
+    public void clear() {
+        input.clear();
+        showAnswer();
+    }
+
+    // =========================
+    // Key handling
+    // =========================
+    private void press(int key) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (key == KEY_SIGN) {
+            input.toggleSign();
+        } else if (key == KEY_BACK) {
+            input.backspace();
+        } else if (!input.digit(key)) {
+            return; // ignored, nothing changed
+        }
+        showAnswer();
+        if (listener == null) {
+            return;
+        }
+        listener.onKey(input);
+        if (autoSubmit && expectedDigits > 0 && key < KEY_SIGN && input.getDigitCount() == expectedDigits) {
+            listener.onSubmit(input);
+        }
+    }
+
+    private void showAnswer() {
+        if (answerView != null) {
+            answerView.setText(display, 0, input.writeTo(display));
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (!isEnabled()) {
+            return false;
+        }
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                setPressedCell(cellAt(event.getX(), event.getY()));
+                return true;
+            case MotionEvent.ACTION_MOVE:
+                if (pressedCell >= 0 && !keys[pressedCell].contains(event.getX(), event.getY())) {
+                    setPressedCell(-1); // slid off the key: cancel it
+                }
+                return true;
+            case MotionEvent.ACTION_UP:
+                int cell = pressedCell;
+                setPressedCell(-1);
+                if (cell >= 0) {
+                    performClick();
+                    press(LAYOUT[cell]);
+                }
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                setPressedCell(-1);
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean performClick() {
+        return super.performClick(); // accessibility: the key itself is pressed in onTouchEvent
+    }
+
+    @Override
+    public boolean onKeyDown(int keyCode, KeyEvent event) {
+        if (keyCode >= KeyEvent.KEYCODE_0 && keyCode <= KeyEvent.KEYCODE_9) {
+            press(keyCode - KeyEvent.KEYCODE_0);
+            return true;
+        }
+        if (keyCode >= KeyEvent.KEYCODE_NUMPAD_0 && keyCode <= KeyEvent.KEYCODE_NUMPAD_9) {
+            press(keyCode - KeyEvent.KEYCODE_NUMPAD_0);
+            return true;
+        }
+        switch (keyCode) {
+            case KeyEvent.KEYCODE_MINUS:
+            case KeyEvent.KEYCODE_NUMPAD_SUBTRACT:
+                press(KEY_SIGN);
+                return true;
+            case KeyEvent.KEYCODE_DEL:
+                press(KEY_BACK);
+                return true;
+            case KeyEvent.KEYCODE_ENTER:
+            case KeyEvent.KEYCODE_NUMPAD_ENTER:
+                if (isEnabled() && listener != null) {
+                    listener.onSubmit(input);
+                }
+                return true;
+        }
+        return super.onKeyDown(keyCode, event);
+    }
+
+    private int cellAt(float x, float y) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].contains(x, y)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void setPressedCell(int cell) {
+        if (cell != pressedCell) {
+            pressedCell = cell;
+            invalidate();
+        }
+    }
+
+    // =========================
+    // Layout + drawing (no allocation in onDraw)
+    // =========================
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        float keyWidth = (w - getPaddingLeft() - getPaddingRight() - gap * (COLUMNS - 1)) / COLUMNS;
+        float keyHeight = (h - getPaddingTop() - getPaddingBottom() - gap * (ROWS - 1)) / ROWS;
+        for (int i = 0; i < keys.length; i++) {
+            float left = getPaddingLeft() + (i % COLUMNS) * (keyWidth + gap);
+            float top = getPaddingTop() + (i / COLUMNS) * (keyHeight + gap);
+            keys[i].set(left, top, left + keyWidth, top + keyHeight);
+        }
+    }
+
+    @Override
+    protected void onDraw(@NonNull Canvas canvas) {
+        float textOffset = (textPaint.descent() + textPaint.ascent()) / 2;
+        for (int i = 0; i < keys.length; i++) {
+            RectF key = keys[i];
+            canvas.drawRoundRect(key, radius, radius, i == pressedCell ? pressedPaint : keyPaint);
+            canvas.drawText(LABELS[LAYOUT[i]], key.centerX(), key.centerY() - textOffset, textPaint);
+        }
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        super.setEnabled(enabled);
+        setAlpha(enabled ? 1f : 0.5f);
+    }
+
+    // =========================
+    // Accessibility: one virtual view per key
+    // =========================
+    @Override
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        return access.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    private final class KeyAccess extends ExploreByTouchHelper {
+
+        KeyAccess(View host) {
+            super(host);
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            int cell = cellAt(x, y);
+            return cell >= 0 ? cell : INVALID_ID;
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            for (int i = 0; i < keys.length; i++) {
+                virtualViewIds.add(i);
+            }
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int virtualViewId, @NonNull AccessibilityNodeInfoCompat node) {
+            RectF key = keys[virtualViewId];
+            node.setContentDescription(SPOKEN[LAYOUT[virtualViewId]]);
+            node.setBoundsInParent(new Rect(
+                    (int) key.left, (int) key.top, (int) key.right, (int) key.bottom));
+            node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+            node.setClassName("android.widget.Button");
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int virtualViewId, int action, @Nullable Bundle arguments) {
+            if (action == AccessibilityNodeInfoCompat.ACTION_CLICK) {
+                press(LAYOUT[virtualViewId]);
+                sendEventForVirtualView(virtualViewId, AccessibilityEvent.TYPE_VIEW_CLICKED);
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.mathgame;
+
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+import com.example.mathgame.stats.ResponseTimer;
+
+/**
+ * ResponseProbe (glue between a game screen and its ResponseTimer)
+ * --------------------------------------------------
+ * - Reports keypad keystrokes (the timer keeps the first one)
+ * - Measures UI reaction: from the OK touch-up event to the first frame
+ *   drawn after the verdict text was set (via a Choreographer callback)
+ *
+ * One probe per game screen; the callbacks are reused, so nothing is
+ * allocated per question.
+ */
+final class ResponseProbe implements Choreographer.FrameCallback {
+
+    private final ResponseTimer timer;
+    private long touchUpTime = -1;    // uptime of the last button touch-up
+    private long reactionStart = -1;  // input event waiting for its frame
+
+    ResponseProbe(ResponseTimer timer) {
+        this.timer = timer;
+    }
+
+    void questionShown() {
+        timer.questionShown();
+    }
+
+    /** @return shown → submit time in ms */
+    long submitted() {
+        long answerMillis = timer.submitted();
+        return answerMillis >= 0 ? answerMillis : 0;
+    }
+
+    void keystroke() {
+        timer.keystroke();
+    }
+
+    void timedOut() {
+        timer.timedOut();
+    }
+
+    void touchUp(long eventTime) {
+        touchUpTime = eventTime;
+    }
+
+    // =========================
+    // Verdict text was set → wait for the frame that shows it
+    // =========================
+    void verdictShown() {
+        if (touchUpTime < 0 || reactionStart >= 0) {
+            return;
+        }
+        reactionStart = touchUpTime;
+        touchUpTime = -1; // each touch measures one reaction
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        // Runs right before the traversal that draws the verdict
+        timer.recordReaction(SystemClock.uptimeMillis() - reactionStart);
+        reactionStart = -1;
+    }
+}
@@ -1,75 +1,94 @@
 package com.example.mathgame;
 
-import android.annotation.SuppressLint;
-import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
 import android.view.View;
 import android.view.animation.Animation;
 import android.view.animation.AnimationUtils;
 import android.widget.Button;
 import android.widget.LinearLayout;
 import android.widget.TextView;
+import android.widget.Toast;
 
-import androidx.activity.EdgeToEdge;
-import androidx.appcompat.app.AppCompatActivity;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.constraintlayout.widget.ConstraintLayout;
-import androidx.core.graphics.Insets;
-import androidx.core.view.ViewCompat;
-import androidx.core.view.WindowInsetsCompat;
+
+import com.example.mathgame.duel.DuelSession;
+import com.example.mathgame.engine.Operator;
+import com.example.mathgame.stats.LatencyHistogram;
+import com.example.mathgame.store.MasteryMatrix;
+
+import java.util.Locale;
 
 /**
- * Result Activity
+ * Result Screen
  * ----------------
- * This activity shows the final score after finishing the Math Game.
+ * This screen shows the final score after finishing the Math Game.
  * It provides two options to the user:
  *  - Play Again → Go back to the Menu screen.
- *  - Exit → Close the activity (end the game session).
+ *  - Exit → Close the app (end the game session).
+ *
+ * Below the score: best score, answer-time percentiles and a heat map
+ * of the weak facts (MasteryMatrix) of the operator last played.
+ * A long press on the percentiles exports all histograms to
+ * files/latency.csv (only then, not on every visit).
+ * After a LAN duel the best-score line says who won instead (updated
+ * while the opponent is still playing); leaving ends the duel.
  *
  * Includes simple animations for better UI transitions.
  */
-public class Result extends AppCompatActivity {
+public class Result extends Screen {
+
+    // Arguments passed by the game screens
+    public static final String ARG_SCORE = "score";
+    public static final String ARG_MODE = "mode";
+    public static final String ARG_SYMBOL = "symbol"; // operator of the last question (mixed modes)
+    public static final String ARG_DUEL = "duel";     // true: MathGameApp's DuelSession was played
 
     // UI Components
     TextView result;          // Displays final score
+    TextView best;            // Displays best score for the mode just played
+    TextView times;           // Displays p50/p95 answer time for the mode just played
+    TextView weakLabel;       // Caption of the heat map
+    MasteryHeatmapView heatmap; // Weak facts of the operator just played
     Button playagain;         // Button to restart game (go to Menu)
     Button exit;              // Button to exit app
     ConstraintLayout outside; // Outer container layout (for animation)
     LinearLayout innerside;   // Inner container layout (for animation)
+    Animation quickFadeRise;  // Entry animation
 
     // Game-related variable
-    int score; // Stores the score received from previous activity
+    int score; // Stores the score received from the game screen
+    String mode; // Game mode that was played (e.g. "ADD")
+    DuelSession duel; // Duel just played, null after a solo game
+    private final Runnable outcomeObserver = this::showOutcome;
+    final int[] weakness = new int[MasteryMatrix.CELLS]; // reused heat-map values
 
-    @SuppressLint("MissingInflatedId")
     @Override
-    protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        EdgeToEdge.enable(this); // Enables edge-to-edge drawing for UI
-        setContentView(R.layout.activity_result);
-
-        // ✅ Handle system window insets (status bar, navigation bar padding)
-        ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.main), (v, insets) -> {
-            Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
-            v.setPadding(systemBars.left, systemBars.top, systemBars.right, systemBars.bottom);
-            return insets;
-        });
+    protected int getLayoutRes() {
+        return R.layout.fragment_result;
+    }
+
+    @Override
+    protected int getBackgroundRes() {
+        return R.drawable.bg_2;
+    }
 
+    @Override
+    protected void onScreenCreated(@NonNull View view) {
         // 🔹 Linking UI elements with layout components
-        result = findViewById(R.id.textViewResult);
-        playagain = findViewById(R.id.buttonplayagain);
-        exit = findViewById(R.id.buttonExit);
-        outside = findViewById(R.id.outerBox);
-        innerside = findViewById(R.id.innerBox);
-
-        // 🔹 Load animations and apply them
-        Animation quickFadeRise = AnimationUtils.loadAnimation(this, R.anim.fast_fade_rise);
-        outside.startAnimation(quickFadeRise);
-        innerside.startAnimation(quickFadeRise);
+        result = view.findViewById(R.id.textViewResult);
+        best = view.findViewById(R.id.textViewBest);
+        times = view.findViewById(R.id.textViewTimes);
+        weakLabel = view.findViewById(R.id.textViewWeak);
+        heatmap = view.findViewById(R.id.heatmapWeak);
+        playagain = view.findViewById(R.id.buttonplayagain);
+        exit = view.findViewById(R.id.buttonExit);
+        outside = view.findViewById(R.id.outerBox);
+        innerside = view.findViewById(R.id.innerBox);
 
-        // 🔹 Get score from Intent (sent by Game/Quiz activity)
-        Intent intent = getIntent();
-        score = intent.getIntExtra("score", 0); // default = 0
-        result.setText(String.valueOf(score)); // Show score in TextView
+        // 🔹 Load animations
+        quickFadeRise = AnimationUtils.loadAnimation(requireContext(), R.anim.fast_fade_rise);
 
         // 🔹 Play Again button functionality
         playagain.setOnClickListener(new View.OnClickListener() {
@@ -77,22 +96,115 @@ public class Result extends AppCompatActivity {
             public void onClick(View v) {
                 playagain.setEnabled(false); // Prevent multiple clicks
 
-                // Animate the whole screen sliding upwards & fading
-                View rootView = findViewById(android.R.id.content);
-                Animation slideUp = AnimationUtils.loadAnimation(Result.this, R.anim.slide_up_and_fade);
-                rootView.startAnimation(slideUp);
-
-                // After animation delay → open Menu activity
-                new Handler().postDelayed(() -> {
-                    Intent intent = new Intent(Result.this, Menu.class);
-                    startActivity(intent);
-                    overridePendingTransition(0, 0); // Remove default transition
-                    finish(); // Close Result activity
-                }, 250); // Delay matches animation duration
+                // Animate the whole screen sliding upwards & fading, then open Menu
+                host().leaveTo(Menu.class, null);
             }
         });
 
         // 🔹 Exit button functionality → just finish() the activity
-        exit.setOnClickListener(v -> finish());
+        exit.setOnClickListener(v -> requireActivity().finish());
+
+        // 🔹 Long press on the answer times → export all histograms on demand
+        times.setOnLongClickListener(v -> {
+            MathGameApp.from(requireContext()).exportResponseTimes();
+            Toast.makeText(requireContext(), "Answer times saved to files/latency.csv", Toast.LENGTH_SHORT).show();
+            return true;
+        });
+    }
+
+    @Override
+    protected void onEnter(@Nullable Bundle args) {
+        playagain.setEnabled(true);
+
+        // 🔹 Apply entry animations
+        outside.startAnimation(quickFadeRise);
+        innerside.startAnimation(quickFadeRise);
+
+        // 🔹 Get score from the arguments (sent by the game screen)
+        score = args != null ? args.getInt(ARG_SCORE, 0) : 0; // default = 0
+        result.setText(String.valueOf(score)); // Show score in TextView
+
+        // 🔹 Best score comes from the in-memory cache (no disk read here)
+        MathGameApp app = MathGameApp.from(requireContext());
+        mode = args != null ? args.getString(ARG_MODE) : null;
+        duel = args != null && args.getBoolean(ARG_DUEL) ? app.getDuel() : null;
+        if (duel != null) {
+            best.setVisibility(View.VISIBLE);
+            app.setDuelObserver(outcomeObserver);
+            showOutcome();
+        } else if (mode != null) {
+            best.setVisibility(View.VISIBLE);
+            best.setText("Best: " + app.getScoreStore().bestScore(mode));
+        } else {
+            best.setVisibility(View.GONE);
+        }
+
+        // 🔹 Answer-time percentiles (long press exports them)
+        if (mode != null) {
+            LatencyHistogram answers = app.getResponseTimer(mode).getAnswer();
+            times.setVisibility(View.VISIBLE);
+            times.setText(String.format(Locale.getDefault(), "Answer time p50 %.1fs · p95 %.1fs",
+                    answers.percentile(50) / 1000f, answers.percentile(95) / 1000f));
+        } else {
+            times.setVisibility(View.GONE);
+        }
+
+        // 🔹 Weak facts, read straight from the mapped tables (once they are mapped)
+        if (mode != null && app.getMastery() != null) {
+            showWeakFacts(app, args.getChar(ARG_SYMBOL));
+        } else {
+            weakLabel.setVisibility(View.GONE);
+            heatmap.setVisibility(View.GONE);
+        }
+    }
+
+    @Override
+    protected void onLeave() {
+        MathGameApp app = MathGameApp.from(requireContext());
+        app.removeDuelObserver(outcomeObserver);
+        if (duel != null) {
+            app.endDuel(); // BYE is already out; closes the link
+            duel = null;
+        }
+    }
+
+    // Duel result, again whenever the opponent's state changes
+    private void showOutcome() {
+        if (duel == null) {
+            return;
+        }
+        int other = duel.getOpponentScore();
+        switch (duel.getOutcome()) {
+            case WON:
+                best.setText("You won! Opponent: " + other);
+                break;
+            case LOST:
+                best.setText("You lost. Opponent: " + other);
+                break;
+            case DRAW:
+                best.setText("Draw: " + other + " each");
+                break;
+            default:
+                best.setText(duel.isConnected() ? "Opponent still playing: " + other
+                        : "Opponent left at " + other);
+                break;
+        }
+    }
+
+    // Table of the last operator, cut to the range the player is at
+    private void showWeakFacts(MathGameApp app, char symbol) {
+        Operator modeOperator = app.getModes().operator(mode);
+        Operator operator = modeOperator.forSymbol(symbol);
+        if (operator == null) {
+            operator = modeOperator;
+        }
+        int bound = app.getDifficulty(mode, modeOperator).getOperandBound();
+        int side = Math.max(2, Math.min(bound, MasteryMatrix.SIDE));
+        app.getMastery().fillWeakness(operator, side, weakness);
+
+        weakLabel.setVisibility(View.VISIBLE);
+        weakLabel.setText("Weak facts (" + operator.symbol() + "): red = missed or slow");
+        heatmap.setVisibility(View.VISIBLE);
+        heatmap.setWeakness(weakness, side);
     }
 }
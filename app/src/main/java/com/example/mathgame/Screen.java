@@ -0,0 +1,102 @@
+package com.example.mathgame;
+
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+
+/**
+ * Screen (one page of the game inside MainActivity)
+ * --------------------------------------------------
+ * - Inflated once; MainActivity hides/shows the same instance afterwards,
+ *   so views are reused instead of re-inflated on every visit
+ * - onScreenCreated(): find views + set listeners (once per view)
+ * - onEnter(args): reset state and play the entry animation (every visit)
+ * - onLeave(): stop timers/animations while hidden
+ */
+public abstract class Screen extends Fragment {
+
+    private static final String KEY_ENTER_ARGS = "screen_enter_args";
+
+    private boolean enterPending;   // enter() called before the view existed
+    private Bundle enterArgs;       // arguments of the current visit
+
+    @LayoutRes
+    protected abstract int getLayoutRes();
+
+    /** Background drawn behind this screen by the host. */
+    @DrawableRes
+    protected abstract int getBackgroundRes();
+
+    protected abstract void onScreenCreated(@NonNull View view);
+
+    protected abstract void onEnter(@Nullable Bundle args);
+
+    protected void onLeave() {
+    }
+
+    protected MainActivity host() {
+        return (MainActivity) requireActivity();
+    }
+
+    @Override
+    public void onCreate(@Nullable Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+
+        // Recreated while visible (e.g. rotation) → replay the last visit
+        if (savedInstanceState != null && !isHidden()) {
+            enterPending = true;
+            enterArgs = savedInstanceState.getBundle(KEY_ENTER_ARGS);
+        }
+    }
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        return inflater.inflate(getLayoutRes(), container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        onScreenCreated(view);
+
+        if (enterPending) {
+            enterPending = false;
+            onEnter(enterArgs);
+        }
+    }
+
+    @Override
+    public void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putBundle(KEY_ENTER_ARGS, enterArgs);
+    }
+
+    // =========================
+    // Called by MainActivity
+    // =========================
+    final void enter(@Nullable Bundle args) {
+        enterArgs = args;
+        View view = getView();
+        if (view == null) {
+            enterPending = true; // onViewCreated() will call onEnter()
+            return;
+        }
+        view.clearAnimation(); // drop the exit animation of the last visit
+        onEnter(args);
+    }
+
+    final void leave() {
+        if (getView() != null) {
+            onLeave();
+        }
+    }
+}
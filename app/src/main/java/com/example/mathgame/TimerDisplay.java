@@ -0,0 +1,31 @@
+package com.example.mathgame;
+
+import android.widget.TextView;
+
+import com.example.mathgame.engine.TimerText;
+
+/**
+ * TimerDisplay
+ * --------------------------------------------------
+ * - Shows the remaining seconds of a question in a TextView
+ * - Uses the cached "00".."59" table instead of String.format
+ * - Skips setText() when the displayed second did not change
+ */
+final class TimerDisplay {
+
+    private final TextView view;
+    private int shownSecond = -1; // nothing shown yet
+
+    TimerDisplay(TextView view) {
+        this.view = view;
+    }
+
+    void show(long timeLeftInMillis) {
+        int second = TimerText.secondOf(timeLeftInMillis);
+        if (second == shownSecond) {
+            return; // same text already on screen
+        }
+        shownSecond = second;
+        view.setText(TimerText.twoDigits(second));
+    }
+}
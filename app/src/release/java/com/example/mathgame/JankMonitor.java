@@ -0,0 +1,17 @@
+package com.example.mathgame;
+
+/**
+ * Release builds do not monitor frames; the debug version lives in
+ * src/debug and has the same API.
+ */
+final class JankMonitor {
+
+    private static final JankMonitor NONE = new JankMonitor();
+
+    static JankMonitor install(MainActivity activity) {
+        return NONE;
+    }
+
+    void onScreenShown(String screen) {
+    }
+}
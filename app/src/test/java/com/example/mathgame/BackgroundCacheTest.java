@@ -0,0 +1,32 @@
+package com.example.mathgame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BackgroundCacheTest {
+
+    @Test
+    public void keepsFullSizeWhenImageIsNotBiggerThanTwiceTheScreen() {
+        assertEquals(1, BackgroundCache.sampleSizeFor(1080, 1920, 1080, 2400));
+        assertEquals(1, BackgroundCache.sampleSizeFor(1080, 1920, 720, 1280));
+    }
+
+    @Test
+    public void halvesWhileBothSidesStillCoverTheScreen() {
+        assertEquals(2, BackgroundCache.sampleSizeFor(1080, 1920, 540, 960));
+        assertEquals(2, BackgroundCache.sampleSizeFor(1080, 1920, 480, 800));
+        assertEquals(4, BackgroundCache.sampleSizeFor(1080, 1920, 240, 320));
+    }
+
+    @Test
+    public void neverShrinksOneSideBelowTheTarget() {
+        // wide target: height allows 4, width only 2
+        assertEquals(2, BackgroundCache.sampleSizeFor(1080, 1920, 500, 400));
+    }
+
+    @Test
+    public void unknownTargetKeepsFullSize() {
+        assertEquals(1, BackgroundCache.sampleSizeFor(1080, 1920, 0, 0));
+    }
+}
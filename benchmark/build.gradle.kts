@@ -0,0 +1,32 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+
+    jmh(project(":core"))
+}
+
+// Run with: ./gradlew :benchmark:jmh
+// Results land in benchmark/build/results/jmh/results.json; the "gc" profiler
+// adds gc.alloc.rate.norm (bytes allocated per operation) next to ops/s.
+// -PjmhIncludes=<regex> runs only the matching benchmarks, e.g. -PjmhIncludes=DuelLoopback
+jmh {
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+    jmhVersion.set(libs.versions.jmh)
+    benchmarkMode.add("thrpt")
+    timeUnit.set("s")
+    fork.set(1)
+    warmupIterations.set(3)
+    warmup.set("1s")
+    iterations.set(5)
+    timeOnIteration.set("1s")
+    profilers.add("gc")
+    resultFormat.set("JSON")
+}
@@ -0,0 +1,92 @@
+package com.example.mathgame.benchmark;
+
+import com.example.mathgame.engine.AnswerInput;
+import com.example.mathgame.engine.BasicOperator;
+import com.example.mathgame.engine.QuestionEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Answer parsing and grading, as done by the OK click listener.
+ * --------------------------------------------------
+ * - parse: Integer.parseInt on the text the player typed
+ * - grade: engine.submit on an already parsed answer
+ * - parseAndGrade: the old OK path (minus EditText.getText())
+ * - keypadAndGrade: the current path, keys fed into an AnswerInput
+ *
+ * The typed answers are prepared up front (one String, or one key sequence,
+ * per possible answer) so the measurement only covers the work done on
+ * every submit.
+ */
+@State(Scope.Thread)
+public class AnswerGradingBenchmark {
+
+    @Param({"ADD", "SUBTRACT", "MULTIPLY"})
+    public String operator;
+
+    private QuestionEngine engine;
+    private String[] typed;   // typed[answer - minAnswer] = what the player enters
+    private int[][] keys;     // same answers as keypad digits
+    private final AnswerInput input = new AnswerInput();
+    private int minAnswer;
+
+    @Setup
+    public void setUp() {
+        BasicOperator op = BasicOperator.valueOf(operator);
+        engine = new QuestionEngine(op, new Random(42));
+
+        int bound = QuestionEngine.OPERAND_BOUND - 1;
+        minAnswer = Math.min(op.apply(0, 0), op.apply(0, bound));
+        int maxAnswer = Math.max(op.apply(bound, 0), op.apply(bound, bound));
+
+        typed = new String[maxAnswer - minAnswer + 1];
+        keys = new int[typed.length][];
+        for (int i = 0; i < typed.length; i++) {
+            typed[i] = String.valueOf(minAnswer + i);
+            String digits = String.valueOf(Math.abs(minAnswer + i));
+            keys[i] = new int[digits.length()];
+            for (int d = 0; d < digits.length(); d++) {
+                keys[i][d] = digits.charAt(d) - '0';
+            }
+        }
+    }
+
+    @Benchmark
+    public int parse() {
+        engine.nextQuestion();
+        return Integer.parseInt(typed[engine.getAnswer() - minAnswer]);
+    }
+
+    @Benchmark
+    public QuestionEngine.Verdict grade() {
+        engine.nextQuestion();
+        return engine.submit(engine.getAnswer());
+    }
+
+    @Benchmark
+    public QuestionEngine.Verdict parseAndGrade() {
+        engine.nextQuestion();
+        int useranswer = Integer.parseInt(typed[engine.getAnswer() - minAnswer]);
+        return engine.submit(useranswer);
+    }
+
+    @Benchmark
+    public QuestionEngine.Verdict keypadAndGrade() {
+        engine.nextQuestion();
+        int answer = engine.getAnswer();
+        input.clear();
+        if (answer < 0) {
+            input.toggleSign();
+        }
+        for (int key : keys[answer - minAnswer]) {
+            input.digit(key);
+        }
+        return engine.submit(input.getValue());
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.mathgame.benchmark;
+
+import com.example.mathgame.duel.DuelConnection;
+import com.example.mathgame.duel.DuelProtocol;
+import com.example.mathgame.duel.DuelSession;
+import com.example.mathgame.duel.DuelSetup;
+import com.example.mathgame.engine.OperatorRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LAN duel protocol over 127.0.0.1, two ends in one JVM.
+ * --------------------------------------------------
+ * - roundTrip: one PING answered by the other session's PONG
+ *   (1 / ops/s = mean round trip)
+ * - progressUpdates: PROGRESS messages from one connection to the
+ *   other, counted once they have been decoded on the receiving side
+ *   (× 15 bytes = payload throughput)
+ *
+ * Correctness (same questions, update order, handshake timeouts) is
+ * covered by DuelLoopbackTest in core.
+ */
+@State(Scope.Benchmark)
+public class DuelLoopbackBenchmark {
+
+    private static final int BATCH = 1000;
+
+    private final ExecutorService hostWriter = Executors.newSingleThreadExecutor();
+    private final ExecutorService guestWriter = Executors.newSingleThreadExecutor();
+    private ServerSocketChannel server;
+    private DuelSession host, guest;
+    private final SynchronousQueue<Long> roundTrips = new SynchronousQueue<>();
+
+    private DuelConnection sender, receiver;
+    private final Semaphore batches = new Semaphore(0);
+    private int sent;
+
+    @Setup
+    public void connect() throws Exception {
+        OperatorRegistry modes = OperatorRegistry.standard();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        int port = server.socket().getLocalPort();
+        DuelSetup setup = new DuelSetup("MIXED", 1234L, 10, 10000);
+
+        ExecutorService hosting = Executors.newSingleThreadExecutor();
+        Future<DuelSession> hosted = hosting.submit(() ->
+                DuelSession.host(server, setup, modes.operator("MIXED"), () -> { }, 10_000, hostWriter, link -> { }));
+        guest = DuelSession.join(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), modes, guestWriter,
+                link -> { });
+        host = hosted.get(10, TimeUnit.SECONDS);
+        hosting.shutdown();
+        host.start(new RoundTrips());
+        guest.start(new RoundTrips()); // answers the pings
+
+        // Bare connections: a game would stop after three lives
+        SocketChannel sending = SocketChannel.open(server.getLocalAddress());
+        sender = new DuelConnection(sending, guestWriter);
+        receiver = new DuelConnection(server.accept(), hostWriter);
+        receiver.startReading(new BatchCounter(), error -> { });
+    }
+
+    @TearDown
+    public void disconnect() throws IOException {
+        sender.close();
+        receiver.close();
+        host.close();
+        guest.close();
+        server.close();
+        hostWriter.shutdown();
+        guestWriter.shutdown();
+    }
+
+    @Benchmark
+    public long roundTrip() throws InterruptedException {
+        host.ping();
+        return roundTrips.take();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void progressUpdates() throws InterruptedException {
+        for (int i = 0; i < BATCH; i++) {
+            sender.sendProgress(sent++, i * 10, 3, 1500, true);
+        }
+        batches.acquire(); // the last update of the batch was decoded
+    }
+
+    /** Hands each measured round trip to the benchmark thread. */
+    private final class RoundTrips implements DuelSession.Listener {
+        @Override
+        public void onOpponentChanged(DuelSession session) {
+        }
+
+        @Override
+        public void onRoundTrip(long nanos) {
+            try {
+                roundTrips.put(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void onClosed(DuelSession session, IOException error) {
+        }
+    }
+
+    /** Releases one permit per complete batch of PROGRESS messages. */
+    private final class BatchCounter implements DuelProtocol.Handler {
+        @Override
+        public void onHello(DuelSetup setup) {
+        }
+
+        @Override
+        public void onReady() {
+        }
+
+        @Override
+        public void onProgress(int index, int score, int lives, int latencyMillis, boolean correct) {
+            if ((index + 1) % BATCH == 0) {
+                batches.release();
+            }
+        }
+
+        @Override
+        public void onPing(long stamp) {
+        }
+
+        @Override
+        public void onPong(long stamp) {
+        }
+
+        @Override
+        public void onBye(int finalScore) {
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.mathgame.benchmark;
+
+import com.example.mathgame.engine.BasicOperator;
+import com.example.mathgame.engine.Question;
+import com.example.mathgame.engine.QuestionEngine;
+import com.example.mathgame.engine.QuestionSupply;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Question generation, as done by gameContinue() on every NEXT tap.
+ * --------------------------------------------------
+ * - generate: engine only (operands + correct answer)
+ * - generateAndRender: engine plus the question text built with
+ *   string concatenation, exactly like the game screens used to do
+ * - takePregenerated: what gameContinue() does now – dequeue a question
+ *   (text included) that a background thread built; falls back to
+ *   building inline whenever the refill cannot keep up
+ */
+@State(Scope.Thread)
+public class QuestionGenerationBenchmark {
+
+    @Param({"ADD", "SUBTRACT", "MULTIPLY"})
+    public String operator;
+
+    private QuestionEngine engine;
+    private ExecutorService refillThread;
+    private QuestionSupply supply;
+
+    @Setup
+    public void setUp() {
+        engine = new QuestionEngine(BasicOperator.valueOf(operator), new Random(42));
+        refillThread = Executors.newSingleThreadExecutor();
+        supply = new QuestionSupply(engine.getOperator(), 42L, refillThread);
+        supply.prefill(QuestionEngine.OPERAND_BOUND);
+    }
+
+    @TearDown
+    public void tearDown() {
+        refillThread.shutdownNow();
+    }
+
+    @Benchmark
+    public int generate() {
+        engine.nextQuestion();
+        return engine.getAnswer();
+    }
+
+    @Benchmark
+    public String generateAndRender() {
+        engine.nextQuestion();
+        return engine.getLeft() + " " + engine.getOperator().symbol() + " " + engine.getRight();
+    }
+
+    @Benchmark
+    public String takePregenerated() {
+        Question question = supply.take(QuestionEngine.OPERAND_BOUND);
+        engine.nextQuestion(question);
+        return question.getText();
+    }
+}
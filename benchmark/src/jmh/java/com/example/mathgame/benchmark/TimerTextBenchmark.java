@@ -0,0 +1,44 @@
+package com.example.mathgame.benchmark;
+
+import com.example.mathgame.engine.QuestionEngine;
+import com.example.mathgame.engine.TimerText;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Locale;
+
+/**
+ * Timer text rendering, as done by updateText() on every tick.
+ * --------------------------------------------------
+ * - stringFormat: the original "%02d" formatting
+ * - cachedTable: the TimerText lookup used by TimerDisplay
+ *
+ * Cycles through the remaining time of a full question (10s → 0s)
+ * so every possible value is rendered.
+ */
+@State(Scope.Thread)
+public class TimerTextBenchmark {
+
+    private long timeLeftInMillis = QuestionEngine.QUESTION_TIME_MILLIS;
+
+    private long nextTimeLeft() {
+        timeLeftInMillis -= 1000;
+        if (timeLeftInMillis < 0) {
+            timeLeftInMillis = QuestionEngine.QUESTION_TIME_MILLIS;
+        }
+        return timeLeftInMillis;
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        int second = (int) (nextTimeLeft() / 1000) % 60;
+        return String.format(Locale.getDefault(), "%02d", second);
+    }
+
+    @Benchmark
+    public CharSequence cachedTable() {
+        return TimerText.twoDigits(TimerText.secondOf(nextTimeLeft()));
+    }
+}
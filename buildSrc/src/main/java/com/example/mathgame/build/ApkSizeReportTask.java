@@ -0,0 +1,102 @@
+package com.example.mathgame.build;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Properties;
+
+/**
+ * ApkSizeReportTask (size + method-count report and budget of a variant's APK)
+ * --------------------------------------------------
+ * - Writes the {@link ApkStats} report of every APK in apkDirectory
+ *   to the report file and the build log
+ * - Compares against the baseline file (apkBytes, methods): more than
+ *   tolerancePercent above either fails the build
+ * - Without a baseline file only the report is written and a warning
+ *   logged, so a fresh checkout still builds; -PupdateApkBaseline writes
+ *   the current numbers as the new baseline (commit it to enable the budget)
+ *
+ * Registered per release variant in app/build.gradle.kts, as part of check.
+ */
+public abstract class ApkSizeReportTask extends DefaultTask {
+
+    private static final int TOP = 15;
+
+    @InputFiles
+    public abstract DirectoryProperty getApkDirectory();
+
+    @Internal // read and possibly rewritten, so neither a plain input nor output
+    public abstract RegularFileProperty getBaseline();
+
+    @Input
+    public abstract Property<Integer> getTolerancePercent();
+
+    @Input
+    public abstract Property<Boolean> getUpdateBaseline();
+
+    @OutputFile
+    public abstract RegularFileProperty getReport();
+
+    public ApkSizeReportTask() {
+        getOutputs().upToDateWhen(task -> false); // the baseline may have changed
+    }
+
+    @TaskAction
+    public void report() throws IOException {
+        File[] apks = getApkDirectory().get().getAsFile().listFiles((dir, name) -> name.endsWith(".apk"));
+        if (apks == null || apks.length != 1) {
+            throw new GradleException("expected one APK in " + getApkDirectory().get());
+        }
+        File apk = apks[0];
+        ApkStats stats = ApkStats.read(apk);
+
+        StringBuilder report = new StringBuilder();
+        stats.writeReport(report, apk.getName(), TOP);
+        try (Writer out = new FileWriter(getReport().get().getAsFile())) {
+            out.write(report.toString());
+        }
+        getLogger().lifecycle(report.toString());
+
+        File baselineFile = getBaseline().get().getAsFile();
+        if (getUpdateBaseline().get()) {
+            Properties baseline = new Properties();
+            baseline.setProperty("apkBytes", Long.toString(stats.getApkBytes()));
+            baseline.setProperty("methods", Integer.toString(stats.getMethodCount()));
+            try (Writer out = new FileWriter(baselineFile)) {
+                baseline.store(out, "APK size baseline, checked by " + getName());
+            }
+            getLogger().lifecycle("Recorded the size baseline in " + baselineFile);
+            return;
+        }
+        if (!baselineFile.exists()) {
+            getLogger().warn("No size baseline at " + baselineFile + ", budget not checked"
+                    + " (record one with -PupdateApkBaseline and commit it)");
+            return;
+        }
+
+        Properties baseline = new Properties();
+        try (Reader in = new FileReader(baselineFile)) {
+            baseline.load(in);
+        }
+        String regression = stats.regressionAgainst(Long.parseLong(baseline.getProperty("apkBytes")),
+                Integer.parseInt(baseline.getProperty("methods")), getTolerancePercent().get());
+        if (regression != null) {
+            throw new GradleException(regression + " (report: " + getReport().get().getAsFile()
+                    + "; accept with -PupdateApkBaseline)");
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.mathgame.build;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * ApkStats (what an APK is made of)
+ * --------------------------------------------------
+ * - File size, and every zip entry with its compressed size
+ * - Method references per dex (the number the 64K limit counts) and
+ *   per package, read straight from the dex headers: method_ids →
+ *   type_ids → string_ids
+ * - Packages are the first two name segments ("androidx.appcompat"),
+ *   three for com/org/net/io ("com.example.mathgame")
+ *
+ * No Gradle or Android types, so it can be tested with plain JUnit.
+ */
+public final class ApkStats {
+
+    /** One file inside the APK. */
+    public static final class Entry {
+        public final String name;
+        public final long compressedBytes;
+        public final long bytes;
+
+        Entry(String name, long compressedBytes, long bytes) {
+            this.name = name;
+            this.compressedBytes = compressedBytes;
+            this.bytes = bytes;
+        }
+    }
+
+    private final long apkBytes;
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, Integer> methodsPerDex = new HashMap<>();
+    private final Map<String, Integer> methodsPerPackage = new HashMap<>();
+
+    private ApkStats(long apkBytes) {
+        this.apkBytes = apkBytes;
+    }
+
+    // =========================
+    // Read an APK (or any zip with classes*.dex entries)
+    // =========================
+    public static ApkStats read(File apk) throws IOException {
+        ApkStats stats = new ApkStats(apk.length());
+        try (ZipFile zip = new ZipFile(apk)) {
+            Enumeration<? extends ZipEntry> all = zip.entries();
+            while (all.hasMoreElements()) {
+                ZipEntry entry = all.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                stats.entries.add(new Entry(entry.getName(), entry.getCompressedSize(), entry.getSize()));
+                if (entry.getName().matches("classes\\d*\\.dex")) {
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        stats.addDex(entry.getName(), readAll(in));
+                    }
+                }
+            }
+        }
+        stats.entries.sort(Comparator.comparingLong((Entry e) -> e.compressedBytes).reversed());
+        return stats;
+    }
+
+    // =========================
+    // Dex: count method_ids, group them by declaring class package
+    // =========================
+    void addDex(String name, byte[] dex) {
+        ByteBuffer buffer = ByteBuffer.wrap(dex).order(ByteOrder.LITTLE_ENDIAN);
+        if (dex.length < 0x70 || buffer.get(0) != 'd' || buffer.get(1) != 'e' || buffer.get(2) != 'x') {
+            throw new IllegalArgumentException(name + " is not a dex file");
+        }
+        int stringIdsOff = buffer.getInt(60);
+        int typeIdsOff = buffer.getInt(68);
+        int methodIdsSize = buffer.getInt(88);
+        int methodIdsOff = buffer.getInt(92);
+
+        Map<Integer, String> packageOfType = new HashMap<>();
+        for (int i = 0; i < methodIdsSize; i++) {
+            int classIdx = buffer.getShort(methodIdsOff + i * 8) & 0xFFFF;
+            String pkg = packageOfType.get(classIdx);
+            if (pkg == null) {
+                int descriptorIdx = buffer.getInt(typeIdsOff + classIdx * 4);
+                pkg = packageOf(string(buffer, buffer.getInt(stringIdsOff + descriptorIdx * 4)));
+                packageOfType.put(classIdx, pkg);
+            }
+            methodsPerPackage.merge(pkg, 1, Integer::sum);
+        }
+        methodsPerDex.put(name, methodIdsSize);
+    }
+
+    // string_data_item: uleb128 utf16 length, then MUTF-8 bytes up to a 0
+    private static String string(ByteBuffer buffer, int offset) {
+        int position = offset;
+        while ((buffer.get(position) & 0x80) != 0) {
+            position++;
+        }
+        position++;
+        int end = position;
+        while (buffer.get(end) != 0) {
+            end++;
+        }
+        byte[] bytes = new byte[end - position];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(position + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8); // descriptors are ASCII in practice
+    }
+
+    /** "Lcom/example/mathgame/Home;" → "com.example.mathgame"; arrays/primitives → "(other)". */
+    static String packageOf(String descriptor) {
+        int start = descriptor.lastIndexOf('[') + 1;
+        if (descriptor.length() <= start || descriptor.charAt(start) != 'L') {
+            return "(other)";
+        }
+        String[] parts = descriptor.substring(start + 1, descriptor.length() - 1).split("/");
+        if (parts.length == 1) {
+            return "(default)";
+        }
+        boolean domain = parts[0].equals("com") || parts[0].equals("org")
+                || parts[0].equals("net") || parts[0].equals("io");
+        int depth = Math.min(parts.length - 1, domain ? 3 : 2);
+        return String.join(".", Arrays.copyOf(parts, depth));
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[64 * 1024];
+        int read;
+        while ((read = in.read(chunk)) > 0) {
+            out.write(chunk, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    // =========================
+    // Text report: totals, bytes per kind, the largest files and packages
+    // =========================
+    public void writeReport(Appendable out, String apkName, int top) throws IOException {
+        out.append(String.format("APK %s: %,d KB%n", apkName, kb(apkBytes)));
+        out.append(String.format("dex: %d file(s), %,d method references (limit per dex: 65,536)%n",
+                getDexCount(), getMethodCount()));
+        out.append("by kind (compressed):");
+        List<Map.Entry<String, Long>> kinds = new ArrayList<>(getBytesByKind().entrySet());
+        kinds.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        for (Map.Entry<String, Long> kind : kinds) {
+            out.append(String.format(" %s %,d KB", kind.getKey(), kb(kind.getValue())));
+        }
+        out.append(String.format("%n%nlargest files (compressed / uncompressed):%n"));
+        for (int i = 0; i < Math.min(top, entries.size()); i++) {
+            Entry entry = entries.get(i);
+            out.append(String.format("  %,8d KB %,8d KB  %s%n", kb(entry.compressedBytes), kb(entry.bytes), entry.name));
+        }
+        out.append(String.format("%nmost method references:%n"));
+        List<Map.Entry<String, Integer>> packages = getPackages();
+        for (int i = 0; i < Math.min(top, packages.size()); i++) {
+            out.append(String.format("  %,8d  %s%n", packages.get(i).getValue(), packages.get(i).getKey()));
+        }
+    }
+
+    /**
+     * Why this APK exceeds the baseline by more than tolerancePercent
+     * (size or method references), or null when it does not.
+     */
+    public String regressionAgainst(long baselineBytes, int baselineMethods, int tolerancePercent) {
+        long maxBytes = baselineBytes + baselineBytes * tolerancePercent / 100;
+        long maxMethods = baselineMethods + (long) baselineMethods * tolerancePercent / 100;
+        if (apkBytes > maxBytes) {
+            return String.format("APK is %,d bytes, baseline %,d + %d%% = %,d", apkBytes, baselineBytes,
+                    tolerancePercent, maxBytes);
+        }
+        if (getMethodCount() > maxMethods) {
+            return String.format("%,d method references, baseline %,d + %d%% = %,d", getMethodCount(),
+                    baselineMethods, tolerancePercent, maxMethods);
+        }
+        return null;
+    }
+
+    private static long kb(long bytes) {
+        return (bytes + 1023) / 1024;
+    }
+
+    public long getApkBytes() {
+        return apkBytes;
+    }
+
+    public int getMethodCount() {
+        int total = 0;
+        for (int count : methodsPerDex.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    public int getDexCount() {
+        return methodsPerDex.size();
+    }
+
+    /** Entries, largest compressed size first. */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /** Packages with their method references, most first. */
+    public List<Map.Entry<String, Integer>> getPackages() {
+        List<Map.Entry<String, Integer>> packages = new ArrayList<>(methodsPerPackage.entrySet());
+        packages.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        return packages;
+    }
+
+    /** Compressed bytes per kind: dex, res, resources.arsc, lib, assets, other. */
+    public Map<String, Long> getBytesByKind() {
+        Map<String, Long> kinds = new HashMap<>();
+        for (Entry entry : entries) {
+            kinds.merge(kindOf(entry.name), entry.compressedBytes, Long::sum);
+        }
+        return kinds;
+    }
+
+    static String kindOf(String name) {
+        if (name.endsWith(".dex")) {
+            return "dex";
+        }
+        if (name.equals("resources.arsc")) {
+            return "resources.arsc";
+        }
+        int slash = name.indexOf('/');
+        String top = slash < 0 ? "" : name.substring(0, slash);
+        switch (top) {
+            case "res":
+            case "lib":
+            case "assets":
+            case "META-INF":
+                return top;
+            default:
+                return "other";
+        }
+    }
+}
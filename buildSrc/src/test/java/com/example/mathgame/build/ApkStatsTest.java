@@ -0,0 +1,120 @@
+package com.example.mathgame.build;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+
+public class ApkStatsTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void packagesOfDescriptors() {
+        assertEquals("com.example.mathgame", ApkStats.packageOf("Lcom/example/mathgame/Home;"));
+        assertEquals("com.example.mathgame", ApkStats.packageOf("Lcom/example/mathgame/engine/Question;"));
+        assertEquals("androidx.appcompat", ApkStats.packageOf("Landroidx/appcompat/widget/AppCompatButton;"));
+        assertEquals("java.lang", ApkStats.packageOf("[Ljava/lang/String;"));
+        assertEquals("(default)", ApkStats.packageOf("LTop;"));
+        assertEquals("(other)", ApkStats.packageOf("[I"));
+    }
+
+    @Test
+    public void countsMethodReferencesPerDexAndPackage() throws IOException {
+        byte[] first = dex(new String[]{"Landroidx/core/A;", "Lcom/example/mathgame/Home;"}, new int[]{0, 0, 1});
+        byte[] second = dex(new String[]{"Lcom/example/mathgame/Menu;"}, new int[]{0, 0});
+        File apk = apk(first, second);
+
+        ApkStats stats = ApkStats.read(apk);
+
+        assertEquals(2, stats.getDexCount());
+        assertEquals(5, stats.getMethodCount());
+        assertEquals("com.example.mathgame", stats.getPackages().get(0).getKey());
+        assertEquals(3, (int) stats.getPackages().get(0).getValue());
+        assertEquals(2, (int) stats.getPackages().get(1).getValue());
+        assertEquals(apk.length(), stats.getApkBytes());
+        assertEquals("res/drawable/bg.png", stats.getEntries().get(0).name); // largest first
+        assertTrue(stats.getBytesByKind().containsKey("res"));
+    }
+
+    @Test
+    public void regressionOnlyPastTheTolerance() throws IOException {
+        ApkStats stats = ApkStats.read(apk(dex(new String[]{"La/B;"}, new int[]{0, 0, 0, 0})));
+        long bytes = stats.getApkBytes();
+
+        assertNull(stats.regressionAgainst(bytes, 4, 0));
+        assertNull(stats.regressionAgainst(bytes * 100 / 104, 4, 5));
+        assertNotNull(stats.regressionAgainst(bytes / 2, 4, 5));
+        assertNotNull(stats.regressionAgainst(bytes, 3, 10));
+    }
+
+    @Test
+    public void reportNamesTheBiggestContributors() throws IOException {
+        ApkStats stats = ApkStats.read(apk(dex(new String[]{"Lcom/example/mathgame/Home;"}, new int[]{0})));
+        StringBuilder report = new StringBuilder();
+
+        stats.writeReport(report, "app.apk", 5);
+
+        assertTrue(report.toString().contains("res/drawable/bg.png"));
+        assertTrue(report.toString().contains("com.example.mathgame"));
+        assertTrue(report.toString().contains("1 method references"));
+    }
+
+    // Minimal dex: header, string_ids, type_ids (one per class), method_ids, string data
+    private static byte[] dex(String[] classes, int[] methodClasses) {
+        int stringIdsOff = 0x70;
+        int typeIdsOff = stringIdsOff + classes.length * 4;
+        int methodIdsOff = typeIdsOff + classes.length * 4;
+        int dataOff = methodIdsOff + methodClasses.length * 8;
+        ByteBuffer dex = ByteBuffer.allocate(dataOff + 256 * classes.length).order(ByteOrder.LITTLE_ENDIAN);
+        dex.put("dex\n035\0".getBytes(StandardCharsets.US_ASCII));
+        dex.putInt(56, classes.length).putInt(60, stringIdsOff);
+        dex.putInt(64, classes.length).putInt(68, typeIdsOff);
+        dex.putInt(88, methodClasses.length).putInt(92, methodIdsOff);
+
+        int data = dataOff;
+        for (int i = 0; i < classes.length; i++) {
+            dex.putInt(stringIdsOff + i * 4, data);
+            dex.putInt(typeIdsOff + i * 4, i);
+            byte[] utf8 = classes[i].getBytes(StandardCharsets.UTF_8);
+            dex.put(data++, (byte) utf8.length); // uleb128, < 128
+            for (byte b : utf8) {
+                dex.put(data++, b);
+            }
+            dex.put(data++, (byte) 0);
+        }
+        for (int i = 0; i < methodClasses.length; i++) {
+            dex.putShort(methodIdsOff + i * 8, (short) methodClasses[i]);
+        }
+        return dex.array();
+    }
+
+    private File apk(byte[]... dexes) throws IOException {
+        File apk = folder.newFile("app.apk");
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(apk))) {
+            for (int i = 0; i < dexes.length; i++) {
+                zip.putNextEntry(new ZipEntry(i == 0 ? "classes.dex" : "classes" + (i + 1) + ".dex"));
+                zip.write(dexes[i]);
+                zip.closeEntry();
+            }
+            zip.putNextEntry(new ZipEntry("res/drawable/bg.png"));
+            byte[] noise = new byte[64 * 1024];
+            new Random(1).nextBytes(noise); // incompressible, so it is the largest entry
+            zip.write(noise);
+            zip.closeEntry();
+        }
+        return apk;
+    }
+}
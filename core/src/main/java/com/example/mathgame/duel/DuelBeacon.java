@@ -0,0 +1,62 @@
+package com.example.mathgame.duel;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+
+/**
+ * DuelBeacon (find a waiting host on the LAN without typing an address)
+ * --------------------------------------------------
+ * - The host sends a small UDP datagram every BEACON_INTERVAL_MILLIS
+ *   (to the broadcast address on a device, to 127.0.0.1 in tests):
+ *   MAGIC, protocol version, TCP port
+ * - A guest listens on DuelProtocol.DISCOVERY_PORT and connects to the
+ *   sender of the first valid beacon
+ *
+ * Stateless; the caller owns the sockets.
+ */
+public final class DuelBeacon {
+
+    public static final long BEACON_INTERVAL_MILLIS = 500;
+
+    static final int MAGIC = 0x4D47444C; // "MGDL"
+    static final int BYTES = 4 + 1 + 2;
+
+    private DuelBeacon() {
+    }
+
+    /** One beacon to target (socket needs setBroadcast(true) for a broadcast address). */
+    public static void announce(DatagramSocket socket, SocketAddress target, int tcpPort) throws IOException {
+        ByteBuffer beacon = ByteBuffer.allocate(BYTES);
+        beacon.putInt(MAGIC).put((byte) DuelProtocol.VERSION).putShort((short) tcpPort);
+        socket.send(new DatagramPacket(beacon.array(), BYTES, target));
+    }
+
+    /** Address of the first host heard within timeoutMillis, null if none. */
+    public static InetSocketAddress listen(DatagramSocket socket, int timeoutMillis) throws IOException {
+        byte[] data = new byte[64];
+        DatagramPacket packet = new DatagramPacket(data, data.length);
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            long left = deadline - System.currentTimeMillis();
+            if (left <= 0) {
+                return null;
+            }
+            socket.setSoTimeout((int) left);
+            try {
+                socket.receive(packet);
+            } catch (SocketTimeoutException e) {
+                return null;
+            }
+            ByteBuffer beacon = ByteBuffer.wrap(data, 0, packet.getLength());
+            if (packet.getLength() >= BYTES && beacon.getInt() == MAGIC && beacon.get() == DuelProtocol.VERSION) {
+                return new InetSocketAddress(packet.getAddress(), beacon.getShort() & 0xFFFF);
+            }
+            // someone else's datagram on our port: keep listening
+        }
+    }
+}
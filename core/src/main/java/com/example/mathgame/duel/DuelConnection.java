@@ -0,0 +1,191 @@
+package com.example.mathgame.duel;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.Executor;
+
+/**
+ * DuelConnection (one TCP link to the other player)
+ * --------------------------------------------------
+ * - Blocking SocketChannel with TCP_NODELAY: every message leaves at
+ *   once instead of waiting to be merged with the next one (Nagle)
+ * - Sends are encoded and written on the writer Executor, so the main
+ *   thread never touches the socket; a single-thread Executor keeps
+ *   them in order
+ * - {@link #read} blocks for the next bytes and decodes every complete
+ *   message; {@link #startReading} runs it on a "mathgame-duel" thread
+ *   until the link closes. The handshake reads with a deadline instead,
+ *   so a silent peer cannot hold the connecting thread forever
+ */
+public final class DuelConnection implements Closeable {
+
+    /** Told once when the link is gone, on the reader thread. */
+    public interface CloseListener {
+        /** @param error null when the other side closed it normally */
+        void onClosed(IOException error);
+    }
+
+    private static final int READ_BUFFER_BYTES = 4096;
+    private static final long CLOSE_CHECK_MILLIS = 250; // a close elsewhere may not wake select()
+
+    private final SocketChannel channel;
+    private final Executor writer;
+    private final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_BYTES);          // reader thread only
+    private final ByteBuffer out = ByteBuffer.allocate(DuelProtocol.MAX_MESSAGE_BYTES); // writer only
+    private volatile boolean closed;
+
+    public DuelConnection(SocketChannel channel, Executor writer) throws IOException {
+        this.channel = channel;
+        this.writer = writer;
+        channel.configureBlocking(true);
+        channel.socket().setTcpNoDelay(true);
+        in.flip(); // empty, ready for decoding
+    }
+
+    // =========================
+    // Sending (any thread)
+    // =========================
+    public void sendHello(DuelSetup setup) {
+        send(() -> DuelProtocol.putHello(out, setup));
+    }
+
+    public void sendReady() {
+        send(() -> DuelProtocol.putReady(out));
+    }
+
+    public void sendProgress(int index, int score, int lives, int latencyMillis, boolean correct) {
+        send(() -> DuelProtocol.putProgress(out, index, score, lives, latencyMillis, correct));
+    }
+
+    public void sendPing(long stamp) {
+        send(() -> DuelProtocol.putPing(out, stamp));
+    }
+
+    public void sendPong(long stamp) {
+        send(() -> DuelProtocol.putPong(out, stamp));
+    }
+
+    public void sendBye(int finalScore) {
+        send(() -> DuelProtocol.putBye(out, finalScore));
+    }
+
+    private void send(Runnable encode) {
+        if (closed) {
+            return;
+        }
+        writer.execute(() -> {
+            if (closed) {
+                return;
+            }
+            synchronized (out) {
+                out.clear();
+                encode.run();
+                out.flip();
+                try {
+                    while (out.hasRemaining()) {
+                        channel.write(out);
+                    }
+                } catch (IOException e) {
+                    close(); // the reader sees it and reports
+                }
+            }
+        });
+    }
+
+    // =========================
+    // Receiving
+    // =========================
+
+    /** Blocks for the next bytes and decodes them; EOFException when the other side closed. */
+    public void read(DuelProtocol.Handler handler) throws IOException {
+        in.compact();
+        int read = channel.read(in);
+        in.flip();
+        if (read < 0) {
+            throw new EOFException("duel partner left");
+        }
+        DuelProtocol.decode(in, handler);
+    }
+
+    /**
+     * Like {@link #read}, but gives up with a SocketTimeoutException at
+     * deadline (System.currentTimeMillis()). Closing the channel from
+     * another thread ends it too.
+     */
+    public void read(DuelProtocol.Handler handler, long deadline) throws IOException {
+        channel.configureBlocking(false);
+        try {
+            try (Selector selector = Selector.open()) {
+                channel.register(selector, SelectionKey.OP_READ);
+                while (true) {
+                    in.compact();
+                    int read = channel.read(in); // closed meanwhile: ClosedChannelException
+                    in.flip();
+                    if (read < 0) {
+                        throw new EOFException("duel partner left");
+                    }
+                    if (read > 0) {
+                        DuelProtocol.decode(in, handler);
+                        return;
+                    }
+                    long left = deadline - System.currentTimeMillis();
+                    if (left <= 0) {
+                        throw new SocketTimeoutException("duel partner did not answer");
+                    }
+                    selector.select(Math.min(left, CLOSE_CHECK_MILLIS));
+                }
+            } // closing the selector deregisters the channel
+        } finally {
+            if (channel.isOpen()) {
+                channel.configureBlocking(true);
+            }
+        }
+    }
+
+    /** Reads on a daemon thread until the link closes, then tells listener. */
+    public void startReading(DuelProtocol.Handler handler, CloseListener listener) {
+        Thread reader = new Thread(() -> {
+            IOException error = null;
+            try {
+                while (!closed) {
+                    read(handler);
+                }
+            } catch (EOFException e) {
+                // normal end
+            } catch (IOException e) {
+                if (!closed) {
+                    error = e;
+                }
+            }
+            close();
+            listener.onClosed(error);
+        }, "mathgame-duel");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /** Closes after everything sent so far has been written (e.g. a BYE). */
+    public void closeWhenSent() {
+        writer.execute(this::close);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            channel.close(); // also wakes a blocked read
+        } catch (IOException ignored) {
+            // nothing left to release
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.mathgame.duel;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * DuelProtocol (the bytes two duelling devices exchange over TCP)
+ * --------------------------------------------------
+ * - One byte of type, then fixed-width big-endian fields; no length
+ *   prefix (the type says how long a message is), so an answer update
+ *   is 15 bytes
+ * - Messages:
+ *
+ *   HELLO     version, seed, operand bound, time limit, mode   host → guest
+ *   READY     -                                                guest → host
+ *   PROGRESS  question index, score, lives, latency ms, correct
+ *   PING      sender's System.nanoTime()
+ *   PONG      the PING's stamp, echoed
+ *   BYE       final score (game over)
+ *
+ * - {@link #decode} hands every complete message in a buffer to a
+ *   {@link Handler} and leaves a partial one for the next read
+ *
+ * Stateless.
+ */
+public final class DuelProtocol {
+
+    public static final int VERSION = 1;
+    public static final int PORT = 47470;            // TCP, the host listens
+    public static final int DISCOVERY_PORT = 47471;  // UDP, DuelBeacon
+
+    static final byte HELLO = 1, READY = 2, PROGRESS = 3, PING = 4, PONG = 5, BYE = 6;
+
+    static final int MAX_MODE_BYTES = 64;
+    static final int HELLO_FIXED_BYTES = 1 + 1 + 8 + 4 + 4 + 1; // up to the mode length
+    static final int PROGRESS_BYTES = 1 + 4 + 4 + 1 + 4 + 1;
+    static final int STAMP_BYTES = 1 + 8;
+    static final int BYE_BYTES = 1 + 4;
+    static final int MAX_MESSAGE_BYTES = HELLO_FIXED_BYTES + MAX_MODE_BYTES;
+
+    /** Receives decoded messages, on the thread that called decode. */
+    public interface Handler {
+        void onHello(DuelSetup setup);
+
+        void onReady();
+
+        void onProgress(int index, int score, int lives, int latencyMillis, boolean correct);
+
+        void onPing(long stamp);
+
+        void onPong(long stamp);
+
+        void onBye(int finalScore);
+    }
+
+    private DuelProtocol() {
+    }
+
+    // =========================
+    // Encoding (out must have MAX_MESSAGE_BYTES left)
+    // =========================
+    static void putHello(ByteBuffer out, DuelSetup setup) {
+        byte[] mode = setup.getMode().getBytes(StandardCharsets.UTF_8);
+        if (mode.length > MAX_MODE_BYTES) {
+            throw new IllegalArgumentException("mode id too long: " + setup.getMode());
+        }
+        out.put(HELLO).put((byte) VERSION).putLong(setup.getSeed())
+                .putInt(setup.getOperandBound()).putInt(setup.getTimeLimitMillis())
+                .put((byte) mode.length).put(mode);
+    }
+
+    static void putReady(ByteBuffer out) {
+        out.put(READY);
+    }
+
+    static void putProgress(ByteBuffer out, int index, int score, int lives, int latencyMillis, boolean correct) {
+        out.put(PROGRESS).putInt(index).putInt(score).put((byte) lives).putInt(latencyMillis)
+                .put((byte) (correct ? 1 : 0));
+    }
+
+    static void putPing(ByteBuffer out, long stamp) {
+        out.put(PING).putLong(stamp);
+    }
+
+    static void putPong(ByteBuffer out, long stamp) {
+        out.put(PONG).putLong(stamp);
+    }
+
+    static void putBye(ByteBuffer out, int finalScore) {
+        out.put(BYE).putInt(finalScore);
+    }
+
+    // =========================
+    // Decoding: in is in read mode; consumed messages are skipped
+    // =========================
+    static void decode(ByteBuffer in, Handler handler) throws ProtocolException {
+        while (in.hasRemaining()) {
+            int start = in.position();
+            int length = lengthAt(in, start);
+            if (length < 0 || in.remaining() < length) {
+                return; // rest of the message is still on its way
+            }
+            byte type = in.get();
+            switch (type) {
+                case HELLO: {
+                    int version = in.get();
+                    if (version != VERSION) {
+                        throw new ProtocolException("duel protocol " + version + ", expected " + VERSION);
+                    }
+                    long seed = in.getLong();
+                    int bound = in.getInt();
+                    int timeLimit = in.getInt();
+                    byte[] mode = new byte[in.get() & 0xFF];
+                    in.get(mode);
+                    handler.onHello(new DuelSetup(new String(mode, StandardCharsets.UTF_8), seed, bound, timeLimit));
+                    break;
+                }
+                case READY:
+                    handler.onReady();
+                    break;
+                case PROGRESS: {
+                    int index = in.getInt();
+                    int score = in.getInt();
+                    int lives = in.get();
+                    int latency = in.getInt();
+                    handler.onProgress(index, score, lives, latency, in.get() != 0);
+                    break;
+                }
+                case PING:
+                    handler.onPing(in.getLong());
+                    break;
+                case PONG:
+                    handler.onPong(in.getLong());
+                    break;
+                case BYE:
+                    handler.onBye(in.getInt());
+                    break;
+                default:
+                    throw new ProtocolException("unknown duel message " + type);
+            }
+        }
+    }
+
+    // Length of the message starting at position, -1 while not known yet
+    private static int lengthAt(ByteBuffer in, int position) throws ProtocolException {
+        byte type = in.get(position);
+        switch (type) {
+            case HELLO:
+                int modeAt = position + HELLO_FIXED_BYTES - 1;
+                return modeAt < in.limit() ? HELLO_FIXED_BYTES + (in.get(modeAt) & 0xFF) : -1;
+            case READY:
+                return 1;
+            case PROGRESS:
+                return PROGRESS_BYTES;
+            case PING:
+            case PONG:
+                return STAMP_BYTES;
+            case BYE:
+                return BYE_BYTES;
+            default:
+                throw new ProtocolException("unknown duel message " + type);
+        }
+    }
+}
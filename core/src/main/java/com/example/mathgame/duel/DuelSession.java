@@ -0,0 +1,310 @@
+package com.example.mathgame.duel;
+
+import com.example.mathgame.engine.Difficulty;
+import com.example.mathgame.engine.Operator;
+import com.example.mathgame.engine.OperatorRegistry;
+import com.example.mathgame.engine.Question;
+import com.example.mathgame.engine.QuestionEngine;
+import com.example.mathgame.engine.QuestionSequence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Random;
+import java.util.concurrent.Executor;
+
+/**
+ * DuelSession (one head-to-head game between two devices)
+ * --------------------------------------------------
+ * - Handshake: the host accepts a guest (announcing itself between
+ *   accept attempts), sends HELLO with the {@link DuelSetup}; the guest
+ *   answers READY. Both ends then hold the same setup. Each side waits
+ *   at most HANDSHAKE_TIMEOUT_MILLIS for the other's message, and the
+ *   channel is handed to a ChannelWatcher first, so the caller can close
+ *   it to give up early
+ * - Same questions on both devices: question n is
+ *   QuestionSequence(seed).get(n, bound), a pure function, so nothing
+ *   but the seed has to travel
+ * - The usual game rules apply: a QuestionEngine with a fixed
+ *   Difficulty (points, lives, timeouts as in a solo game)
+ * - After every answer or timeout a PROGRESS goes out; the last one of
+ *   a game is followed by BYE. The opponent's score and lives arrive on
+ *   the reader thread and are kept in volatile fields
+ * - Once both games are over, {@link #getOutcome} says who won
+ *
+ * The game side (nextQuestion, answered) runs on one thread (the main
+ * thread in the app); opponent getters may be called from any thread.
+ */
+public final class DuelSession implements Closeable {
+
+    public static final int CONNECT_TIMEOUT_MILLIS = 5000;
+    public static final int HANDSHAKE_TIMEOUT_MILLIS = 3000;
+
+    public enum Outcome { PLAYING, WON, LOST, DRAW }
+
+    /** Called on the connection's reader thread. */
+    public interface Listener {
+        /** The opponent answered, timed out or finished. */
+        void onOpponentChanged(DuelSession session);
+
+        /** A PING came back after nanos. */
+        void onRoundTrip(long nanos);
+
+        /** The link is gone; error is null when it was closed normally. */
+        void onClosed(DuelSession session, IOException error);
+    }
+
+    /** Sends one beacon; called by {@link #host} between accept attempts. */
+    public interface Announcer {
+        void announce() throws IOException;
+    }
+
+    /** Gets the link's channel before the handshake; closing it (any thread) aborts the handshake. */
+    public interface ChannelWatcher {
+        void opened(SocketChannel channel);
+    }
+
+    private final DuelConnection connection;
+    private final Receiver receiver;       // opponent state, from the handshake on
+    private final DuelSetup setup;
+    private final QuestionSequence questions;
+    private final QuestionEngine engine;
+    private int nextIndex;                 // game thread only
+    private volatile boolean finished;     // local game over, BYE sent
+
+    private DuelSession(DuelConnection connection, Receiver receiver, DuelSetup setup, Operator operator) {
+        this.connection = connection;
+        this.receiver = receiver;
+        receiver.session = this;
+        this.setup = setup;
+        this.questions = new QuestionSequence(operator, setup.getSeed());
+        this.engine = new QuestionEngine(operator, new Random(),
+                Difficulty.fixed(setup.getOperandBound(), setup.getTimeLimitMillis()));
+    }
+
+    // =========================
+    // Handshake (blocking; run on a background thread)
+    // =========================
+
+    /** Waits up to timeoutMillis for a guest on server, then sends setup. */
+    public static DuelSession host(ServerSocketChannel server, DuelSetup setup, Operator operator,
+                                   Announcer announcer, long timeoutMillis, Executor writer,
+                                   ChannelWatcher watcher) throws IOException {
+        SocketChannel accepted = null;
+        server.configureBlocking(false);
+        try (Selector selector = Selector.open()) {
+            server.register(selector, SelectionKey.OP_ACCEPT);
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            while (accepted == null) {
+                long left = deadline - System.currentTimeMillis();
+                if (left <= 0) {
+                    throw new SocketTimeoutException("no guest joined within " + timeoutMillis + " ms");
+                }
+                announcer.announce();
+                selector.select(Math.min(left, DuelBeacon.BEACON_INTERVAL_MILLIS));
+                accepted = server.accept();
+            }
+        }
+
+        watcher.opened(accepted);
+        DuelConnection connection;
+        try {
+            connection = new DuelConnection(accepted, writer);
+        } catch (IOException e) {
+            accepted.close();
+            throw e;
+        }
+        Receiver receiver = new Receiver(connection);
+        try {
+            connection.sendHello(setup);
+            long handshakeDeadline = System.currentTimeMillis() + HANDSHAKE_TIMEOUT_MILLIS;
+            while (!receiver.ready) {
+                connection.read(receiver, handshakeDeadline); // a PROGRESS right behind READY is kept too
+            }
+        } catch (IOException e) {
+            connection.close();
+            throw e;
+        }
+        return new DuelSession(connection, receiver, setup, operator);
+    }
+
+    /** Connects to a waiting host and takes over its setup. */
+    public static DuelSession join(InetSocketAddress host, OperatorRegistry modes, Executor writer,
+                                   ChannelWatcher watcher) throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        DuelConnection connection;
+        try {
+            watcher.opened(channel);
+            channel.socket().connect(host, CONNECT_TIMEOUT_MILLIS);
+            connection = new DuelConnection(channel, writer);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        try {
+            Receiver receiver = new Receiver(connection);
+            long handshakeDeadline = System.currentTimeMillis() + HANDSHAKE_TIMEOUT_MILLIS;
+            while (receiver.setup == null) {
+                connection.read(receiver, handshakeDeadline);
+            }
+            DuelSetup setup = receiver.setup;
+            if (!modes.contains(setup.getMode())) {
+                throw new ProtocolException("host plays unknown mode " + setup.getMode());
+            }
+            connection.sendReady();
+            return new DuelSession(connection, receiver, setup, modes.operator(setup.getMode()));
+        } catch (IOException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /** Starts receiving the opponent's progress on the reader thread. */
+    public void start(Listener listener) {
+        receiver.listener = listener;
+        connection.startReading(receiver, error -> listener.onClosed(this, error));
+    }
+
+    // =========================
+    // The local game (game thread)
+    // =========================
+
+    /** Next question of the shared stream, already handed to the engine. */
+    public Question nextQuestion() {
+        Question question = questions.get(nextIndex++, setup.getOperandBound());
+        engine.nextQuestion(question);
+        return question;
+    }
+
+    /** After engine.submit or engine.timeOut: tells the opponent (and BYE once the game is over). */
+    public void answered(long latencyMillis, boolean correct) {
+        connection.sendProgress(nextIndex - 1, engine.getScore(), engine.getLives(),
+                (int) Math.min(latencyMillis, Integer.MAX_VALUE), correct);
+        if (engine.isGameOver() && !finished) {
+            finished = true;
+            connection.sendBye(engine.getScore());
+        }
+    }
+
+    /** Measures one round trip; the result arrives at Listener.onRoundTrip. */
+    public void ping() {
+        connection.sendPing(System.nanoTime());
+    }
+
+    public QuestionEngine getEngine() {
+        return engine;
+    }
+
+    public DuelSetup getSetup() {
+        return setup;
+    }
+
+    // =========================
+    // Opponent (any thread)
+    // =========================
+    public int getOpponentScore() {
+        return receiver.opponentScore;
+    }
+
+    public int getOpponentLives() {
+        return receiver.opponentLives;
+    }
+
+    /** Questions the opponent has answered or let time out. */
+    public int getOpponentAnswered() {
+        return receiver.opponentAnswered;
+    }
+
+    public boolean isOpponentFinished() {
+        return receiver.opponentFinished;
+    }
+
+    public Outcome getOutcome() {
+        if (!finished || !receiver.opponentFinished) {
+            return Outcome.PLAYING;
+        }
+        int own = engine.getScore(), other = receiver.opponentScore;
+        return own > other ? Outcome.WON : own < other ? Outcome.LOST : Outcome.DRAW;
+    }
+
+    public boolean isConnected() {
+        return !connection.isClosed();
+    }
+
+    /** Closes once everything queued (e.g. the BYE) has been sent. */
+    @Override
+    public void close() {
+        connection.closeWhenSent();
+    }
+
+    // =========================
+    // Incoming messages: the handshake on the connecting thread, then
+    // everything else on the reader thread
+    // =========================
+    private static final class Receiver implements DuelProtocol.Handler {
+
+        private final DuelConnection connection;
+        volatile DuelSetup setup;
+        volatile boolean ready;
+        volatile DuelSession session;      // set once the handshake is done
+        volatile Listener listener;        // set by start()
+
+        volatile int opponentScore, opponentLives = QuestionEngine.START_LIVES, opponentAnswered;
+        volatile boolean opponentFinished;
+
+        Receiver(DuelConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public void onHello(DuelSetup setup) {
+            this.setup = setup;
+        }
+
+        @Override
+        public void onReady() {
+            ready = true;
+        }
+
+        @Override
+        public void onProgress(int index, int score, int lives, int latencyMillis, boolean correct) {
+            opponentScore = score;
+            opponentLives = lives;
+            opponentAnswered = index + 1;
+            changed();
+        }
+
+        @Override
+        public void onPing(long stamp) {
+            connection.sendPong(stamp);
+        }
+
+        @Override
+        public void onPong(long stamp) {
+            Listener current = listener;
+            if (current != null) {
+                current.onRoundTrip(System.nanoTime() - stamp);
+            }
+        }
+
+        @Override
+        public void onBye(int finalScore) {
+            opponentScore = finalScore;
+            opponentFinished = true;
+            changed();
+        }
+
+        private void changed() {
+            Listener current = listener;
+            if (current != null) {
+                current.onOpponentChanged(session);
+            }
+        }
+    }
+}
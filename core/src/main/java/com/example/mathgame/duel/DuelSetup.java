@@ -0,0 +1,62 @@
+package com.example.mathgame.duel;
+
+/**
+ * What both players of a duel agree on before the first question:
+ * mode (OperatorRegistry id), seed of the shared QuestionSequence and a
+ * fixed operand range and time per question (an adaptive Difficulty
+ * would split the two question streams after the first answer).
+ * Chosen by the host, sent in HELLO. Immutable.
+ */
+public final class DuelSetup {
+
+    private final String mode;
+    private final long seed;
+    private final int operandBound;
+    private final int timeLimitMillis;
+
+    public DuelSetup(String mode, long seed, int operandBound, int timeLimitMillis) {
+        this.mode = mode;
+        this.seed = seed;
+        this.operandBound = operandBound;
+        this.timeLimitMillis = timeLimitMillis;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getOperandBound() {
+        return operandBound;
+    }
+
+    public int getTimeLimitMillis() {
+        return timeLimitMillis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DuelSetup)) {
+            return false;
+        }
+        DuelSetup other = (DuelSetup) o;
+        return seed == other.seed && operandBound == other.operandBound
+                && timeLimitMillis == other.timeLimitMillis && mode.equals(other.mode);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(seed) + mode.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return mode + " seed=" + seed + " bound=" + operandBound + " time=" + timeLimitMillis + "ms";
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.mathgame.engine;
+
+/**
+ * AnswerInput (the number the player is typing)
+ * --------------------------------------------------
+ * - Accumulates digits straight into an int: no text, no parsing
+ * - Sign can be toggled at any time (negative subtraction answers)
+ * - At most {@link #MAX_DIGITS} digits, so the value never overflows
+ * - Renders itself into a caller-owned char[] for display
+ *
+ * Allocation-free; not thread-safe (UI thread only).
+ */
+public final class AnswerInput {
+
+    public static final int MAX_DIGITS = 9;   // 999 999 999 < Integer.MAX_VALUE
+
+    private int magnitude;
+    private int digits;
+    private boolean negative;
+
+    // =========================
+    // Keys
+    // =========================
+
+    /** @return false when the digit was ignored (already MAX_DIGITS, or a leading zero after 0) */
+    public boolean digit(int digit) {
+        if (digit < 0 || digit > 9) {
+            throw new IllegalArgumentException("digit: " + digit);
+        }
+        if (digits == MAX_DIGITS || (digits == 1 && magnitude == 0)) {
+            return false;
+        }
+        magnitude = magnitude * 10 + digit;
+        digits++;
+        return true;
+    }
+
+    public void toggleSign() {
+        negative = !negative;
+    }
+
+    /** Removes the last digit; clears the sign once no digits are left. */
+    public void backspace() {
+        if (digits == 0) {
+            negative = false;
+            return;
+        }
+        magnitude /= 10;
+        digits--;
+    }
+
+    public void clear() {
+        magnitude = 0;
+        digits = 0;
+        negative = false;
+    }
+
+    // =========================
+    // State
+    // =========================
+    public boolean hasValue() {
+        return digits > 0;
+    }
+
+    public int getValue() {
+        return negative ? -magnitude : magnitude;
+    }
+
+    public int getDigitCount() {
+        return digits;
+    }
+
+    public boolean isNegative() {
+        return negative;
+    }
+
+    /** Digits of |value| (0 has one digit); used to auto-submit at the answer's length. */
+    public static int digitCount(int value) {
+        long v = Math.abs((long) value);
+        int count = 1;
+        while (v >= 10) {
+            v /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Writes "-123" (or "-" / "" while incomplete) into out.
+     *
+     * @param out at least MAX_DIGITS + 1 chars
+     * @return number of chars written
+     */
+    public int writeTo(char[] out) {
+        int length = digits + (negative ? 1 : 0);
+        int value = magnitude;
+        for (int i = length - 1, n = 0; n < digits; i--, n++) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        if (negative) {
+            out[0] = '-';
+        }
+        return length;
+    }
+}
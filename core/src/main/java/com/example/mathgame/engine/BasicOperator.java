@@ -0,0 +1,115 @@
+package com.example.mathgame.engine;
+
+/**
+ * The built-in operators (one game mode each, see {@link OperatorRegistry}).
+ * --------------------------------------------------
+ * - DIVIDE only asks exact divisions: left = divisor x quotient
+ * - MODULO never divides by zero
+ * - POWER asks squares and cubes (cubes of 0–9 only)
+ */
+public enum BasicOperator implements Operator {
+
+    ADD('+') {
+        @Override
+        public int apply(int left, int right) {
+            return left + right;
+        }
+    },
+
+    SUBTRACT('-') {
+        @Override
+        public int apply(int left, int right) {
+            return left - right;
+        }
+    },
+
+    MULTIPLY('x') {
+        @Override
+        public int apply(int left, int right) {
+            return left * right;
+        }
+
+        @Override
+        public boolean isMultiplicative() {
+            return true;
+        }
+    },
+
+    DIVIDE('÷') {
+        @Override
+        public int apply(int left, int right) {
+            return left / right;
+        }
+
+        // quotient = first, divisor in [1, bound)
+        @Override
+        public long operands(int first, int second, int operandBound) {
+            int divisor = 1 + second % Math.max(1, operandBound - 1);
+            return (long) (first * divisor) << 32 | divisor;
+        }
+
+        // quotient x divisor, the times-table fact it inverts
+        @Override
+        public long fact(int left, int right) {
+            return (long) (left / right) << 32 | right;
+        }
+
+        @Override
+        public boolean isMultiplicative() {
+            return true;
+        }
+    },
+
+    MODULO('%') {
+        @Override
+        public int apply(int left, int right) {
+            return left % right;
+        }
+
+        // divisor in [1, bound)
+        @Override
+        public long operands(int first, int second, int operandBound) {
+            return (long) first << 32 | 1 + second % Math.max(1, operandBound - 1);
+        }
+
+        @Override
+        public boolean isMultiplicative() {
+            return true;
+        }
+    },
+
+    POWER('^') {
+        @Override
+        public int apply(int left, int right) {
+            int result = 1;
+            for (int i = 0; i < right; i++) {
+                result *= left;
+            }
+            return result;
+        }
+
+        // exponent 2 or 3; cubes keep the base below 10
+        @Override
+        public long operands(int first, int second, int operandBound) {
+            int exponent = 2 + (second & 1);
+            int base = exponent == 3 ? first % Math.min(operandBound, 10) : first;
+            return (long) base << 32 | exponent;
+        }
+
+        @Override
+        public boolean isMultiplicative() {
+            return true;
+        }
+    };
+
+    private final char symbol;
+
+    BasicOperator(char symbol) {
+        this.symbol = symbol;
+    }
+
+    @Override
+    public char symbol() {
+        return symbol;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.mathgame.engine;
+
+/**
+ * Difficulty (adaptive operand range + time budget for one operator)
+ * --------------------------------------------------
+ * - Keeps a rolling accuracy and a rolling answer time
+ *   (exponential moving averages, weight 1/8 per answer)
+ * - Every {@link #WINDOW} answers it may move one level:
+ *   up when accurate and fast, down when accuracy drops
+ * - The level picks the operand bound from the operator's table,
+ *   so multiplication climbs through times tables while addition
+ *   and subtraction work with larger numbers
+ * - The time budget follows the player's rolling answer time
+ *
+ * {@link #record} is O(1) and allocation-free. The whole state packs into
+ * one long ({@link #toBits()}) so it can be saved between sessions.
+ * Not thread-safe; used from the game screen only.
+ */
+public final class Difficulty {
+
+    public static final int WINDOW = 6;                     // answers between level changes
+    public static final long MIN_TIME_MILLIS = 5000;        // time budget never drops below 5 s
+    public static final long MAX_TIME_MILLIS = 15000;       // ... nor grows above 15 s
+
+    static final int LEVEL_UP_ACCURACY = 850;               // per mille (85 %)
+    static final int LEVEL_DOWN_ACCURACY = 600;             // per mille (60 %)
+    static final long LEVEL_UP_LATENCY_MILLIS = 4000;       // must also answer within ~4 s
+    static final int BUDGET_PER_LATENCY_TENTHS = 25;        // budget = 2.5 x rolling answer time
+
+    // Operand bound (exclusive) per level
+    private static final int[] ADDITIVE_BOUNDS = {10, 20, 30, 50, 75, 100, 150, 200, 500, 1000};
+    private static final int ADDITIVE_START = 5;            // 0–99, the original range
+    private static final int[] MULTIPLICATIVE_BOUNDS = {4, 6, 8, 10, 13, 16, 20, 30, 50, 100};
+    private static final int MULTIPLICATIVE_START = 3;      // 0–9, the times tables
+
+    // toBits() layout: version | level | accuracy | latency | answers since change | budget seconds
+    private static final int BITS_VERSION = 1;
+    private static final int VERSION_SHIFT = 60;
+    private static final int LEVEL_SHIFT = 40, LEVEL_MASK = 0xF;
+    private static final int ACCURACY_SHIFT = 30, ACCURACY_MASK = 0x3FF;
+    private static final int LATENCY_SHIFT = 14, LATENCY_MASK = 0xFFFF;
+    private static final int SINCE_SHIFT = 10, SINCE_MASK = 0xF;
+    private static final int BUDGET_MASK = 0x3FF;
+
+    private final int[] bounds;
+    private final int startLevel;
+    private final long minTimeMillis, maxTimeMillis;
+    private final long startTimeMillis;
+
+    private int level;
+    private int accuracy;             // rolling accuracy, per mille
+    private long latencyMillis;       // rolling answer time
+    private int sinceChange;          // answers since the last level evaluation
+    private long timeLimitMillis;
+
+    private Difficulty(int[] bounds, int startLevel, long startTimeMillis, long minTimeMillis, long maxTimeMillis) {
+        this.bounds = bounds;
+        this.startLevel = startLevel;
+        this.startTimeMillis = startTimeMillis;
+        this.minTimeMillis = minTimeMillis;
+        this.maxTimeMillis = maxTimeMillis;
+        reset();
+    }
+
+    /** Adaptive difficulty with the bound table that suits the operator. */
+    public static Difficulty adaptiveFor(Operator operator) {
+        if (operator.isMultiplicative()) {
+            return new Difficulty(MULTIPLICATIVE_BOUNDS, MULTIPLICATIVE_START,
+                    QuestionEngine.QUESTION_TIME_MILLIS, MIN_TIME_MILLIS, MAX_TIME_MILLIS);
+        }
+        return new Difficulty(ADDITIVE_BOUNDS, ADDITIVE_START,
+                QuestionEngine.QUESTION_TIME_MILLIS, MIN_TIME_MILLIS, MAX_TIME_MILLIS);
+    }
+
+    /** A difficulty that never changes (one operand bound, one time budget). */
+    public static Difficulty fixed(int operandBound, long timeLimitMillis) {
+        return new Difficulty(new int[]{operandBound}, 0, timeLimitMillis, timeLimitMillis, timeLimitMillis);
+    }
+
+    // =========================
+    // Feed one graded answer (timeouts count as wrong)
+    // latencyMillis < 0 = unknown, only accuracy is updated
+    // =========================
+    public void record(boolean correct, long latencyMillis) {
+        accuracy += ((correct ? 1000 : 0) - accuracy) / 8;
+        if (latencyMillis >= 0) {
+            long clamped = Math.min(latencyMillis, maxTimeMillis);
+            this.latencyMillis += (clamped - this.latencyMillis) / 8;
+        }
+
+        if (++sinceChange < WINDOW) {
+            return;
+        }
+        sinceChange = 0;
+
+        if (accuracy >= LEVEL_UP_ACCURACY && this.latencyMillis <= LEVEL_UP_LATENCY_MILLIS) {
+            level = Math.min(level + 1, bounds.length - 1);
+        } else if (accuracy < LEVEL_DOWN_ACCURACY) {
+            level = Math.max(level - 1, 0);
+        }
+        timeLimitMillis = budgetFor(this.latencyMillis);
+    }
+
+    // Rolling answer time x 2.5, rounded up to whole seconds, clamped
+    private long budgetFor(long latency) {
+        long budget = (latency * BUDGET_PER_LATENCY_TENTHS / 10 + 999) / 1000 * 1000;
+        return Math.max(minTimeMillis, Math.min(budget, maxTimeMillis));
+    }
+
+    /** Back to the starting level and budget (forgets the player). */
+    public void reset() {
+        level = startLevel;
+        accuracy = (LEVEL_UP_ACCURACY + LEVEL_DOWN_ACCURACY) / 2;
+        timeLimitMillis = startTimeMillis;
+        latencyMillis = startTimeMillis * 10 / BUDGET_PER_LATENCY_TENTHS;
+        sinceChange = 0;
+    }
+
+    public int getOperandBound() {
+        return bounds[level];
+    }
+
+    public long getTimeLimitMillis() {
+        return timeLimitMillis;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getLevelCount() {
+        return bounds.length;
+    }
+
+    /** Rolling accuracy in per mille. */
+    public int getAccuracy() {
+        return accuracy;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    // =========================
+    // Compact state for storage (one long)
+    // =========================
+    public long toBits() {
+        return (long) BITS_VERSION << VERSION_SHIFT
+                | (long) level << LEVEL_SHIFT
+                | (long) accuracy << ACCURACY_SHIFT
+                | Math.min(latencyMillis, LATENCY_MASK) << LATENCY_SHIFT
+                | (long) sinceChange << SINCE_SHIFT
+                | Math.min(timeLimitMillis / 1000, BUDGET_MASK);
+    }
+
+    /**
+     * Restores a state written by {@link #toBits()}.
+     *
+     * @return false (state unchanged) when the bits are not a valid state
+     */
+    public boolean restore(long bits) {
+        if ((int) (bits >>> VERSION_SHIFT) != BITS_VERSION) {
+            return false;
+        }
+        int savedLevel = (int) (bits >>> LEVEL_SHIFT) & LEVEL_MASK;
+        int savedAccuracy = (int) (bits >>> ACCURACY_SHIFT) & ACCURACY_MASK;
+        long savedLatency = (bits >>> LATENCY_SHIFT) & LATENCY_MASK;
+        int savedSince = (int) (bits >>> SINCE_SHIFT) & SINCE_MASK;
+        long savedBudget = (bits & BUDGET_MASK) * 1000;
+        if (savedAccuracy > 1000 || savedSince >= WINDOW) {
+            return false;
+        }
+
+        level = Math.min(savedLevel, bounds.length - 1);
+        accuracy = savedAccuracy;
+        latencyMillis = savedLatency;
+        sinceChange = savedSince;
+        timeLimitMillis = Math.max(minTimeMillis, Math.min(savedBudget, maxTimeMillis));
+        return true;
+    }
+}
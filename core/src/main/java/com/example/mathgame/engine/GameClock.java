@@ -0,0 +1,116 @@
+package com.example.mathgame.engine;
+
+/**
+ * GameClock (per-question countdown)
+ * --------------------------------------------------
+ * - Counts down against an absolute deadline, so it does not drift
+ * - Supports start / pause / resume / reset without allocating
+ * - Is driven from outside: whoever owns the clock calls {@link #tick}
+ *   and schedules the next call after the returned delay
+ *
+ * One clock lives for a whole game session and is reused for every question.
+ */
+public final class GameClock {
+
+    /** Callbacks delivered from {@link #tick}. */
+    public interface Listener {
+        void onTick(long timeLeftInMillis);
+
+        void onTimeout();
+    }
+
+    private final TimeSource timeSource;
+    private long durationMillis;
+
+    private long deadline;           // valid while running
+    private long timeLeftInMillis;   // valid while stopped
+    private boolean running;
+
+    public GameClock(TimeSource timeSource, long durationMillis) {
+        this.timeSource = timeSource;
+        this.durationMillis = durationMillis;
+        this.timeLeftInMillis = durationMillis;
+    }
+
+    // =========================
+    // Start counting down from the full duration
+    // =========================
+    public void start() {
+        timeLeftInMillis = durationMillis;
+        running = false;
+        resume();
+    }
+
+    // =========================
+    // Freeze the remaining time
+    // =========================
+    public void pause() {
+        if (!running) {
+            return;
+        }
+        timeLeftInMillis = Math.max(0, deadline - timeSource.uptimeMillis());
+        running = false;
+    }
+
+    // =========================
+    // Continue from where pause() stopped
+    // =========================
+    public void resume() {
+        if (running || timeLeftInMillis <= 0) {
+            return;
+        }
+        deadline = timeSource.uptimeMillis() + timeLeftInMillis;
+        running = true;
+    }
+
+    // =========================
+    // Stop and go back to the full duration
+    // =========================
+    public void reset() {
+        running = false;
+        timeLeftInMillis = durationMillis;
+    }
+
+    /** Duration used by the next start() or reset(). */
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public long timeLeftInMillis() {
+        return running ? Math.max(0, deadline - timeSource.uptimeMillis()) : timeLeftInMillis;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Reports the remaining time (or the timeout) to the listener.
+     *
+     * @return delay in ms until the displayed second changes or the deadline
+     *         is reached, or -1 when the clock is stopped and no further
+     *         tick is needed
+     */
+    public long tick(Listener listener) {
+        if (!running) {
+            return -1;
+        }
+
+        long left = deadline - timeSource.uptimeMillis();
+        if (left <= 0) {
+            running = false;
+            timeLeftInMillis = 0;
+            listener.onTimeout();
+            return -1;
+        }
+
+        listener.onTick(left);
+
+        // Wake up just after the next whole second, or exactly at the deadline
+        return Math.min(left % 1000 + 1, left);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.mathgame.engine;
+
+import java.util.Arrays;
+
+/**
+ * MixedOperator (several operators in one game)
+ * --------------------------------------------------
+ * - Every question picks one of its members ({@link #pick}); the
+ *   question then carries that member's symbol and answer
+ * - Uses the times-table ranges as soon as one member does, so a
+ *   mix with x stays solvable
+ *
+ * Immutable. apply() has no meaning for a mix and throws.
+ */
+public final class MixedOperator implements Operator {
+
+    private final Operator[] members;
+    private final boolean multiplicative;
+
+    public MixedOperator(Operator... members) {
+        if (members.length == 0) {
+            throw new IllegalArgumentException("a mix needs at least one operator");
+        }
+        this.members = members.clone();
+        boolean anyMultiplicative = false;
+        for (Operator member : members) {
+            anyMultiplicative |= member.isMultiplicative();
+        }
+        this.multiplicative = anyMultiplicative;
+    }
+
+    @Override
+    public char symbol() {
+        return '?';
+    }
+
+    @Override
+    public int apply(int left, int right) {
+        throw new UnsupportedOperationException("pick() an operator of the mix first");
+    }
+
+    @Override
+    public boolean isMultiplicative() {
+        return multiplicative;
+    }
+
+    @Override
+    public Operator pick(long bits) {
+        return members[(int) ((bits >>> 1) % members.length)];
+    }
+
+    @Override
+    public Operator forSymbol(char symbol) {
+        for (Operator member : members) {
+            Operator match = member.forSymbol(symbol);
+            if (match != null) {
+                return match;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return members.length;
+    }
+
+    @Override
+    public String toString() {
+        return "Mixed" + Arrays.toString(members);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.mathgame.engine;
+
+/**
+ * Operator strategy used by {@link QuestionEngine}.
+ * --------------------------------------------------
+ * - Knows the symbol shown between the two operands
+ * - Computes the correct answer for a pair of operands
+ * - Shapes two random draws into valid operands (e.g. exact division)
+ * - Says which operand ranges suit it (see {@link Difficulty#adaptiveFor})
+ *
+ * Implementations must be stateless so one instance can be shared
+ * by every game screen. New operators are made available as a game
+ * mode through {@link OperatorRegistry}.
+ */
+public interface Operator {
+
+    /** Symbol shown between the operands, e.g. '+' or 'x'. */
+    char symbol();
+
+    /** Correct answer for "left symbol right". */
+    int apply(int left, int right);
+
+    /**
+     * Operands of one question from two uniform draws in [0, operandBound),
+     * packed as left << 32 | right. Default: the draws themselves.
+     */
+    default long operands(int first, int second, int operandBound) {
+        return (long) first << 32 | second;
+    }
+
+    /**
+     * Cell of "left symbol right" in a table of facts, packed as
+     * row << 32 | column: the draws operands() made it from, so a fact
+     * keeps its cell at every difficulty. Default: the operands.
+     */
+    default long fact(int left, int right) {
+        return (long) left << 32 | right;
+    }
+
+    /** True for x-like operators: they climb the small times-table ranges. */
+    default boolean isMultiplicative() {
+        return false;
+    }
+
+    /**
+     * Operator that asks the next question; random bits come from the
+     * caller. Single operators return themselves, a {@link MixedOperator}
+     * picks one of its members.
+     */
+    default Operator pick(long bits) {
+        return this;
+    }
+
+    /** The operator (this one or a member) that shows symbol, null if none. */
+    default Operator forSymbol(char symbol) {
+        return symbol == symbol() ? this : null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.mathgame.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OperatorRegistry (the game modes, one operator each)
+ * --------------------------------------------------
+ * - Maps a stable mode id ("ADD", "MIXED", …) to its operator and the
+ *   label shown on the Menu button
+ * - The id is what ends up in recordings and the session store, so
+ *   ids must never change once shipped; labels may
+ * - Insertion order is menu order
+ * - Adding a mode = one register() call; the Menu, the game screen,
+ *   replay and simulation all look modes up here
+ *
+ * Not thread-safe while registering; read-only afterwards.
+ */
+public final class OperatorRegistry {
+
+    public static final String MIXED = "MIXED";
+
+    private final Map<String, Operator> operators = new LinkedHashMap<>();
+    private final Map<String, String> labels = new LinkedHashMap<>();
+
+    // =========================
+    // Every built-in operator plus a mix of the four basic ones
+    // =========================
+    public static OperatorRegistry standard() {
+        OperatorRegistry registry = new OperatorRegistry();
+        registry.register(BasicOperator.ADD.name(), "ADDITION", BasicOperator.ADD);
+        registry.register(BasicOperator.SUBTRACT.name(), "SUBTRACTION", BasicOperator.SUBTRACT);
+        registry.register(BasicOperator.MULTIPLY.name(), "MULTIPLICATION", BasicOperator.MULTIPLY);
+        registry.register(BasicOperator.DIVIDE.name(), "DIVISION", BasicOperator.DIVIDE);
+        registry.register(BasicOperator.MODULO.name(), "MODULO", BasicOperator.MODULO);
+        registry.register(BasicOperator.POWER.name(), "POWERS", BasicOperator.POWER);
+        registry.register(MIXED, "MIXED", new MixedOperator(BasicOperator.ADD, BasicOperator.SUBTRACT,
+                BasicOperator.MULTIPLY, BasicOperator.DIVIDE));
+        return registry;
+    }
+
+    public OperatorRegistry register(String id, String label, Operator operator) {
+        if (operators.containsKey(id)) {
+            throw new IllegalArgumentException("mode " + id + " is already registered");
+        }
+        operators.put(id, operator);
+        labels.put(id, label);
+        return this;
+    }
+
+    /** @throws IllegalArgumentException for an unknown id */
+    public Operator operator(String id) {
+        Operator operator = operators.get(id);
+        if (operator == null) {
+            throw new IllegalArgumentException("unknown mode " + id);
+        }
+        return operator;
+    }
+
+    public String label(String id) {
+        operator(id); // same check
+        return labels.get(id);
+    }
+
+    public boolean contains(String id) {
+        return operators.containsKey(id);
+    }
+
+    /** Mode ids in menu order. */
+    public List<String> ids() {
+        return Collections.unmodifiableList(new ArrayList<>(operators.keySet()));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.mathgame.engine;
+
+/**
+ * One pre-generated question: operands, correct answer and the text
+ * shown to the player ("12 + 7"), built off the UI thread.
+ * Immutable, so it can be handed between threads through a queue.
+ */
+public final class Question {
+
+    private final Operator operator;  // the one that built it (a member, for mixed modes)
+    private final int left, right, answer;
+    private final int operandBound;   // difficulty range it was drawn from
+    private final long index;         // position in its QuestionSequence, -1 if not from one
+    private final String text;
+
+    public Question(Operator operator, int left, int right, int operandBound) {
+        this(operator, left, right, operandBound, -1);
+    }
+
+    public Question(Operator operator, int left, int right, int operandBound, long index) {
+        this.operator = operator;
+        this.left = left;
+        this.right = right;
+        this.answer = operator.apply(left, right);
+        this.operandBound = operandBound;
+        this.index = index;
+        this.text = left + " " + operator.symbol() + " " + right;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public int getLeft() {
+        return left;
+    }
+
+    public int getRight() {
+        return right;
+    }
+
+    public int getAnswer() {
+        return answer;
+    }
+
+    public int getOperandBound() {
+        return operandBound;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.mathgame.engine;
+
+import java.util.Random;
+
+/**
+ * QuestionEngine (shared game core)
+ * --------------------------------------------------
+ * - Generates questions for a single {@link Operator}
+ * - Grades answers (+10 points when correct, -1 life when wrong)
+ * - Applies the timeout rule (-1 life when the timer runs out)
+ * - Knows when the game is over (no lives left)
+ * - Takes operand range and time budget from its {@link Difficulty}
+ *   and feeds every graded answer back into it
+ *
+ * The engine has no Android dependencies and keeps all of its state in
+ * primitive fields, so generating and grading a question never allocates.
+ * It is not thread-safe; each game screen owns its own instance.
+ */
+public final class QuestionEngine {
+
+    public static final int OPERAND_BOUND = 100;             // default: operands are drawn from 0–99
+    public static final int POINTS_PER_CORRECT = 10;         // score added for a correct answer
+    public static final int START_LIVES = 3;                 // lives at the start of a game
+    public static final long QUESTION_TIME_MILLIS = 10000;   // default: 10 seconds per question
+
+    /** Outcome of {@link #submit(int)}. */
+    public enum Verdict {
+        CORRECT,
+        WRONG,
+        ALREADY_ANSWERED
+    }
+
+    private final Operator operator;
+    private final Random random;
+    private final Difficulty difficulty;
+
+    // Current question
+    private int left, right, answer;
+
+    // Session state
+    private int score;
+    private int lives = START_LIVES;
+    private int questionCount;
+    private boolean answered; // true once OK was pressed or the time ran out
+
+    public QuestionEngine(Operator operator) {
+        this(operator, new Random());
+    }
+
+    public QuestionEngine(Operator operator, Random random) {
+        this(operator, random, Difficulty.fixed(OPERAND_BOUND, QUESTION_TIME_MILLIS));
+    }
+
+    public QuestionEngine(Operator operator, Random random, Difficulty difficulty) {
+        this.operator = operator;
+        this.random = random;
+        this.difficulty = difficulty;
+    }
+
+    // =========================
+    // Generate a new question
+    // =========================
+    public void nextQuestion() {
+        int bound = difficulty.getOperandBound();
+        Operator picked = operator.pick(random.nextLong());
+        long operands = picked.operands(random.nextInt(bound), random.nextInt(bound), bound);
+        left = (int) (operands >>> 32);
+        right = (int) operands;
+        answer = picked.apply(left, right);
+        answered = false;
+        questionCount++;
+    }
+
+    // =========================
+    // Use a pre-generated question (see QuestionSupply)
+    // =========================
+    public void nextQuestion(Question question) {
+        left = question.getLeft();
+        right = question.getRight();
+        answer = question.getAnswer();
+        answered = false;
+        questionCount++;
+    }
+
+    // =========================
+    // Grade the player's answer
+    // =========================
+    public Verdict submit(int value) {
+        return submit(value, -1);
+    }
+
+    /** Grades the answer; latencyMillis (shown → submitted, -1 if unknown) feeds the difficulty. */
+    public Verdict submit(int value, long latencyMillis) {
+        if (answered) {
+            return Verdict.ALREADY_ANSWERED;
+        }
+        answered = true;
+
+        boolean correct = value == answer;
+        difficulty.record(correct, latencyMillis);
+        if (correct) {
+            score += POINTS_PER_CORRECT;
+            return Verdict.CORRECT;
+        }
+        lives -= 1;
+        return Verdict.WRONG;
+    }
+
+    // =========================
+    // Timer ran out before an answer was submitted
+    // =========================
+    public boolean timeOut() {
+        if (answered) {
+            return false; // answer already graded, nothing to penalise
+        }
+        answered = true;
+        difficulty.record(false, difficulty.getTimeLimitMillis()); // whole budget used
+        lives -= 1;
+        return true;
+    }
+
+    // =========================
+    // Start a fresh game with the same operator
+    // =========================
+    public void reset() {
+        score = 0;
+        lives = START_LIVES;
+        questionCount = 0;
+        answered = false;
+    }
+
+    public boolean isAnswered() {
+        return answered;
+    }
+
+    public boolean isGameOver() {
+        return lives <= 0;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public int getLeft() {
+        return left;
+    }
+
+    public int getRight() {
+        return right;
+    }
+
+    public int getAnswer() {
+        return answer;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    /** Time budget for the next question. */
+    public long getTimeLimitMillis() {
+        return difficulty.getTimeLimitMillis();
+    }
+}
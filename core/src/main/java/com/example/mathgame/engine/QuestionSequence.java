@@ -0,0 +1,69 @@
+package com.example.mathgame.engine;
+
+/**
+ * QuestionSequence (the questions of one seed, by position)
+ * --------------------------------------------------
+ * - Question n at a given operand range is a pure function of
+ *   (seed, n, range): no shared Random, so the result does not depend
+ *   on which thread built it or how many were built before
+ * - This is what makes a session reproducible from its seed although
+ *   {@link QuestionSupply} pre-generates questions in the background
+ * - A draw equal to the previous position's first draw is redrawn, so
+ *   the same question rarely shows twice in a row (pure functions can
+ *   only look one step back)
+ * - Mixed modes pick the question's operator from a separate hash of
+ *   the position, then let it shape the operands ({@link Operator#operands})
+ *
+ * Stateless and thread-safe.
+ */
+public final class QuestionSequence {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int MAX_ATTEMPTS = 4;
+
+    private final Operator operator;
+    private final long seed;
+
+    public QuestionSequence(Operator operator, long seed) {
+        this.operator = operator;
+        this.seed = seed;
+    }
+
+    // =========================
+    // Question at position index, operands in [0, operandBound)
+    // =========================
+    public Question get(long index, int operandBound) {
+        long previous = index > 0 ? draw(index - 1, operandBound, 0) : -1;
+        long pair = draw(index, operandBound, 0);
+        for (int attempt = 1; pair == previous && attempt < MAX_ATTEMPTS && operandBound > 1; attempt++) {
+            pair = draw(index, operandBound, attempt);
+        }
+        Operator picked = operator.pick(mix(seed ^ index * GOLDEN_GAMMA + GOLDEN_GAMMA));
+        long operands = picked.operands((int) (pair >>> 32), (int) pair, operandBound);
+        return new Question(picked, (int) (operands >>> 32), (int) operands, operandBound, index);
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // Two operands packed as left << 32 | right
+    private long draw(long index, int operandBound, int attempt) {
+        long bits = mix(seed + (index * MAX_ATTEMPTS + attempt + 1) * GOLDEN_GAMMA
+                ^ (long) operandBound << 40);
+        long left = ((bits >>> 32) * operandBound) >>> 32;          // high half → [0, bound)
+        long right = ((bits & 0xFFFFFFFFL) * operandBound) >>> 32;  // low half  → [0, bound)
+        return left << 32 | right;
+    }
+
+    // SplitMix64 finaliser: every input bit affects every output bit
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.mathgame.engine;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * QuestionSupply (pre-generated questions for one operator)
+ * --------------------------------------------------
+ * - Keeps a ring buffer ({@link SpscQueue}) of ready {@link Question}s,
+ *   text included, so showing the next question is a dequeue + setText
+ * - A refill task on the given executor tops the buffer up whenever it
+ *   falls to half; at most one refill runs at a time (single producer)
+ * - Questions drawn from an older difficulty range are skipped, so a
+ *   level change takes effect on the very next question
+ * - If the buffer is empty, the question is built on the caller's thread
+ * - Every question comes from a seeded {@link QuestionSequence}: the n-th
+ *   question handed out is sequence.get(n, range) no matter how far the
+ *   refill got, so a session can be replayed from its seed
+ *
+ * {@link #take} and {@link #prefill} must be called from one thread
+ * (the UI thread); the refill runs on the executor.
+ */
+public final class QuestionSupply {
+
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final QuestionSequence sequence;
+    private final Executor executor;
+    private final SpscQueue<Question> queue;
+    private final int lowWatermark;
+
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final Runnable refill = this::refill;
+    private volatile int operandBound;    // range the refill draws from
+    private volatile long consumed;       // index the next take() hands out
+
+    // Refill thread only: next index to generate and the range it was generated for
+    private long produced;
+    private int producedBound = -1;
+
+    // Consumer-side counters
+    private int taken, stale, builtInline;
+
+    public QuestionSupply(Operator operator, long seed, Executor executor) {
+        this(operator, seed, executor, DEFAULT_CAPACITY);
+    }
+
+    public QuestionSupply(Operator operator, long seed, Executor executor, int capacity) {
+        this.sequence = new QuestionSequence(operator, seed);
+        this.executor = executor;
+        this.queue = new SpscQueue<>(capacity);
+        this.lowWatermark = queue.capacity() / 2;
+    }
+
+    // =========================
+    // Start filling before the first question is needed
+    // =========================
+    public void prefill(int operandBound) {
+        this.operandBound = operandBound;
+        scheduleRefill();
+    }
+
+    // =========================
+    // Next question in the given range
+    // =========================
+    public Question take(int operandBound) {
+        this.operandBound = operandBound;
+        long index = consumed;
+        consumed = index + 1;
+        taken++;
+
+        Question next = null;
+        Question head;
+        while ((head = queue.peek()) != null) {
+            if (head.getOperandBound() == operandBound) {
+                if (head.getIndex() > index) {
+                    break; // refill is ahead of us: keep it for a later take
+                }
+                if (head.getIndex() == index) {
+                    next = queue.poll();
+                    break;
+                }
+            }
+            queue.poll();
+            stale++; // drawn before a difficulty change, or already built inline
+        }
+
+        if (queue.size() <= lowWatermark) {
+            scheduleRefill();
+        }
+        if (next == null) {
+            builtInline++;
+            next = sequence.get(index, operandBound);
+        }
+        return next;
+    }
+
+    /** Sequence index of the question the next {@link #take} returns. */
+    public long nextIndex() {
+        return consumed;
+    }
+
+    public long getSeed() {
+        return sequence.getSeed();
+    }
+
+    private void scheduleRefill() {
+        if (refilling.compareAndSet(false, true)) {
+            executor.execute(refill);
+        }
+    }
+
+    // =========================
+    // Producer: fill the buffer up to capacity
+    // =========================
+    private void refill() {
+        do {
+            try {
+                while (queue.size() < queue.capacity()) {
+                    queue.offer(generate(operandBound)); // re-read: follows range changes while filling
+                }
+            } finally {
+                refilling.set(false);
+            }
+            // take() may have drained the buffer while the flag was still set
+        } while (queue.size() <= lowWatermark && refilling.compareAndSet(false, true));
+    }
+
+    private Question generate(int bound) {
+        long next = consumed;
+        if (bound != producedBound || produced < next) {
+            produced = next; // new range, or the UI thread built the next ones itself
+            producedBound = bound;
+        }
+        return sequence.get(produced++, bound);
+    }
+
+    public int available() {
+        return queue.size();
+    }
+
+    /** Questions handed out by {@link #take}. */
+    public int getTaken() {
+        return taken;
+    }
+
+    /** Pre-generated questions dropped because the range had changed. */
+    public int getStale() {
+        return stale;
+    }
+
+    /** Questions built on the caller's thread because the buffer was empty. */
+    public int getBuiltInline() {
+        return builtInline;
+    }
+}
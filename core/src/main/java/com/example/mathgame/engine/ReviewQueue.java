@@ -0,0 +1,329 @@
+package com.example.mathgame.engine;
+
+import java.util.Arrays;
+
+/**
+ * ReviewQueue (spaced repetition of missed facts)
+ * --------------------------------------------------
+ * - A missed fact (operator, left, right) is asked again after
+ *   INTERVALS[0] questions; every correct re-ask moves it one box up
+ *   and waits INTERVALS[box] questions; a miss puts it back in box 0;
+ *   a correct answer in the last box retires it
+ * - Time is counted in questions shown, so the spacing is the same
+ *   for fast and slow players and survives pauses
+ * - {@link #nextDue} is asked before every question: it returns a due
+ *   fact at most every other question, so reviews are interleaved with
+ *   fresh questions instead of arriving in a burst
+ *
+ * Layout: facts are packed into one long (operator slot, left, right)
+ * and live in dense parallel arrays. A binary min-heap of slot numbers
+ * ordered by due time gives O(log n) schedule / reschedule / retire,
+ * and an open-addressing long → slot table finds a fact in O(1).
+ * Nothing is boxed; arrays grow by doubling up to MAX_FACTS.
+ *
+ * Not thread-safe (UI thread, one queue per game mode).
+ */
+public final class ReviewQueue {
+
+    /** Questions to wait before the re-ask, per box. */
+    static final int[] INTERVALS = {3, 8, 20, 50};
+    public static final int MAX_FACTS = 4096;
+
+    private static final long NOT_SCHEDULED = Long.MAX_VALUE; // being asked right now
+    private static final long EMPTY = -1L;                    // free table cell (keys are ≥ 0)
+
+    private Operator[] operators = new Operator[4];
+    private int operatorCount;
+
+    // Per slot (0 ≤ slot < size)
+    private long[] facts = new long[16];
+    private long[] due = new long[16];
+    private int[] boxes = new int[16];
+    private int[] heapIndex = new int[16];  // where the slot sits in heap[]
+
+    private int[] heap = new int[16];        // slots, min-heap by due
+    private int size;
+
+    // Open addressing, linear probing: fact → slot
+    private long[] tableKeys = newTable(64);
+    private int[] tableSlots = new int[64];
+
+    private long now;                        // questions shown so far
+    private boolean lastWasReview;
+    private long pendingFact = -1;           // handed out by nextDue, not graded yet
+    private int asked, retired, dropped;
+
+    // =========================
+    // Before every question: a due fact, or null for a fresh question
+    // =========================
+    public Question nextDue(int operandBound) {
+        now++;
+        if (pendingFact >= 0) {
+            int ungraded = find(pendingFact); // game ended before the answer: keep its box
+            if (ungraded >= 0) {
+                schedule(ungraded, boxes[ungraded]);
+            }
+            pendingFact = -1;
+        }
+        if (lastWasReview || size == 0 || due[heap[0]] > now) {
+            lastWasReview = false;
+            return null;
+        }
+        lastWasReview = true;
+        int slot = heap[0];
+        due[slot] = NOT_SCHEDULED; // rescheduled by record()
+        siftDown(0);
+        asked++;
+        long fact = facts[slot];
+        pendingFact = fact;
+        return new Question(operators[(int) (fact >>> 48)], (int) (fact >>> 24) & 0xFFFFFF,
+                (int) fact & 0xFFFFFF, operandBound);
+    }
+
+    // =========================
+    // After grading (a timeout is a miss)
+    // =========================
+    public void record(Question question, boolean correct) {
+        long fact = factOf(question);
+        if (fact < 0) {
+            return; // operands out of the packable range: not reviewed
+        }
+        if (fact == pendingFact) {
+            pendingFact = -1;
+        }
+        int slot = find(fact);
+        if (slot < 0) {
+            if (!correct) {
+                add(fact);
+            }
+            return;
+        }
+        if (!correct) {
+            schedule(slot, 0);
+        } else if (boxes[slot] + 1 < INTERVALS.length) {
+            schedule(slot, boxes[slot] + 1);
+        } else {
+            remove(slot);
+            retired++;
+        }
+    }
+
+    /** Facts waiting for a re-ask. */
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(Question question) {
+        long fact = factOf(question);
+        return fact >= 0 && find(fact) >= 0;
+    }
+
+    /** Reviews handed out by {@link #nextDue}. */
+    public int getAsked() {
+        return asked;
+    }
+
+    /** Facts answered correctly in the last box. */
+    public int getRetired() {
+        return retired;
+    }
+
+    /** Misses not scheduled because MAX_FACTS were waiting. */
+    public int getDropped() {
+        return dropped;
+    }
+
+    // =========================
+    // Fact packing: operator slot (16 bits) | left (24) | right (24)
+    // =========================
+    private long factOf(Question question) {
+        int left = question.getLeft(), right = question.getRight();
+        if (left < 0 || left > 0xFFFFFF || right < 0 || right > 0xFFFFFF) {
+            return -1;
+        }
+        return (long) operatorSlot(question.getOperator()) << 48 | (long) left << 24 | right;
+    }
+
+    private int operatorSlot(Operator operator) {
+        for (int i = 0; i < operatorCount; i++) {
+            if (operators[i] == operator) {
+                return i;
+            }
+        }
+        if (operatorCount == operators.length) {
+            operators = Arrays.copyOf(operators, operatorCount * 2);
+        }
+        operators[operatorCount] = operator;
+        return operatorCount++;
+    }
+
+    // =========================
+    // Slots + heap
+    // =========================
+    private void add(long fact) {
+        if (size == MAX_FACTS) {
+            dropped++;
+            return;
+        }
+        if (size == facts.length) {
+            int capacity = size * 2;
+            facts = Arrays.copyOf(facts, capacity);
+            due = Arrays.copyOf(due, capacity);
+            boxes = Arrays.copyOf(boxes, capacity);
+            heapIndex = Arrays.copyOf(heapIndex, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+        }
+        int slot = size++;
+        facts[slot] = fact;
+        heap[slot] = slot;
+        heapIndex[slot] = slot;
+        put(fact, slot);
+        schedule(slot, 0);
+    }
+
+    private void schedule(int slot, int box) {
+        boxes[slot] = box;
+        due[slot] = now + INTERVALS[box];
+        int at = heapIndex[slot];
+        siftUp(at);
+        siftDown(heapIndex[slot]);
+    }
+
+    // Take the slot out of the heap, then move the last slot into its place
+    private void remove(int slot) {
+        int at = heapIndex[slot];
+        int lastAt = size - 1;
+        swap(at, lastAt);
+        size--;
+        if (at < size) {
+            int moved = heap[at];
+            siftUp(at);
+            siftDown(heapIndex[moved]);
+        }
+        delete(facts[slot]);
+
+        int last = size; // highest slot number: moves into the freed one
+        if (slot != last) {
+            facts[slot] = facts[last];
+            due[slot] = due[last];
+            boxes[slot] = boxes[last];
+            heapIndex[slot] = heapIndex[last];
+            heap[heapIndex[slot]] = slot;
+            put(facts[slot], slot);
+        }
+    }
+
+    private void siftUp(int at) {
+        while (at > 0) {
+            int parent = (at - 1) >>> 1;
+            if (due[heap[parent]] <= due[heap[at]]) {
+                return;
+            }
+            swap(at, parent);
+            at = parent;
+        }
+    }
+
+    private void siftDown(int at) {
+        while (true) {
+            int child = 2 * at + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && due[heap[child + 1]] < due[heap[child]]) {
+                child++;
+            }
+            if (due[heap[at]] <= due[heap[child]]) {
+                return;
+            }
+            swap(at, child);
+            at = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int slotA = heap[a], slotB = heap[b];
+        heap[a] = slotB;
+        heap[b] = slotA;
+        heapIndex[slotB] = a;
+        heapIndex[slotA] = b;
+    }
+
+    // =========================
+    // fact → slot table (kept at most half full)
+    // =========================
+    private int find(long fact) {
+        int mask = tableKeys.length - 1;
+        for (int i = hash(fact) & mask; tableKeys[i] != EMPTY; i = (i + 1) & mask) {
+            if (tableKeys[i] == fact) {
+                return tableSlots[i];
+            }
+        }
+        return -1;
+    }
+
+    private void put(long fact, int slot) {
+        if (2 * (size + 1) > tableKeys.length) {
+            rehash(tableKeys.length * 2);
+        }
+        int mask = tableKeys.length - 1;
+        int i = hash(fact) & mask;
+        while (tableKeys[i] != EMPTY && tableKeys[i] != fact) {
+            i = (i + 1) & mask;
+        }
+        tableKeys[i] = fact;
+        tableSlots[i] = slot;
+    }
+
+    // Backward-shift deletion: no tombstones, probe chains stay short
+    private void delete(long fact) {
+        int mask = tableKeys.length - 1;
+        int i = hash(fact) & mask;
+        while (tableKeys[i] != fact) {
+            if (tableKeys[i] == EMPTY) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        int hole = i;
+        for (int j = (hole + 1) & mask; tableKeys[j] != EMPTY; j = (j + 1) & mask) {
+            int home = hash(tableKeys[j]) & mask;
+            // move j into the hole unless its home lies cyclically in (hole, j]
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                tableKeys[hole] = tableKeys[j];
+                tableSlots[hole] = tableSlots[j];
+                hole = j;
+            }
+        }
+        tableKeys[hole] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = tableKeys;
+        int[] oldSlots = tableSlots;
+        tableKeys = newTable(capacity);
+        tableSlots = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int j = hash(oldKeys[i]) & mask;
+                while (tableKeys[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+                tableKeys[j] = oldKeys[i];
+                tableSlots[j] = oldSlots[i];
+            }
+        }
+    }
+
+    private static long[] newTable(int capacity) {
+        long[] keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        return keys;
+    }
+
+    private static int hash(long fact) {
+        long h = fact * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.mathgame.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SpscQueue (bounded single-producer / single-consumer ring buffer)
+ * --------------------------------------------------
+ * - Lock-free: one thread may call {@link #offer}, one other thread may
+ *   call {@link #poll}; neither ever blocks
+ * - Capacity is rounded up to a power of two so slots are found with a mask
+ * - Each side caches the other side's index and only re-reads it
+ *   when the cached value says the buffer is full / empty
+ *
+ * Publication: an element is written before the tail index is released
+ * (lazySet), and the consumer reads the tail before the element, so the
+ * consumer always sees a fully built element. The same holds for freed
+ * slots in the other direction.
+ */
+public final class SpscQueue<E> {
+
+    private final Object[] buffer;
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong(); // next slot to read (consumer)
+    private final AtomicLong tail = new AtomicLong(); // next slot to write (producer)
+
+    private long headCache; // producer's view of head
+    private long tailCache; // consumer's view of tail
+
+    public SpscQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        buffer = new Object[size];
+        mask = size - 1;
+    }
+
+    // =========================
+    // Producer side
+    // =========================
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        long t = tail.get();
+        if (t - headCache == buffer.length) {
+            headCache = head.get();
+            if (t - headCache == buffer.length) {
+                return false; // full
+            }
+        }
+        buffer[(int) t & mask] = element;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    // =========================
+    // Consumer side
+    // =========================
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = head.get();
+        if (h == tailCache) {
+            tailCache = tail.get();
+            if (h == tailCache) {
+                return null; // empty
+            }
+        }
+        int index = (int) h & mask;
+        E element = (E) buffer[index];
+        buffer[index] = null;
+        head.lazySet(h + 1);
+        return element;
+    }
+
+    /** Next element without removing it, or null when empty (consumer side). */
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long h = head.get();
+        if (h == tailCache) {
+            tailCache = tail.get();
+            if (h == tailCache) {
+                return null;
+            }
+        }
+        return (E) buffer[(int) h & mask];
+    }
+
+    /** Elements currently queued (exact only when both sides are idle). */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+}
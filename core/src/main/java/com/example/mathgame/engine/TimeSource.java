@@ -0,0 +1,10 @@
+package com.example.mathgame.engine;
+
+/**
+ * Monotonic millisecond clock.
+ * On Android this is SystemClock.uptimeMillis; tests pass a fake one.
+ */
+public interface TimeSource {
+
+    long uptimeMillis();
+}
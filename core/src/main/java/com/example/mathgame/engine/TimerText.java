@@ -0,0 +1,31 @@
+package com.example.mathgame.engine;
+
+/**
+ * Timer text without String.format
+ * --------------------------------------------------
+ * - "00".."59" are built once and shared by every game screen
+ * - Looking up the text for a tick never allocates
+ */
+public final class TimerText {
+
+    private static final String[] TWO_DIGITS = new String[60];
+
+    static {
+        for (int i = 0; i < TWO_DIGITS.length; i++) {
+            TWO_DIGITS[i] = new String(new char[]{(char) ('0' + i / 10), (char) ('0' + i % 10)});
+        }
+    }
+
+    private TimerText() {
+    }
+
+    /** Second shown for the remaining time (same rounding as the old "%02d" display). */
+    public static int secondOf(long timeLeftInMillis) {
+        return (int) (timeLeftInMillis / 1000) % 60;
+    }
+
+    /** Cached two-digit text for a second in 0–59. */
+    public static CharSequence twoDigits(int second) {
+        return TWO_DIGITS[second];
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.mathgame.replay;
+
+import com.example.mathgame.store.GroupCommitWriter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+
+/**
+ * EventLog (append-only file of recorded games)
+ * --------------------------------------------------
+ * - {@link #append} only queues the recording: safe on the main thread,
+ *   never touches the disk there
+ * - A {@link GroupCommitWriter} on the writer Executor hands over
+ *   everything queued so far; it is encoded (see
+ *   {@link SessionRecording#encode}) into one buffer and written through
+ *   a FileChannel, so many games cost one open and few writes
+ * - Size-based rotation: a frame that would take the file past maxBytes
+ *   starts a new file; the full one is kept once as &lt;name&gt;.old
+ * - The first flush (and the first after a failed one) cuts a frame torn
+ *   by a crash off the end of the file, so new games never land behind
+ *   it; a file that is not an event log is rotated out of the way
+ * - Read back with {@link EventLogReader}, one game at a time
+ *
+ * File: MAGIC, FORMAT, then one frame per game: varint payload length,
+ * payload, CRC32 of the payload. A frame cut short by a crash fails its
+ * length or CRC and ends the file for the reader.
+ */
+public final class EventLog {
+
+    static final int MAGIC = 0x4D47454C; // "MGEL"
+    static final int FORMAT = 1;
+    static final int HEADER_BYTES = 5;
+    static final int MAX_FRAME_BYTES = 1 << 25;
+
+    private static final int BUFFER_BYTES = 16 * 1024;
+
+    private final File file;
+    private final File rotated;
+    private final long maxBytes;
+    private final GroupCommitWriter<SessionRecording> writes;
+
+    // Writer thread only
+    private ByteBuffer batch = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private ByteBuffer payload = ByteBuffer.allocate(BUFFER_BYTES);
+    private final CRC32 crc = new CRC32();
+
+    public EventLog(File file, long maxBytes, Executor writer) {
+        this.file = file;
+        this.rotated = rotatedFile(file);
+        this.maxBytes = maxBytes;
+        this.writes = new GroupCommitWriter<>(this::cutTornTail, this::write, writer);
+    }
+
+    /** Where the previous, full file of file is kept. */
+    public static File rotatedFile(File file) {
+        return new File(file.getPath() + ".old");
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /** Told about recordings that could not be saved (replays are best effort). */
+    public void setWriteErrorListener(GroupCommitWriter.WriteErrorListener listener) {
+        writes.setWriteErrorListener(listener);
+    }
+
+    // =========================
+    // Queue a finished game (any thread)
+    // =========================
+    public void append(SessionRecording recording) {
+        writes.add(recording);
+    }
+
+    // =========================
+    // Background: one batch of games, one open
+    // =========================
+    private void write(List<SessionRecording> recordings) throws IOException {
+        FileChannel channel = new FileOutputStream(file, true).getChannel();
+        try {
+            long size = channel.size();
+            batch.clear();
+            if (size == 0) {
+                putHeader();
+            }
+
+            for (SessionRecording recording : recordings) {
+                encodePayload(recording);
+                int frameBytes = Varint.MAX_LONG_BYTES + payload.remaining() + 4;
+                long fileBytes = size + batch.position();
+                if (fileBytes > HEADER_BYTES && fileBytes + frameBytes > maxBytes) {
+                    // Rotate: finish the full file, start a new one
+                    drain(channel);
+                    channel.close();
+                    if (rotated.exists() && !rotated.delete() || !file.renameTo(rotated)) {
+                        throw new IOException("could not rotate " + file);
+                    }
+                    channel = new FileOutputStream(file, true).getChannel();
+                    size = 0;
+                    putHeader();
+                }
+                if (batch.remaining() < frameBytes) {
+                    size += drain(channel);
+                    if (batch.capacity() < frameBytes) {
+                        batch = ByteBuffer.allocateDirect(frameBytes);
+                    }
+                }
+                putFrame();
+            }
+            drain(channel);
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // nothing buffered any more
+            }
+        }
+    }
+
+    // The reader stops at the first bad frame: whatever follows one is lost
+    private void cutTornTail() throws IOException {
+        long length = file.length();
+        long valid = 0; // no file, or crashed while writing the header
+        if (length >= HEADER_BYTES) {
+            if (!hasHeader()) {
+                // Not an event log: keep it as .old, start a new file
+                if (rotated.exists() && !rotated.delete() || !file.renameTo(rotated)) {
+                    throw new IOException("could not move " + file + " aside");
+                }
+                return;
+            }
+            try (EventLogReader reader = EventLogReader.open(file)) {
+                while (reader.next() != null) {
+                    // read to the last intact frame
+                }
+                valid = reader.getValidBytes();
+            }
+        }
+        if (valid < length) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(valid);
+            }
+        }
+    }
+
+    private boolean hasHeader() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            return raf.readInt() == MAGIC && raf.readByte() == FORMAT;
+        }
+    }
+
+    private void putHeader() {
+        batch.putInt(MAGIC);
+        batch.put((byte) FORMAT);
+    }
+
+    private void encodePayload(SessionRecording recording) {
+        int needed = recording.maxEncodedBytes();
+        if (payload.capacity() < needed) {
+            payload = ByteBuffer.allocate(needed);
+        }
+        payload.clear();
+        recording.encode(payload);
+        payload.flip();
+    }
+
+    private void putFrame() {
+        crc.reset();
+        crc.update(payload.array(), payload.arrayOffset(), payload.remaining());
+        Varint.putUnsigned(batch, payload.remaining());
+        batch.put(payload);
+        batch.putInt((int) crc.getValue());
+    }
+
+    // Write the batch out; returns the bytes written
+    private int drain(FileChannel channel) throws IOException {
+        batch.flip();
+        int written = batch.remaining();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+        return written;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.mathgame.replay;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * EventLogReader (stream the games of an {@link EventLog} file)
+ * --------------------------------------------------
+ * - {@link #next} decodes one game at a time through a fixed read
+ *   buffer, so a file of any size is read in constant memory (plus the
+ *   game being returned)
+ * - Stops at the end of the file or at the first frame that is cut
+ *   short or fails its CRC (a crash while writing)
+ * - Skips whole frames it cannot decode (a newer recording version)
+ *
+ * Not thread-safe.
+ */
+public final class EventLogReader implements Closeable {
+
+    private static final int BUFFER_BYTES = 16 * 1024;
+
+    private final FileChannel channel;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private boolean ended;
+    private int skipped;
+    private long validBytes = EventLog.HEADER_BYTES;
+
+    private EventLogReader(FileChannel channel) {
+        this.channel = channel;
+        buffer.flip(); // empty, ready for reading
+    }
+
+    /** @throws IOException when file cannot be read or is not an event log */
+    public static EventLogReader open(File file) throws IOException {
+        EventLogReader reader = new EventLogReader(new FileInputStream(file).getChannel());
+        try {
+            if (!reader.fill(EventLog.HEADER_BYTES)
+                    || reader.buffer.getInt() != EventLog.MAGIC || reader.buffer.get() != EventLog.FORMAT) {
+                throw new IOException(file + " is not an event log");
+            }
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+        return reader;
+    }
+
+    // =========================
+    // Next game, null at the end
+    // =========================
+    public SessionRecording next() throws IOException {
+        while (!ended) {
+            fill(Varint.MAX_LONG_BYTES); // fewer near the end of the file
+            if (!buffer.hasRemaining()) {
+                ended = true;
+                break;
+            }
+
+            long length;
+            try {
+                length = Varint.getUnsigned(buffer);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                ended = true; // torn length
+                break;
+            }
+            if (length <= 0 || length > EventLog.MAX_FRAME_BYTES || !fill((int) length + 4)) {
+                ended = true; // corrupt length or torn frame
+                break;
+            }
+
+            int start = buffer.position(), end = start + (int) length;
+            crc.reset();
+            crc.update(buffer.array(), buffer.arrayOffset() + start, (int) length);
+            if ((int) crc.getValue() != buffer.getInt(end)) {
+                ended = true;
+                break;
+            }
+            ByteBuffer frame = buffer.duplicate();
+            frame.limit(end);
+            buffer.position(end + 4);
+            validBytes = channel.position() - buffer.remaining();
+
+            SessionRecording recording = SessionRecording.decode(frame);
+            if (recording != null) {
+                return recording;
+            }
+            skipped++;
+        }
+        return null;
+    }
+
+    /** Bytes from the start of the file to the end of the last intact frame read. */
+    long getValidBytes() {
+        return validBytes;
+    }
+
+    /** Intact frames that could not be decoded. */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // At least bytes readable in buffer? Reads more from the file when not
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        if (buffer.capacity() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(bytes);
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < bytes && channel.read(buffer) >= 0) {
+            // keep reading until enough or end of file
+        }
+        buffer.flip();
+        return buffer.remaining() >= bytes;
+    }
+}
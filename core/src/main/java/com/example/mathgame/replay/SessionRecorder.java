@@ -0,0 +1,96 @@
+package com.example.mathgame.replay;
+
+import com.example.mathgame.engine.Question;
+import com.example.mathgame.engine.QuestionEngine;
+import com.example.mathgame.engine.TimeSource;
+
+import java.util.Arrays;
+
+/**
+ * SessionRecorder (input events of the game being played)
+ * --------------------------------------------------
+ * - start() notes the seed, first question index and Difficulty state
+ * - Each question, OK, timeout and NEXT is appended with its time
+ *   and the engine's score/lives right after it
+ * - finish() turns the game into an immutable {@link SessionRecording}
+ *
+ * One recorder per game screen, reused for every game. Appending only
+ * grows a primitive array now and then. Not thread-safe (UI thread).
+ */
+public final class SessionRecorder {
+
+    private final TimeSource clock;
+
+    private String mode;
+    private long seed;
+    private long firstIndex;
+    private long difficultyBits;
+    private long startedAt;
+
+    private int[] events = new int[64 * SessionRecording.STRIDE];
+    private int count;
+
+    public SessionRecorder(TimeSource clock) {
+        this.clock = clock;
+    }
+
+    // =========================
+    // A new game starts (forgets the previous one)
+    // =========================
+    public void start(String mode, long seed, long firstIndex, long difficultyBits) {
+        this.mode = mode;
+        this.seed = seed;
+        this.firstIndex = firstIndex;
+        this.difficultyBits = difficultyBits;
+        this.startedAt = clock.uptimeMillis();
+        count = 0;
+    }
+
+    public void questionShown(Question question, QuestionEngine engine) {
+        append(SessionRecording.QUESTION, question.getLeft(), question.getRight(), engine);
+    }
+
+    /** A due fact from the ReviewQueue was shown instead of the next sequence question. */
+    public void reviewShown(Question question, QuestionEngine engine) {
+        append(SessionRecording.REVIEW | question.getOperator().symbol() << 8,
+                question.getLeft(), question.getRight(), engine);
+    }
+
+    public void answered(int answer, long latencyMillis, QuestionEngine engine) {
+        append(SessionRecording.OK, answer, (int) Math.min(latencyMillis, Integer.MAX_VALUE), engine);
+    }
+
+    public void timedOut(QuestionEngine engine) {
+        append(SessionRecording.TIMEOUT, 0, 0, engine);
+    }
+
+    public void next(QuestionEngine engine) {
+        append(SessionRecording.NEXT, 0, 0, engine);
+    }
+
+    private void append(int type, int first, int second, QuestionEngine engine) {
+        int at = count * SessionRecording.STRIDE;
+        if (at == events.length) {
+            events = Arrays.copyOf(events, events.length * 2);
+        }
+        events[at] = type;
+        events[at + 1] = (int) Math.min(clock.uptimeMillis() - startedAt, Integer.MAX_VALUE);
+        events[at + 2] = first;
+        events[at + 3] = second;
+        events[at + 4] = engine.getScore();
+        events[at + 5] = engine.getLives();
+        count++;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // =========================
+    // Snapshot of the game so far
+    // =========================
+    public SessionRecording finish() {
+        return new SessionRecording(mode, seed, firstIndex, difficultyBits,
+                Arrays.copyOf(events, count * SessionRecording.STRIDE), count);
+    }
+}
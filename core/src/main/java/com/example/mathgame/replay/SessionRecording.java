@@ -0,0 +1,212 @@
+package com.example.mathgame.replay;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * One recorded game, as written by {@link SessionRecorder}.
+ * --------------------------------------------------
+ * - mode, seed of its QuestionSequence and the index of its first question
+ * - the Difficulty state at the start (Difficulty.toBits)
+ * - every input event, timestamped in ms since the game started, with
+ *   the score and lives right after it:
+ *
+ *   type      first     second
+ *   QUESTION  left      right
+ *   REVIEW    left      right     (a ReviewQueue re-ask; the operator's
+ *                                  symbol is kept in the type's upper bits)
+ *   OK        answer    latency (ms, as passed to the engine)
+ *   TIMEOUT   -         -
+ *   NEXT      -         -
+ *
+ * Immutable. Events are kept in one int[] (STRIDE ints per event);
+ * on disk they are varint/delta encoded, see {@link #encode} and
+ * {@link EventLog}.
+ */
+public final class SessionRecording {
+
+    public static final int QUESTION = 1;
+    public static final int OK = 2;
+    public static final int TIMEOUT = 3;
+    public static final int NEXT = 4;
+    public static final int REVIEW = 5;
+
+    static final int STRIDE = 6;   // type, time, first, second, score, lives
+
+    private static final int RECORDING_VERSION = 2;  // 1: fixed-width ints (DataOutputStream)
+    private static final int MAX_EVENTS = 1 << 20; // sanity limit when reading
+
+    private final String mode;
+    private final long seed;
+    private final long firstIndex;
+    private final long difficultyBits;
+    private final int[] events;    // exactly count * STRIDE ints
+    private final int count;
+
+    SessionRecording(String mode, long seed, long firstIndex, long difficultyBits, int[] events, int count) {
+        this.mode = mode;
+        this.seed = seed;
+        this.firstIndex = firstIndex;
+        this.difficultyBits = difficultyBits;
+        this.events = events;
+        this.count = count;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** QuestionSequence index of the first question of this game. */
+    public long getFirstIndex() {
+        return firstIndex;
+    }
+
+    /** Difficulty.toBits() when the game started (0 = starting level). */
+    public long getDifficultyBits() {
+        return difficultyBits;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // =========================
+    // Event i (0 ≤ i < size())
+    // =========================
+    public int getType(int i) {
+        return events[i * STRIDE] & 0xFF;
+    }
+
+    /** Operator symbol of a REVIEW event (0 for the other types). */
+    public char getSymbol(int i) {
+        return (char) (events[i * STRIDE] >>> 8);
+    }
+
+    public int getTimeMillis(int i) {
+        return events[i * STRIDE + 1];
+    }
+
+    public int getFirst(int i) {
+        return events[i * STRIDE + 2];
+    }
+
+    public int getSecond(int i) {
+        return events[i * STRIDE + 3];
+    }
+
+    public int getScore(int i) {
+        return events[i * STRIDE + 4];
+    }
+
+    public int getLives(int i) {
+        return events[i * STRIDE + 5];
+    }
+
+    /** Score after the last event (0 for an empty recording). */
+    public int getFinalScore() {
+        return count == 0 ? 0 : getScore(count - 1);
+    }
+
+    // =========================
+    // Binary form (one EventLog frame): varints, events delta-encoded
+    // =========================
+
+    /** Upper bound of {@link #encode}'s output, to size the buffer. */
+    public int maxEncodedBytes() {
+        return 1 + 5 + 3 * mode.length() + 3 * Varint.MAX_LONG_BYTES + 5 + count * STRIDE * 5;
+    }
+
+    /**
+     * version, mode (length + UTF-8), seed, first index, difficulty bits,
+     * event count, then per event: type, time since the previous event,
+     * first, second, score change, lives change. A typical event takes
+     * 4–7 bytes instead of 24.
+     */
+    public void encode(ByteBuffer out) {
+        out.put((byte) RECORDING_VERSION);
+        byte[] modeBytes = mode.getBytes(StandardCharsets.UTF_8);
+        Varint.putUnsigned(out, modeBytes.length);
+        out.put(modeBytes);
+        Varint.putSigned(out, seed);
+        Varint.putSigned(out, firstIndex);
+        Varint.putUnsigned(out, difficultyBits);
+        Varint.putUnsigned(out, count);
+
+        int time = 0, score = 0, lives = 0;
+        for (int i = 0; i < count; i++) {
+            int at = i * STRIDE;
+            Varint.putUnsigned(out, events[at] & 0xFFFFFFFFL);
+            Varint.putSigned(out, events[at + 1] - time);
+            Varint.putSigned(out, events[at + 2]);
+            Varint.putSigned(out, events[at + 3]);
+            Varint.putSigned(out, events[at + 4] - score);
+            Varint.putSigned(out, events[at + 5] - lives);
+            time = events[at + 1];
+            score = events[at + 4];
+            lives = events[at + 5];
+        }
+    }
+
+    /** Reads one encoded recording from in; null for a truncated or unreadable one. */
+    public static SessionRecording decode(ByteBuffer in) {
+        try {
+            if (in.get() != RECORDING_VERSION) {
+                return null;
+            }
+            long modeLength = Varint.getUnsigned(in);
+            if (modeLength < 0 || modeLength > in.remaining()) {
+                return null;
+            }
+            byte[] modeBytes = new byte[(int) modeLength];
+            in.get(modeBytes);
+            String mode = new String(modeBytes, StandardCharsets.UTF_8);
+            long seed = Varint.getSigned(in);
+            long firstIndex = Varint.getSigned(in);
+            long difficultyBits = Varint.getUnsigned(in);
+            long count = Varint.getUnsigned(in);
+            if (count < 0 || count > MAX_EVENTS || count > in.remaining()) {
+                return null; // corrupt recording (every event takes at least one byte)
+            }
+
+            int[] events = new int[(int) count * STRIDE];
+            int time = 0, score = 0, lives = 0;
+            for (int at = 0; at < events.length; at += STRIDE) {
+                events[at] = (int) Varint.getUnsigned(in);
+                events[at + 1] = time += (int) Varint.getSigned(in);
+                events[at + 2] = (int) Varint.getSigned(in);
+                events[at + 3] = (int) Varint.getSigned(in);
+                events[at + 4] = score += (int) Varint.getSigned(in);
+                events[at + 5] = lives += (int) Varint.getSigned(in);
+            }
+            return new SessionRecording(mode, seed, firstIndex, difficultyBits, events, (int) count);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SessionRecording)) {
+            return false;
+        }
+        SessionRecording other = (SessionRecording) o;
+        return seed == other.seed && firstIndex == other.firstIndex
+                && difficultyBits == other.difficultyBits && count == other.count
+                && mode.equals(other.mode)
+                && Arrays.equals(events, other.events);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(seed) + count;
+    }
+}
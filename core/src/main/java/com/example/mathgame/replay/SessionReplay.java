@@ -0,0 +1,164 @@
+package com.example.mathgame.replay;
+
+import com.example.mathgame.engine.Difficulty;
+import com.example.mathgame.engine.Operator;
+import com.example.mathgame.engine.OperatorRegistry;
+import com.example.mathgame.engine.Question;
+import com.example.mathgame.engine.QuestionEngine;
+import com.example.mathgame.engine.QuestionSequence;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * SessionReplay (re-run a recorded game without a device)
+ * --------------------------------------------------
+ * - Rebuilds the engine from the recording: same Difficulty state,
+ *   questions regenerated from the seed by a {@link QuestionSequence}
+ * - Feeds every recorded event back in, in order (as fast as possible;
+ *   the timestamps are only reported, not waited for)
+ * - After each event compares the question operands and the
+ *   score/lives trajectory with what was recorded, and stops at the
+ *   first difference
+ * - REVIEW questions are taken from the recording (their schedule
+ *   depends on earlier games); they do not use up a sequence index
+ *
+ * Command line, for EventLog files pulled from a device:
+ *   java -cp core.jar com.example.mathgame.replay.SessionReplay file...
+ */
+public final class SessionReplay {
+
+    private SessionReplay() {
+    }
+
+    /** Outcome of one replay. */
+    public static final class Result {
+
+        private final int replayed;        // events that matched
+        private final int divergedAt;      // first mismatching event, -1 if none
+        private final String reason;
+        private final int score, lives;
+
+        Result(int replayed, int divergedAt, String reason, int score, int lives) {
+            this.replayed = replayed;
+            this.divergedAt = divergedAt;
+            this.reason = reason;
+            this.score = score;
+            this.lives = lives;
+        }
+
+        public boolean matches() {
+            return divergedAt < 0;
+        }
+
+        public int getReplayed() {
+            return replayed;
+        }
+
+        public int getDivergedAt() {
+            return divergedAt;
+        }
+
+        /** What differed at {@link #getDivergedAt()}, null when the replay matched. */
+        public String getReason() {
+            return reason;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public int getLives() {
+            return lives;
+        }
+
+        @Override
+        public String toString() {
+            return matches()
+                    ? "match: " + replayed + " events, score=" + score + " lives=" + lives
+                    : "diverged at event " + divergedAt + ": " + reason;
+        }
+    }
+
+    // =========================
+    // Replay with the game's adaptive difficulty for the operator
+    // =========================
+    public static Result run(SessionRecording recording, Operator operator) {
+        Difficulty difficulty = Difficulty.adaptiveFor(operator);
+        if (recording.getDifficultyBits() != 0L) {
+            difficulty.restore(recording.getDifficultyBits());
+        }
+        return run(recording, operator, difficulty);
+    }
+
+    public static Result run(SessionRecording recording, Operator operator, Difficulty difficulty) {
+        QuestionEngine engine = new QuestionEngine(operator, new Random(recording.getSeed()), difficulty);
+        QuestionSequence sequence = new QuestionSequence(operator, recording.getSeed());
+        long index = recording.getFirstIndex();
+
+        for (int i = 0; i < recording.size(); i++) {
+            switch (recording.getType(i)) {
+                case SessionRecording.QUESTION:
+                    Question question = sequence.get(index++, difficulty.getOperandBound());
+                    if (question.getLeft() != recording.getFirst(i) || question.getRight() != recording.getSecond(i)) {
+                        return diverged(i, "question " + question.getText() + ", recorded "
+                                + recording.getFirst(i) + " " + operator.symbol() + " " + recording.getSecond(i), engine);
+                    }
+                    engine.nextQuestion(question);
+                    break;
+                case SessionRecording.REVIEW:
+                    Operator reviewed = operator.forSymbol(recording.getSymbol(i));
+                    if (reviewed == null) {
+                        return diverged(i, "review with unknown operator " + recording.getSymbol(i), engine);
+                    }
+                    engine.nextQuestion(new Question(reviewed, recording.getFirst(i), recording.getSecond(i),
+                            difficulty.getOperandBound()));
+                    break;
+                case SessionRecording.OK:
+                    engine.submit(recording.getFirst(i), recording.getSecond(i));
+                    break;
+                case SessionRecording.TIMEOUT:
+                    engine.timeOut();
+                    break;
+                case SessionRecording.NEXT:
+                    break; // moves the UI on; no game state changes
+                default:
+                    return diverged(i, "unknown event type " + recording.getType(i), engine);
+            }
+
+            if (engine.getScore() != recording.getScore(i) || engine.getLives() != recording.getLives(i)) {
+                return diverged(i, "score/lives " + engine.getScore() + "/" + engine.getLives()
+                        + ", recorded " + recording.getScore(i) + "/" + recording.getLives(i), engine);
+            }
+        }
+        return new Result(recording.size(), -1, null, engine.getScore(), engine.getLives());
+    }
+
+    private static Result diverged(int event, String reason, QuestionEngine engine) {
+        return new Result(event, event, reason, engine.getScore(), engine.getLives());
+    }
+
+    // =========================
+    // Replays every recording in the given event logs (mode = OperatorRegistry id)
+    // =========================
+    public static void main(String[] args) throws IOException {
+        OperatorRegistry modes = OperatorRegistry.standard();
+        int failed = 0;
+        for (String path : args) {
+            try (EventLogReader in = EventLogReader.open(new File(path))) {
+                SessionRecording recording;
+                while ((recording = in.next()) != null) {
+                    Result result = run(recording, modes.operator(recording.getMode()));
+                    System.out.println(path + " " + recording.getMode() + " seed=" + recording.getSeed() + ": " + result);
+                    if (!result.matches()) {
+                        failed++;
+                    }
+                }
+            }
+        }
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+}
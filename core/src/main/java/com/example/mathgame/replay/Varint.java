@@ -0,0 +1,48 @@
+package com.example.mathgame.replay;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * LEB128 varints for the event log: 7 bits per byte, high bit = more.
+ * Signed values go through zigzag first (0, -1, 1, -2 → 0, 1, 2, 3),
+ * so small deltas of either sign take one byte.
+ */
+final class Varint {
+
+    /** Most bytes one long can take. */
+    static final int MAX_LONG_BYTES = 10;
+
+    private Varint() {
+    }
+
+    static void putUnsigned(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static void putSigned(ByteBuffer out, long value) {
+        putUnsigned(out, (value << 1) ^ (value >> 63));
+    }
+
+    /** @throws BufferUnderflowException at the end of in, IllegalArgumentException for over-long input */
+    static long getUnsigned(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint longer than " + MAX_LONG_BYTES + " bytes");
+    }
+
+    static long getSigned(ByteBuffer in) {
+        long value = getUnsigned(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.mathgame.stats;
+
+import java.io.IOException;
+
+/**
+ * FrameStats (frame timing of one screen)
+ * --------------------------------------------------
+ * - Takes the time between two consecutive frames in nanoseconds
+ * - A frame is janky when it took longer than 1.5 frame intervals,
+ *   i.e. at least one vsync was missed
+ * - Keeps count, janky count, worst frame and a millisecond histogram
+ *
+ * Recording is allocation-free. Not thread-safe (main thread only).
+ */
+public final class FrameStats {
+
+    private static final long NANOS_PER_MILLI = 1_000_000;
+
+    private final String screen;
+    private final long jankThresholdNanos;
+    private final LatencyHistogram durationsMillis = new LatencyHistogram();
+
+    private long frames;
+    private long janky;
+    private long worstNanos;
+
+    /**
+     * @param frameIntervalNanos expected time per frame (16.67 ms at 60 Hz)
+     */
+    public FrameStats(String screen, long frameIntervalNanos) {
+        this.screen = screen;
+        this.jankThresholdNanos = frameIntervalNanos + frameIntervalNanos / 2;
+    }
+
+    // =========================
+    // One frame took durationNanos (vsync to vsync)
+    // =========================
+    public void record(long durationNanos) {
+        if (durationNanos <= 0) {
+            return;
+        }
+        frames++;
+        if (durationNanos > jankThresholdNanos) {
+            janky++;
+        }
+        if (durationNanos > worstNanos) {
+            worstNanos = durationNanos;
+        }
+        durationsMillis.record((durationNanos + NANOS_PER_MILLI / 2) / NANOS_PER_MILLI);
+    }
+
+    /** Adds another screen visit to these totals. */
+    public void add(FrameStats other) {
+        frames += other.frames;
+        janky += other.janky;
+        worstNanos = Math.max(worstNanos, other.worstNanos);
+        durationsMillis.add(other.durationsMillis);
+    }
+
+    public void reset() {
+        frames = 0;
+        janky = 0;
+        worstNanos = 0;
+        durationsMillis.reset();
+    }
+
+    public String getScreen() {
+        return screen;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    public long getJanky() {
+        return janky;
+    }
+
+    public long getWorstNanos() {
+        return worstNanos;
+    }
+
+    /** Frame duration percentile in whole milliseconds. */
+    public long percentileMillis(double percentile) {
+        return durationsMillis.percentile(percentile);
+    }
+
+    // =========================
+    // One line: "Home frames=240 janky=3 worst=48ms p50=17 p90=17 p99=33"
+    // =========================
+    public void writeLine(Appendable out) throws IOException {
+        out.append(screen)
+                .append(" frames=").append(Long.toString(frames))
+                .append(" janky=").append(Long.toString(janky))
+                .append(" worst=").append(Long.toString((worstNanos + NANOS_PER_MILLI / 2) / NANOS_PER_MILLI)).append("ms")
+                .append(" p50=").append(Long.toString(percentileMillis(50)))
+                .append(" p90=").append(Long.toString(percentileMillis(90)))
+                .append(" p99=").append(Long.toString(percentileMillis(99)));
+    }
+}
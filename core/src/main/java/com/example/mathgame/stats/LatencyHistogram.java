@@ -0,0 +1,146 @@
+package com.example.mathgame.stats;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * LatencyHistogram (HdrHistogram-style, fixed size)
+ * --------------------------------------------------
+ * - Values 0–63 ms get their own bucket
+ * - Above that, every power of two is split into 32 linear buckets,
+ *   so any recorded value is off by at most ~3%
+ * - Values above {@link #MAX_VALUE} (~17 minutes) are clamped
+ *
+ * All counts live in one long[] allocated up front; recording is
+ * allocation-free. Not thread-safe: record from one thread and use
+ * {@link #copy()} to hand a snapshot to another.
+ */
+public final class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 64;        // exact buckets for 0..63
+    private static final int SUB_BUCKETS = 32;           // buckets per power of two above that
+    private static final int LOWEST_EXPONENT = 6;        // 2^6 = 64
+    private static final int HIGHEST_EXPONENT = 19;      // values up to 2^20 - 1
+
+    public static final long MAX_VALUE = (1L << (HIGHEST_EXPONENT + 1)) - 1;
+
+    private static final int BUCKET_COUNT =
+            LINEAR_BUCKETS + (HIGHEST_EXPONENT - LOWEST_EXPONENT + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    // =========================
+    // Record one value (e.g. milliseconds)
+    // =========================
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        } else if (value > MAX_VALUE) {
+            value = MAX_VALUE;
+        }
+        counts[indexOf(value)]++;
+        totalCount++;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Value at the given percentile (0–100), reported as the highest value
+     * that falls into the same bucket. Returns 0 when nothing was recorded.
+     */
+    public long percentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(percentile / 100.0 * totalCount);
+        if (target < 1) {
+            target = 1;
+        }
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestValueIn(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    /** Adds every value recorded in {@code other} to this histogram. */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        if (other.totalCount > 0) {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    // =========================
+    // Export: one "upper bound,count" line per non-empty bucket
+    // =========================
+    public void writeBuckets(Appendable out, String prefix) throws IOException {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] != 0) {
+                out.append(prefix)
+                        .append(Long.toString(highestValueIn(i))).append(',')
+                        .append(Long.toString(counts[i])).append('\n');
+            }
+        }
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);     // >= LOWEST_EXPONENT
+        int shift = exponent - 5;                                  // keeps 6 significant bits
+        int mantissa = (int) (value >>> shift);                    // 32..63
+        return LINEAR_BUCKETS + (exponent - LOWEST_EXPONENT) * SUB_BUCKETS + (mantissa - SUB_BUCKETS);
+    }
+
+    static long highestValueIn(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int k = index - LINEAR_BUCKETS;
+        int exponent = LOWEST_EXPONENT + k / SUB_BUCKETS;
+        int mantissa = SUB_BUCKETS + k % SUB_BUCKETS;
+        int shift = exponent - 5;
+        return ((long) (mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.mathgame.stats;
+
+import java.io.IOException;
+
+/**
+ * LatencyReport (snapshot + CSV export)
+ * --------------------------------------------------
+ * - Copies the histograms of one {@link ResponseTimer} so they can be
+ *   written on a background thread while the game keeps recording
+ * - Writes a summary section (count, p50/p90/p95/p99, max) and the raw
+ *   non-empty buckets, all in milliseconds
+ */
+public final class LatencyReport {
+
+    private final String mode;
+    private final LatencyHistogram firstKey;
+    private final LatencyHistogram answer;
+    private final LatencyHistogram reaction;
+
+    private LatencyReport(String mode, LatencyHistogram firstKey,
+                          LatencyHistogram answer, LatencyHistogram reaction) {
+        this.mode = mode;
+        this.firstKey = firstKey;
+        this.answer = answer;
+        this.reaction = reaction;
+    }
+
+    /** Call on the thread that records into {@code timer}. */
+    public static LatencyReport snapshotOf(String mode, ResponseTimer timer) {
+        return new LatencyReport(mode, timer.getFirstKey().copy(),
+                timer.getAnswer().copy(), timer.getReaction().copy());
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public LatencyHistogram getAnswer() {
+        return answer;
+    }
+
+    // =========================
+    // CSV for a set of modes
+    // =========================
+    public static void writeCsv(Appendable out, Iterable<LatencyReport> reports) throws IOException {
+        out.append("mode,metric,count,p50,p90,p95,p99,max\n");
+        for (LatencyReport report : reports) {
+            report.writeSummary(out, "first_key", report.firstKey);
+            report.writeSummary(out, "answer", report.answer);
+            report.writeSummary(out, "reaction", report.reaction);
+        }
+
+        out.append('\n').append("mode,metric,bucket_upper_ms,count\n");
+        for (LatencyReport report : reports) {
+            report.firstKey.writeBuckets(out, report.mode + ",first_key,");
+            report.answer.writeBuckets(out, report.mode + ",answer,");
+            report.reaction.writeBuckets(out, report.mode + ",reaction,");
+        }
+    }
+
+    private void writeSummary(Appendable out, String metric, LatencyHistogram histogram) throws IOException {
+        out.append(mode).append(',').append(metric).append(',')
+                .append(Long.toString(histogram.getTotalCount())).append(',')
+                .append(Long.toString(histogram.percentile(50))).append(',')
+                .append(Long.toString(histogram.percentile(90))).append(',')
+                .append(Long.toString(histogram.percentile(95))).append(',')
+                .append(Long.toString(histogram.percentile(99))).append(',')
+                .append(Long.toString(histogram.getMax())).append('\n');
+    }
+}
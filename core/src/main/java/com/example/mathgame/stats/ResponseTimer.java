@@ -0,0 +1,81 @@
+package com.example.mathgame.stats;
+
+import com.example.mathgame.engine.TimeSource;
+
+/**
+ * ResponseTimer (per-operator answer instrumentation)
+ * --------------------------------------------------
+ * Takes monotonic timestamps at three points of every question:
+ *  - question shown
+ *  - first keystroke in the answer field
+ *  - answer submitted (OK)
+ * and records them into fixed-size histograms:
+ *  - firstKey: shown → first keystroke ("thinking time")
+ *  - answer:   shown → submit
+ *  - reaction: input event → first frame showing the verdict (UI latency)
+ *
+ * Everything is allocation-free after construction. Main thread only.
+ */
+public final class ResponseTimer {
+
+    private final TimeSource timeSource;
+
+    private final LatencyHistogram firstKey = new LatencyHistogram();
+    private final LatencyHistogram answer = new LatencyHistogram();
+    private final LatencyHistogram reaction = new LatencyHistogram();
+
+    private long shownAt = -1;     // -1 = no question waiting for an answer
+    private long firstKeyAt = -1;
+
+    public ResponseTimer(TimeSource timeSource) {
+        this.timeSource = timeSource;
+    }
+
+    public void questionShown() {
+        shownAt = timeSource.uptimeMillis();
+        firstKeyAt = -1;
+    }
+
+    public void keystroke() {
+        if (shownAt >= 0 && firstKeyAt < 0) {
+            firstKeyAt = timeSource.uptimeMillis();
+        }
+    }
+
+    /**
+     * Records the answer and returns the shown → submit time in ms,
+     * or -1 when no question was waiting.
+     */
+    public long submitted() {
+        if (shownAt < 0) {
+            return -1;
+        }
+        long now = timeSource.uptimeMillis();
+        long answerMillis = now - shownAt;
+        answer.record(answerMillis);
+        firstKey.record((firstKeyAt < 0 ? now : firstKeyAt) - shownAt);
+        shownAt = -1;
+        return answerMillis;
+    }
+
+    /** The question timed out; it does not count as an answer. */
+    public void timedOut() {
+        shownAt = -1;
+    }
+
+    public void recordReaction(long millis) {
+        reaction.record(millis);
+    }
+
+    public LatencyHistogram getFirstKey() {
+        return firstKey;
+    }
+
+    public LatencyHistogram getAnswer() {
+        return answer;
+    }
+
+    public LatencyHistogram getReaction() {
+        return reaction;
+    }
+}
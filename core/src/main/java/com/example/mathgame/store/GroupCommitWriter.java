@@ -0,0 +1,142 @@
+package com.example.mathgame.store;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * GroupCommitWriter (queue records, append them in batches on one thread)
+ * --------------------------------------------------
+ * - {@link #add} only queues: safe on the main thread or under a lock.
+ *   The first record after a flush schedules the next one on the writer
+ *   (lingerMicros later, if set); everything queued by then is handed
+ *   to the BatchWriter at once, so many records cost one write
+ * - A batch holds at most maxBatch records; the rest follows right
+ *   behind it
+ * - Before the first batch, and before the first one after a failure,
+ *   the TailCutter cuts the file back to its last whole record, so a
+ *   record torn by a crash or a failed write never ends up in the middle
+ * - A failed batch is dropped and reported to the WriteErrorListener;
+ *   whatever else holds the records (caches, boards) keeps them
+ *
+ * Used by ScoreStore, EventLog and the leaderboard's SubmissionLog.
+ */
+public final class GroupCommitWriter<T> {
+
+    /** Cuts the file back to its last whole record (writer thread). */
+    public interface TailCutter {
+        void cutTornTail() throws IOException;
+    }
+
+    /** Appends a batch, oldest first (writer thread); must not keep the list. */
+    public interface BatchWriter<T> {
+        void write(List<T> batch) throws IOException;
+    }
+
+    /** Told about records that could not be saved (on the writer thread). */
+    public interface WriteErrorListener {
+        void onWriteFailed(IOException error, int records);
+    }
+
+    private final TailCutter tail;
+    private final BatchWriter<T> out;
+    private final Executor writer;
+    private final ScheduledExecutorService lingering; // null: flush as soon as the writer gets to it
+    private final long lingerMicros;
+    private final int maxBatch;
+
+    // Records waiting to be written
+    private final ConcurrentLinkedQueue<T> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Runnable flushTask = this::flush;
+    private volatile WriteErrorListener errorListener;
+
+    // Writer thread only
+    private final List<T> batch = new ArrayList<>();
+    private boolean tailChecked;     // the file ends on a whole record
+
+    public GroupCommitWriter(TailCutter tail, BatchWriter<T> out, Executor writer) {
+        this(tail, out, writer, null, 0, Integer.MAX_VALUE);
+    }
+
+    /** Lets a batch collect for lingerMicros after its first record; at most maxBatch per write. */
+    public GroupCommitWriter(TailCutter tail, BatchWriter<T> out, ScheduledExecutorService writer,
+                             long lingerMicros, int maxBatch) {
+        this(tail, out, writer, writer, lingerMicros, maxBatch);
+    }
+
+    private GroupCommitWriter(TailCutter tail, BatchWriter<T> out, Executor writer,
+                              ScheduledExecutorService lingering, long lingerMicros, int maxBatch) {
+        this.tail = tail;
+        this.out = out;
+        this.writer = writer;
+        this.lingering = lingering;
+        this.lingerMicros = lingerMicros;
+        this.maxBatch = maxBatch;
+    }
+
+    public void setWriteErrorListener(WriteErrorListener listener) {
+        errorListener = listener;
+    }
+
+    /** The file is known to end on a whole record, e.g. it was just read (writer thread). */
+    public void tailChecked() {
+        tailChecked = true;
+    }
+
+    // =========================
+    // Queue a record (any thread)
+    // =========================
+    public void add(T record) {
+        pending.add(record);
+        if (flushScheduled.compareAndSet(false, true)) {
+            if (lingering != null) {
+                lingering.schedule(flushTask, lingerMicros, TimeUnit.MICROSECONDS);
+            } else {
+                writer.execute(flushTask);
+            }
+        }
+    }
+
+    public boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    // =========================
+    // Background: write everything queued so far in one go
+    // =========================
+    public void flush() {
+        flushScheduled.set(false); // records added from now on schedule a new flush
+        T record;
+        while (batch.size() < maxBatch && (record = pending.poll()) != null) {
+            batch.add(record);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            if (!tailChecked) {
+                tail.cutTornTail();
+                tailChecked = true;
+            }
+            out.write(batch);
+        } catch (IOException e) {
+            // Part of the batch may have reached the file: cut it before the next one
+            tailChecked = false;
+            WriteErrorListener listener = errorListener;
+            if (listener != null) {
+                listener.onWriteFailed(e, batch.size());
+            }
+        } finally {
+            batch.clear();
+        }
+        if (!pending.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+            writer.execute(flushTask); // a full batch: the rest goes right behind it
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.mathgame.store;
+
+import com.example.mathgame.engine.Operator;
+import com.example.mathgame.engine.Question;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * MasteryMatrix (attempts, correct answers and answer time per fact)
+ * --------------------------------------------------
+ * - One SIDE x SIDE table per operator; a fact's cell is
+ *   {@link Operator#fact} (division sits on the times table it inverts).
+ *   Facts outside the table (e.g. ADD above 99) are only counted
+ * - Three int tables per operator: attempts, correct, EWMA answer time
+ *   in ms (new = old + (latency - old) / 4)
+ * - Stored in a memory-mapped file: opening is a map, not a parse, and
+ *   a record() is three int writes into the mapping; the kernel writes
+ *   the dirty pages back, {@link #force} makes it happen now
+ * - {@link #open} also loads the whole mapping (about 1 MB) into memory,
+ *   so the first record() or heat map on a page does not fault to disk
+ *   on the main thread; later faults only happen if the system evicted
+ *   the pages meanwhile
+ * - Up to OPERATORS tables, claimed by operator symbol the first time
+ *   one is recorded, so the file survives new modes being added
+ *
+ * File layout (little-endian ints): MAGIC, VERSION, SIDE, OPERATORS,
+ * the symbol of every table (0 = free), padding to HEADER_INTS, then
+ * per table: attempts[CELLS], correct[CELLS], averageMillis[CELLS].
+ * A file with another header is cleared.
+ *
+ * Not thread-safe: open() on the disk thread, then record and read on
+ * the main thread; force() may run on the disk thread.
+ */
+public final class MasteryMatrix {
+
+    public static final int SIDE = 100;
+    public static final int CELLS = SIDE * SIDE;
+    static final int OPERATORS = 8;
+
+    /** Answer time counted as fully slow by {@link #weakness}. */
+    static final int SLOW_MILLIS = 10_000;
+
+    private static final int MAGIC = 0x4D474D58; // "MGMX"
+    private static final int VERSION = 1;
+    private static final int HEADER_INTS = 16;
+    private static final int SYMBOLS_AT = 4;
+    private static final int ATTEMPTS = 0, CORRECT = 1, AVERAGE = 2, TABLES = 3;
+    static final int BYTES = (HEADER_INTS + OPERATORS * TABLES * CELLS) * 4;
+
+    private final ByteBuffer buffer;   // the mapping, or a heap buffer
+    private final IntBuffer ints;
+    private long untracked;            // facts outside every table
+
+    private MasteryMatrix(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.ints = buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        if (ints.get(0) != MAGIC || ints.get(1) != VERSION || ints.get(2) != SIDE || ints.get(3) != OPERATORS) {
+            clear();
+        }
+    }
+
+    // =========================
+    // Map and load the file (created or cleared when needed); run on the disk thread
+    // =========================
+    public static MasteryMatrix open(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            if (raf.length() != BYTES) {
+                raf.setLength(0);    // other size: start from zeros
+                raf.setLength(BYTES);
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, BYTES);
+            mapped.load(); // every page resident before the main thread touches one
+            return new MasteryMatrix(mapped);
+        }
+    }
+
+    /** Same tables without a file (when the file cannot be mapped). */
+    public static MasteryMatrix inMemory() {
+        return new MasteryMatrix(ByteBuffer.allocate(BYTES));
+    }
+
+    public void clear() {
+        for (int i = 0; i < ints.capacity(); i++) {
+            ints.put(i, 0);
+        }
+        ints.put(0, MAGIC);
+        ints.put(1, VERSION);
+        ints.put(2, SIDE);
+        ints.put(3, OPERATORS);
+        untracked = 0;
+    }
+
+    // =========================
+    // One answer: O(1), no allocation
+    // =========================
+    public void record(Question question, boolean correct, long latencyMillis) {
+        int cell = cellOf(question);
+        int table = cell < 0 ? -1 : table(question.getOperator().symbol(), true);
+        if (table < 0) {
+            untracked++;
+            return;
+        }
+        int attempts = at(table, ATTEMPTS, cell), average = at(table, AVERAGE, cell);
+        int latency = (int) Math.min(Math.max(latencyMillis, 0), Integer.MAX_VALUE);
+        int count = ints.get(attempts);
+        ints.put(average, count == 0 ? latency : ints.get(average) + (latency - ints.get(average)) / 4);
+        ints.put(attempts, count + 1);
+        if (correct) {
+            int right = at(table, CORRECT, cell);
+            ints.put(right, ints.get(right) + 1);
+        }
+    }
+
+    public int getAttempts(Operator operator, int row, int column) {
+        return read(operator, ATTEMPTS, row, column);
+    }
+
+    public int getCorrect(Operator operator, int row, int column) {
+        return read(operator, CORRECT, row, column);
+    }
+
+    public int getAverageMillis(Operator operator, int row, int column) {
+        return read(operator, AVERAGE, row, column);
+    }
+
+    /**
+     * How weak a fact is, in per mille: 700 for always wrong, plus up to
+     * 300 for slow answers (SLOW_MILLIS or more). -1 if never asked.
+     */
+    public int weakness(Operator operator, int row, int column) {
+        int table = table(operator.symbol(), false);
+        if (table < 0 || row < 0 || row >= SIDE || column < 0 || column >= SIDE) {
+            return -1;
+        }
+        return weakness(table, row * SIDE + column);
+    }
+
+    /**
+     * The top-left side x side corner of operator's table as weakness
+     * values (row-major into out), for drawing a heat map in one pass.
+     */
+    public void fillWeakness(Operator operator, int side, int[] out) {
+        int table = table(operator.symbol(), false);
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                out[row * side + column] = table < 0 ? -1 : weakness(table, row * SIDE + column);
+            }
+        }
+    }
+
+    /** Answers whose fact had no cell (operands of SIDE or more). */
+    public long getUntracked() {
+        return untracked;
+    }
+
+    /** Write dirty pages back to the file now (no-op without a file). */
+    public void force() {
+        if (buffer instanceof MappedByteBuffer) {
+            ((MappedByteBuffer) buffer).force();
+        }
+    }
+
+    // =========================
+    // Cells and tables
+    // =========================
+    private int weakness(int table, int cell) {
+        int attempts = ints.get(at(table, ATTEMPTS, cell));
+        if (attempts == 0) {
+            return -1;
+        }
+        int wrong = attempts - ints.get(at(table, CORRECT, cell));
+        int slow = Math.min(ints.get(at(table, AVERAGE, cell)), SLOW_MILLIS);
+        return (int) (700L * wrong / attempts + 300L * slow / SLOW_MILLIS);
+    }
+
+    private static int cellOf(Question question) {
+        long fact = question.getOperator().fact(question.getLeft(), question.getRight());
+        int row = (int) (fact >> 32), column = (int) fact;
+        if (row < 0 || row >= SIDE || column < 0 || column >= SIDE) {
+            return -1;
+        }
+        return row * SIDE + column;
+    }
+
+    // Table of symbol; claims a free one when asked to (-1 if none)
+    private int table(char symbol, boolean claim) {
+        for (int i = 0; i < OPERATORS; i++) {
+            int stored = ints.get(SYMBOLS_AT + i);
+            if (stored == symbol) {
+                return i;
+            }
+            if (stored == 0) {
+                if (!claim) {
+                    return -1;
+                }
+                ints.put(SYMBOLS_AT + i, symbol);
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int read(Operator operator, int kind, int row, int column) {
+        int table = table(operator.symbol(), false);
+        if (table < 0 || row < 0 || row >= SIDE || column < 0 || column >= SIDE) {
+            return 0;
+        }
+        return ints.get(at(table, kind, row * SIDE + column));
+    }
+
+    private static int at(int table, int kind, int cell) {
+        return HEADER_INTS + (table * TABLES + kind) * CELLS + cell;
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.mathgame.store;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * ScoreStore (high scores + session history)
+ * --------------------------------------------------
+ * - Keeps the best score per mode and the most recent sessions in memory
+ * - Appends finished sessions to a binary file on a background Executor
+ *   through a {@link GroupCommitWriter}: sessions recorded while a write
+ *   is pending are written together, so one file open/flush covers many
+ *   games, and a record cut short by a crash (or a failed write) is cut
+ *   off the file before the next append
+ * - Compacted at load once it holds more than COMPACT_AT sessions: the
+ *   cached window plus each mode's best session are kept, so a cold
+ *   start never parses more than that
+ *
+ * {@link #record} and the getters only touch the in-memory cache and are
+ * safe to call from the main thread. {@link #load} reads the file and should
+ * run once on the background Executor at startup (it rewrites the file, so
+ * it must not run beside a flush).
+ */
+public final class ScoreStore {
+
+    public static final int MAX_CACHED_SESSIONS = 50;
+    public static final int COMPACT_AT = 4 * MAX_CACHED_SESSIONS;
+
+    private static final int RECORD_VERSION = 1;
+    private static final int MAX_LATENCIES = 1 << 20; // sanity limit when reading
+
+    private final File file;
+    private final GroupCommitWriter<SessionRecord> writes;
+
+    // In-memory cache (guarded by "this")
+    private final Map<String, Integer> bestScores = new HashMap<>();
+    private final ArrayDeque<SessionRecord> recentSessions = new ArrayDeque<>();
+    private boolean loaded;
+
+    public ScoreStore(File file, Executor writer) {
+        this.file = file;
+        this.writes = new GroupCommitWriter<>(this::readValid, this::append, writer);
+    }
+
+    /** Told about sessions that could not be saved (the cache keeps them). */
+    public void setWriteErrorListener(GroupCommitWriter.WriteErrorListener listener) {
+        writes.setWriteErrorListener(listener);
+    }
+
+    // =========================
+    // Warm the cache from disk
+    // =========================
+    public void load() throws IOException {
+        List<SessionRecord> stored = readValid();
+        if (stored.size() > COMPACT_AT) {
+            stored = compact(stored);
+            rewrite(stored);
+        }
+
+        synchronized (this) {
+            // Sessions recorded before load() finished are newer than anything on disk
+            List<SessionRecord> newer = new ArrayList<>(recentSessions);
+            recentSessions.clear();
+            for (SessionRecord record : stored) {
+                cache(record);
+            }
+            for (int i = newer.size() - 1; i >= 0; i--) {
+                cache(newer.get(i)); // oldest first, so the newest ends up in front
+            }
+            loaded = true;
+        }
+    }
+
+    // =========================
+    // Record a finished game (main thread)
+    // =========================
+    public void record(SessionRecord record) {
+        synchronized (this) {
+            cache(record);
+        }
+        writes.add(record);
+    }
+
+    public synchronized int bestScore(String mode) {
+        Integer best = bestScores.get(mode);
+        return best == null ? 0 : best;
+    }
+
+    /** Newest first, at most {@link #MAX_CACHED_SESSIONS}. */
+    public synchronized List<SessionRecord> recentSessions() {
+        List<SessionRecord> copy = new ArrayList<>(recentSessions.size());
+        copy.addAll(recentSessions);
+        return copy;
+    }
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    private void cache(SessionRecord record) {
+        Integer best = bestScores.get(record.getMode());
+        if (best == null || record.getScore() > best) {
+            bestScores.put(record.getMode(), record.getScore());
+        }
+        recentSessions.addFirst(record);
+        if (recentSessions.size() > MAX_CACHED_SESSIONS) {
+            recentSessions.removeLast();
+        }
+    }
+
+    // =========================
+    // Read the whole records; cut off a torn tail
+    // =========================
+    private List<SessionRecord> readValid() throws IOException {
+        List<SessionRecord> stored = new ArrayList<>();
+        if (!file.exists()) {
+            writes.tailChecked();
+            return stored;
+        }
+        byte[] bytes = Files.readAllBytes(file.toPath()); // at most ~COMPACT_AT sessions
+        ByteArrayInputStream buffer = new ByteArrayInputStream(bytes);
+        DataInputStream in = new DataInputStream(buffer);
+        int valid = 0;
+        SessionRecord record;
+        while ((record = readRecord(in)) != null) {
+            stored.add(record);
+            valid = bytes.length - buffer.available();
+        }
+        if (valid < bytes.length) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(valid);
+            }
+        }
+        writes.tailChecked();
+        return stored;
+    }
+
+    // Oldest first: every mode's best that left the window, then the window
+    private static List<SessionRecord> compact(List<SessionRecord> stored) {
+        int windowStart = stored.size() - MAX_CACHED_SESSIONS;
+        Map<String, SessionRecord> bests = new HashMap<>();
+        for (SessionRecord record : stored) {
+            SessionRecord best = bests.get(record.getMode());
+            if (best == null || record.getScore() > best.getScore()) {
+                bests.put(record.getMode(), record);
+            }
+        }
+        Set<String> bestInWindow = new HashSet<>();
+        for (SessionRecord record : stored.subList(windowStart, stored.size())) {
+            if (bests.get(record.getMode()).getScore() == record.getScore()) {
+                bestInWindow.add(record.getMode());
+            }
+        }
+
+        List<SessionRecord> kept = new ArrayList<>(MAX_CACHED_SESSIONS + bests.size());
+        for (SessionRecord record : stored.subList(0, windowStart)) {
+            if (bests.get(record.getMode()) == record && !bestInWindow.contains(record.getMode())) {
+                kept.add(record);
+            }
+        }
+        kept.addAll(stored.subList(windowStart, stored.size()));
+        return kept;
+    }
+
+    // Written beside the file, then renamed over it: a crash leaves one or the other
+    private void rewrite(List<SessionRecord> records) throws IOException {
+        File compacted = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(compacted)))) {
+            for (SessionRecord record : records) {
+                writeRecord(out, record);
+            }
+        }
+        if (!compacted.renameTo(file)) {
+            compacted.delete();
+            throw new IOException("could not replace " + file);
+        }
+    }
+
+    // =========================
+    // Background: one batch of sessions, one open
+    // =========================
+    private void append(List<SessionRecord> batch) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file, true)))) {
+            for (SessionRecord record : batch) {
+                writeRecord(out, record);
+            }
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, SessionRecord record) throws IOException {
+        int[] latencies = record.getLatenciesMillis();
+        out.writeByte(RECORD_VERSION);
+        out.writeUTF(record.getMode());
+        out.writeLong(record.getFinishedAtMillis());
+        out.writeInt(record.getScore());
+        out.writeInt(record.getLives());
+        out.writeInt(record.getQuestionCount());
+        out.writeInt(latencies.length);
+        for (int latency : latencies) {
+            out.writeInt(latency);
+        }
+    }
+
+    /** Returns null at the end of the file or at a partially written tail. */
+    private static SessionRecord readRecord(DataInputStream in) throws IOException {
+        try {
+            int version = in.read();
+            if (version != RECORD_VERSION) {
+                return null;
+            }
+            String mode = in.readUTF();
+            long finishedAt = in.readLong();
+            int score = in.readInt();
+            int lives = in.readInt();
+            int questionCount = in.readInt();
+            int latencyCount = in.readInt();
+            if (latencyCount < 0 || latencyCount > MAX_LATENCIES) {
+                return null; // corrupt record
+            }
+            int[] latencies = new int[latencyCount];
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = in.readInt();
+            }
+            return new SessionRecord(mode, finishedAt, score, lives, questionCount, latencies);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+}
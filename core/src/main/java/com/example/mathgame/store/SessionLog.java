@@ -0,0 +1,50 @@
+package com.example.mathgame.store;
+
+import com.example.mathgame.engine.QuestionEngine;
+
+import java.util.Arrays;
+
+/**
+ * Collects the answer time of every question while a game is running,
+ * then turns the game into a {@link SessionRecord} when it ends.
+ */
+public final class SessionLog {
+
+    private final String mode;
+    private int[] latenciesMillis = new int[32];
+    private int count;
+
+    public SessionLog(String mode) {
+        this.mode = mode;
+    }
+
+    // =========================
+    // Time from question shown to answer (or timeout)
+    // =========================
+    public void addLatency(long millis) {
+        if (count == latenciesMillis.length) {
+            latenciesMillis = Arrays.copyOf(latenciesMillis, count * 2);
+        }
+        latenciesMillis[count++] = (int) Math.min(millis, Integer.MAX_VALUE);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    // =========================
+    // Snapshot of the finished game
+    // =========================
+    public SessionRecord finish(QuestionEngine engine, long finishedAtMillis) {
+        return new SessionRecord(mode, finishedAtMillis, engine.getScore(), engine.getLives(),
+                engine.getQuestionCount(), Arrays.copyOf(latenciesMillis, count));
+    }
+
+    public void clear() {
+        count = 0;
+    }
+}
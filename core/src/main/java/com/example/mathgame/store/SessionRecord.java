@@ -0,0 +1,53 @@
+package com.example.mathgame.store;
+
+/**
+ * One finished game, as stored by {@link ScoreStore}.
+ * --------------------------------------------------
+ * - mode: which game was played (e.g. "ADD")
+ * - score / lives left / number of questions shown
+ * - answer time of every question in milliseconds
+ */
+public final class SessionRecord {
+
+    private final String mode;
+    private final long finishedAtMillis; // wall-clock time the game ended
+    private final int score;
+    private final int lives;
+    private final int questionCount;
+    private final int[] latenciesMillis;
+
+    public SessionRecord(String mode, long finishedAtMillis, int score, int lives,
+                         int questionCount, int[] latenciesMillis) {
+        this.mode = mode;
+        this.finishedAtMillis = finishedAtMillis;
+        this.score = score;
+        this.lives = lives;
+        this.questionCount = questionCount;
+        this.latenciesMillis = latenciesMillis;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public long getFinishedAtMillis() {
+        return finishedAtMillis;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    /** Answer time per question, in the order the questions were shown. Do not modify. */
+    public int[] getLatenciesMillis() {
+        return latenciesMillis;
+    }
+}
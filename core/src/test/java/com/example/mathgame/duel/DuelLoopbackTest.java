@@ -0,0 +1,318 @@
+package com.example.mathgame.duel;
+
+import com.example.mathgame.engine.OperatorRegistry;
+import com.example.mathgame.engine.Question;
+import com.example.mathgame.engine.QuestionEngine;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Two DuelSessions talking over 127.0.0.1 in one JVM: handshake, the
+ * shared question stream, a full game each, pings and the order of many
+ * updates. Round trip and throughput are measured by DuelLoopbackBenchmark
+ * in the benchmark module.
+ */
+public class DuelLoopbackTest {
+
+    private static final OperatorRegistry MODES = OperatorRegistry.standard();
+
+    private final ExecutorService hostWriter = Executors.newSingleThreadExecutor();
+    private final ExecutorService guestWriter = Executors.newSingleThreadExecutor();
+    private final ExecutorService background = Executors.newSingleThreadExecutor();
+    private ServerSocketChannel server;
+    private DuelSession host, guest;
+
+    /** Counts opponent updates; the last one that finished a game opens the latch. */
+    private static class Watcher implements DuelSession.Listener {
+        final AtomicInteger updates = new AtomicInteger();
+        final CountDownLatch finished = new CountDownLatch(1);
+        final SynchronousQueue<Long> roundTrips = new SynchronousQueue<>();
+
+        @Override
+        public void onOpponentChanged(DuelSession session) {
+            updates.incrementAndGet();
+            if (session.isOpponentFinished()) {
+                finished.countDown();
+            }
+        }
+
+        @Override
+        public void onRoundTrip(long nanos) {
+            try {
+                roundTrips.put(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void onClosed(DuelSession session, IOException error) {
+            // the test closes the sessions itself
+        }
+    }
+
+    @Before
+    public void connect() throws Exception {
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        int port = server.socket().getLocalPort();
+        DuelSetup setup = new DuelSetup("MIXED", 1234L, 10, 10000);
+
+        Future<DuelSession> hosting = background.submit(() ->
+                DuelSession.host(server, setup, MODES.operator("MIXED"), () -> { }, 10_000, hostWriter, link -> { }));
+        guest = DuelSession.join(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), MODES, guestWriter,
+                link -> { });
+        host = hosting.get(10, TimeUnit.SECONDS);
+
+        assertEquals(setup, guest.getSetup());
+    }
+
+    @After
+    public void disconnect() throws Exception {
+        if (host != null) {
+            host.close();
+        }
+        if (guest != null) {
+            guest.close();
+        }
+        server.close();
+        hostWriter.shutdown();
+        guestWriter.shutdown();
+        background.shutdownNow();
+        assertTrue(hostWriter.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void bothPlayers_getTheSameQuestions() {
+        for (int i = 0; i < 200; i++) {
+            Question mine = host.nextQuestion(), theirs = guest.nextQuestion();
+            assertEquals("question " + i, mine.getText(), theirs.getText());
+        }
+    }
+
+    @Test
+    public void fullGame_reportsScoresAndOutcome() throws Exception {
+        Watcher hostSees = new Watcher(), guestSees = new Watcher();
+        host.start(hostSees);
+        guest.start(guestSees);
+
+        play(host, 12);  // 12 right answers, then wrong until game over
+        play(guest, 5);
+
+        assertTrue(hostSees.finished.await(5, TimeUnit.SECONDS));
+        assertTrue(guestSees.finished.await(5, TimeUnit.SECONDS));
+        assertEquals(5 * QuestionEngine.POINTS_PER_CORRECT, host.getOpponentScore());
+        assertEquals(12 * QuestionEngine.POINTS_PER_CORRECT, guest.getOpponentScore());
+        assertEquals(0, host.getOpponentLives());
+        assertEquals(5 + QuestionEngine.START_LIVES, host.getOpponentAnswered());
+        assertEquals(DuelSession.Outcome.WON, host.getOutcome());
+        assertEquals(DuelSession.Outcome.LOST, guest.getOutcome());
+    }
+
+    private static void play(DuelSession session, int rightAnswers) {
+        QuestionEngine engine = session.getEngine();
+        for (int i = 0; !engine.isGameOver(); i++) {
+            Question question = session.nextQuestion();
+            boolean right = i < rightAnswers;
+            engine.submit(right ? question.getAnswer() : question.getAnswer() + 1, 1500);
+            session.answered(1500, right);
+        }
+    }
+
+    @Test
+    public void everyPing_getsItsPong() throws Exception {
+        Watcher hostSees = new Watcher();
+        host.start(hostSees);
+        guest.start(new Watcher()); // answers the pings
+
+        for (int i = 0; i < 100; i++) {
+            host.ping();
+            Long nanos = hostSees.roundTrips.poll(5, TimeUnit.SECONDS);
+            assertNotNull("pong " + i + " lost", nanos);
+            assertTrue(nanos >= 0);
+        }
+    }
+
+    @Test
+    public void answerUpdates_arriveInOrder() throws Exception {
+        int messages = 20_000;
+        CountDownLatch all = new CountDownLatch(1);
+        AtomicInteger received = new AtomicInteger(), outOfOrder = new AtomicInteger();
+
+        // Bare connections: a game would stop after three lives
+        try (ServerSocketChannel raw = ServerSocketChannel.open()) {
+            raw.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            SocketChannel sending = SocketChannel.open(raw.getLocalAddress());
+            DuelConnection sender = new DuelConnection(sending, guestWriter);
+            DuelConnection receiver = new DuelConnection(raw.accept(), hostWriter);
+            receiver.startReading(new ProgressCounter() {
+                @Override
+                public void onProgress(int index, int score, int lives, int latencyMillis, boolean correct) {
+                    if (index != received.getAndIncrement()) {
+                        outOfOrder.incrementAndGet();
+                    }
+                    if (index == messages - 1) {
+                        all.countDown();
+                    }
+                }
+            }, error -> { });
+
+            for (int i = 0; i < messages; i++) {
+                sender.sendProgress(i, i * 10, 3, 1500, true);
+            }
+            assertTrue("only " + received.get() + " updates arrived", all.await(30, TimeUnit.SECONDS));
+            sender.close();
+            receiver.close();
+
+            assertEquals(messages, received.get());
+            assertEquals(0, outOfOrder.get());
+        }
+    }
+
+    /** Handler that only cares about PROGRESS. */
+    private abstract static class ProgressCounter implements DuelProtocol.Handler {
+        @Override
+        public void onHello(DuelSetup setup) {
+        }
+
+        @Override
+        public void onReady() {
+        }
+
+        @Override
+        public void onPing(long stamp) {
+        }
+
+        @Override
+        public void onPong(long stamp) {
+        }
+
+        @Override
+        public void onBye(int finalScore) {
+        }
+    }
+
+    @Test
+    public void beacon_leadsTheGuestToTheHost() throws Exception {
+        try (DatagramSocket listener = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+             DatagramSocket announcer = new DatagramSocket()) {
+            DuelBeacon.announce(announcer, listener.getLocalSocketAddress(), 47470);
+
+            InetSocketAddress found = DuelBeacon.listen(listener, 5000);
+            assertNotNull(found);
+            assertEquals(47470, found.getPort());
+            assertTrue(found.getAddress().isLoopbackAddress());
+        }
+    }
+
+    @Test
+    public void beacon_ignoresOtherDatagrams() throws Exception {
+        try (DatagramSocket listener = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+             DatagramSocket other = new DatagramSocket()) {
+            byte[] noise = ByteBuffer.allocate(8).putLong(7L).array();
+            other.send(new DatagramPacket(noise, noise.length, listener.getLocalSocketAddress()));
+
+            assertNull(DuelBeacon.listen(listener, 300));
+        }
+    }
+
+    @Test
+    public void guestLeaving_closesTheHostSide() throws Exception {
+        CountDownLatch closed = new CountDownLatch(1);
+        host.start(new Watcher() {
+            @Override
+            public void onClosed(DuelSession session, IOException error) {
+                closed.countDown();
+            }
+        });
+        guest.close();
+
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertFalse(host.isConnected());
+    }
+
+    @Test(expected = SocketTimeoutException.class)
+    public void hostWithoutGuest_timesOut() throws Exception {
+        try (ServerSocketChannel lonely = ServerSocketChannel.open()) {
+            lonely.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            AtomicInteger beacons = new AtomicInteger();
+            try {
+                DuelSession.host(lonely, new DuelSetup("ADD", 1, 10, 10000), MODES.operator("ADD"),
+                        beacons::incrementAndGet, 600, hostWriter, link -> { });
+            } finally {
+                assertTrue(beacons.get() >= 2); // kept announcing while waiting
+            }
+        }
+    }
+
+    @Test
+    public void silentGuest_timesOutTheHandshake() throws Exception {
+        try (ServerSocketChannel waiting = ServerSocketChannel.open()) {
+            waiting.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            Future<DuelSession> hosting = background.submit(() ->
+                    DuelSession.host(waiting, new DuelSetup("ADD", 1, 10, 10000), MODES.operator("ADD"),
+                            () -> { }, 10_000, hostWriter, link -> { }));
+            SocketChannel silent = SocketChannel.open(waiting.getLocalAddress()); // never answers HELLO
+            try {
+                long start = System.nanoTime();
+                try {
+                    hosting.get(10, TimeUnit.SECONDS);
+                    fail("handshake with a silent guest succeeded");
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof SocketTimeoutException);
+                }
+                long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                assertTrue(waited < DuelSession.HANDSHAKE_TIMEOUT_MILLIS + 2000);
+            } finally {
+                silent.close();
+            }
+        }
+    }
+
+    @Test
+    public void silentHost_canBeAbandonedByClosingTheChannel() throws Exception {
+        try (ServerSocketChannel silent = ServerSocketChannel.open()) {
+            silent.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0)); // accepts, never sends HELLO
+            BlockingQueue<SocketChannel> opened = new LinkedBlockingQueue<>();
+            Future<DuelSession> joining = background.submit(() ->
+                    DuelSession.join((InetSocketAddress) silent.getLocalAddress(), MODES, guestWriter, opened::offer));
+            SocketChannel link = opened.poll(5, TimeUnit.SECONDS);
+            assertNotNull(link);
+            Thread.sleep(100); // let join block in the handshake
+            long start = System.nanoTime();
+            link.close(); // what DuelLobby does when the screen is left
+
+            try {
+                joining.get(5, TimeUnit.SECONDS);
+                fail("join on a closed channel succeeded");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.mathgame.duel;
+
+import org.junit.Test;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DuelProtocolTest {
+
+    /** Writes every message down as text, for easy comparison. */
+    private static final class Log implements DuelProtocol.Handler {
+        final List<String> messages = new ArrayList<>();
+
+        @Override
+        public void onHello(DuelSetup setup) {
+            messages.add("hello " + setup);
+        }
+
+        @Override
+        public void onReady() {
+            messages.add("ready");
+        }
+
+        @Override
+        public void onProgress(int index, int score, int lives, int latencyMillis, boolean correct) {
+            messages.add("progress " + index + " " + score + " " + lives + " " + latencyMillis + " " + correct);
+        }
+
+        @Override
+        public void onPing(long stamp) {
+            messages.add("ping " + stamp);
+        }
+
+        @Override
+        public void onPong(long stamp) {
+            messages.add("pong " + stamp);
+        }
+
+        @Override
+        public void onBye(int finalScore) {
+            messages.add("bye " + finalScore);
+        }
+    }
+
+    private static ByteBuffer everyMessage() {
+        ByteBuffer out = ByteBuffer.allocate(256);
+        DuelProtocol.putHello(out, new DuelSetup("MIXED", -42L, 20, 8000));
+        DuelProtocol.putReady(out);
+        DuelProtocol.putProgress(out, 7, 80, 2, 1234, true);
+        DuelProtocol.putPing(out, Long.MAX_VALUE);
+        DuelProtocol.putPong(out, 5L);
+        DuelProtocol.putBye(out, 130);
+        out.flip();
+        return out;
+    }
+
+    private static final List<String> EXPECTED = List.of(
+            "hello MIXED seed=-42 bound=20 time=8000ms", "ready", "progress 7 80 2 1234 true",
+            "ping " + Long.MAX_VALUE, "pong 5", "bye 130");
+
+    @Test
+    public void everyMessage_roundTrips() throws ProtocolException {
+        Log log = new Log();
+        ByteBuffer in = everyMessage();
+        DuelProtocol.decode(in, log);
+
+        assertEquals(EXPECTED, log.messages);
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    public void answerUpdate_isFifteenBytes() {
+        ByteBuffer out = ByteBuffer.allocate(64);
+        DuelProtocol.putProgress(out, 1000, 5000, 3, 60000, false);
+        assertEquals(15, out.position());
+    }
+
+    @Test
+    public void messagesSplitAnywhere_decodeOnceComplete() throws ProtocolException {
+        byte[] bytes = new byte[everyMessage().remaining()];
+        everyMessage().get(bytes);
+
+        for (int split = 1; split < bytes.length; split++) {
+            Log log = new Log();
+            ByteBuffer in = ByteBuffer.allocate(bytes.length);
+            in.put(bytes, 0, split).flip();
+            DuelProtocol.decode(in, log);      // first part: only whole messages
+            in.compact().put(bytes, split, bytes.length - split).flip();
+            DuelProtocol.decode(in, log);
+
+            assertEquals("split at " + split, EXPECTED, log.messages);
+        }
+    }
+
+    @Test(expected = ProtocolException.class)
+    public void unknownType_isRejected() throws ProtocolException {
+        DuelProtocol.decode(ByteBuffer.wrap(new byte[]{99, 0, 0}), new Log());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.mathgame.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AnswerInputTest {
+
+    private static String render(AnswerInput input) {
+        char[] out = new char[AnswerInput.MAX_DIGITS + 1];
+        return new String(out, 0, input.writeTo(out));
+    }
+
+    @Test
+    public void digitsAccumulateIntoTheValue() {
+        AnswerInput input = new AnswerInput();
+        input.digit(4);
+        input.digit(0);
+        input.digit(7);
+
+        assertTrue(input.hasValue());
+        assertEquals(407, input.getValue());
+        assertEquals(3, input.getDigitCount());
+        assertEquals("407", render(input));
+    }
+
+    @Test
+    public void signCanBeToggledBeforeOrAfterDigits() {
+        AnswerInput input = new AnswerInput();
+        input.toggleSign();
+        assertFalse(input.hasValue());
+        assertEquals("-", render(input));
+
+        input.digit(1);
+        input.digit(2);
+        assertEquals(-12, input.getValue());
+        assertEquals("-12", render(input));
+
+        input.toggleSign();
+        assertEquals(12, input.getValue());
+    }
+
+    @Test
+    public void neverOverflows() {
+        AnswerInput input = new AnswerInput();
+        for (int i = 0; i < 20; i++) {
+            input.digit(9);
+        }
+        assertEquals(AnswerInput.MAX_DIGITS, input.getDigitCount());
+        assertEquals(999_999_999, input.getValue());
+        assertFalse(input.digit(9));
+    }
+
+    @Test
+    public void noLeadingZeros() {
+        AnswerInput input = new AnswerInput();
+        assertTrue(input.digit(0));
+        assertFalse(input.digit(5));
+        assertEquals(0, input.getValue());
+        assertEquals("0", render(input));
+    }
+
+    @Test
+    public void backspaceRemovesDigitsThenSign() {
+        AnswerInput input = new AnswerInput();
+        input.toggleSign();
+        input.digit(3);
+        input.digit(8);
+
+        input.backspace();
+        assertEquals(-3, input.getValue());
+        input.backspace();
+        assertFalse(input.hasValue());
+        assertTrue(input.isNegative());
+        input.backspace();
+        assertFalse(input.isNegative());
+        assertEquals("", render(input));
+    }
+
+    @Test
+    public void digitCount_ofAnswers() {
+        assertEquals(1, AnswerInput.digitCount(0));
+        assertEquals(1, AnswerInput.digitCount(-7));
+        assertEquals(2, AnswerInput.digitCount(-98));
+        assertEquals(4, AnswerInput.digitCount(9801));
+        assertEquals(10, AnswerInput.digitCount(Integer.MIN_VALUE));
+    }
+}
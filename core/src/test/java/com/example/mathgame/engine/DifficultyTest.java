@@ -0,0 +1,111 @@
+package com.example.mathgame.engine;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DifficultyTest {
+
+    @Test
+    public void startsInTheOriginalRange() {
+        assertEquals(QuestionEngine.OPERAND_BOUND, Difficulty.adaptiveFor(BasicOperator.ADD).getOperandBound());
+        assertEquals(10, Difficulty.adaptiveFor(BasicOperator.MULTIPLY).getOperandBound());
+        assertEquals(QuestionEngine.QUESTION_TIME_MILLIS, Difficulty.adaptiveFor(BasicOperator.ADD).getTimeLimitMillis());
+    }
+
+    @Test
+    public void fastCorrectAnswers_raiseTheLevelAndShortenTheBudget() {
+        Difficulty difficulty = Difficulty.adaptiveFor(BasicOperator.MULTIPLY);
+        int startBound = difficulty.getOperandBound();
+
+        for (int i = 0; i < 10 * Difficulty.WINDOW; i++) {
+            difficulty.record(true, 1500);
+        }
+
+        assertTrue(difficulty.getOperandBound() > startBound);
+        assertTrue(difficulty.getTimeLimitMillis() < QuestionEngine.QUESTION_TIME_MILLIS);
+        assertTrue(difficulty.getTimeLimitMillis() >= Difficulty.MIN_TIME_MILLIS);
+    }
+
+    @Test
+    public void wrongAnswers_lowerTheLevelButNotBelowZero() {
+        Difficulty difficulty = Difficulty.adaptiveFor(BasicOperator.ADD);
+
+        for (int i = 0; i < 100 * Difficulty.WINDOW; i++) {
+            difficulty.record(false, Difficulty.MAX_TIME_MILLIS);
+        }
+
+        assertEquals(0, difficulty.getLevel());
+        assertEquals(Difficulty.MAX_TIME_MILLIS, difficulty.getTimeLimitMillis());
+    }
+
+    @Test
+    public void levelMovesAtMostOncePerWindow() {
+        Difficulty difficulty = Difficulty.adaptiveFor(BasicOperator.ADD);
+        int start = difficulty.getLevel();
+
+        for (int i = 0; i < Difficulty.WINDOW - 1; i++) {
+            difficulty.record(false, 9000);
+        }
+        assertEquals(start, difficulty.getLevel());
+
+        difficulty.record(false, 9000);
+        assertEquals(start - 1, difficulty.getLevel());
+    }
+
+    @Test
+    public void fixedDifficulty_neverChanges() {
+        Difficulty difficulty = Difficulty.fixed(100, 10000);
+        for (int i = 0; i < 1000; i++) {
+            difficulty.record(i % 3 == 0, i * 7L);
+        }
+        assertEquals(100, difficulty.getOperandBound());
+        assertEquals(10000, difficulty.getTimeLimitMillis());
+    }
+
+    @Test
+    public void bits_roundTrip() {
+        Difficulty difficulty = Difficulty.adaptiveFor(BasicOperator.SUBTRACT);
+        Random random = new Random(9);
+        for (int i = 0; i < 40; i++) {
+            difficulty.record(random.nextInt(4) != 0, 500 + random.nextInt(6000));
+        }
+
+        Difficulty restored = Difficulty.adaptiveFor(BasicOperator.SUBTRACT);
+        assertTrue(restored.restore(difficulty.toBits()));
+
+        assertEquals(difficulty.getLevel(), restored.getLevel());
+        assertEquals(difficulty.getAccuracy(), restored.getAccuracy());
+        assertEquals(difficulty.getLatencyMillis(), restored.getLatencyMillis());
+        assertEquals(difficulty.getTimeLimitMillis(), restored.getTimeLimitMillis());
+        assertEquals(difficulty.toBits(), restored.toBits());
+    }
+
+    @Test
+    public void restore_rejectsGarbage() {
+        Difficulty difficulty = Difficulty.adaptiveFor(BasicOperator.ADD);
+        long before = difficulty.toBits();
+
+        assertFalse(difficulty.restore(0L));
+        assertFalse(difficulty.restore(-1L));
+        assertEquals(before, difficulty.toBits());
+    }
+
+    @Test
+    public void engine_usesTheDifficultyRangeAndFeedsItBack() {
+        Difficulty difficulty = Difficulty.adaptiveFor(BasicOperator.MULTIPLY);
+        QuestionEngine engine = new QuestionEngine(BasicOperator.MULTIPLY, new Random(10), difficulty);
+
+        for (int i = 0; i < 1000; i++) {
+            engine.nextQuestion();
+            int bound = difficulty.getOperandBound();
+            assertTrue(engine.getLeft() < bound && engine.getRight() < bound);
+            engine.submit(engine.getAnswer(), 1000);
+        }
+
+        assertEquals(difficulty.getLevelCount() - 1, difficulty.getLevel());
+        assertEquals(difficulty.getTimeLimitMillis(), engine.getTimeLimitMillis());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.mathgame.engine;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GameClockTest {
+
+    private long now;
+    private GameClock clock;
+    private int timeouts;
+    private long lastTick = -1;
+
+    private final GameClock.Listener listener = new GameClock.Listener() {
+        @Override
+        public void onTick(long timeLeftInMillis) {
+            lastTick = timeLeftInMillis;
+        }
+
+        @Override
+        public void onTimeout() {
+            timeouts++;
+        }
+    };
+
+    @Before
+    public void setUp() {
+        now = 5_000;
+        clock = new GameClock(() -> now, 10_000);
+    }
+
+    /** Plays the clock like the main looper would, returning when it stops. */
+    private void runUntilStopped() {
+        long delay = clock.tick(listener);
+        while (delay >= 0) {
+            now += delay;
+            delay = clock.tick(listener);
+        }
+    }
+
+    @Test
+    public void timesOutExactlyAtDeadline() {
+        clock.start();
+        runUntilStopped();
+
+        assertEquals(1, timeouts);
+        assertEquals(15_000, now);
+        assertEquals(0, clock.timeLeftInMillis());
+        assertFalse(clock.isRunning());
+    }
+
+    @Test
+    public void ticksOncePerDisplayedSecond() {
+        clock.start();
+        int ticks = 0;
+        long delay = clock.tick(listener);
+        while (delay >= 0) {
+            ticks++;
+            now += delay;
+            delay = clock.tick(listener);
+        }
+        // 10 s question: one tick per value shown (10, 9, ..., 0)
+        assertEquals(11, ticks);
+    }
+
+    @Test
+    public void pauseFreezesRemainingTime() {
+        clock.start();
+        now += 3_250;
+        clock.pause();
+        now += 60_000;
+
+        assertEquals(6_750, clock.timeLeftInMillis());
+        assertEquals(-1, clock.tick(listener));
+
+        clock.resume();
+        now += 6_749;
+        clock.tick(listener);
+        assertEquals(1, lastTick);
+        assertEquals(0, timeouts);
+
+        now += 1;
+        clock.tick(listener);
+        assertEquals(1, timeouts);
+    }
+
+    @Test
+    public void resetRestoresFullDuration() {
+        clock.start();
+        now += 4_000;
+        clock.reset();
+
+        assertFalse(clock.isRunning());
+        assertEquals(10_000, clock.timeLeftInMillis());
+
+        clock.setDurationMillis(5_000);
+        clock.start();
+        runUntilStopped();
+        assertEquals(5_000 + 4_000 + 5_000, now);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.mathgame.engine;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class OperatorRegistryTest {
+
+    private final OperatorRegistry registry = OperatorRegistry.standard();
+
+    @Test
+    public void standardModesInMenuOrder() {
+        assertEquals("ADD", registry.ids().get(0));
+        assertEquals(OperatorRegistry.MIXED, registry.ids().get(registry.ids().size() - 1));
+        assertEquals("DIVISION", registry.label("DIVIDE"));
+        assertSame(BasicOperator.MULTIPLY, registry.operator("MULTIPLY"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownModeIsRejected() {
+        registry.operator("ROOT");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicateIdIsRejected() {
+        registry.register("ADD", "PLUS", BasicOperator.ADD);
+    }
+
+    @Test
+    public void divisionIsAlwaysExact() {
+        QuestionSequence sequence = new QuestionSequence(registry.operator("DIVIDE"), 3L);
+
+        for (int bound : new int[]{1, 2, 10, 100}) {
+            for (long i = 0; i < 1000; i++) {
+                Question question = sequence.get(i, bound);
+                assertTrue(question.getRight() >= 1 && question.getRight() < Math.max(2, bound));
+                assertTrue(question.getAnswer() >= 0 && question.getAnswer() < bound);
+                assertEquals(question.getLeft(), question.getAnswer() * question.getRight());
+            }
+        }
+    }
+
+    @Test
+    public void moduloAndPowersStayPlayable() {
+        QuestionSequence modulo = new QuestionSequence(BasicOperator.MODULO, 5L);
+        QuestionSequence power = new QuestionSequence(BasicOperator.POWER, 5L);
+
+        for (long i = 0; i < 1000; i++) {
+            assertTrue(modulo.get(i, 10).getRight() >= 1);
+            Question question = power.get(i, 100);
+            assertTrue(question.getRight() == 2 || question.getRight() == 3);
+            assertTrue(question.getRight() == 2 || question.getLeft() < 10);
+        }
+        assertEquals(125, BasicOperator.POWER.apply(5, 3));
+    }
+
+    @Test
+    public void mixedSessionDrawsEveryMember() {
+        Operator mixed = registry.operator(OperatorRegistry.MIXED);
+        QuestionSequence sequence = new QuestionSequence(mixed, 11L);
+        Set<Character> symbols = new HashSet<>();
+
+        for (long i = 0; i < 200; i++) {
+            Question question = sequence.get(i, 10);
+            symbols.add(question.getText().charAt(question.getText().indexOf(' ') + 1));
+            assertEquals(question.getText(), sequence.get(i, 10).getText()); // still a pure function
+        }
+        assertEquals(4, symbols.size());
+        assertTrue(mixed.isMultiplicative());
+    }
+
+    @Test
+    public void mixedEngineGradesThePickedOperator() {
+        QuestionEngine engine = new QuestionEngine(registry.operator(OperatorRegistry.MIXED), new Random(7));
+
+        for (int i = 0; i < 100; i++) {
+            engine.nextQuestion();
+            assertEquals(QuestionEngine.Verdict.CORRECT, engine.submit(engine.getAnswer()));
+            engine.reset();
+        }
+    }
+}
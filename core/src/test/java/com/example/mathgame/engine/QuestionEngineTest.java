@@ -0,0 +1,83 @@
+package com.example.mathgame.engine;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Plain JVM tests for the shared game rules.
+ */
+public class QuestionEngineTest {
+
+    @Test
+    public void correctAnswer_addsPointsAndKeepsLives() {
+        QuestionEngine engine = new QuestionEngine(BasicOperator.ADD, new Random(1));
+        engine.nextQuestion();
+
+        assertEquals(engine.getLeft() + engine.getRight(), engine.getAnswer());
+        assertEquals(QuestionEngine.Verdict.CORRECT, engine.submit(engine.getAnswer()));
+        assertEquals(QuestionEngine.POINTS_PER_CORRECT, engine.getScore());
+        assertEquals(QuestionEngine.START_LIVES, engine.getLives());
+    }
+
+    @Test
+    public void wrongAnswer_costsOneLife() {
+        QuestionEngine engine = new QuestionEngine(BasicOperator.SUBTRACT, new Random(2));
+        engine.nextQuestion();
+
+        assertEquals(QuestionEngine.Verdict.WRONG, engine.submit(engine.getAnswer() + 1));
+        assertEquals(0, engine.getScore());
+        assertEquals(QuestionEngine.START_LIVES - 1, engine.getLives());
+    }
+
+    @Test
+    public void questionCanOnlyBeAnsweredOnce() {
+        QuestionEngine engine = new QuestionEngine(BasicOperator.MULTIPLY, new Random(3));
+        engine.nextQuestion();
+        engine.submit(engine.getAnswer());
+
+        assertEquals(QuestionEngine.Verdict.ALREADY_ANSWERED, engine.submit(engine.getAnswer()));
+        assertFalse(engine.timeOut());
+        assertEquals(QuestionEngine.POINTS_PER_CORRECT, engine.getScore());
+    }
+
+    @Test
+    public void timeouts_endTheGame() {
+        QuestionEngine engine = new QuestionEngine(BasicOperator.ADD, new Random(4));
+        for (int i = 0; i < QuestionEngine.START_LIVES; i++) {
+            assertFalse(engine.isGameOver());
+            engine.nextQuestion();
+            assertTrue(engine.timeOut());
+            assertTrue(engine.isAnswered());
+        }
+        assertTrue(engine.isGameOver());
+        assertEquals(QuestionEngine.START_LIVES, engine.getQuestionCount());
+    }
+
+    @Test
+    public void operandsStayInRange_overManyQuestions() {
+        QuestionEngine engine = new QuestionEngine(BasicOperator.MULTIPLY, new Random(5));
+        for (int i = 0; i < 1_000_000; i++) {
+            engine.nextQuestion();
+            assertTrue(engine.getLeft() >= 0 && engine.getLeft() < QuestionEngine.OPERAND_BOUND);
+            assertTrue(engine.getRight() >= 0 && engine.getRight() < QuestionEngine.OPERAND_BOUND);
+            engine.submit(engine.getAnswer());
+        }
+        assertEquals(1_000_000 * QuestionEngine.POINTS_PER_CORRECT, engine.getScore());
+    }
+
+    @Test
+    public void reset_restoresStartingState() {
+        QuestionEngine engine = new QuestionEngine(BasicOperator.ADD, new Random(6));
+        engine.nextQuestion();
+        engine.submit(-1);
+        engine.reset();
+
+        assertEquals(0, engine.getScore());
+        assertEquals(QuestionEngine.START_LIVES, engine.getLives());
+        assertEquals(0, engine.getQuestionCount());
+        assertFalse(engine.isAnswered());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.mathgame.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class QuestionSequenceTest {
+
+    @Test
+    public void sameSeedAndIndex_sameQuestion() {
+        QuestionSequence a = new QuestionSequence(BasicOperator.MULTIPLY, 99L);
+        QuestionSequence b = new QuestionSequence(BasicOperator.MULTIPLY, 99L);
+
+        for (long i = 0; i < 1000; i++) {
+            Question question = a.get(i, 12);
+            assertEquals(question.getText(), b.get(i, 12).getText());
+            assertEquals(i, question.getIndex());
+            assertEquals(question.getLeft() * question.getRight(), question.getAnswer());
+        }
+    }
+
+    @Test
+    public void operandsStayInRangeAndCoverIt() {
+        QuestionSequence sequence = new QuestionSequence(BasicOperator.ADD, 1L);
+        boolean[] seen = new boolean[10];
+
+        for (long i = 0; i < 1000; i++) {
+            Question question = sequence.get(i, 10);
+            assertTrue(question.getLeft() >= 0 && question.getLeft() < 10);
+            assertTrue(question.getRight() >= 0 && question.getRight() < 10);
+            seen[question.getLeft()] = true;
+            seen[question.getRight()] = true;
+        }
+        for (boolean value : seen) {
+            assertTrue(value);
+        }
+    }
+
+    @Test
+    public void differentSeeds_differentQuestions() {
+        QuestionSequence a = new QuestionSequence(BasicOperator.ADD, 1L);
+        QuestionSequence b = new QuestionSequence(BasicOperator.ADD, 2L);
+
+        int same = 0;
+        for (long i = 0; i < 100; i++) {
+            if (a.get(i, 100).getText().equals(b.get(i, 100).getText())) {
+                same++;
+            }
+        }
+        assertTrue(same < 5);
+    }
+
+    @Test
+    public void rarelyTheSameQuestionTwiceInARow() {
+        QuestionSequence sequence = new QuestionSequence(BasicOperator.SUBTRACT, 5L);
+
+        int repeats = 0;
+        String previous = sequence.get(0, 3).getText();
+        for (long i = 1; i < 2000; i++) {
+            String text = sequence.get(i, 3).getText(); // only 9 pairs: 1 in 9 without the rule
+            if (text.equals(previous)) {
+                repeats++;
+            }
+            previous = text;
+        }
+        assertTrue("repeats: " + repeats, repeats < 60);
+    }
+}
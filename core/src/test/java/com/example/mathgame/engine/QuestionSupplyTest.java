@@ -0,0 +1,123 @@
+package com.example.mathgame.engine;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class QuestionSupplyTest {
+
+    private final Queue<Runnable> queued = new ArrayDeque<>();
+
+    private void runQueued() {
+        Runnable task;
+        while ((task = queued.poll()) != null) {
+            task.run();
+        }
+    }
+
+    @Test
+    public void prefill_fillsTheBufferInTheBackground() {
+        QuestionSupply supply = new QuestionSupply(BasicOperator.ADD, 1L, queued::add, 8);
+        supply.prefill(100);
+        assertEquals(0, supply.available());
+
+        runQueued();
+        assertEquals(8, supply.available());
+
+        Question question = supply.take(100);
+        assertEquals(question.getLeft() + question.getRight(), question.getAnswer());
+        assertEquals(question.getLeft() + " + " + question.getRight(), question.getText());
+        assertEquals(0, supply.getBuiltInline());
+    }
+
+    @Test
+    public void emptyBuffer_buildsInlineAndSchedulesOneRefill() {
+        QuestionSupply supply = new QuestionSupply(BasicOperator.MULTIPLY, 2L, queued::add, 8);
+
+        Question question = supply.take(10);
+        supply.take(10);
+
+        assertTrue(question.getLeft() < 10 && question.getRight() < 10);
+        assertEquals(2, supply.getBuiltInline());
+        assertEquals(1, queued.size()); // second take did not queue another refill
+    }
+
+    @Test
+    public void rangeChange_skipsStaleQuestions() {
+        QuestionSupply supply = new QuestionSupply(BasicOperator.SUBTRACT, 3L, queued::add, 8);
+        supply.prefill(100);
+        runQueued();
+
+        Question question = supply.take(20);
+
+        assertEquals(20, question.getOperandBound());
+        assertEquals(8, supply.getStale());
+        runQueued();
+        assertEquals(20, supply.take(20).getOperandBound());
+        assertEquals(8, supply.getStale());
+    }
+
+    @Test
+    public void refill_keepsUpFromAnotherThread() throws InterruptedException {
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        QuestionSupply supply = new QuestionSupply(BasicOperator.ADD, 4L, worker);
+        supply.prefill(100);
+
+        for (int i = 0; i < 100_000; i++) {
+            Question question = supply.take(100);
+            assertEquals(question.getLeft() + question.getRight(), question.getAnswer());
+        }
+        worker.shutdown();
+        assertTrue(worker.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(100_000, supply.getTaken());
+    }
+
+    @Test
+    public void sameSeed_sameQuestionsWhateverTheRefillTiming() throws InterruptedException {
+        int[] bounds = {100, 100, 100, 20, 20, 50, 50, 50, 50, 100};
+        QuestionSupply inline = new QuestionSupply(BasicOperator.ADD, 7L, task -> { }, 8); // never refilled
+        QuestionSupply queuedSupply = new QuestionSupply(BasicOperator.ADD, 7L, queued::add, 8);
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        QuestionSupply threaded = new QuestionSupply(BasicOperator.ADD, 7L, worker, 8);
+        queuedSupply.prefill(100);
+        threaded.prefill(100);
+        runQueued();
+
+        for (int round = 0; round < 50; round++) {
+            for (int bound : bounds) {
+                Question expected = inline.take(bound);
+                Question fromQueue = queuedSupply.take(bound);
+                Question fromThread = threaded.take(bound);
+                assertEquals(expected.getText(), fromQueue.getText());
+                assertEquals(expected.getText(), fromThread.getText());
+                assertEquals(expected.getIndex(), fromThread.getIndex());
+                if (round % 3 == 0) {
+                    runQueued(); // refill at varying points
+                }
+            }
+        }
+        worker.shutdown();
+        assertTrue(worker.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(500, inline.nextIndex());
+        assertTrue(queuedSupply.getBuiltInline() < inline.getBuiltInline());
+    }
+
+    @Test
+    public void engine_acceptsPreGeneratedQuestions() {
+        QuestionEngine engine = new QuestionEngine(BasicOperator.ADD, new Random(5));
+        Question question = new Question(BasicOperator.ADD, 12, 7, 100);
+
+        engine.nextQuestion(question);
+
+        assertEquals(19, engine.getAnswer());
+        assertEquals(QuestionEngine.Verdict.CORRECT, engine.submit(19));
+        assertEquals(1, engine.getQuestionCount());
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.mathgame.engine;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ReviewQueueTest {
+
+    private static final Operator TIMES = BasicOperator.MULTIPLY;
+
+    private static Question fact(int left, int right) {
+        return new Question(TIMES, left, right, 100);
+    }
+
+    // Shows `count` fresh questions, returns the first review handed out (or null)
+    private static Question advance(ReviewQueue reviews, int count) {
+        for (int i = 0; i < count; i++) {
+            Question review = reviews.nextDue(100);
+            if (review != null) {
+                return review;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void missedFactComesBackAfterTheFirstInterval() {
+        ReviewQueue reviews = new ReviewQueue();
+        reviews.nextDue(100);                      // 47 x 8 shown ...
+        reviews.record(fact(47, 8), false);        // ... and missed
+
+        assertNull(advance(reviews, ReviewQueue.INTERVALS[0] - 1));
+        Question review = reviews.nextDue(100);
+        assertNotNull(review);
+        assertEquals("47 x 8", review.getText());
+        assertEquals(376, review.getAnswer());
+    }
+
+    @Test
+    public void correctFactsAreNeverScheduled() {
+        ReviewQueue reviews = new ReviewQueue();
+        reviews.record(fact(3, 4), true);
+        assertEquals(0, reviews.size());
+        assertNull(advance(reviews, 100));
+    }
+
+    @Test
+    public void climbsTheBoxesAndRetires() {
+        ReviewQueue reviews = new ReviewQueue();
+        reviews.nextDue(100);
+        reviews.record(fact(7, 8), false);
+
+        for (int box = 0; box < ReviewQueue.INTERVALS.length; box++) {
+            Question review = advance(reviews, 1000);
+            assertNotNull("box " + box, review);
+            reviews.record(review, true);
+        }
+        assertEquals(0, reviews.size());
+        assertEquals(1, reviews.getRetired());
+        assertNull(advance(reviews, 1000));
+    }
+
+    @Test
+    public void aMissGoesBackToTheFirstBox() {
+        ReviewQueue reviews = new ReviewQueue();
+        reviews.nextDue(100);
+        reviews.record(fact(6, 7), false);
+        reviews.record(advance(reviews, 100), true);   // box 1: next wait is INTERVALS[1]
+        reviews.record(advance(reviews, 100), false);  // missed again: back to INTERVALS[0]
+
+        assertNull(advance(reviews, ReviewQueue.INTERVALS[0] - 1));
+        assertNotNull(reviews.nextDue(100));
+    }
+
+    @Test
+    public void reviewsAreInterleavedWithFreshQuestions() {
+        ReviewQueue reviews = new ReviewQueue();
+        reviews.nextDue(100);
+        for (int i = 0; i < 10; i++) {
+            reviews.record(fact(i, 9), false);         // ten facts due at once
+        }
+        advance(reviews, ReviewQueue.INTERVALS[0] - 1);
+
+        boolean previous = false;
+        int handedOut = 0;
+        for (int i = 0; i < 20; i++) {
+            Question review = reviews.nextDue(100);
+            assertFalse("two reviews in a row", previous && review != null);
+            previous = review != null;
+            if (review != null) {
+                handedOut++;
+                reviews.record(review, true);
+            }
+        }
+        assertEquals(10, handedOut);
+    }
+
+    @Test
+    public void ungradedReviewIsAskedAgain() {
+        ReviewQueue reviews = new ReviewQueue();
+        reviews.nextDue(100);
+        reviews.record(fact(9, 9), false);
+        assertNotNull(advance(reviews, 100));          // shown, game over before grading
+
+        assertTrue(reviews.contains(fact(9, 9)));
+        assertNotNull(advance(reviews, 100));
+    }
+
+    @Test
+    public void mixedModeFactsKeepTheirOperator() {
+        ReviewQueue reviews = new ReviewQueue();
+        reviews.nextDue(100);
+        reviews.record(new Question(BasicOperator.DIVIDE, 56, 8, 100), false);
+        reviews.record(new Question(BasicOperator.SUBTRACT, 56, 8, 100), false);
+
+        Question first = advance(reviews, 100);
+        Question second = advance(reviews, 100);
+        assertNotSame(first.getOperator(), second.getOperator());
+        assertEquals(first.getOperator().apply(56, 8), first.getAnswer());
+    }
+
+    // Random misses / answers against a plain map of (box, due)
+    @Test
+    public void matchesAReferenceModel() {
+        ReviewQueue reviews = new ReviewQueue();
+        Map<String, long[]> model = new HashMap<>();   // text → {box, due}
+        Random random = new Random(5);
+        long now = 0;
+
+        for (int step = 0; step < 20_000; step++) {
+            now++;
+            Question review = reviews.nextDue(100);
+            Question shown;
+            if (review != null) {
+                long minDue = Long.MAX_VALUE;
+                for (long[] state : model.values()) {
+                    minDue = Math.min(minDue, state[1]);
+                }
+                long[] state = model.get(review.getText());
+                assertNotNull(review.getText(), state);
+                assertEquals(minDue, state[1]);
+                assertTrue(state[1] <= now);
+                shown = review;
+            } else {
+                shown = fact(random.nextInt(12), random.nextInt(12));
+            }
+
+            boolean correct = random.nextInt(3) > 0;
+            reviews.record(shown, correct);
+            long[] state = model.get(shown.getText());
+            if (state == null) {
+                if (!correct) {
+                    model.put(shown.getText(), new long[]{0, now + ReviewQueue.INTERVALS[0]});
+                }
+            } else if (!correct) {
+                state[0] = 0;
+                state[1] = now + ReviewQueue.INTERVALS[0];
+            } else if (state[0] + 1 < ReviewQueue.INTERVALS.length) {
+                state[0]++;
+                state[1] = now + ReviewQueue.INTERVALS[(int) state[0]];
+            } else {
+                model.remove(shown.getText());
+            }
+            assertEquals(model.size(), reviews.size());
+        }
+    }
+}
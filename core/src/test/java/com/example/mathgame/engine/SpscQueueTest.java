@@ -0,0 +1,60 @@
+package com.example.mathgame.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SpscQueueTest {
+
+    @Test
+    public void capacity_isRoundedUpToAPowerOfTwo() {
+        assertEquals(16, new SpscQueue<Integer>(16).capacity());
+        assertEquals(16, new SpscQueue<Integer>(9).capacity());
+        assertEquals(1, new SpscQueue<Integer>(1).capacity());
+    }
+
+    @Test
+    public void keepsFifoOrderAndRejectsWhenFull() {
+        SpscQueue<Integer> queue = new SpscQueue<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(99));
+        assertEquals(4, queue.size());
+
+        assertEquals(Integer.valueOf(0), queue.poll());
+        assertTrue(queue.offer(4)); // wraps around
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(Integer.valueOf(i), queue.poll());
+        }
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void producerAndConsumerThreads_seeEveryElementInOrder() throws InterruptedException {
+        final int count = 1_000_000;
+        SpscQueue<Integer> queue = new SpscQueue<>(64);
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!queue.offer(i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+
+        int expected = 0;
+        while (expected < count) {
+            Integer value = queue.poll();
+            if (value == null) {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(expected++, value.intValue());
+        }
+        producer.join();
+        assertNull(queue.poll());
+    }
+}
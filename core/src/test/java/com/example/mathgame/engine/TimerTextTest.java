@@ -0,0 +1,23 @@
+package com.example.mathgame.engine;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class TimerTextTest {
+
+    @Test
+    public void matchesStringFormat_forEverySecond() {
+        for (long millis = 0; millis < 60_000; millis += 250) {
+            int second = TimerText.secondOf(millis);
+            assertEquals(String.format(Locale.ROOT, "%02d", second), TimerText.twoDigits(second).toString());
+        }
+    }
+
+    @Test
+    public void returnsSameInstance_forSameSecond() {
+        assertSame(TimerText.twoDigits(7), TimerText.twoDigits(TimerText.secondOf(7999)));
+    }
+}
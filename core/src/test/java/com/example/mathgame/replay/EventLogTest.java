@@ -0,0 +1,204 @@
+package com.example.mathgame.replay;
+
+import com.example.mathgame.engine.BasicOperator;
+import com.example.mathgame.engine.Difficulty;
+import com.example.mathgame.engine.Question;
+import com.example.mathgame.engine.QuestionEngine;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class EventLogTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /** Executor that only runs tasks when the test says so. */
+    private final List<Runnable> queued = new ArrayList<>();
+    private long now = 5000;
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        for (Runnable task : tasks) {
+            task.run();
+        }
+    }
+
+    /** A game of exactly `questions` questions: right answers, then timeouts until no life is left. */
+    private SessionRecording game(long seed, int questions) {
+        QuestionEngine engine = new QuestionEngine(BasicOperator.ADD, new Random(seed), Difficulty.fixed(20, 10000));
+        SessionRecorder recorder = new SessionRecorder(() -> now);
+        Random player = new Random(seed);
+        recorder.start("ADD", seed, 0, 0);
+        for (int i = 0; !engine.isGameOver(); i++) {
+            engine.nextQuestion();
+            recorder.questionShown(new Question(BasicOperator.ADD, engine.getLeft(), engine.getRight(), 20), engine);
+            long latency = 1000 + player.nextInt(3000);
+            now += latency;
+            if (i >= questions - QuestionEngine.START_LIVES) {
+                engine.timeOut(); // last questions: lose every life
+                recorder.timedOut(engine);
+            } else {
+                engine.submit(engine.getAnswer(), latency);
+                recorder.answered(engine.getAnswer(), latency, engine);
+            }
+            now += 400;
+            recorder.next(engine);
+        }
+        return recorder.finish();
+    }
+
+    private static List<SessionRecording> readAll(File file) throws IOException {
+        List<SessionRecording> games = new ArrayList<>();
+        try (EventLogReader reader = EventLogReader.open(file)) {
+            SessionRecording game;
+            while ((game = reader.next()) != null) {
+                games.add(game);
+            }
+        }
+        return games;
+    }
+
+    @Test
+    public void appendedGames_readBackInOrder() throws IOException {
+        File file = new File(folder.getRoot(), "events.log");
+        EventLog log = new EventLog(file, 1 << 20, queued::add);
+        SessionRecording first = game(1, 30), second = game(2, 5), third = game(3, 60);
+
+        log.append(first);
+        log.append(second);
+        assertEquals("appends are coalesced into one write", 1, queued.size());
+        assertFalse("nothing written on the caller's thread", file.exists());
+        runQueued();
+        log.append(third);
+        runQueued();
+
+        List<SessionRecording> games = readAll(file);
+        assertEquals(3, games.size());
+        assertEquals(first, games.get(0));
+        assertEquals(second, games.get(1));
+        assertEquals(third, games.get(2));
+    }
+
+    @Test
+    public void longSession_takesKilobytes() throws IOException {
+        File file = new File(folder.getRoot(), "events.log");
+        EventLog log = new EventLog(file, 1 << 20, queued::add);
+        SessionRecording game = game(7, 500); // 500 questions: ~1500 events
+
+        log.append(game);
+        runQueued();
+
+        assertTrue(game.size() >= 1500);
+        assertTrue("file is " + file.length() + " bytes", file.length() < game.size() * 8L);
+        assertEquals(game, readAll(file).get(0));
+    }
+
+    @Test
+    public void fullFile_isRotatedOnce() throws IOException {
+        File file = new File(folder.getRoot(), "events.log");
+        EventLog log = new EventLog(file, 2048, queued::add);
+        for (int i = 0; i < 20; i++) {
+            log.append(game(100 + i, 40));
+        }
+        runQueued();
+
+        File old = EventLog.rotatedFile(file);
+        assertTrue(old.exists());
+        assertTrue(file.length() <= 2048);
+        assertTrue(old.length() <= 2048);
+        List<SessionRecording> newest = readAll(file);
+        assertFalse(newest.isEmpty());
+        assertEquals(game(119, 40), newest.get(newest.size() - 1));
+        assertTrue(readAll(old).size() + newest.size() < 20); // older rotations are gone
+    }
+
+    @Test
+    public void tornTail_endsTheFile() throws IOException {
+        File file = new File(folder.getRoot(), "events.log");
+        EventLog log = new EventLog(file, 1 << 20, queued::add);
+        SessionRecording first = game(1, 20);
+        log.append(first);
+        log.append(game(2, 20));
+        runQueued();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 10); // crash in the middle of the second frame
+        }
+        List<SessionRecording> games = readAll(file);
+        assertEquals(1, games.size());
+        assertEquals(first, games.get(0));
+    }
+
+    @Test
+    public void tornTail_isCutOffBeforeTheNextAppend() throws IOException {
+        File file = new File(folder.getRoot(), "events.log");
+        EventLog log = new EventLog(file, 1 << 20, queued::add);
+        SessionRecording first = game(1, 20);
+        log.append(first);
+        log.append(game(2, 20));
+        runQueued();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 10); // crash in the middle of the second frame
+        }
+
+        EventLog restarted = new EventLog(file, 1 << 20, queued::add);
+        SessionRecording third = game(3, 20);
+        restarted.append(third);
+        runQueued();
+
+        List<SessionRecording> games = readAll(file);
+        assertEquals(2, games.size());
+        assertEquals(first, games.get(0));
+        assertEquals(third, games.get(1));
+    }
+
+    @Test
+    public void failedWrites_areReported() {
+        EventLog log = new EventLog(folder.getRoot(), 1 << 20, queued::add); // a directory
+        List<Integer> lost = new ArrayList<>();
+        log.setWriteErrorListener((error, recordings) -> lost.add(recordings));
+        log.append(game(1, 10));
+        log.append(game(2, 10));
+        runQueued();
+
+        assertEquals(List.of(2), lost);
+    }
+
+    @Test
+    public void flippedByte_failsTheChecksum() throws IOException {
+        File file = new File(folder.getRoot(), "events.log");
+        EventLog log = new EventLog(file, 1 << 20, queued::add);
+        log.append(game(1, 20));
+        runQueued();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(EventLog.HEADER_BYTES + 12);
+            int b = raf.read();
+            raf.seek(EventLog.HEADER_BYTES + 12);
+            raf.write(b ^ 0x40);
+        }
+        assertTrue(readAll(file).isEmpty());
+    }
+
+    @Test(expected = IOException.class)
+    public void otherFile_isRejected() throws IOException {
+        File file = new File(folder.getRoot(), "sessions.dat");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.writeInt(0x01020304);
+            raf.writeInt(0);
+        }
+        EventLogReader.open(file);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.mathgame.replay;
+
+import com.example.mathgame.engine.BasicOperator;
+import com.example.mathgame.engine.Difficulty;
+import com.example.mathgame.engine.Question;
+import com.example.mathgame.engine.QuestionEngine;
+import com.example.mathgame.engine.QuestionSupply;
+import com.example.mathgame.engine.ReviewQueue;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SessionReplayTest {
+
+    private final Queue<Runnable> queued = new ArrayDeque<>();
+    private long now = 1000;
+
+    /**
+     * Plays one game the way GameScreen does: questions from a supply that
+     * is refilled at odd moments, answers mostly right and fast (so the
+     * level goes up mid-game), a timeout now and then.
+     */
+    private SessionRecording play(BasicOperator operator, long seed, Difficulty difficulty) {
+        return play(operator, seed, difficulty, null);
+    }
+
+    /** Same, with missed questions re-asked from reviews (when not null). */
+    private SessionRecording play(BasicOperator operator, long seed, Difficulty difficulty, ReviewQueue reviews) {
+        QuestionSupply supply = new QuestionSupply(operator, seed, queued::add, 8);
+        QuestionEngine engine = new QuestionEngine(operator, new Random(), difficulty);
+        SessionRecorder recorder = new SessionRecorder(() -> now);
+        Random player = new Random(seed);
+        supply.prefill(difficulty.getOperandBound());
+
+        recorder.start(operator.name(), seed, supply.nextIndex(), difficulty.toBits());
+        while (!engine.isGameOver()) {
+            if (player.nextInt(3) == 0 && !queued.isEmpty()) {
+                queued.poll().run(); // refill only sometimes
+            }
+            Question question = reviews == null ? null : reviews.nextDue(difficulty.getOperandBound());
+            if (question != null) {
+                engine.nextQuestion(question);
+                recorder.reviewShown(question, engine);
+            } else {
+                question = supply.take(difficulty.getOperandBound());
+                engine.nextQuestion(question);
+                recorder.questionShown(question, engine);
+            }
+
+            int roll = player.nextInt(20);
+            if (roll == 0) {
+                now += difficulty.getTimeLimitMillis();
+                engine.timeOut();
+                if (reviews != null) {
+                    reviews.record(question, false);
+                }
+                recorder.timedOut(engine);
+            } else {
+                long latency = 800 + player.nextInt(1500);
+                now += latency;
+                int answer = roll == 1 ? question.getAnswer() + 1 : question.getAnswer();
+                QuestionEngine.Verdict verdict = engine.submit(answer, latency);
+                if (reviews != null) {
+                    reviews.record(question, verdict == QuestionEngine.Verdict.CORRECT);
+                }
+                recorder.answered(answer, latency, engine);
+            }
+            now += 300;
+            recorder.next(engine);
+        }
+        return recorder.finish();
+    }
+
+    @Test
+    public void recordedGame_replaysToTheSameTrajectory() {
+        Difficulty difficulty = Difficulty.adaptiveFor(BasicOperator.ADD);
+        SessionRecording recording = play(BasicOperator.ADD, 42L, difficulty);
+
+        SessionReplay.Result result = SessionReplay.run(recording, BasicOperator.ADD);
+
+        assertTrue(result.toString(), result.matches());
+        assertEquals(recording.size(), result.getReplayed());
+        assertEquals(recording.getFinalScore(), result.getScore());
+        assertEquals(0, result.getLives());
+        assertTrue("level should have changed mid-game", difficulty.getLevel() > 0);
+    }
+
+    @Test
+    public void secondGame_startsFromTheSavedDifficulty() {
+        Difficulty difficulty = Difficulty.adaptiveFor(BasicOperator.MULTIPLY);
+        play(BasicOperator.MULTIPLY, 7L, difficulty);
+        SessionRecording second = play(BasicOperator.MULTIPLY, 8L, difficulty);
+
+        assertNotEquals(0L, second.getDifficultyBits());
+        assertTrue(SessionReplay.run(second, BasicOperator.MULTIPLY).toString(),
+                SessionReplay.run(second, BasicOperator.MULTIPLY).matches());
+    }
+
+    @Test
+    public void reviewedQuestions_replayFromTheRecording() {
+        Difficulty difficulty = Difficulty.adaptiveFor(BasicOperator.MULTIPLY);
+        ReviewQueue reviews = new ReviewQueue();
+        play(BasicOperator.MULTIPLY, 21L, difficulty, reviews); // misses carried into the next game
+        SessionRecording second = play(BasicOperator.MULTIPLY, 22L, difficulty, reviews);
+
+        int shown = 0;
+        for (int i = 0; i < second.size(); i++) {
+            if (second.getType(i) == SessionRecording.REVIEW) {
+                assertEquals(BasicOperator.MULTIPLY.symbol(), second.getSymbol(i));
+                shown++;
+            }
+        }
+        assertTrue("no review was asked", shown > 0);
+        SessionReplay.Result result = SessionReplay.run(second, BasicOperator.MULTIPLY);
+        assertTrue(result.toString(), result.matches());
+    }
+
+    @Test
+    public void timestampsAreRelativeToTheStart() {
+        SessionRecording recording = play(BasicOperator.SUBTRACT, 3L, Difficulty.adaptiveFor(BasicOperator.SUBTRACT));
+
+        assertEquals(SessionRecording.QUESTION, recording.getType(0));
+        assertEquals(0, recording.getTimeMillis(0));
+        for (int i = 1; i < recording.size(); i++) {
+            assertTrue(recording.getTimeMillis(i) >= recording.getTimeMillis(i - 1));
+        }
+    }
+
+    @Test
+    public void otherDifficulty_divergesAndSaysWhere() {
+        SessionRecording recording = play(BasicOperator.ADD, 5L, Difficulty.adaptiveFor(BasicOperator.ADD));
+
+        SessionReplay.Result result = SessionReplay.run(recording, BasicOperator.ADD, Difficulty.fixed(10, 10000));
+
+        assertFalse(result.matches());
+        assertEquals(0, result.getDivergedAt()); // first question drawn from another range
+        assertTrue(result.getReason().startsWith("question"));
+    }
+
+    @Test
+    public void encodeAndDecode_roundTrip() {
+        SessionRecording first = play(BasicOperator.ADD, 11L, Difficulty.adaptiveFor(BasicOperator.ADD));
+        SessionRecording second = play(BasicOperator.SUBTRACT, 12L, Difficulty.adaptiveFor(BasicOperator.SUBTRACT));
+
+        ByteBuffer out = ByteBuffer.allocate(first.maxEncodedBytes() + second.maxEncodedBytes());
+        first.encode(out);
+        second.encode(out);
+        out.flip();
+        ByteBuffer in = ByteBuffer.wrap(out.array(), 0, out.limit() - 3);
+
+        assertEquals(first, SessionRecording.decode(in));
+        assertNull(SessionRecording.decode(in)); // truncated tail
+    }
+}
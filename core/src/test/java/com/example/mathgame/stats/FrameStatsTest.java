@@ -0,0 +1,66 @@
+package com.example.mathgame.stats;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FrameStatsTest {
+
+    private static final long FRAME_60HZ = 16_666_667;
+
+    @Test
+    public void framesLongerThanOneAndAHalfIntervals_areJanky() {
+        FrameStats stats = new FrameStats("Home", FRAME_60HZ);
+        for (int i = 0; i < 97; i++) {
+            stats.record(FRAME_60HZ);
+        }
+        stats.record(24_000_000);       // just under 1.5 intervals: smooth
+        stats.record(2 * FRAME_60HZ);   // one vsync missed
+        stats.record(120_000_000);      // long stall
+
+        assertEquals(100, stats.getFrames());
+        assertEquals(2, stats.getJanky());
+        assertEquals(120_000_000, stats.getWorstNanos());
+        assertEquals(17, stats.percentileMillis(50));
+        assertEquals(33, stats.percentileMillis(99));
+    }
+
+    @Test
+    public void add_mergesVisits() {
+        FrameStats first = new FrameStats("Menu", FRAME_60HZ);
+        FrameStats second = new FrameStats("Menu", FRAME_60HZ);
+        first.record(FRAME_60HZ);
+        second.record(50_000_000);
+
+        first.add(second);
+
+        assertEquals(2, first.getFrames());
+        assertEquals(1, first.getJanky());
+        assertEquals(50_000_000, first.getWorstNanos());
+    }
+
+    @Test
+    public void writeLine_summarisesTheScreen() throws Exception {
+        FrameStats stats = new FrameStats("Result", FRAME_60HZ);
+        stats.record(FRAME_60HZ);
+        stats.record(48_000_000);
+
+        StringBuilder out = new StringBuilder();
+        stats.writeLine(out);
+
+        assertEquals("Result frames=2 janky=1 worst=48ms p50=17 p90=48 p99=48", out.toString());
+    }
+
+    @Test
+    public void ignoresNonPositiveDurations_andResets() {
+        FrameStats stats = new FrameStats("Home", FRAME_60HZ);
+        stats.record(0);
+        stats.record(-5);
+        assertEquals(0, stats.getFrames());
+
+        stats.record(FRAME_60HZ);
+        stats.reset();
+        assertEquals(0, stats.getFrames());
+        assertEquals(0, stats.getWorstNanos());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.mathgame.stats;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void smallValues_areExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int v = 1; v <= 50; v++) {
+            histogram.record(v);
+        }
+        assertEquals(25, histogram.percentile(50));
+        assertEquals(50, histogram.percentile(100));
+        assertEquals(1, histogram.getMin());
+    }
+
+    @Test
+    public void largeValues_stayWithinThreePercent() {
+        for (long v = 64; v < LatencyHistogram.MAX_VALUE; v += v / 7 + 1) {
+            long reported = LatencyHistogram.highestValueIn(LatencyHistogram.indexOf(v));
+            assertTrue(reported >= v);
+            assertTrue("value " + v + " reported as " + reported, reported - v <= v * 0.032);
+        }
+    }
+
+    @Test
+    public void bucketsAreContiguous() {
+        for (int i = 0; LatencyHistogram.highestValueIn(i) < LatencyHistogram.MAX_VALUE; i++) {
+            long upper = LatencyHistogram.highestValueIn(i);
+            assertEquals(i, LatencyHistogram.indexOf(upper));
+            assertEquals(i + 1, LatencyHistogram.indexOf(upper + 1));
+        }
+    }
+
+    @Test
+    public void percentiles_ofAnswerTimes() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 95; i++) {
+            histogram.record(2_000);
+        }
+        for (int i = 0; i < 5; i++) {
+            histogram.record(9_000);
+        }
+        assertEquals(100, histogram.getTotalCount());
+        assertEquals(2_000, histogram.percentile(50), 2_000 * 0.032);
+        assertEquals(2_000, histogram.percentile(95), 2_000 * 0.032);
+        assertEquals(9_000, histogram.percentile(99));
+    }
+
+    @Test
+    public void outOfRangeValues_areClamped() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.getMin());
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getMax());
+    }
+
+    @Test
+    public void copy_isIndependent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+        LatencyHistogram copy = histogram.copy();
+        histogram.record(200);
+
+        assertEquals(1, copy.getTotalCount());
+        assertEquals(2, histogram.getTotalCount());
+        histogram.reset();
+        assertEquals(0, histogram.percentile(50));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.mathgame.stats;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ResponseTimerTest {
+
+    private long now = 1_000;
+    private final ResponseTimer timer = new ResponseTimer(() -> now);
+
+    @Test
+    public void recordsFirstKeyAndAnswerTimes() {
+        timer.questionShown();
+        now += 1_500;
+        timer.keystroke();
+        now += 300;
+        timer.keystroke(); // only the first keystroke counts
+        now += 200;
+
+        assertEquals(2_000, timer.submitted());
+        assertEquals(1_500, timer.getFirstKey().getMax());
+        assertEquals(2_000, timer.getAnswer().getMax());
+    }
+
+    @Test
+    public void ignoresInputWithoutAQuestion() {
+        timer.keystroke();
+        assertEquals(-1, timer.submitted());
+
+        timer.questionShown();
+        now += 10_000;
+        timer.timedOut();
+        timer.keystroke(); // e.g. the answer field being cleared
+        assertEquals(-1, timer.submitted());
+        assertEquals(0, timer.getAnswer().getTotalCount());
+    }
+
+    @Test
+    public void exportsCsv() throws Exception {
+        timer.questionShown();
+        now += 4_000;
+        timer.submitted();
+        timer.recordReaction(16);
+
+        StringBuilder csv = new StringBuilder();
+        LatencyReport.writeCsv(csv, Collections.singletonList(LatencyReport.snapshotOf("ADD", timer)));
+
+        assertTrue(csv.toString().startsWith("mode,metric,count,p50,p90,p95,p99,max\n"));
+        assertTrue(csv.toString().contains("ADD,answer,1,"));
+        assertTrue(csv.toString().contains("ADD,reaction,16,1\n"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.mathgame.store;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GroupCommitWriterTest {
+
+    /** Executor that only runs tasks when the test says so. */
+    private final List<Runnable> queued = new ArrayList<>();
+
+    private final List<String> calls = new ArrayList<>();
+    private boolean failNext;
+
+    private void runQueued() {
+        while (!queued.isEmpty()) {
+            queued.remove(0).run();
+        }
+    }
+
+    private GroupCommitWriter<Integer> writer() {
+        return new GroupCommitWriter<>(() -> calls.add("cut"), batch -> {
+            if (failNext) {
+                failNext = false;
+                throw new IOException("disk full");
+            }
+            calls.add(batch.toString());
+        }, queued::add);
+    }
+
+    @Test
+    public void recordsQueuedBeforeTheFlush_areOneBatch() {
+        GroupCommitWriter<Integer> writes = writer();
+        writes.add(1);
+        writes.add(2);
+        writes.add(3);
+        assertEquals(1, queued.size());
+
+        runQueued();
+        assertEquals(List.of("cut", "[1, 2, 3]"), calls);
+        assertFalse(writes.hasPending());
+    }
+
+    @Test
+    public void tailIsCutOnlyFirst_andAgainAfterAFailure() {
+        GroupCommitWriter<Integer> writes = writer();
+        List<Integer> lost = new ArrayList<>();
+        writes.setWriteErrorListener((error, records) -> lost.add(records));
+
+        writes.add(1);
+        runQueued();
+        writes.add(2);
+        runQueued();
+        failNext = true;
+        writes.add(3);
+        writes.add(4);
+        runQueued();
+        writes.add(5);
+        runQueued();
+
+        assertEquals(List.of(2), lost);
+        assertEquals(List.of("cut", "[1]", "[2]", "cut", "[5]"), calls);
+    }
+
+    @Test
+    public void tailChecked_skipsTheFirstCut() {
+        GroupCommitWriter<Integer> writes = writer();
+        writes.tailChecked();
+        writes.add(1);
+        runQueued();
+
+        assertEquals(List.of("[1]"), calls);
+    }
+}
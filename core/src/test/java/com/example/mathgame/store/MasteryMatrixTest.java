@@ -0,0 +1,104 @@
+package com.example.mathgame.store;
+
+import com.example.mathgame.engine.BasicOperator;
+import com.example.mathgame.engine.Question;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.*;
+
+public class MasteryMatrixTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Question question(BasicOperator operator, int left, int right) {
+        return new Question(operator, left, right, 100);
+    }
+
+    @Test
+    public void record_countsAttemptsCorrectAndAverageTime() {
+        MasteryMatrix matrix = MasteryMatrix.inMemory();
+        matrix.record(question(BasicOperator.MULTIPLY, 7, 8), true, 4000);
+        matrix.record(question(BasicOperator.MULTIPLY, 7, 8), false, 8000);
+
+        assertEquals(2, matrix.getAttempts(BasicOperator.MULTIPLY, 7, 8));
+        assertEquals(1, matrix.getCorrect(BasicOperator.MULTIPLY, 7, 8));
+        assertEquals(5000, matrix.getAverageMillis(BasicOperator.MULTIPLY, 7, 8)); // 4000 + (8000 - 4000) / 4
+        assertEquals(0, matrix.getAttempts(BasicOperator.MULTIPLY, 8, 7));
+        assertEquals(0, matrix.getAttempts(BasicOperator.ADD, 7, 8));
+    }
+
+    @Test
+    public void weakness_growsWithMissesAndSlowAnswers() {
+        MasteryMatrix matrix = MasteryMatrix.inMemory();
+        matrix.record(question(BasicOperator.ADD, 1, 1), true, 1000);
+        matrix.record(question(BasicOperator.ADD, 2, 2), true, MasteryMatrix.SLOW_MILLIS);
+        matrix.record(question(BasicOperator.ADD, 3, 3), false, MasteryMatrix.SLOW_MILLIS * 2);
+
+        assertEquals(30, matrix.weakness(BasicOperator.ADD, 1, 1));
+        assertEquals(300, matrix.weakness(BasicOperator.ADD, 2, 2));
+        assertEquals(1000, matrix.weakness(BasicOperator.ADD, 3, 3));
+        assertEquals(-1, matrix.weakness(BasicOperator.ADD, 4, 4));
+
+        int[] map = new int[4 * 4];
+        matrix.fillWeakness(BasicOperator.ADD, 4, map);
+        assertEquals(30, map[1 * 4 + 1]);
+        assertEquals(1000, map[3 * 4 + 3]);
+        assertEquals(-1, map[0]);
+    }
+
+    @Test
+    public void division_isStoredOnTheFactItInverts() {
+        MasteryMatrix matrix = MasteryMatrix.inMemory();
+        matrix.record(question(BasicOperator.DIVIDE, 63, 9), true, 2000); // 63 ÷ 9 = 7
+
+        assertEquals(1, matrix.getAttempts(BasicOperator.DIVIDE, 7, 9));
+        assertEquals(0, matrix.getAttempts(BasicOperator.MULTIPLY, 7, 9));
+    }
+
+    @Test
+    public void factsOutsideTheTable_areOnlyCounted() {
+        MasteryMatrix matrix = MasteryMatrix.inMemory();
+        matrix.record(question(BasicOperator.ADD, 250, 3), true, 1000);
+
+        assertEquals(1, matrix.getUntracked());
+        assertEquals(-1, matrix.weakness(BasicOperator.ADD, 99, 3));
+    }
+
+    @Test
+    public void tablesSurviveReopening() throws Exception {
+        File file = new File(folder.getRoot(), "mastery.bin");
+        MasteryMatrix first = MasteryMatrix.open(file);
+        first.record(question(BasicOperator.SUBTRACT, 12, 5), false, 3000);
+        first.record(question(BasicOperator.POWER, 4, 3), true, 6000);
+        first.force();
+
+        MasteryMatrix second = MasteryMatrix.open(file);
+        assertEquals(1, second.getAttempts(BasicOperator.SUBTRACT, 12, 5));
+        assertEquals(0, second.getCorrect(BasicOperator.SUBTRACT, 12, 5));
+        assertEquals(3000, second.getAverageMillis(BasicOperator.SUBTRACT, 12, 5));
+        assertEquals(1, second.getCorrect(BasicOperator.POWER, 4, 3));
+    }
+
+    @Test
+    public void foreignFile_isCleared() throws Exception {
+        File file = new File(folder.getRoot(), "mastery.bin");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(MasteryMatrix.BYTES);
+            raf.writeInt(0x12345678); // wrong magic, right size
+            raf.seek(MasteryMatrix.BYTES - 4);
+            raf.writeInt(99);
+        }
+
+        MasteryMatrix matrix = MasteryMatrix.open(file);
+        assertEquals(-1, matrix.weakness(BasicOperator.ADD, 0, 0));
+        matrix.record(question(BasicOperator.ADD, 0, 0), true, 500);
+        assertEquals(1, MasteryMatrix.open(file).getAttempts(BasicOperator.ADD, 0, 0));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.mathgame.store;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ScoreStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /** Executor that only runs tasks when the test says so. */
+    private final List<Runnable> queued = new ArrayList<>();
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        for (Runnable task : tasks) {
+            task.run();
+        }
+    }
+
+    private static SessionRecord session(String mode, int score) {
+        return new SessionRecord(mode, 1000L + score, score, 0, score / 10 + 3, new int[]{1200, 3400, 800});
+    }
+
+    @Test
+    public void bestScore_isServedFromCacheBeforeAnyWrite() {
+        ScoreStore store = new ScoreStore(new File(folder.getRoot(), "sessions.dat"), queued::add);
+        store.record(session("ADD", 40));
+        store.record(session("ADD", 70));
+        store.record(session("MULTIPLY", 20));
+
+        assertEquals(70, store.bestScore("ADD"));
+        assertEquals(20, store.bestScore("MULTIPLY"));
+        assertEquals(0, store.bestScore("SUBTRACT"));
+    }
+
+    @Test
+    public void writesAreCoalesced() {
+        ScoreStore store = new ScoreStore(new File(folder.getRoot(), "sessions.dat"), queued::add);
+        for (int i = 0; i < 5; i++) {
+            store.record(session("ADD", i * 10));
+        }
+        assertEquals(1, queued.size());
+
+        runQueued();
+        store.record(session("ADD", 90));
+        assertEquals(1, queued.size());
+    }
+
+    @Test
+    public void sessionsSurviveReload() throws Exception {
+        File file = new File(folder.getRoot(), "sessions.dat");
+        ScoreStore store = new ScoreStore(file, queued::add);
+        store.record(session("ADD", 30));
+        store.record(session("SUBTRACT", 50));
+        runQueued();
+        store.record(session("ADD", 60));
+        runQueued();
+
+        ScoreStore reloaded = new ScoreStore(file, queued::add);
+        reloaded.load();
+
+        assertTrue(reloaded.isLoaded());
+        assertEquals(60, reloaded.bestScore("ADD"));
+        assertEquals(50, reloaded.bestScore("SUBTRACT"));
+
+        List<SessionRecord> recent = reloaded.recentSessions();
+        assertEquals(3, recent.size());
+        assertEquals(60, recent.get(0).getScore());
+        assertArrayEquals(new int[]{1200, 3400, 800}, recent.get(0).getLatenciesMillis());
+    }
+
+    @Test
+    public void sessionsRecordedBeforeLoad_stayNewest() throws Exception {
+        File file = new File(folder.getRoot(), "sessions.dat");
+        ScoreStore first = new ScoreStore(file, queued::add);
+        first.record(session("ADD", 10));
+        runQueued();
+
+        ScoreStore store = new ScoreStore(file, queued::add);
+        store.record(session("ADD", 20));
+        store.record(session("ADD", 30));
+        store.load();
+
+        List<SessionRecord> recent = store.recentSessions();
+        assertEquals(30, recent.get(0).getScore());
+        assertEquals(20, recent.get(1).getScore());
+        assertEquals(10, recent.get(2).getScore());
+    }
+
+    @Test
+    public void tornTail_isCutOffBeforeTheNextAppend() throws Exception {
+        File file = new File(folder.getRoot(), "sessions.dat");
+        ScoreStore first = new ScoreStore(file, queued::add);
+        first.record(session("ADD", 10));
+        first.record(session("ADD", 20));
+        runQueued();
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.setLength(raw.length() - 5); // crash in the middle of the second session
+        }
+
+        ScoreStore store = new ScoreStore(file, queued::add);
+        store.load();
+        store.record(session("SUBTRACT", 40));
+        runQueued();
+
+        ScoreStore reloaded = new ScoreStore(file, queued::add);
+        reloaded.load();
+        List<SessionRecord> recent = reloaded.recentSessions();
+        assertEquals(2, recent.size());
+        assertEquals(40, recent.get(0).getScore());
+        assertEquals(10, recent.get(1).getScore());
+        assertEquals(10, reloaded.bestScore("ADD"));
+    }
+
+    @Test
+    public void load_compactsToTheWindowAndTheBests() throws Exception {
+        File file = new File(folder.getRoot(), "sessions.dat");
+        ScoreStore store = new ScoreStore(file, queued::add);
+        store.record(session("MULTIPLY", 900)); // oldest, never beaten
+        for (int i = 0; i < ScoreStore.COMPACT_AT; i++) {
+            store.record(session("ADD", i % 100));
+        }
+        runQueued();
+        long before = file.length();
+
+        ScoreStore compacted = new ScoreStore(file, queued::add);
+        compacted.load();
+        assertTrue(file.length() < before / 3);
+        assertEquals(900, compacted.bestScore("MULTIPLY"));
+        assertEquals(99, compacted.bestScore("ADD"));
+        assertEquals((ScoreStore.COMPACT_AT - 1) % 100, compacted.recentSessions().get(0).getScore());
+
+        ScoreStore reloaded = new ScoreStore(file, queued::add);
+        reloaded.load();
+        assertEquals(900, reloaded.bestScore("MULTIPLY"));
+        assertEquals(compacted.recentSessions().size(), reloaded.recentSessions().size());
+    }
+
+    @Test
+    public void failedWrites_areReported() {
+        File directory = folder.getRoot(); // cannot be opened for appending
+        ScoreStore store = new ScoreStore(directory, queued::add);
+        List<Integer> lost = new ArrayList<>();
+        List<IOException> errors = new ArrayList<>();
+        store.setWriteErrorListener((error, sessions) -> {
+            errors.add(error);
+            lost.add(sessions);
+        });
+        store.record(session("ADD", 10));
+        store.record(session("ADD", 20));
+        runQueued();
+
+        assertEquals(List.of(2), lost);
+        assertEquals(1, errors.size());
+        assertEquals(20, store.bestScore("ADD")); // the cache keeps them
+    }
+}
@@ -0,0 +1,31 @@
+plugins {
+    application
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+
+    implementation(project(":core"))
+    testImplementation(libs.junit)
+}
+
+// Run with: ./gradlew :leaderboard:run --args="--port 47480"
+// (log in ~/.mathgame/leaderboard.log; see LeaderboardServer for every option)
+application {
+    mainClass.set("com.example.mathgame.leaderboard.LeaderboardServer")
+    applicationDefaultJvmArgs = listOf("-Xmx1g")
+}
+
+// Run with: ./gradlew :leaderboard:loadTest --args="--threads 8 --seconds 30"
+// (see LoadTest for every option)
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Hammers an in-process Leaderboard and its log, then checks the log replays"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.example.mathgame.leaderboard.LoadTest")
+    jvmArgs("-Xmx1g")
+}
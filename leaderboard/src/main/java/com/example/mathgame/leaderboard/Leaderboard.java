@@ -0,0 +1,213 @@
+package com.example.mathgame.leaderboard;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Leaderboard (best score per player, ranked per game mode)
+ * --------------------------------------------------
+ * - One board per mode id (the app's OperatorRegistry ids), created on
+ *   the first submission
+ * - Striped: a board is split into STRIPES stripes by player; each
+ *   stripe has its own lock, its players' best entries and a
+ *   {@link RankedSkipList} of them. Submissions of different players
+ *   rarely wait for each other
+ * - A submission only counts when it beats the player's best; then the
+ *   old entry leaves the stripe's list and the new one goes in, O(log n)
+ * - rank = 1 + entries ordered before the player's, summed over the
+ *   stripes: O(STRIPES · log n). top(n) merges every stripe's first n
+ * - With a {@link SubmissionLog}, every new best is queued for the log
+ *   inside the stripe lock (so a player's bests reach the file in order)
+ *   and {@link #open} rebuilds the boards from it
+ *
+ * Thread-safe. rank and top are not one snapshot across stripes: a
+ * submission in flight may or may not be counted.
+ */
+public final class Leaderboard implements Closeable {
+
+    public static final int STRIPES = 16;                 // power of two
+    public static final int MAX_NAME_BYTES = 64;          // mode ids and player ids, UTF-8
+    public static final int MAX_TOP = 1000;
+
+    private final ConcurrentHashMap<String, Board> boards = new ConcurrentHashMap<>();
+    private SubmissionLog log;                            // null: memory only; set before sharing
+
+    /** In memory only (tests, load test without a file). */
+    public Leaderboard() {
+    }
+
+    /** Boards rebuilt from file; new bests are appended to it on writer. */
+    public static Leaderboard open(File file, ScheduledExecutorService writer, boolean sync) throws IOException {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.log = SubmissionLog.open(file, writer, sync, leaderboard::restore);
+        return leaderboard;
+    }
+
+    private void restore(String mode, ScoreEntry entry) {
+        board(mode).stripeOf(entry.getPlayer()).offer(entry);
+    }
+
+    // =========================
+    // One mode: STRIPES independent parts
+    // =========================
+    private static final class Board {
+        final Stripe[] stripes = new Stripe[STRIPES];
+
+        Board(String mode) {
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe(mode.hashCode() * 31L + i);
+            }
+        }
+
+        Stripe stripeOf(String player) {
+            int h = player.hashCode() * 0x9E3779B9; // spread: ids often differ only at the end
+            return stripes[h >>> (32 - Integer.numberOfTrailingZeros(STRIPES))];
+        }
+    }
+
+    private static final class Stripe {
+        final Map<String, ScoreEntry> best = new HashMap<>();
+        final RankedSkipList<ScoreEntry> ranking;
+
+        Stripe(long seed) {
+            ranking = new RankedSkipList<>(seed);
+        }
+
+        // Caller holds the lock (or is the only thread, during open)
+        boolean offer(ScoreEntry entry) {
+            ScoreEntry old = best.get(entry.getPlayer());
+            if (!entry.beats(old)) {
+                return false;
+            }
+            if (old != null) {
+                ranking.remove(old);
+            }
+            ranking.add(entry);
+            best.put(entry.getPlayer(), entry);
+            return true;
+        }
+    }
+
+    private Board board(String mode) {
+        Board board = boards.get(mode);
+        return board != null ? board : boards.computeIfAbsent(mode, Board::new);
+    }
+
+    // =========================
+    // Submit (any thread)
+    // =========================
+
+    /** @return true when score is player's new best in mode */
+    public boolean submit(String mode, String player, int score, long timeMillis) {
+        checkName("mode", mode);
+        checkName("player", player);
+        ScoreEntry entry = new ScoreEntry(player, score, timeMillis);
+        Stripe stripe = board(mode).stripeOf(player);
+        synchronized (stripe) {
+            if (!stripe.offer(entry)) {
+                return false;
+            }
+            if (log != null) {
+                log.append(mode, entry);
+            }
+        }
+        return true;
+    }
+
+    private static void checkName(String what, String name) {
+        if (name == null || name.isEmpty() || name.length() > MAX_NAME_BYTES
+                || name.getBytes(StandardCharsets.UTF_8).length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException(what + " id must be 1 to " + MAX_NAME_BYTES + " bytes: " + name);
+        }
+    }
+
+    // =========================
+    // Queries (any thread)
+    // =========================
+
+    /** Player's best in mode, null if none. */
+    public ScoreEntry best(String mode, String player) {
+        Board board = boards.get(mode);
+        if (board == null) {
+            return null;
+        }
+        Stripe stripe = board.stripeOf(player);
+        synchronized (stripe) {
+            return stripe.best.get(player);
+        }
+    }
+
+    /** 1-based position of player's best in mode, -1 if the player has none. */
+    public int rank(String mode, String player) {
+        ScoreEntry entry = best(mode, player);
+        if (entry == null) {
+            return -1;
+        }
+        int before = 0;
+        for (Stripe stripe : boards.get(mode).stripes) {
+            synchronized (stripe) {
+                before += stripe.ranking.countBefore(entry);
+            }
+        }
+        return before + 1;
+    }
+
+    /** The best count entries of mode, best first (count capped at MAX_TOP). */
+    public List<ScoreEntry> top(String mode, int count) {
+        Board board = boards.get(mode);
+        if (board == null || count <= 0) {
+            return Collections.emptyList();
+        }
+        count = Math.min(count, MAX_TOP);
+        List<ScoreEntry> merged = new ArrayList<>();
+        for (Stripe stripe : board.stripes) {
+            synchronized (stripe) {
+                stripe.ranking.first(count, merged);
+            }
+        }
+        Collections.sort(merged);
+        return merged.size() > count ? new ArrayList<>(merged.subList(0, count)) : merged;
+    }
+
+    /** Players with a score in mode. */
+    public int size(String mode) {
+        Board board = boards.get(mode);
+        if (board == null) {
+            return 0;
+        }
+        int size = 0;
+        for (Stripe stripe : board.stripes) {
+            synchronized (stripe) {
+                size += stripe.ranking.size();
+            }
+        }
+        return size;
+    }
+
+    public Set<String> modes() {
+        return Collections.unmodifiableSet(boards.keySet());
+    }
+
+    /** The log, null when in memory only. */
+    public SubmissionLog getLog() {
+        return log;
+    }
+
+    /** Writes the queued bests and closes the log. */
+    @Override
+    public void close() throws IOException {
+        if (log != null) {
+            log.close();
+        }
+    }
+}
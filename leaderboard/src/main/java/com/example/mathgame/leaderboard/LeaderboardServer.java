@@ -0,0 +1,276 @@
+package com.example.mathgame.leaderboard;
+
+import com.example.mathgame.engine.OperatorRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * LeaderboardServer (HTTP front of a {@link Leaderboard})
+ * --------------------------------------------------
+ * - The JDK's built-in HTTP server, nothing to install. Parameters come
+ *   from the query string or, for POST, a form body; replies are plain
+ *   text lines:
+ *
+ *   POST /scores  mode, player, score   → "rank best" (400 on bad input)
+ *   GET  /rank    mode, player          → "rank best" (404 if none)
+ *   GET  /top     mode, n [10]          → one "rank player score" per line
+ *
+ * - Modes must be ids of OperatorRegistry.standard(), so a typo cannot
+ *   open a new board
+ * - The submission time is the server's clock
+ *
+ * Options (defaults in brackets):
+ *   --port N      TCP port [47480]
+ *   --file path   submission log [~/.mathgame/leaderboard.log]
+ *   --threads N   request threads [available processors]
+ *   --sync        force every log batch to the device
+ */
+public final class LeaderboardServer {
+
+    public static final int PORT = 47480;
+
+    private static final int MAX_BODY_BYTES = 4096;
+    private static final OperatorRegistry MODES = OperatorRegistry.standard();
+
+    private final Leaderboard leaderboard;
+    private final HttpServer http;
+
+    LeaderboardServer(Leaderboard leaderboard, InetSocketAddress address, ExecutorService requests) throws IOException {
+        this.leaderboard = leaderboard;
+        http = HttpServer.create(address, 0);
+        http.setExecutor(requests);
+        http.createContext("/scores", exchange -> handle(exchange, "POST", this::submit));
+        http.createContext("/rank", exchange -> handle(exchange, "GET", this::rank));
+        http.createContext("/top", exchange -> handle(exchange, "GET", this::top));
+    }
+
+    void start() {
+        http.start();
+    }
+
+    void stop() {
+        http.stop(0);
+    }
+
+    int getPort() {
+        return http.getAddress().getPort();
+    }
+
+    // =========================
+    // Endpoints: parameters in, reply body out
+    // =========================
+    private interface Endpoint {
+        String reply(Map<String, String> params) throws HttpError;
+    }
+
+    private static final class HttpError extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private String submit(Map<String, String> params) throws HttpError {
+        String mode = mode(params), player = required(params, "player");
+        int score = number(params, "score");
+        try {
+            leaderboard.submit(mode, player, score, System.currentTimeMillis());
+        } catch (IllegalArgumentException e) {
+            throw new HttpError(400, e.getMessage());
+        }
+        return rankLine(mode, player);
+    }
+
+    private String rank(Map<String, String> params) throws HttpError {
+        String mode = mode(params), player = required(params, "player");
+        String line = rankLine(mode, player);
+        if (line == null) {
+            throw new HttpError(404, "no score for " + player + " in " + mode);
+        }
+        return line;
+    }
+
+    private String rankLine(String mode, String player) {
+        ScoreEntry best = leaderboard.best(mode, player);
+        return best == null ? null : leaderboard.rank(mode, player) + " " + best.getScore() + "\n";
+    }
+
+    private String top(Map<String, String> params) throws HttpError {
+        String mode = mode(params);
+        int count = params.containsKey("n") ? number(params, "n") : 10;
+        List<ScoreEntry> top = leaderboard.top(mode, count);
+        StringBuilder reply = new StringBuilder(top.size() * 24);
+        for (int i = 0; i < top.size(); i++) {
+            ScoreEntry entry = top.get(i);
+            reply.append(i + 1).append(' ').append(entry.getPlayer()).append(' ').append(entry.getScore()).append('\n');
+        }
+        return reply.toString();
+    }
+
+    private static String mode(Map<String, String> params) throws HttpError {
+        String mode = required(params, "mode");
+        if (!MODES.contains(mode)) {
+            throw new HttpError(400, "unknown mode " + mode);
+        }
+        return mode;
+    }
+
+    private static String required(Map<String, String> params, String name) throws HttpError {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new HttpError(400, "missing " + name);
+        }
+        return value;
+    }
+
+    private static int number(Map<String, String> params, String name) throws HttpError {
+        try {
+            return Integer.parseInt(required(params, name));
+        } catch (NumberFormatException e) {
+            throw new HttpError(400, name + " is not a number");
+        }
+    }
+
+    // =========================
+    // HTTP plumbing
+    // =========================
+    private static void handle(HttpExchange exchange, String method, Endpoint endpoint) throws IOException {
+        int status = 200;
+        String body;
+        try {
+            if (!method.equals(exchange.getRequestMethod())) {
+                throw new HttpError(405, "use " + method);
+            }
+            Map<String, String> params = new HashMap<>();
+            parseForm(exchange.getRequestURI().getRawQuery(), params);
+            if ("POST".equals(method)) {
+                parseForm(readBody(exchange.getRequestBody()), params);
+            }
+            body = endpoint.reply(params);
+        } catch (HttpError e) {
+            status = e.status;
+            body = e.getMessage() + "\n";
+        } catch (RuntimeException e) {
+            status = 500; // still answer, or the client waits for a reply that never comes
+            body = "internal error\n";
+            System.err.println(exchange.getRequestURI() + " failed: " + e);
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String readBody(InputStream in) throws IOException, HttpError {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] chunk = new byte[512];
+        int read;
+        while ((read = in.read(chunk)) > 0) {
+            body.write(chunk, 0, read);
+            if (body.size() > MAX_BODY_BYTES) {
+                throw new HttpError(413, "body over " + MAX_BODY_BYTES + " bytes");
+            }
+        }
+        return body.toString("UTF-8");
+    }
+
+    // a=1&b=2, URL-encoded
+    static void parseForm(String form, Map<String, String> params) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                params.put(decode(pair.substring(0, equals)), decode(pair.substring(equals + 1)));
+            }
+        }
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (IllegalArgumentException | UnsupportedEncodingException e) {
+            return value; // malformed escape: keep it as typed
+        }
+    }
+
+    // =========================
+    // Command line
+    // =========================
+    public static void main(String[] args) throws IOException {
+        int port = PORT, threads = Runtime.getRuntime().availableProcessors();
+        File file = new File(System.getProperty("user.home"), ".mathgame/leaderboard.log");
+        boolean sync = false;
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--sync")) {
+                sync = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("missing value of " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--port": port = Integer.parseInt(value); break;
+                case "--file": file = new File(value); break;
+                case "--threads": threads = Integer.parseInt(value); break;
+                default: throw new IllegalArgumentException("unknown option " + option);
+            }
+        }
+
+        ScheduledExecutorService logWriter = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "leaderboard-log"));
+        long start = System.nanoTime();
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("could not create " + directory);
+        }
+        Leaderboard leaderboard = Leaderboard.open(file, logWriter, sync);
+        long players = 0;
+        for (String mode : leaderboard.modes()) {
+            players += leaderboard.size(mode);
+        }
+        System.out.printf("%s: %d scores in %d modes, loaded in %.0f ms%n", file, players,
+                leaderboard.modes().size(), (System.nanoTime() - start) / 1e6);
+
+        ExecutorService requests = Executors.newFixedThreadPool(threads, r -> new Thread(r, "leaderboard-http"));
+        LeaderboardServer server = new LeaderboardServer(leaderboard, new InetSocketAddress(port), requests);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            requests.shutdown();
+            try {
+                leaderboard.close(); // queued bests reach the file
+            } catch (IOException e) {
+                System.err.println("log not fully written: " + e);
+            }
+            logWriter.shutdown();
+        }));
+        server.start();
+        System.out.println("leaderboard listening on port " + server.getPort());
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.mathgame.leaderboard;
+
+import com.example.mathgame.engine.OperatorRegistry;
+import com.example.mathgame.stats.LatencyHistogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoadTest (how many submissions per second one box sustains)
+ * --------------------------------------------------
+ * - N client threads submit scores for random players and modes
+ *   straight into a {@link Leaderboard} backed by a SubmissionLog
+ *   (no HTTP: this measures the boards and the log, not the JDK's
+ *   HTTP server); a share of the operations are rank queries instead
+ * - Scores mostly grow, like a class practising: a player's Nth game
+ *   scores around 10·N, so a good part of the submissions are new bests
+ *   that move entries and reach the log
+ * - Prints throughput every second, then per-operation latency
+ *   percentiles (µs) and the log's batching: submissions per write
+ * - At the end the log is closed, read back into a fresh Leaderboard
+ *   and compared with the live one (sizes and top 100 of every mode);
+ *   exits with 1 if they differ
+ *
+ * Options (defaults in brackets):
+ *   --threads N    client threads [available processors]
+ *   --players N    distinct players [100000]
+ *   --modes a,b    mode ids of OperatorRegistry.standard() [all]
+ *   --seconds N    run time [10]
+ *   --reads F      share of operations that are rank queries [0.2]
+ *   --file path    log file [temporary, deleted afterwards]
+ *   --sync         force every log batch to the device
+ *   --seed N       base seed [1]
+ */
+public final class LoadTest {
+
+    private static final int CHECKED_TOP = 100;
+    private static final int REPORT_EVERY_OPS = 1024; // client counts reach the totals in steps
+
+    final int threads, players;
+    final String[] modes;
+    final double reads;
+    final long seed;
+
+    // Totals of all client threads (counts added every REPORT_EVERY_OPS, histograms at the end)
+    final LongAdder submissions = new LongAdder(), newBests = new LongAdder(), rankQueries = new LongAdder();
+    final LatencyHistogram submitMicros = new LatencyHistogram(), rankMicros = new LatencyHistogram();
+
+    LoadTest(int threads, int players, String[] modes, double reads, long seed) {
+        this.threads = threads;
+        this.players = players;
+        this.modes = modes;
+        this.reads = reads;
+        this.seed = seed;
+    }
+
+    // =========================
+    // Clients: submit or query until the deadline
+    // =========================
+    void run(Leaderboard leaderboard, long durationNanos) throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(threads, r -> new Thread(r, "leaderboard-client"));
+        long deadline = System.nanoTime() + durationNanos;
+        for (int t = 0; t < threads; t++) {
+            long clientSeed = seed * 0x9E3779B97F4A7C15L + t;
+            clients.execute(() -> client(leaderboard, new SplittableRandom(clientSeed), deadline));
+        }
+        clients.shutdown();
+        if (!clients.awaitTermination(durationNanos + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS)) {
+            throw new IllegalStateException("clients did not stop");
+        }
+    }
+
+    private void client(Leaderboard leaderboard, SplittableRandom random, long deadline) {
+        LatencyHistogram submitted = new LatencyHistogram(), ranked = new LatencyHistogram();
+        long ops = 0, bests = 0, queries = 0;
+        int[] games = new int[players]; // this client's game count per player (score trend)
+
+        while (true) {
+            int player = random.nextInt(players);
+            String mode = modes[random.nextInt(modes.length)];
+            String id = "player-" + player;
+            long start = System.nanoTime();
+            if (start >= deadline) {
+                break;
+            }
+            if (random.nextDouble() < reads) {
+                leaderboard.rank(mode, id);
+                ranked.record(Math.min((System.nanoTime() - start) / 1000, LatencyHistogram.MAX_VALUE));
+                queries++;
+            } else {
+                int score = 10 * (++games[player]) + random.nextInt(40) - 20;
+                if (leaderboard.submit(mode, id, Math.max(0, score), System.currentTimeMillis())) {
+                    bests++;
+                }
+                submitted.record(Math.min((System.nanoTime() - start) / 1000, LatencyHistogram.MAX_VALUE));
+            }
+            if (++ops == REPORT_EVERY_OPS) {
+                report(ops, bests, queries);
+                ops = bests = queries = 0;
+            }
+        }
+
+        report(ops, bests, queries);
+        synchronized (this) {
+            submitMicros.add(submitted);
+            rankMicros.add(ranked);
+        }
+    }
+
+    private void report(long ops, long bests, long queries) {
+        submissions.add(ops - queries);
+        newBests.add(bests);
+        rankQueries.add(queries);
+    }
+
+    // =========================
+    // Read the log back and compare with the live boards
+    // =========================
+    static List<String> compare(Leaderboard live, Leaderboard replayed) {
+        List<String> differences = new ArrayList<>();
+        for (String mode : live.modes()) {
+            if (live.size(mode) != replayed.size(mode)) {
+                differences.add(mode + ": " + live.size(mode) + " players live, " + replayed.size(mode) + " replayed");
+            }
+            if (!live.top(mode, CHECKED_TOP).equals(replayed.top(mode, CHECKED_TOP))) {
+                differences.add(mode + ": top " + CHECKED_TOP + " differs");
+            }
+        }
+        return differences;
+    }
+
+    // =========================
+    // Command line
+    // =========================
+    public static void main(String[] args) throws IOException, InterruptedException {
+        OperatorRegistry registry = OperatorRegistry.standard();
+        int threads = Runtime.getRuntime().availableProcessors(), players = 100_000;
+        long seconds = 10, seed = 1;
+        double reads = 0.2;
+        String modeList = String.join(",", registry.ids()), path = null;
+        boolean sync = false;
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--sync")) {
+                sync = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("missing value of " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--threads": threads = Integer.parseInt(value); break;
+                case "--players": players = Integer.parseInt(value); break;
+                case "--modes": modeList = value; break;
+                case "--seconds": seconds = Long.parseLong(value); break;
+                case "--reads": reads = Double.parseDouble(value); break;
+                case "--file": path = value; break;
+                case "--seed": seed = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("unknown option " + option);
+            }
+        }
+        String[] modes = modeList.split(",");
+        for (String mode : modes) {
+            registry.operator(mode); // fail on a typo before starting
+        }
+        File file = path != null ? new File(path) : File.createTempFile("leaderboard", ".log");
+        if (path == null) {
+            file.delete(); // start empty
+            file.deleteOnExit();
+        }
+
+        System.out.println("threads=" + threads + " players=" + players + " modes=" + modeList
+                + " reads=" + reads + " sync=" + sync + " file=" + file);
+        LoadTest test = new LoadTest(threads, players, modes, reads, seed);
+        ScheduledExecutorService logWriter = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "leaderboard-log"));
+        Leaderboard leaderboard = Leaderboard.open(file, logWriter, sync);
+
+        SubmissionLog log = leaderboard.getLog();
+        Thread progress = new Thread(() -> printProgress(test, log), "leaderboard-progress");
+        progress.setDaemon(true);
+        progress.start();
+        long start = System.nanoTime();
+        test.run(leaderboard, TimeUnit.SECONDS.toNanos(seconds));
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        progress.interrupt();
+
+        long closeStart = System.nanoTime();
+        leaderboard.close(); // waits for the queued bests
+        double closeMillis = (System.nanoTime() - closeStart) / 1e6;
+
+        System.out.printf("submissions: %d in %.1f s = %.0f/s (%d new bests), rank queries: %.0f/s%n",
+                test.submissions.sum(), elapsed, test.submissions.sum() / elapsed, test.newBests.sum(),
+                test.rankQueries.sum() / elapsed);
+        System.out.printf("submit µs p50 %d p99 %d p99.9 %d max %d · rank µs p50 %d p99 %d p99.9 %d max %d%n",
+                test.submitMicros.percentile(50), test.submitMicros.percentile(99),
+                test.submitMicros.percentile(99.9), test.submitMicros.getMax(),
+                test.rankMicros.percentile(50), test.rankMicros.percentile(99),
+                test.rankMicros.percentile(99.9), test.rankMicros.getMax());
+        System.out.printf("log: %d records in %d writes (%.0f per write), %.1f MB, final flush %.0f ms%n",
+                log.getRecords(), log.getBatches(), log.getRecords() / (double) Math.max(1, log.getBatches()),
+                log.getBytes() / 1048576.0, closeMillis);
+
+        long replayStart = System.nanoTime();
+        Leaderboard replayed = Leaderboard.open(file, logWriter, false);
+        double replayMillis = (System.nanoTime() - replayStart) / 1e6;
+        List<String> differences = compare(leaderboard, replayed);
+        replayed.close();
+        logWriter.shutdown();
+        System.out.printf("log replay: %d records in %.0f ms%n", log.getRecords(), replayMillis);
+
+        if (!differences.isEmpty()) {
+            System.out.println("FAILED: replayed log differs: " + differences);
+            System.exit(1);
+        }
+    }
+
+    private static void printProgress(LoadTest test, SubmissionLog log) {
+        long lastSubmissions = 0, lastQueries = 0, lastRecords = 0, lastBatches = 0;
+        try {
+            for (int second = 1; ; second++) {
+                Thread.sleep(1000);
+                long submissions = test.submissions.sum(), queries = test.rankQueries.sum();
+                long records = log.getRecords(), batches = log.getBatches();
+                System.out.printf("%3d s: %7d submissions/s, %7d rank queries/s, log %6d records in %4d writes%n",
+                        second, submissions - lastSubmissions, queries - lastQueries,
+                        records - lastRecords, batches - lastBatches);
+                lastSubmissions = submissions;
+                lastQueries = queries;
+                lastRecords = records;
+                lastBatches = batches;
+            }
+        } catch (InterruptedException e) {
+            // run finished
+        }
+    }
+}
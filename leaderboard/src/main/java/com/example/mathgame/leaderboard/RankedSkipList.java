@@ -0,0 +1,180 @@
+package com.example.mathgame.leaderboard;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * RankedSkipList (sorted set that knows every element's position)
+ * --------------------------------------------------
+ * - A skip list whose links also store how many bottom-level steps they
+ *   skip ("width"); walking down from the top sums the widths, so the
+ *   rank of an element and the element at a rank both take O(log n),
+ *   like insert and remove
+ * - java.util's ConcurrentSkipListSet has no widths: its headSet().size()
+ *   counts one by one, O(n) per rank query
+ * - Levels are drawn with p = 1/4 (fewer links than 1/2, same O(log n))
+ *
+ * Not thread-safe: every Leaderboard stripe guards its own list.
+ */
+final class RankedSkipList<E extends Comparable<E>> {
+
+    static final int MAX_LEVEL = 24; // 4^24 elements before levels stop growing
+
+    private static final class Node<E> {
+        final E value;
+        final Node<E>[] next;
+        final int[] width;   // bottom-level steps from this node to next[level]
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node(E value, int levels) {
+            this.value = value;
+            this.next = (Node<E>[]) new Node[levels];
+            this.width = new int[levels];
+        }
+    }
+
+    private final Node<E> head = new Node<>(null, MAX_LEVEL);
+    private final SplittableRandom random;
+    private int levels = 1;
+    private int size;
+
+    // Reused by add/remove: the last node before the target on each level and its rank
+    private final Node<E>[] update;
+    private final int[] updateRank = new int[MAX_LEVEL];
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    RankedSkipList(long seed) {
+        random = new SplittableRandom(seed);
+        update = (Node<E>[]) new Node[MAX_LEVEL];
+    }
+
+    int size() {
+        return size;
+    }
+
+    // =========================
+    // Updates
+    // =========================
+
+    /** @return false when an equal element is already in the list */
+    boolean add(E value) {
+        Node<E> x = findPredecessors(value);
+        if (x.next[0] != null && x.next[0].value.compareTo(value) == 0) {
+            return false;
+        }
+
+        int level = randomLevel();
+        if (level > levels) {
+            for (int i = levels; i < level; i++) {
+                update[i] = head;
+                updateRank[i] = 0;
+                head.width[i] = size; // an empty level spans the whole list
+            }
+            levels = level;
+        }
+
+        Node<E> node = new Node<>(value, level);
+        int rank = updateRank[0] + 1; // 1-based position of the new node
+        for (int i = 0; i < level; i++) {
+            Node<E> before = update[i];
+            node.next[i] = before.next[i];
+            before.next[i] = node;
+            node.width[i] = before.width[i] - (rank - updateRank[i]) + 1;
+            before.width[i] = rank - updateRank[i];
+        }
+        for (int i = level; i < levels; i++) {
+            update[i].width[i]++; // these links now skip one more node
+        }
+        size++;
+        return true;
+    }
+
+    /** @return false when no equal element was in the list */
+    boolean remove(E value) {
+        Node<E> x = findPredecessors(value);
+        Node<E> node = x.next[0];
+        if (node == null || node.value.compareTo(value) != 0) {
+            return false;
+        }
+
+        for (int i = 0; i < levels; i++) {
+            Node<E> before = update[i];
+            if (before.next[i] == node) {
+                before.width[i] += node.width[i] - 1;
+                before.next[i] = node.next[i];
+            } else {
+                before.width[i]--;
+            }
+        }
+        while (levels > 1 && head.next[levels - 1] == null) {
+            levels--;
+        }
+        size--;
+        return true;
+    }
+
+    // Fills update/updateRank for value, returns the bottom-level predecessor
+    private Node<E> findPredecessors(E value) {
+        Node<E> x = head;
+        int rank = 0;
+        for (int i = levels - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].value.compareTo(value) < 0) {
+                rank += x.width[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+            updateRank[i] = rank;
+        }
+        return x;
+    }
+
+    private int randomLevel() {
+        int level = 1;
+        while (level < MAX_LEVEL && (random.nextInt() & 3) == 0) {
+            level++;
+        }
+        return level;
+    }
+
+    // =========================
+    // Queries, O(log n)
+    // =========================
+
+    /** Number of elements ordered before value (whether or not value is in the list). */
+    int countBefore(E value) {
+        Node<E> x = head;
+        int rank = 0;
+        for (int i = levels - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].value.compareTo(value) < 0) {
+                rank += x.width[i];
+                x = x.next[i];
+            }
+        }
+        return rank;
+    }
+
+    /** Element at 0-based index (0 = first in order). */
+    E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        Node<E> x = head;
+        int steps = index + 1; // head is position 0
+        for (int i = levels - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.width[i] <= steps) {
+                steps -= x.width[i];
+                x = x.next[i];
+            }
+        }
+        return x.value;
+    }
+
+    /** Appends the first count elements in order to out. */
+    void first(int count, List<? super E> out) {
+        Node<E> x = head.next[0];
+        for (int i = 0; i < count && x != null; i++) {
+            out.add(x.value);
+            x = x.next[0];
+        }
+    }
+}
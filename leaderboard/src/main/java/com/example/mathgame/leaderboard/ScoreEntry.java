@@ -0,0 +1,72 @@
+package com.example.mathgame.leaderboard;
+
+/**
+ * ScoreEntry (one player's best score in one mode)
+ * --------------------------------------------------
+ * - Immutable; a better score replaces the entry
+ * - Natural order is leaderboard order: higher score first, then the
+ *   earlier submission (who got there first), then player id so two
+ *   entries are only equal when they are the same player's
+ */
+public final class ScoreEntry implements Comparable<ScoreEntry> {
+
+    private final String player;
+    private final int score;
+    private final long timeMillis;
+
+    public ScoreEntry(String player, int score, long timeMillis) {
+        this.player = player;
+        this.score = score;
+        this.timeMillis = timeMillis;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /** Replaces a player's best only when strictly higher (a tie keeps the earlier one). */
+    boolean beats(ScoreEntry best) {
+        return best == null || score > best.score;
+    }
+
+    @Override
+    public int compareTo(ScoreEntry other) {
+        if (score != other.score) {
+            return score > other.score ? -1 : 1;
+        }
+        if (timeMillis != other.timeMillis) {
+            return timeMillis < other.timeMillis ? -1 : 1;
+        }
+        return player.compareTo(other.player);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ScoreEntry)) {
+            return false;
+        }
+        ScoreEntry other = (ScoreEntry) o;
+        return score == other.score && timeMillis == other.timeMillis && player.equals(other.player);
+    }
+
+    @Override
+    public int hashCode() {
+        return (player.hashCode() * 31 + score) * 31 + Long.hashCode(timeMillis);
+    }
+
+    @Override
+    public String toString() {
+        return player + " " + score;
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.mathgame.leaderboard;
+
+import com.example.mathgame.store.GroupCommitWriter;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.zip.CRC32;
+
+/**
+ * SubmissionLog (append-only file of new best scores)
+ * --------------------------------------------------
+ * - {@link #append} only queues (called under a Leaderboard stripe
+ *   lock, so it must stay cheap) into a {@link GroupCommitWriter}: the
+ *   first submission after a flush schedules the next one LINGER_MICROS
+ *   later on the writer; whatever arrived meanwhile is encoded into one
+ *   buffer and written with as few write calls as the buffer allows
+ *   (group commit): under load a batch carries hundreds of submissions
+ * - With sync, every batch is forced to the device before the next one
+ *   starts; without it the OS decides (a crash of the process loses
+ *   nothing written, a crash of the machine may lose the last seconds)
+ * - {@link #open} replays the file and cuts off a frame torn by a
+ *   crash, so new frames never land behind garbage
+ * - A write error drops its batch; the file is cut back to its last
+ *   whole frame before the next one, and close() reports the error
+ *
+ * File: MAGIC, FORMAT, then one frame per submission: payload length
+ * (u16), payload (mode, player as length-prefixed UTF-8, score i32,
+ * time i64), CRC32 of the payload. Big-endian.
+ */
+public final class SubmissionLog implements Closeable {
+
+    static final int MAGIC = 0x4D474C42; // "MGLB"
+    static final int FORMAT = 1;
+    static final int HEADER_BYTES = 5;
+    static final int MAX_PAYLOAD_BYTES = 1 + 255 + 1 + 255 + 4 + 8;
+    static final int MAX_FRAME_BYTES = 2 + MAX_PAYLOAD_BYTES + 4;
+
+    private static final int BUFFER_BYTES = 256 * 1024;
+    static final int MAX_BATCH_RECORDS = 16_384; // a batch ends even if producers never pause
+    static final long LINGER_MICROS = 2000;      // how long a batch collects before it is written
+
+    /** Receives every valid frame of the file, in file order. */
+    public interface Replayer {
+        void replay(String mode, ScoreEntry entry);
+    }
+
+    private static final class Submission {
+        final String mode;
+        final ScoreEntry entry;
+
+        Submission(String mode, ScoreEntry entry) {
+            this.mode = mode;
+            this.entry = entry;
+        }
+    }
+
+    private final FileChannel channel;
+    private final ScheduledExecutorService writer;
+    private final boolean sync;
+    private final GroupCommitWriter<Submission> writes;
+
+    // Writer thread only (counters readable from anywhere)
+    private final ByteBuffer batch = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final CRC32 crc = new CRC32();
+    private volatile long records, batches, bytes;
+    private volatile IOException failure; // the first one, reported by close()
+
+    private SubmissionLog(FileChannel channel, ScheduledExecutorService writer, boolean sync) {
+        this.channel = channel;
+        this.writer = writer;
+        this.sync = sync;
+        this.writes = new GroupCommitWriter<>(this::cutTornTail, this::write, writer,
+                LINGER_MICROS, MAX_BATCH_RECORDS);
+        writes.setWriteErrorListener((error, lost) -> {
+            if (failure == null) {
+                failure = error; // the board itself keeps serving
+            }
+        });
+    }
+
+    // =========================
+    // Open: replay, cut a torn tail, append from there
+    // =========================
+    public static SubmissionLog open(File file, ScheduledExecutorService writer, boolean sync,
+                                     Replayer replayer) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long valid = replay(channel, replayer);
+            if (valid < channel.size()) {
+                channel.truncate(valid);
+            }
+            channel.position(valid);
+            SubmissionLog log = new SubmissionLog(channel, writer, sync);
+            log.bytes = valid;
+            if (valid == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).put((byte) FORMAT).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                log.bytes = HEADER_BYTES;
+            }
+            return log;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Length of the valid part of the file (0 if empty)
+    private static long replay(FileChannel channel, Replayer replayer) throws IOException {
+        if (channel.size() == 0) {
+            return 0;
+        }
+        ByteBuffer in = ByteBuffer.allocate(BUFFER_BYTES);
+        channel.position(0);
+        fill(channel, in);
+        if (in.remaining() < HEADER_BYTES) {
+            return 0; // crashed while writing the header
+        }
+        if (in.getInt() != MAGIC || in.get() != FORMAT) {
+            throw new IOException("not a leaderboard log (format " + FORMAT + ")");
+        }
+        long valid = HEADER_BYTES;
+        CRC32 crc = new CRC32();
+        while (true) {
+            if (in.remaining() < MAX_FRAME_BYTES) {
+                in.compact();
+                fill(channel, in);
+            }
+            if (in.remaining() < 2) {
+                return valid;
+            }
+            int start = in.position();
+            int length = in.getShort() & 0xFFFF;
+            if (length > MAX_PAYLOAD_BYTES || in.remaining() < length + 4) {
+                return valid; // torn by a crash
+            }
+            crc.reset();
+            crc.update(in.array(), in.arrayOffset() + in.position(), length);
+            int end = in.position() + length;
+            if (in.getInt(end) != (int) crc.getValue()) {
+                return valid;
+            }
+            String mode = getString(in);
+            String player = getString(in);
+            int score = in.getInt();
+            long time = in.getLong();
+            if (in.position() != end) {
+                return valid; // fields do not fill the payload: not ours
+            }
+            in.position(end + 4);
+            replayer.replay(mode, new ScoreEntry(player, score, time));
+            valid += in.position() - start;
+        }
+    }
+
+    // Reads until in is full or the file ends; leaves in ready for reading
+    private static void fill(FileChannel channel, ByteBuffer in) throws IOException {
+        while (in.hasRemaining() && channel.read(in) >= 0) {
+            // keep reading
+        }
+        in.flip();
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.get() & 0xFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // =========================
+    // Queue a new best (any thread)
+    // =========================
+    public void append(String mode, ScoreEntry entry) {
+        writes.add(new Submission(mode, entry));
+    }
+
+    // =========================
+    // Background: one batch, as few writes as the buffer allows
+    // =========================
+    private void write(List<Submission> submissions) throws IOException {
+        batch.clear(); // a failed batch may have left bytes behind
+        long written = 0;
+        for (Submission next : submissions) {
+            if (batch.remaining() < MAX_FRAME_BYTES) {
+                written += drain();
+            }
+            putFrame(next);
+        }
+        written += drain();
+        if (sync) {
+            channel.force(false);
+        }
+        records += submissions.size();
+        batches++;
+        bytes += written;
+    }
+
+    // bytes only counts whole batches: anything behind it is a failed one
+    private void cutTornTail() throws IOException {
+        if (channel.size() > bytes) {
+            channel.truncate(bytes);
+        }
+        channel.position(bytes);
+    }
+
+    private void putFrame(Submission submission) {
+        int lengthAt = batch.position();
+        batch.putShort((short) 0); // patched below
+        int payloadAt = batch.position();
+        putString(submission.mode);
+        putString(submission.entry.getPlayer());
+        batch.putInt(submission.entry.getScore());
+        batch.putLong(submission.entry.getTimeMillis());
+        int length = batch.position() - payloadAt;
+        batch.putShort(lengthAt, (short) length);
+
+        crc.reset();
+        ByteBuffer payload = batch.duplicate();
+        payload.position(payloadAt).limit(payloadAt + length);
+        crc.update(payload);
+        batch.putInt((int) crc.getValue());
+    }
+
+    private void putString(String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        batch.put((byte) utf8.length).put(utf8); // Leaderboard keeps names within 255 bytes
+    }
+
+    // Write the batch out; returns the bytes written
+    private int drain() throws IOException {
+        batch.flip();
+        int written = batch.remaining();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+        return written;
+    }
+
+    // =========================
+    // Shutdown and numbers
+    // =========================
+
+    /** Returns once everything appended before the call is written (and forced with sync). */
+    public void awaitWritten() throws IOException {
+        FutureTask<Void> barrier = new FutureTask<>(() -> {
+            do {
+                writes.flush();
+            } while (writes.hasPending());
+        }, null);
+        writer.execute(barrier);
+        try {
+            barrier.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while flushing the leaderboard log");
+        } catch (ExecutionException e) {
+            throw new IOException("leaderboard log flush failed", e.getCause());
+        }
+        IOException error = failure;
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /** Writes what is queued, then closes the file. */
+    @Override
+    public void close() throws IOException {
+        try {
+            awaitWritten();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /** Submissions written since open. */
+    public long getRecords() {
+        return records;
+    }
+
+    /** Write batches since open (records / batches = submissions per write). */
+    public long getBatches() {
+        return batches;
+    }
+
+    /** File size (valid part). */
+    public long getBytes() {
+        return bytes;
+    }
+}
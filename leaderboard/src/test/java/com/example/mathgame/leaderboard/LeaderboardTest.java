@@ -0,0 +1,234 @@
+package com.example.mathgame.leaderboard;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class LeaderboardTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ScheduledExecutorService writer;
+
+    @Before
+    public void startWriter() {
+        writer = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void stopWriter() throws Exception {
+        writer.shutdown();
+        assertTrue(writer.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void onlyABetterScoreReplacesTheBest() {
+        Leaderboard board = new Leaderboard();
+        assertTrue(board.submit("ADD", "ann", 50, 1));
+        assertFalse(board.submit("ADD", "ann", 40, 2));
+        assertFalse(board.submit("ADD", "ann", 50, 3)); // a tie keeps the earlier one
+        assertTrue(board.submit("ADD", "ann", 70, 4));
+
+        assertEquals(70, board.best("ADD", "ann").getScore());
+        assertEquals(1, board.size("ADD"));
+        assertNull(board.best("MULTIPLY", "ann")); // boards are per mode
+    }
+
+    @Test
+    public void rankAndTop_followScoreThenTime() {
+        Leaderboard board = new Leaderboard();
+        board.submit("ADD", "ann", 30, 1);
+        board.submit("ADD", "bob", 90, 2);
+        board.submit("ADD", "cid", 60, 3);
+        board.submit("ADD", "dee", 60, 1); // same score, earlier: ahead of cid
+
+        assertEquals(1, board.rank("ADD", "bob"));
+        assertEquals(2, board.rank("ADD", "dee"));
+        assertEquals(3, board.rank("ADD", "cid"));
+        assertEquals(4, board.rank("ADD", "ann"));
+        assertEquals(-1, board.rank("ADD", "eve"));
+
+        List<String> top = new ArrayList<>();
+        for (ScoreEntry entry : board.top("ADD", 3)) {
+            top.add(entry.getPlayer());
+        }
+        assertEquals(List.of("bob", "dee", "cid"), top);
+    }
+
+    @Test
+    public void ranks_areExactAcrossStripes() {
+        Leaderboard board = new Leaderboard();
+        int players = 5000;
+        for (int p = 0; p < players; p++) {
+            board.submit("MIXED", "p" + p, p * 7 % players, p); // every score once
+        }
+        for (int p = 0; p < players; p += 97) {
+            int score = p * 7 % players;
+            assertEquals("p" + p, players - score, board.rank("MIXED", "p" + p));
+        }
+        List<ScoreEntry> top = board.top("MIXED", 50);
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(players - 1 - i, top.get(i).getScore());
+        }
+    }
+
+    @Test
+    public void concurrentSubmissions_keepEveryPlayersMaximum() throws Exception {
+        Leaderboard board = new Leaderboard();
+        int threads = 4, players = 2000, rounds = 20;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            pool.execute(() -> {
+                for (int round = 0; round < rounds; round++) {
+                    for (int p = 0; p < players; p++) {
+                        board.submit("ADD", "p" + p, round * threads + thread, round);
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        int highest = (rounds - 1) * threads + threads - 1;
+        assertEquals(players, board.size("ADD"));
+        for (int p = 0; p < players; p++) {
+            assertEquals(highest, board.best("ADD", "p" + p).getScore());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void overlongPlayerIds_areRejected() {
+        new Leaderboard().submit("ADD", "x".repeat(Leaderboard.MAX_NAME_BYTES + 1), 10, 1);
+    }
+
+    // =========================
+    // Log
+    // =========================
+
+    @Test
+    public void reopening_rebuildsTheBoardsFromTheLog() throws Exception {
+        File file = folder.newFile("board.log");
+        Leaderboard board = Leaderboard.open(file, writer, true);
+        for (int p = 0; p < 300; p++) {
+            board.submit(p % 2 == 0 ? "ADD" : "DIVIDE", "p" + p, p, p);
+            board.submit("ADD", "p" + p, p + 1000, p); // a better one replaces it
+        }
+        board.close();
+        assertEquals(600, board.getLog().getRecords()); // every submission was a new best
+
+        Leaderboard reopened = Leaderboard.open(file, writer, false);
+        assertEquals(List.of(), LoadTest.compare(board, reopened));
+        assertEquals(300, reopened.size("ADD"));
+        assertEquals(150, reopened.size("DIVIDE"));
+        assertEquals(1, reopened.rank("ADD", "p299"));
+        reopened.close();
+    }
+
+    @Test
+    public void tornTail_isCutOffAndAppendingContinues() throws Exception {
+        File file = folder.newFile("torn.log");
+        Leaderboard board = Leaderboard.open(file, writer, false);
+        board.submit("ADD", "ann", 10, 1);
+        board.submit("ADD", "bob", 20, 2);
+        board.close();
+
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.setLength(raw.length() - 3); // crash in the middle of bob's frame
+        }
+        Leaderboard reopened = Leaderboard.open(file, writer, false);
+        assertEquals(10, reopened.best("ADD", "ann").getScore());
+        assertNull(reopened.best("ADD", "bob"));
+        reopened.submit("ADD", "cid", 30, 3);
+        reopened.close();
+
+        Leaderboard again = Leaderboard.open(file, writer, false);
+        assertEquals(2, again.size("ADD"));
+        assertEquals(1, again.rank("ADD", "cid"));
+        again.close();
+    }
+
+    @Test(expected = IOException.class)
+    public void otherFiles_areNotTakenForALog() throws Exception {
+        File file = folder.newFile("notes.txt");
+        Files.write(file.toPath(), "hello, world".getBytes(StandardCharsets.UTF_8));
+        Leaderboard.open(file, writer, false);
+    }
+
+    // =========================
+    // HTTP
+    // =========================
+
+    @Test
+    public void server_acceptsScoresAndAnswersRankAndTop() throws Exception {
+        Leaderboard board = new Leaderboard();
+        ExecutorService requests = Executors.newFixedThreadPool(2);
+        LeaderboardServer server = new LeaderboardServer(board,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), requests);
+        server.start();
+        try {
+            String base = "http://127.0.0.1:" + server.getPort();
+            assertEquals("1 40\n", post(base + "/scores", "mode=ADD&player=ann&score=40"));
+            assertEquals("1 70\n", post(base + "/scores", "mode=ADD&player=bob+b&score=70"));
+            assertEquals("2 40\n", get(base + "/rank?mode=ADD&player=ann", 200));
+            assertEquals("1 bob b 70\n2 ann 40\n", get(base + "/top?mode=ADD&n=5", 200));
+
+            get(base + "/rank?mode=ADD&player=nobody", 404);
+            get(base + "/top?mode=NOPE", 400);
+            get(base + "/scores?mode=ADD&player=ann&score=1", 405);
+        } finally {
+            server.stop();
+            requests.shutdown();
+        }
+    }
+
+    private static String post(String url, String form) throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(form.getBytes(StandardCharsets.UTF_8));
+        }
+        assertEquals(200, connection.getResponseCode());
+        return read(connection.getInputStream());
+    }
+
+    private static String get(String url, int expectedStatus) throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        assertEquals(expectedStatus, connection.getResponseCode());
+        return read(expectedStatus == 200 ? connection.getInputStream() : connection.getErrorStream());
+    }
+
+    private static String read(InputStream in) throws Exception {
+        try (InputStream body = in) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.mathgame.leaderboard;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+public class RankedSkipListTest {
+
+    @Test
+    public void ranksAndIndexes_matchASortedReference() {
+        RankedSkipList<Integer> list = new RankedSkipList<>(7L);
+        TreeSet<Integer> reference = new TreeSet<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 20_000; step++) {
+            int value = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(value), list.remove(value));
+            } else {
+                assertEquals(reference.add(value), list.add(value));
+            }
+
+            if (step % 500 == 0) {
+                List<Integer> sorted = new ArrayList<>(reference);
+                assertEquals(sorted.size(), list.size());
+                for (int i = 0; i < sorted.size(); i++) {
+                    assertEquals(sorted.get(i), list.get(i));
+                    assertEquals(i, list.countBefore(sorted.get(i)));
+                }
+                int probe = random.nextInt(5000);
+                assertEquals(reference.headSet(probe).size(), list.countBefore(probe));
+            }
+        }
+    }
+
+    @Test
+    public void first_returnsThePrefixInOrder() {
+        RankedSkipList<Integer> list = new RankedSkipList<>(1L);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            values.add(i * 3);
+        }
+        Collections.shuffle(values, new Random(5));
+        for (int value : values) {
+            list.add(value);
+        }
+
+        List<Integer> out = new ArrayList<>();
+        list.first(4, out);
+        assertEquals(List.of(0, 3, 6, 9), out);
+
+        out.clear();
+        list.first(500, out);
+        assertEquals(100, out.size());
+    }
+
+    @Test
+    public void emptyAfterRemovingEverything() {
+        RankedSkipList<Integer> list = new RankedSkipList<>(3L);
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+        for (int i = 999; i >= 0; i--) {
+            assertTrue(list.remove(i));
+        }
+        assertEquals(0, list.size());
+        assertEquals(0, list.countBefore(10));
+        assertTrue(list.add(5));
+        assertEquals(Integer.valueOf(5), list.get(0));
+    }
+}
@@ -0,0 +1,40 @@
+plugins {
+    alias(libs.plugins.android.test)
+    alias(libs.plugins.baselineprofile)
+}
+
+android {
+    namespace = "com.example.mathgame.macrobenchmark"
+    compileSdk = 35
+
+    defaultConfig {
+        minSdk = 28 // baseline profile collection without root
+        targetSdk = 35
+
+        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+    }
+
+    targetProjectPath = ":app"
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_11
+        targetCompatibility = JavaVersion.VERSION_11
+    }
+}
+
+// The plugin adds the non-debuggable, profileable "benchmarkRelease" and
+// "nonMinifiedRelease" variants of :app that these tests run against.
+baselineProfile {
+    useConnectedDevices = true
+}
+
+dependencies {
+
+    implementation(libs.ext.junit)
+    implementation(libs.uiautomator)
+    implementation(libs.benchmark.macro.junit4)
+}
+
+// Startup numbers:   ./gradlew :macrobenchmark:connectedBenchmarkReleaseAndroidTest
+// Results land in build/outputs/connected_android_test_additional_output/benchmarkRelease/
+// connected/<device>/*-benchmarkData.json (timeToInitialDisplayMs, timeToFullDisplayMs).
@@ -0,0 +1,49 @@
+package com.example.mathgame.macrobenchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * Collects the baseline profile of :app (./gradlew :app:generateBaselineProfile).
+ * --------------------------------------------------
+ * - startup: cold start to Home; also goes into the startup profile,
+ *   which decides what lands in the primary dex
+ * - firstGame: Menu, GameScreen, keypad and grading, AOT-compiled so the
+ *   first game after an install does not run interpreted
+ */
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    private static final int MAX_ITERATIONS = 15;
+    private static final int STABLE_ITERATIONS = 3;
+
+    @Rule
+    public final BaselineProfileRule rule = new BaselineProfileRule();
+
+    @Test
+    public void startup() {
+        rule.collect(Journeys.PACKAGE, MAX_ITERATIONS, STABLE_ITERATIONS, "startup",
+                true, false, line -> true,
+                scope -> {
+                    Journeys.startHome(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+
+    @Test
+    public void firstGame() {
+        rule.collect(Journeys.PACKAGE, MAX_ITERATIONS, STABLE_ITERATIONS, "firstGame",
+                false, false, line -> true,
+                scope -> {
+                    Journeys.startHome(scope);
+                    Journeys.playFirstQuestion(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.mathgame.macrobenchmark;
+
+import android.graphics.Rect;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.BySelector;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+/**
+ * Journeys (what the benchmarks and the profile generator do in the app)
+ * --------------------------------------------------
+ * - startHome: cold/warm start until the Home screen's Start button shows
+ * - playFirstQuestion: Start → Menu → ADDITION → a few keypad taps → OK → NEXT
+ *
+ * Views are found by resource id or text, so these keep working as long
+ * as the ids in the layouts stay the same.
+ */
+final class Journeys {
+
+    static final String PACKAGE = "com.example.mathgame";
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    private Journeys() {
+    }
+
+    static void startHome(MacrobenchmarkScope scope) {
+        scope.pressHome();
+        scope.startActivityAndWait();
+        find(scope.getDevice(), By.res(PACKAGE, "Start"));
+    }
+
+    static void playFirstQuestion(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        find(device, By.res(PACKAGE, "Start")).click();
+        find(device, By.text("ADDITION")).click();
+
+        // 4 x 3 keys drawn by one view: tap "1", "2" and "5"
+        Rect keypad = find(device, By.res(PACKAGE, "keypad")).getVisibleBounds();
+        int column = keypad.width() / 3, row = keypad.height() / 4;
+        device.click(keypad.left + column / 2, keypad.top + row / 2);
+        device.click(keypad.left + column * 3 / 2, keypad.top + row / 2);
+        device.click(keypad.left + column * 3 / 2, keypad.top + row * 3 / 2);
+
+        find(device, By.res(PACKAGE, "buttonplayagain")).click(); // OK
+        find(device, By.res(PACKAGE, "buttonExit")).click();      // NEXT
+        device.waitForIdle();
+    }
+
+    private static UiObject2 find(UiDevice device, BySelector selector) {
+        UiObject2 view = device.wait(Until.findObject(selector), TIMEOUT_MILLIS);
+        if (view == null) {
+            throw new AssertionError("not on screen: " + selector);
+        }
+        return view;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.mathgame.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/**
+ * App start, measured the way Play Vitals sees it.
+ * --------------------------------------------------
+ * - timeToInitialDisplayMs: process start → first frame of Home
+ * - timeToFullDisplayMs: → reportFullyDrawn(), sent by MainActivity once
+ *   the work deferred past the first frame has run (Home interactive)
+ * - Without a profile (everything interpreted/JIT) vs with the
+ *   baseline profile, cold and warm
+ *
+ * Run on a physical device: ./gradlew :macrobenchmark:connectedBenchmarkReleaseAndroidTest
+ */
+@RunWith(AndroidJUnit4.class)
+public class StartupBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public final MacrobenchmarkRule rule = new MacrobenchmarkRule();
+
+    @Test
+    public void coldStartWithoutProfile() {
+        startup(new CompilationMode.None(), StartupMode.COLD);
+    }
+
+    @Test
+    public void coldStartWithBaselineProfile() {
+        startup(new CompilationMode.Partial(BaselineProfileMode.Require, 0), StartupMode.COLD);
+    }
+
+    @Test
+    public void warmStartWithBaselineProfile() {
+        startup(new CompilationMode.Partial(BaselineProfileMode.Require, 0), StartupMode.WARM);
+    }
+
+    private void startup(CompilationMode compilationMode, StartupMode startupMode) {
+        rule.measureRepeated(Journeys.PACKAGE,
+                Collections.singletonList(new StartupTimingMetric()),
+                compilationMode,
+                startupMode,
+                ITERATIONS,
+                scope -> Unit.INSTANCE,
+                scope -> {
+                    Journeys.startHome(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -21,3 +21,8 @@ dependencyResolutionManagement {
 
 rootProject.name = "Math Game"
 include(":app")
+include(":core")
+include(":benchmark")
+include(":simulation")
+include(":macrobenchmark")
+include(":leaderboard")
@@ -0,0 +1,21 @@
+plugins {
+    application
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+
+    implementation(project(":core"))
+    testImplementation(libs.junit)
+}
+
+// Run with: ./gradlew :simulation:run --args="--sessions 100000 --minutes 60"
+// (see Simulation for every option)
+application {
+    mainClass.set("com.example.mathgame.simulation.Simulation")
+    applicationDefaultJvmArgs = listOf("-Xmx512m")
+}
@@ -0,0 +1,109 @@
+package com.example.mathgame.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * PlayerProfile (how a synthetic player answers)
+ * --------------------------------------------------
+ * - accuracy: chance that a submitted answer is right
+ * - answer time: log-normal around a median, spread = sigma of ln(time)
+ *   (most answers near the median, a long tail of slow ones)
+ * - timeoutRate: chance of not answering at all (the timer runs out)
+ *
+ * Immutable; the randomness comes from the caller's SplittableRandom,
+ * so one profile can be shared by every worker thread.
+ */
+public final class PlayerProfile {
+
+    public static final PlayerProfile BEGINNER = new PlayerProfile("beginner", 0.70, 6000, 0.5, 0.10);
+    public static final PlayerProfile AVERAGE = new PlayerProfile("average", 0.85, 3500, 0.4, 0.04);
+    public static final PlayerProfile EXPERT = new PlayerProfile("expert", 0.97, 1500, 0.3, 0.01);
+
+    public static final long NEVER = Long.MAX_VALUE;
+
+    private final String name;
+    private final double accuracy;
+    private final long medianLatencyMillis;
+    private final double latencySpread;
+    private final double timeoutRate;
+
+    public PlayerProfile(String name, double accuracy, long medianLatencyMillis,
+                         double latencySpread, double timeoutRate) {
+        if (accuracy < 0 || accuracy > 1 || timeoutRate < 0 || timeoutRate > 1
+                || medianLatencyMillis <= 0 || latencySpread < 0) {
+            throw new IllegalArgumentException("profile " + name);
+        }
+        this.name = name;
+        this.accuracy = accuracy;
+        this.medianLatencyMillis = medianLatencyMillis;
+        this.latencySpread = latencySpread;
+        this.timeoutRate = timeoutRate;
+    }
+
+    /**
+     * "beginner", "average", "expert", or a custom
+     * "name:accuracy:medianMillis:spread:timeoutRate" (e.g. "kid:0.6:8000:0.6:0.15").
+     */
+    public static PlayerProfile parse(String spec) {
+        switch (spec) {
+            case "beginner":
+                return BEGINNER;
+            case "average":
+                return AVERAGE;
+            case "expert":
+                return EXPERT;
+        }
+        String[] parts = spec.split(":");
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("player: " + spec);
+        }
+        return new PlayerProfile(parts[0], Double.parseDouble(parts[1]), Long.parseLong(parts[2]),
+                Double.parseDouble(parts[3]), Double.parseDouble(parts[4]));
+    }
+
+    // =========================
+    // One question
+    // =========================
+
+    /** Time from question shown to OK, or {@link #NEVER} when the player lets the timer run out. */
+    public long answerMillis(SplittableRandom random) {
+        if (random.nextDouble() < timeoutRate) {
+            return NEVER;
+        }
+        double gaussian = gaussian(random);
+        return Math.max(1, Math.round(medianLatencyMillis * Math.exp(latencySpread * gaussian)));
+    }
+
+    public boolean answersCorrectly(SplittableRandom random) {
+        return random.nextDouble() < accuracy;
+    }
+
+    // Box–Muller (one of the pair; SplittableRandom has no nextGaussian)
+    private static double gaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble(); // (0, 1]
+        double v = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getAccuracy() {
+        return accuracy;
+    }
+
+    public long getMedianLatencyMillis() {
+        return medianLatencyMillis;
+    }
+
+    public double getTimeoutRate() {
+        return timeoutRate;
+    }
+
+    @Override
+    public String toString() {
+        return name + "(accuracy=" + accuracy + " median=" + medianLatencyMillis + "ms spread="
+                + latencySpread + " timeouts=" + timeoutRate + ")";
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.mathgame.simulation;
+
+import com.example.mathgame.engine.Difficulty;
+import com.example.mathgame.engine.GameClock;
+import com.example.mathgame.engine.Operator;
+import com.example.mathgame.engine.Question;
+import com.example.mathgame.engine.QuestionEngine;
+import com.example.mathgame.engine.QuestionSupply;
+import com.example.mathgame.engine.ReviewQueue;
+import com.example.mathgame.replay.SessionRecorder;
+import com.example.mathgame.replay.SessionRecording;
+import com.example.mathgame.store.SessionLog;
+import com.example.mathgame.store.SessionRecord;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * SimulatedGame (GameScreen without Android)
+ * --------------------------------------------------
+ * - Same objects and call order as GameScreen: QuestionSupply.take →
+ *   engine.nextQuestion → clock start; OK → clock pause + submit;
+ *   timeout → engine.timeOut; NEXT → clock reset; game over → SessionRecord
+ * - Runs on virtual time: the clock is ticked at the delays it asks for
+ *   (like MainLooperClock's Handler) until the player answers or the
+ *   deadline passes, so hours of play take milliseconds
+ * - Only a new start replaces a scheduled tick (MainLooperClock's
+ *   reschedule); after pause and reset the tick still fires, and only
+ *   the clock decides whether another one follows
+ * - Like the cached Fragment, one instance plays game after game and
+ *   keeps its Difficulty and ReviewQueue between games
+ * - Counts games that ended with the clock still running or asking for
+ *   another tick (the simulated version of an un-cancelled CountDownTimer)
+ *
+ * Not thread-safe: one per worker thread.
+ */
+final class SimulatedGame {
+
+    private static final long NEXT_TAP_MILLIS = 400;   // verdict shown → NEXT pressed
+
+    private final PlayerProfile player;
+    private final String mode;
+    private final Difficulty difficulty;
+    private final QuestionEngine engine;
+    private final QuestionSupply supply;
+    private final ReviewQueue reviews = new ReviewQueue();
+    private final SessionLog sessionLog;
+    private final SessionRecorder recorder;
+    private final GameClock clock;
+
+    private Question current;         // question on display
+    private long now;                 // virtual uptime in ms
+    private long tickAt = -1;         // next scheduled clock tick, -1 = none
+    private long ticks;
+    private long leakedTimers;
+
+    private final GameClock.Listener timerListener = new GameClock.Listener() {
+        @Override
+        public void onTick(long timeLeftInMillis) {
+            ticks++;
+        }
+
+        @Override
+        public void onTimeout() {
+            sessionLog.addLatency(engine.getTimeLimitMillis()); // whole time budget used
+            engine.timeOut();
+            reviews.record(current, false);
+            recorder.timedOut(engine);
+        }
+    };
+
+    SimulatedGame(Operator operator, String mode, PlayerProfile player, long seed) {
+        this.player = player;
+        this.mode = mode;
+        difficulty = Difficulty.adaptiveFor(operator);
+        engine = new QuestionEngine(operator, new Random(seed), difficulty);
+        supply = new QuestionSupply(operator, seed, Runnable::run); // refill inline on the worker
+        sessionLog = new SessionLog(mode);
+        recorder = new SessionRecorder(() -> now);
+        clock = new GameClock(() -> now, engine.getTimeLimitMillis());
+    }
+
+    // =========================
+    // One game, from the first question to the Result screen
+    // =========================
+    SessionRecord play(SplittableRandom random) {
+        engine.reset();
+        sessionLog.clear();
+        recorder.start(mode, supply.getSeed(), supply.nextIndex(), difficulty.toBits());
+
+        while (!engine.isGameOver()) {
+            int bound = difficulty.getOperandBound();
+            Question question = reviews.nextDue(bound);
+            if (question != null) {
+                engine.nextQuestion(question);
+                recorder.reviewShown(question, engine);
+            } else {
+                question = supply.take(bound);
+                engine.nextQuestion(question);
+                recorder.questionShown(question, engine);
+            }
+            current = question;
+            clock.setDurationMillis(engine.getTimeLimitMillis());
+            startTimer();
+
+            long shownAt = now;
+            long answerMillis = player.answerMillis(random);
+            long answerAt = answerMillis == PlayerProfile.NEVER ? Long.MAX_VALUE : shownAt + answerMillis;
+            runTimerUntil(answerAt);
+
+            if (!engine.isAnswered()) {
+                // OK pressed before the deadline
+                now = answerAt;
+                clock.pause();
+                int answer = player.answersCorrectly(random) ? question.getAnswer() : question.getAnswer() + 1;
+                long latency = now - shownAt;
+                sessionLog.addLatency(latency);
+                boolean correct = engine.submit(answer, latency) == QuestionEngine.Verdict.CORRECT;
+                reviews.record(question, correct);
+                recorder.answered(answer, latency, engine);
+            }
+
+            // NEXT
+            now += NEXT_TAP_MILLIS;
+            runTimerUntil(now); // a tick scheduled before the answer still fires
+            clock.reset();
+            recorder.next(engine);
+        }
+
+        checkTimerStopped();
+        return sessionLog.finish(engine, now);
+    }
+
+    private void startTimer() {
+        clock.start();
+        tickAt = now; // MainLooperClock cancels a scheduled tick and posts the first one right away
+    }
+
+    // Result screen: a tick still scheduled fires there; the clock must not ask for another
+    private void checkTimerStopped() {
+        if (clock.isRunning()) {
+            leakedTimers++;
+        } else if (tickAt >= 0) {
+            now = Math.max(now, tickAt);
+            if (clock.tick(timerListener) >= 0) {
+                leakedTimers++;
+            }
+        }
+        tickAt = -1; // the Result screen's Fragment is gone with its scheduler
+    }
+
+    // Deliver every tick scheduled before the player's answer
+    private void runTimerUntil(long answerAt) {
+        while (tickAt >= 0 && tickAt <= answerAt) {
+            now = tickAt;
+            long delay = clock.tick(timerListener);
+            tickAt = delay >= 0 ? now + delay : -1;
+        }
+    }
+
+    /** Recording of the game {@link #play} just finished. */
+    SessionRecording lastRecording() {
+        return recorder.finish();
+    }
+
+    Operator getOperator() {
+        return engine.getOperator();
+    }
+
+    long getTicks() {
+        return ticks;
+    }
+
+    long getLeakedTimers() {
+        return leakedTimers;
+    }
+
+    ReviewQueue getReviews() {
+        return reviews;
+    }
+
+    int getLevel() {
+        return difficulty.getLevel();
+    }
+}
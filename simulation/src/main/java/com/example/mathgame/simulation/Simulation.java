@@ -0,0 +1,228 @@
+package com.example.mathgame.simulation;
+
+import com.example.mathgame.engine.Operator;
+import com.example.mathgame.engine.OperatorRegistry;
+import com.example.mathgame.replay.SessionRecording;
+import com.example.mathgame.replay.SessionReplay;
+import com.example.mathgame.store.SessionRecord;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulation (headless load and soak test of the game loop)
+ * --------------------------------------------------
+ * - Every simulated player keeps one {@link SimulatedGame} (mode and
+ *   profile assigned round-robin) for the whole run and plays a number
+ *   of games in a row each round
+ * - Players are split over a ForkJoinPool; each leaf task keeps its own
+ *   {@link SimulationStats} per profile, merged on the way back up
+ * - A round plays every player once; rounds repeat until --rounds or
+ *   --minutes is reached. The heap is measured after a GC between
+ *   rounds, so growth across rounds shows state the games keep
+ *   (their reviews, recorders, buffers) and never release
+ * - Every Nth game is replayed from its recording (SessionReplay) to
+ *   check that the game stays deterministic under load
+ * - Exits with 1 when a timer was left scheduled or a replay diverged
+ *
+ * Options (defaults in brackets):
+ *   --players N       simulated players per round [3000]
+ *   --games N         games per player per round [20]
+ *   --profiles a,b    beginner, average, expert or name:acc:median:spread:timeouts [all three]
+ *   --modes a,b       mode ids of OperatorRegistry.standard(), e.g. DIVIDE, MIXED [all]
+ *   --rounds N        rounds to play [3]
+ *   --minutes N       keep playing rounds for N minutes (soak; overrides --rounds)
+ *   --threads N       ForkJoinPool parallelism [available processors]
+ *   --replay-every N  replay every Nth game, 0 = never [100]
+ *   --seed N          base seed; same arguments + seed = same games [1]
+ */
+public final class Simulation {
+
+    private static final int PLAYERS_PER_TASK = 16;
+    private static final OperatorRegistry REGISTRY = OperatorRegistry.standard();
+
+    final int players, gamesPerPlayer, replayEvery;
+    final long seed;
+    final PlayerProfile[] profiles;
+    final String[] modes;           // OperatorRegistry ids
+
+    // One per player, created in its first round; a round's tasks touch
+    // disjoint slots and rounds run one after the other (pool.invoke)
+    private final SimulatedGame[] games;
+
+    Simulation(int players, int gamesPerPlayer, PlayerProfile[] profiles, String[] modes,
+               int replayEvery, long seed) {
+        this.players = players;
+        this.gamesPerPlayer = gamesPerPlayer;
+        this.profiles = profiles;
+        this.modes = modes;
+        this.replayEvery = replayEvery;
+        this.seed = seed;
+        games = new SimulatedGame[players];
+    }
+
+    // =========================
+    // One round: every player plays its games once
+    // =========================
+    SimulationStats[] playRound(ForkJoinPool pool, int round) {
+        return pool.invoke(new Players(round, 0, players));
+    }
+
+    private final class Players extends RecursiveTask<SimulationStats[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int round, from, to;
+
+        Players(int round, int from, int to) {
+            this.round = round;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStats[] compute() {
+            if (to - from > PLAYERS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                Players left = new Players(round, from, middle);
+                left.fork();
+                SimulationStats[] right = new Players(round, middle, to).compute();
+                SimulationStats[] merged = left.join();
+                for (int i = 0; i < merged.length; i++) {
+                    merged[i].add(right[i]);
+                }
+                return merged;
+            }
+
+            SimulationStats[] stats = newStats();
+            for (int player = from; player < to; player++) {
+                playPlayer(player, stats[player % profiles.length]);
+            }
+            return stats;
+        }
+
+        private void playPlayer(int player, SimulationStats stats) {
+            PlayerProfile profile = profiles[player % profiles.length];
+            String mode = modes[(player / profiles.length) % modes.length];
+            Operator operator = REGISTRY.operator(mode);
+            long playerSeed = seed * 0x9E3779B97F4A7C15L + (long) round * players + player;
+            SplittableRandom random = new SplittableRandom(playerSeed);
+            SimulatedGame game = games[player];
+            if (game == null) {
+                game = new SimulatedGame(operator, mode, profile, playerSeed);
+                games[player] = game;
+            }
+            long ticks = game.getTicks(), leaked = game.getLeakedTimers();
+
+            for (int g = 0; g < gamesPerPlayer; g++) {
+                SessionRecord record = game.play(random);
+                SessionRecording recording = game.lastRecording();
+                stats.game(record, recording, game.getLevel());
+                if (replayEvery > 0 && (player * gamesPerPlayer + g) % replayEvery == 0) {
+                    stats.replay(SessionReplay.run(recording, operator));
+                }
+            }
+            stats.timers(game.getTicks() - ticks, game.getLeakedTimers() - leaked);
+        }
+    }
+
+    SimulationStats[] newStats() {
+        SimulationStats[] stats = new SimulationStats[profiles.length];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new SimulationStats(profiles[i].getName());
+        }
+        return stats;
+    }
+
+    // =========================
+    // Command line
+    // =========================
+    public static void main(String[] args) throws IOException {
+        int players = 3000, gamesPerPlayer = 20, rounds = 3, replayEvery = 100;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long minutes = 0, seed = 1;
+        String profileList = "beginner,average,expert", modeList = String.join(",", REGISTRY.ids());
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--players": players = Integer.parseInt(value); break;
+                case "--games": gamesPerPlayer = Integer.parseInt(value); break;
+                case "--profiles": profileList = value; break;
+                case "--modes": modeList = value; break;
+                case "--rounds": rounds = Integer.parseInt(value); break;
+                case "--minutes": minutes = Long.parseLong(value); break;
+                case "--threads": threads = Integer.parseInt(value); break;
+                case "--replay-every": replayEvery = Integer.parseInt(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+
+        List<PlayerProfile> profiles = new ArrayList<>();
+        for (String spec : profileList.split(",")) {
+            profiles.add(PlayerProfile.parse(spec));
+        }
+        String[] modes = modeList.split(",");
+        for (String mode : modes) {
+            REGISTRY.operator(mode); // fail on a typo before the first round
+        }
+        Simulation simulation = new Simulation(players, gamesPerPlayer, profiles.toArray(new PlayerProfile[0]),
+                modes, replayEvery, seed);
+
+        System.out.println("players=" + players + " games/player=" + gamesPerPlayer + " threads=" + threads
+                + " profiles=" + profiles + " modes=" + String.join(",", modes));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        SimulationStats[] totals = simulation.newStats();
+        long firstHeap = -1, lastHeap = 0;
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(minutes);
+
+        for (int round = 0; minutes > 0 ? System.nanoTime() < deadline : round < rounds; round++) {
+            long start = System.nanoTime();
+            SimulationStats[] stats = simulation.playRound(pool, round);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            long games = 0, questions = 0;
+            for (int i = 0; i < stats.length; i++) {
+                games += stats[i].getGames();
+                questions += stats[i].getQuestions();
+                totals[i].add(stats[i]);
+            }
+            lastHeap = usedHeapAfterGc();
+            if (firstHeap < 0) {
+                firstHeap = lastHeap; // round 0 warms up caches and JIT
+            }
+            System.out.printf("round %d: %d games, %d questions in %.2f s (%.0f games/s, %.0f questions/s), heap %.1f MB%n",
+                    round, games, questions, seconds, games / seconds, questions / seconds, lastHeap / 1048576.0);
+        }
+        pool.shutdown();
+
+        StringBuilder report = new StringBuilder();
+        long leaked = 0, mismatches = 0;
+        for (SimulationStats stats : totals) {
+            stats.writeReport(report);
+            leaked += stats.getLeakedTimers();
+            mismatches += stats.getReplayMismatches();
+        }
+        System.out.print(report);
+        System.out.printf("heap growth since round 0: %+.1f MB%n", (lastHeap - firstHeap) / 1048576.0);
+
+        if (leaked > 0 || mismatches > 0) {
+            System.out.println("FAILED: " + leaked + " leaked timers, " + mismatches + " replay mismatches");
+            System.exit(1);
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.mathgame.simulation;
+
+import com.example.mathgame.engine.QuestionEngine;
+import com.example.mathgame.replay.SessionRecording;
+import com.example.mathgame.replay.SessionReplay;
+import com.example.mathgame.stats.LatencyHistogram;
+import com.example.mathgame.store.SessionRecord;
+
+import java.io.IOException;
+
+/**
+ * SimulationStats (what the games of one player profile did)
+ * --------------------------------------------------
+ * - Games, questions, correct answers, timeouts, reviews re-asked
+ * - Score and questions-per-game distributions (LatencyHistogram,
+ *   it works for any non-negative value)
+ * - Health checks: timer callbacks left scheduled after a game and
+ *   sampled recordings that did not replay to the same result
+ *
+ * One instance per worker task, merged with {@link #add} afterwards,
+ * so nothing is shared between threads while games run.
+ */
+final class SimulationStats {
+
+    private final String profile;
+    private final LatencyHistogram scores = new LatencyHistogram();
+    private final LatencyHistogram questionsPerGame = new LatencyHistogram();
+
+    private long games, questions, correct, timeouts, reviews;
+    private long ticks, leakedTimers;
+    private long replayed, replayMismatches;
+    private long levelSum;              // difficulty level after each game
+
+    SimulationStats(String profile) {
+        this.profile = profile;
+    }
+
+    // =========================
+    // Recording (worker thread)
+    // =========================
+    void game(SessionRecord record, SessionRecording recording, int level) {
+        games++;
+        questions += record.getQuestionCount();
+        correct += record.getScore() / QuestionEngine.POINTS_PER_CORRECT;
+        for (int i = 0; i < recording.size(); i++) {
+            if (recording.getType(i) == SessionRecording.TIMEOUT) {
+                timeouts++;
+            } else if (recording.getType(i) == SessionRecording.REVIEW) {
+                reviews++;
+            }
+        }
+        scores.record(record.getScore());
+        questionsPerGame.record(record.getQuestionCount());
+        levelSum += level;
+    }
+
+    void replay(SessionReplay.Result result) {
+        replayed++;
+        if (!result.matches()) {
+            replayMismatches++;
+        }
+    }
+
+    void timers(long ticks, long leakedTimers) {
+        this.ticks += ticks;
+        this.leakedTimers += leakedTimers;
+    }
+
+    void add(SimulationStats other) {
+        games += other.games;
+        questions += other.questions;
+        correct += other.correct;
+        timeouts += other.timeouts;
+        reviews += other.reviews;
+        ticks += other.ticks;
+        leakedTimers += other.leakedTimers;
+        replayed += other.replayed;
+        replayMismatches += other.replayMismatches;
+        levelSum += other.levelSum;
+        scores.add(other.scores);
+        questionsPerGame.add(other.questionsPerGame);
+    }
+
+    long getGames() {
+        return games;
+    }
+
+    long getQuestions() {
+        return questions;
+    }
+
+    long getLeakedTimers() {
+        return leakedTimers;
+    }
+
+    long getReplayMismatches() {
+        return replayMismatches;
+    }
+
+    LatencyHistogram getScores() {
+        return scores;
+    }
+
+    // =========================
+    // "expert: games=... score p50=..."
+    // =========================
+    void writeReport(Appendable out) throws IOException {
+        out.append(profile)
+                .append(": games=").append(Long.toString(games))
+                .append(" questions=").append(Long.toString(questions))
+                .append(" correct=").append(percent(correct, questions))
+                .append(" timeouts=").append(percent(timeouts, questions))
+                .append(" reviews=").append(percent(reviews, questions))
+                .append(" avgLevel=").append(games == 0 ? "-" : String.format("%.2f", (double) levelSum / games))
+                .append('\n');
+        out.append("  score        p50=").append(Long.toString(scores.percentile(50)))
+                .append(" p90=").append(Long.toString(scores.percentile(90)))
+                .append(" p99=").append(Long.toString(scores.percentile(99)))
+                .append(" max=").append(Long.toString(scores.getMax()))
+                .append('\n');
+        out.append("  questions/game p50=").append(Long.toString(questionsPerGame.percentile(50)))
+                .append(" p90=").append(Long.toString(questionsPerGame.percentile(90)))
+                .append(" max=").append(Long.toString(questionsPerGame.getMax()))
+                .append('\n');
+        out.append("  timer ticks=").append(Long.toString(ticks))
+                .append(" leaked timers=").append(Long.toString(leakedTimers))
+                .append(" replays=").append(Long.toString(replayed))
+                .append(" mismatches=").append(Long.toString(replayMismatches))
+                .append('\n');
+    }
+
+    private static String percent(long part, long whole) {
+        return whole == 0 ? "-" : String.format("%.1f%%", 100.0 * part / whole);
+    }
+}
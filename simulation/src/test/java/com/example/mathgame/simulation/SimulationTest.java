@@ -0,0 +1,81 @@
+package com.example.mathgame.simulation;
+
+import com.example.mathgame.engine.BasicOperator;
+import com.example.mathgame.engine.OperatorRegistry;
+import com.example.mathgame.store.SessionRecord;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class SimulationTest {
+
+    private static final PlayerProfile[] PROFILES = {PlayerProfile.BEGINNER, PlayerProfile.EXPERT};
+    private static final String[] MODES = OperatorRegistry.standard().ids().toArray(new String[0]);
+
+    private SimulationStats[] run(int threads, long seed) {
+        Simulation simulation = new Simulation(200, 5, PROFILES, MODES, 7, seed);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return simulation.playRound(pool, 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void everyGameIsPlayedOnceAndReplays() {
+        SimulationStats[] stats = run(4, 1L);
+
+        assertEquals(500, stats[0].getGames());
+        assertEquals(500, stats[1].getGames());
+        for (SimulationStats profile : stats) {
+            assertEquals(0, profile.getLeakedTimers());
+            assertEquals(0, profile.getReplayMismatches());
+        }
+    }
+
+    @Test
+    public void sameSeed_sameResultsWhateverTheThreadCount() {
+        SimulationStats[] single = run(1, 9L);
+        SimulationStats[] parallel = run(8, 9L);
+
+        for (int i = 0; i < single.length; i++) {
+            assertEquals(single[i].getQuestions(), parallel[i].getQuestions());
+            assertEquals(single[i].getScores().percentile(50), parallel[i].getScores().percentile(50));
+            assertEquals(single[i].getScores().getMax(), parallel[i].getScores().getMax());
+        }
+    }
+
+    @Test
+    public void expertsOutscoreBeginners() {
+        SimulationStats[] stats = run(4, 3L);
+
+        assertTrue(stats[1].getScores().percentile(50) > stats[0].getScores().percentile(50));
+    }
+
+    @Test
+    public void neverAnsweringPlayer_losesEveryLifeToTheTimer() {
+        PlayerProfile silent = new PlayerProfile("silent", 1.0, 1000, 0.0, 1.0);
+        SimulatedGame game = new SimulatedGame(BasicOperator.ADD, "ADD", silent, 5L);
+
+        SessionRecord record = game.play(new SplittableRandom(5L));
+
+        assertEquals(0, record.getScore());
+        assertEquals(3, record.getQuestionCount());
+        assertTrue(game.getTicks() >= 3 * 9); // one tick per second of each 10 s countdown
+        assertEquals(0, game.getLeakedTimers());
+    }
+
+    @Test
+    public void parse_presetsAndCustomProfiles() {
+        assertSame(PlayerProfile.AVERAGE, PlayerProfile.parse("average"));
+        PlayerProfile custom = PlayerProfile.parse("kid:0.6:8000:0.6:0.15");
+        assertEquals("kid", custom.getName());
+        assertEquals(8000, custom.getMedianLatencyMillis());
+        assertEquals(0.15, custom.getTimeoutRate(), 0.0);
+    }
+}